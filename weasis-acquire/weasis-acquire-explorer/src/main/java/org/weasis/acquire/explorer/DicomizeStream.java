@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2009-2020 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.acquire.explorer;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.weasis.core.api.gui.util.AppProperties;
+import org.weasis.core.util.FileUtil;
+
+/**
+ * Hand-off between the dicomize stage ({@link DicomizeTask}) and the publish stage ({@link
+ * PublishDicomTask}). The DICOM files are offered in the order of the media to publish and are
+ * drained by batches, so the destination receives the first instances while the next images are
+ * still being converted.
+ *
+ * <p>The batches are adaptive: when the destination is faster than the conversion, each batch
+ * contains the minimum number of files; otherwise, a batch contains all the files produced in the
+ * meantime.
+ *
+ * <p>The folder of the stream is deleted by the publish stage with {@link #dispose()}, only when
+ * the workers of the dicomize stage do not write in it anymore.
+ */
+public class DicomizeStream {
+  private static final Logger LOGGER = LoggerFactory.getLogger(DicomizeStream.class);
+
+  private static final Path END_OF_STREAM = Path.of("");
+
+  // The interrupted workers of the dicomize stage are awaited up to 30 seconds
+  private static final long RELEASE_TIMEOUT_SECONDS = 60;
+
+  private static final int PRODUCER_IDLE = 0;
+  private static final int PRODUCER_RUNNING = 1;
+  private static final int PRODUCER_DONE = 2;
+
+  private final Path directory;
+  private final BlockingQueue<Path> queue = new LinkedBlockingQueue<>();
+  private final AtomicInteger remainingMedia;
+  private final AtomicInteger transferred = new AtomicInteger();
+  private volatile boolean aborted;
+  private volatile boolean closed;
+  private volatile Consumer<List<Path>> transferListener;
+  private final AtomicInteger producerState = new AtomicInteger(PRODUCER_IDLE);
+  private final CountDownLatch released = new CountDownLatch(1);
+
+  /**
+   * @param nbMedia the number of media which will be dicomized
+   */
+  public DicomizeStream(int nbMedia) {
+    this(
+        FileUtil.createTempDir(
+            AppProperties.buildAccessibleTempDirectory("tmp", "dicomize", "dcm")), // NON-NLS
+        nbMedia);
+  }
+
+  DicomizeStream(Path directory, int nbMedia) {
+    this.directory = Objects.requireNonNull(directory);
+    this.remainingMedia = new AtomicInteger(nbMedia);
+  }
+
+  /**
+   * @return the temporary folder containing the DICOM files of the stream
+   */
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Add the files of one dicomized media to the stream.
+   *
+   * @param files the DICOM files, empty when the media cannot be dicomized
+   */
+  public void offer(List<Path> files) {
+    remainingMedia.decrementAndGet();
+    if (!aborted && !closed) {
+      queue.addAll(files);
+    }
+  }
+
+  /** Indicate that all the media have been dicomized. */
+  public void close() {
+    if (!closed) {
+      closed = true;
+      queue.add(END_OF_STREAM);
+    }
+  }
+
+  /** Stop the stream, the pending files will not be published. */
+  public void abort() {
+    aborted = true;
+    queue.clear();
+    // Keep the end-of-stream marker, even when the stream was already closed
+    closed = true;
+    queue.add(END_OF_STREAM);
+  }
+
+  /**
+   * Indicate that the dicomize stage starts writing in the folder of the stream.
+   *
+   * @return false when the stream has already been disposed, nothing must be written
+   */
+  boolean beginProducing() {
+    return producerState.compareAndSet(PRODUCER_IDLE, PRODUCER_RUNNING);
+  }
+
+  /** Indicate that the workers of the dicomize stage have terminated. */
+  void endProducing() {
+    producerState.set(PRODUCER_DONE);
+    released.countDown();
+  }
+
+  /**
+   * Delete the folder of the stream, once the dicomize stage does not write in it anymore. The
+   * stream must have been closed or aborted before.
+   */
+  public void dispose() {
+    if (producerState.compareAndSet(PRODUCER_IDLE, PRODUCER_DONE)) {
+      released.countDown();
+    } else {
+      try {
+        if (!released.await(RELEASE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+          LOGGER.warn("The dicomize stage still uses {}, the folder is not deleted", directory);
+          return;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        LOGGER.warn("Interrupted while waiting for the dicomize stage, {} is kept", directory);
+        return;
+      }
+    }
+    FileUtil.recursiveDelete(directory);
+  }
+
+  public boolean isAborted() {
+    return aborted;
+  }
+
+  /**
+   * Wait for the next files to publish.
+   *
+   * @param maxSize the maximum number of files of the batch
+   * @return the next files or an empty list when the stream is closed or aborted
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public List<Path> nextBatch(int maxSize) throws InterruptedException {
+    return nextBatch(1, maxSize);
+  }
+
+  /**
+   * Wait for the next files to publish.
+   *
+   * @param minSize the minimum number of files of the batch, except for the last batch
+   * @param maxSize the maximum number of files of the batch
+   * @return the next files or an empty list when the stream is closed or aborted
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public List<Path> nextBatch(int minSize, int maxSize) throws InterruptedException {
+    List<Path> batch = new ArrayList<>();
+    while (batch.size() < maxSize) {
+      Path next = batch.size() < minSize ? queue.take() : queue.poll();
+      if (next == null) {
+        break;
+      }
+      if (next == END_OF_STREAM || aborted) {
+        queue.add(END_OF_STREAM);
+        if (aborted) {
+          batch.clear();
+        }
+        break;
+      }
+      batch.add(next);
+    }
+    return batch;
+  }
+
+  /**
+   * Notify that the given files have been successfully sent to the destination.
+   *
+   * @param files the published files
+   */
+  public void markTransferred(List<Path> files) {
+    transferred.addAndGet(files.size());
+    Consumer<List<Path>> listener = transferListener;
+    if (listener != null) {
+      listener.accept(files);
+    }
+  }
+
+  public void setTransferListener(Consumer<List<Path>> transferListener) {
+    this.transferListener = transferListener;
+  }
+
+  /**
+   * @return the number of files already sent to the destination
+   */
+  public int getTransferred() {
+    return transferred.get();
+  }
+
+  /**
+   * @return the estimated number of files which are not yet sent (one file per media which is not
+   *     yet dicomized)
+   */
+  public int getPending() {
+    // When closed, the queue contains the end-of-stream marker
+    int queued = Math.max(0, queue.size() - (closed ? 1 : 0));
+    return Math.max(0, remainingMedia.get()) + queued;
+  }
+
+  /**
+   * @return the global progression of the transfer in percent
+   */
+  public int getProgress() {
+    int done = getTransferred();
+    int total = done + getPending();
+    return total == 0 ? 100 : Math.min(100, done * 100 / total);
+  }
+}
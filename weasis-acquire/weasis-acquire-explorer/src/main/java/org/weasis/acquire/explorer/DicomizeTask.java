@@ -10,15 +10,22 @@
 package org.weasis.acquire.explorer;
 
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import javax.swing.SwingWorker;
 import org.dcm4che3.util.UIDUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.weasis.acquire.explorer.dicom.Transform2Dicom;
 import org.weasis.core.api.gui.util.AppProperties;
+import org.weasis.core.api.util.ThreadUtil;
 import org.weasis.core.util.FileUtil;
 
 /**
@@ -26,56 +33,190 @@
  * the job is done outside the EDT instead of setting AcquireImageStatus change. But, full process
  * progression can still be listened with propertyChange notification of this workerTask.
  *
+ * <p>The images are dicomized concurrently by a bounded pool of workers, but the results (status,
+ * progression and {@link DicomizeStream}) are always delivered in the order of the given
+ * collection. When a stream is given, each dicomized instance is handed over to the publish stage
+ * as soon as it is ready.
+ *
  * @version $Rev$ $Date$
  */
 public class DicomizeTask extends SwingWorker<Path, AcquireMediaInfo> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DicomizeTask.class);
 
+  // Each worker holds a decoded image, limit the concurrency according to the available memory
+  private static final int NB_WORKERS =
+      Math.clamp(
+          Runtime.getRuntime().maxMemory() / (256L * 1024 * 1024),
+          1,
+          Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+  /** Conversion of the media to DICOM files. */
+  interface Dicomizer {
+
+    /** Set the attributes shared by all the media, before converting them. */
+    void prepare(Collection<AcquireMediaInfo> toDicomize);
+
+    /**
+     * @return the written DICOM files or an empty list when the operation has failed
+     * @see Transform2Dicom#dicomizeToFiles(AcquireMediaInfo, Path, Path, String)
+     */
+    List<Path> dicomize(
+        AcquireMediaInfo mediaInfo,
+        Path exportDirDicom,
+        Path exportDirImage,
+        String seriesInstanceUID);
+  }
+
+  private static final Dicomizer TRANSFORM_2_DICOM =
+      new Dicomizer() {
+        @Override
+        public void prepare(Collection<AcquireMediaInfo> toDicomize) {
+          Transform2Dicom.buildStudySeriesDate(toDicomize, AcquireManager.GLOBAL);
+        }
+
+        @Override
+        public List<Path> dicomize(
+            AcquireMediaInfo mediaInfo,
+            Path exportDirDicom,
+            Path exportDirImage,
+            String seriesInstanceUID) {
+          return Transform2Dicom.dicomizeToFiles(
+              mediaInfo, exportDirDicom, exportDirImage, seriesInstanceUID);
+        }
+      };
+
   private final Collection<AcquireMediaInfo> toDicomize;
+  private final DicomizeStream stream;
+  private final Dicomizer dicomizer;
 
   public DicomizeTask(Collection<AcquireMediaInfo> toDicomize) {
+    this(toDicomize, null);
+  }
+
+  /**
+   * @param toDicomize the media to dicomize
+   * @param stream the stream receiving the DICOM files as soon as they are written, or null to get
+   *     only the folder containing all the files at the end of the task
+   */
+  public DicomizeTask(Collection<AcquireMediaInfo> toDicomize, DicomizeStream stream) {
+    this(toDicomize, stream, TRANSFORM_2_DICOM);
+  }
+
+  DicomizeTask(
+      Collection<AcquireMediaInfo> toDicomize, DicomizeStream stream, Dicomizer dicomizer) {
     this.toDicomize = Objects.requireNonNull(toDicomize);
+    this.stream = stream;
+    this.dicomizer = Objects.requireNonNull(dicomizer);
   }
 
   @Override
   protected Path doInBackground() {
+    if (stream != null && !stream.beginProducing()) {
+      // The publish stage has already released the stream
+      return null;
+    }
 
     Path exportDirDicom =
-        FileUtil.createTempDir(
-            AppProperties.buildAccessibleTempDirectory("tmp", "dicomize", "dcm")); // NON-NLS
+        stream == null
+            ? FileUtil.createTempDir(
+                AppProperties.buildAccessibleTempDirectory("tmp", "dicomize", "dcm")) // NON-NLS
+            : stream.getDirectory();
     Path exportDirImage =
         FileUtil.createTempDir(
             AppProperties.buildAccessibleTempDirectory("tmp", "dicomize", "img")); // NON-NLS
 
     final int nbImageToProcess = toDicomize.size();
     int nbImageProcessed = 0;
+    boolean completed = false;
 
+    ExecutorService executor = ThreadUtil.newFixedThreadPool(NB_WORKERS, "AcquireDicomizeWorker");
+    Deque<Pending> pendingQueue = new ArrayDeque<>();
     try {
-      Transform2Dicom.buildStudySeriesDate(toDicomize, AcquireManager.GLOBAL);
+      dicomizer.prepare(toDicomize);
 
       String seriesInstanceUID = UIDUtils.createUID(); // Global series for all PR
 
       for (AcquireMediaInfo imageInfo : toDicomize) {
-        setProgress(++nbImageProcessed * 100 / nbImageToProcess);
-        if (!Transform2Dicom.dicomize(
-            imageInfo, exportDirDicom, exportDirImage, seriesInstanceUID)) {
-          imageInfo.setStatus(AcquireImageStatus.FAILED);
-          continue;
+        // Bound the number of images in flight and deliver the results in order
+        if (pendingQueue.size() >= NB_WORKERS * 2) {
+          deliver(pendingQueue.poll());
+          setProgress(++nbImageProcessed * 100 / nbImageToProcess);
         }
-        publish(imageInfo);
+        if (isCancelled() || (stream != null && stream.isAborted())) {
+          return null;
+        }
+        pendingQueue.add(
+            new Pending(
+                imageInfo,
+                executor.submit(
+                    () ->
+                        dicomizer.dicomize(
+                            imageInfo, exportDirDicom, exportDirImage, seriesInstanceUID))));
       }
+      while (!pendingQueue.isEmpty()) {
+        if (isCancelled() || (stream != null && stream.isAborted())) {
+          return null;
+        }
+        deliver(pendingQueue.poll());
+        setProgress(++nbImageProcessed * 100 / nbImageToProcess);
+      }
+      completed = true;
+    } catch (InterruptedException ex) {
+      LOGGER.warn("Dicomize process interrupted");
+      Thread.currentThread().interrupt();
     } catch (Exception ex) {
       LOGGER.error("Dicomize process", ex);
-      FileUtil.recursiveDelete(exportDirDicom);
-      return null;
     } finally {
+      pendingQueue.forEach(p -> p.result().cancel(true));
+      executor.shutdownNow();
+      awaitWorkers(executor);
       FileUtil.recursiveDelete(exportDirImage);
+      if (stream != null) {
+        if (completed) {
+          stream.close();
+        } else {
+          stream.abort();
+        }
+        stream.endProducing();
+      }
+      if (!completed && stream == null) {
+        // The folder of a stream is deleted by the publish stage
+        FileUtil.recursiveDelete(exportDirDicom);
+      }
+    }
+
+    return completed ? exportDirDicom : null;
+  }
+
+  private void deliver(Pending pending) throws InterruptedException, ExecutionException {
+    List<Path> files = pending.result().get();
+    if (files.isEmpty()) {
+      pending.info().setStatus(AcquireImageStatus.FAILED);
+    } else {
+      publish(pending.info());
     }
+    if (stream != null) {
+      stream.offer(files);
+    }
+  }
 
-    return exportDirDicom;
+  private static void awaitWorkers(ExecutorService executor) {
+    // The task may have been interrupted, wait anyway and restore the status afterwards
+    boolean interrupted = Thread.interrupted();
+    try {
+      // Let the interrupted workers release the temporary files before deleting them
+      executor.awaitTermination(30, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      interrupted = true;
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
   }
 
+  private record Pending(AcquireMediaInfo info, Future<List<Path>> result) {}
+
   @Override
   protected void process(List<AcquireMediaInfo> chunks) {
     chunks.stream().forEach(AcquireMediaInfo.changeStatus(AcquireImageStatus.SUBMITTED));
@@ -33,6 +33,9 @@
  * AcquireImageStatus change and removing related Acquired Images from the dataModel. But the full
  * process progression can still be listened with propertyChange notification of this workerTask.
  *
+ * <p>When built with a {@link DicomizeStream}, the files are sent by batches while the images are
+ * still being dicomized and the progression is computed on the whole stream.
+ *
  * @version $Rev$ $Date$
  */
 public class PublishDicomTask extends SwingWorker<DicomState, Path> {
@@ -40,14 +43,34 @@ public class PublishDicomTask extends SwingWorker<DicomState, Path> {
 
   private final Supplier<DicomState> publish;
   private final DicomProgress dicomProgress;
+  private final DicomizeStream stream;
 
   public PublishDicomTask(Supplier<DicomState> publish, DicomProgress dicomProgress) {
+    this(publish, dicomProgress, null);
+  }
+
+  /**
+   * @param publish the publishing operation
+   * @param dicomProgress the progress of the DICOM operation
+   * @param stream the stream providing the files to publish, or null when the operation sends a
+   *     complete folder
+   */
+  public PublishDicomTask(
+      Supplier<DicomState> publish, DicomProgress dicomProgress, DicomizeStream stream) {
     this.publish = publish;
     this.dicomProgress = Objects.requireNonNull(dicomProgress);
+    this.stream = stream;
     initDicomProgress();
   }
 
   private void initDicomProgress() {
+    if (stream != null) {
+      stream.setTransferListener(
+          files -> {
+            setProgress(stream.getProgress());
+            publish(files.toArray(new Path[0]));
+          });
+    }
     dicomProgress.addProgressListener(
         progress -> {
           int completed =
@@ -55,8 +78,15 @@ private void initDicomProgress() {
                   + progress.getNumberOfFailedSuboperations();
           int remaining = progress.getNumberOfRemainingSuboperations();
 
-          setProgress((completed * 100) / (completed + remaining));
-          publish(progress.getProcessedFile());
+          if (stream == null) {
+            setProgress((completed * 100) / (completed + remaining));
+            publish(progress.getProcessedFile());
+          } else {
+            // Files of the current batch, the status is updated when the batch is transferred
+            completed += stream.getTransferred();
+            remaining += stream.getPending();
+            setProgress(Math.min(100, (completed * 100) / Math.max(1, completed + remaining)));
+          }
         });
   }
 
@@ -67,7 +97,8 @@ protected DicomState doInBackground() {
 
   @Override
   protected void process(List<Path> chunks) {
-    if (!dicomProgress.isLastFailed()) {
+    // The files of a stream are notified only when their batch has been successfully transferred
+    if (stream != null || !dicomProgress.isLastFailed()) {
       chunks.stream()
           .filter(Objects::nonNull)
           .map(imageFile -> AcquireManager.findByUId(imageFile.getFileName().toString()))
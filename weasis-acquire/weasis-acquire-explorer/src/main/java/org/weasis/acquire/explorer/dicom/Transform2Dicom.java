@@ -15,7 +15,9 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.Tag;
@@ -73,14 +75,39 @@ public static boolean dicomize(
       Path exportDirDicom,
       Path exportDirImage,
       String seriesInstanceUID) {
+    return !dicomizeToFiles(mediaInfo, exportDirDicom, exportDirImage, seriesInstanceUID)
+        .isEmpty();
+  }
+
+  /**
+   * Same as {@link #dicomize(AcquireMediaInfo, Path, Path, String)} but returns the DICOM files
+   * written in exportDirDicom: the instance first, followed by its presentation state if any. This
+   * method is thread-safe for distinct media, which allows dicomizing several images concurrently.
+   *
+   * @param mediaInfo value
+   * @param exportDirDicom the folder to save DICOM files
+   * @param exportDirImage the folder to save image files
+   * @param seriesInstanceUID Global series for all PR
+   * @return the written DICOM files or an empty list when the operation has failed
+   */
+  public static List<Path> dicomizeToFiles(
+      AcquireMediaInfo mediaInfo,
+      Path exportDirDicom,
+      Path exportDirImage,
+      String seriesInstanceUID) {
+    List<Path> files = new ArrayList<>(2);
+    boolean success;
     if (mediaInfo instanceof AcquireImageInfo imageInfo) {
-      return processImageElement(imageInfo, exportDirDicom, exportDirImage, seriesInstanceUID);
+      success =
+          processImageElement(imageInfo, exportDirDicom, exportDirImage, seriesInstanceUID, files);
     } else {
-      return processOtherMediaElement(mediaInfo, exportDirDicom);
+      success = processOtherMediaElement(mediaInfo, exportDirDicom, files);
     }
+    return success ? files : List.of();
   }
 
-  private static boolean processOtherMediaElement(AcquireMediaInfo mediaInfo, Path exportDirDicom) {
+  private static boolean processOtherMediaElement(
+      AcquireMediaInfo mediaInfo, Path exportDirDicom, List<Path> files) {
     Attributes attrs = populateDicomAttributes(mediaInfo);
 
     MediaElement mediaElement = mediaInfo.getMedia();
@@ -104,6 +131,7 @@ private static boolean processOtherMediaElement(AcquireMediaInfo mediaInfo, Path
       } else if (type == Type.VIDEO_MP2) {
         Dicomizer.mpeg2(attrs, mediaFile, file);
       }
+      files.add(file);
       return true;
     } catch (Exception e) {
       LOGGER.error("Cannot Dicomize media: {}", mediaElement.getName(), e);
@@ -127,6 +155,16 @@ public static boolean processImageElement(
       Path exportDirDicom,
       Path exportDirImage,
       String seriesInstanceUID) {
+    return processImageElement(
+        imageInfo, exportDirDicom, exportDirImage, seriesInstanceUID, new ArrayList<>(2));
+  }
+
+  private static boolean processImageElement(
+      AcquireImageInfo imageInfo,
+      Path exportDirDicom,
+      Path exportDirImage,
+      String seriesInstanceUID,
+      List<Path> files) {
 
     ImageElement imageElement = imageInfo.getImage();
     String sopInstanceUID =
@@ -169,7 +207,9 @@ public static boolean processImageElement(
       }
 
       try {
-        Dicomizer.jpeg(attrs, imgFile, exportDirDicom.resolve(sopInstanceUID), false);
+        Path dcmFile = exportDirDicom.resolve(sopInstanceUID);
+        Dicomizer.jpeg(attrs, imgFile, dcmFile, false);
+        files.add(dcmFile);
       } catch (Exception e) {
         LOGGER.error("Cannot Dicomize {}", imageElement.getName(), e);
         return false;
@@ -178,7 +218,10 @@ public static boolean processImageElement(
       // Presentation State
       GraphicModel grModel = (GraphicModel) imageElement.getTagValue(TagW.PresentationModel);
       if (grModel != null && grModel.hasSerializableGraphics()) {
-        processDicomPR(imageInfo, exportDirDicom, seriesInstanceUID, grModel, attrs);
+        Path prFile = processDicomPR(imageInfo, exportDirDicom, seriesInstanceUID, grModel, attrs);
+        if (prFile != null) {
+          files.add(prFile);
+        }
       }
     } else {
       LOGGER.error("Cannot read JPEG image {}", imageElement.getName());
@@ -188,7 +231,7 @@ public static boolean processImageElement(
     return true;
   }
 
-  private static void processDicomPR(
+  private static Path processDicomPR(
       AcquireImageInfo imageInfo,
       Path exportDirDicom,
       String seriesInstanceUID,
@@ -213,8 +256,10 @@ private static void processDicomPR(
     attrs.setInt(Tag.SamplesPerPixel, VR.US, samplesPerPixel);
 
     File outputFile = exportDirDicom.resolve(prUid).toFile();
-    DicomPrSerializer.writePresentation(
-        grModel, attrs, outputFile, seriesInstanceUID, prUid, offset);
+    Attributes pr =
+        DicomPrSerializer.writePresentation(
+            grModel, attrs, outputFile, seriesInstanceUID, prUid, offset);
+    return pr == null ? null : outputFile.toPath();
   }
 
   /**
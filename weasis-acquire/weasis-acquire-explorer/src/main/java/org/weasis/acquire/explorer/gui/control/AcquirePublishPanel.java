@@ -19,6 +19,7 @@
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import javax.swing.JButton;
 import javax.swing.JOptionPane;
@@ -30,6 +31,7 @@
 import org.slf4j.LoggerFactory;
 import org.weasis.acquire.explorer.AcquireManager;
 import org.weasis.acquire.explorer.AcquireMediaInfo;
+import org.weasis.acquire.explorer.DicomizeStream;
 import org.weasis.acquire.explorer.Messages;
 import org.weasis.acquire.explorer.PublishDicomTask;
 import org.weasis.acquire.explorer.gui.dialog.AcquirePublishDialog;
@@ -61,6 +63,11 @@ public class AcquirePublishPanel extends JPanel {
   private final SpinnerProgress progressBar = new SpinnerProgress();
   private AuthMethod authMethod;
 
+  // Maximum number of files sent in one association or one STOW-RS request
+  private static final int MAX_STREAM_BATCH = 50;
+  // Minimum number of files sent in one association, except the last one
+  private static final int MIN_DIMSE_BATCH = 10;
+
   public static final ExecutorService PUBLISH_DICOM =
       ThreadUtil.newSingleThreadExecutor("AcquirePublishDicom");
 
@@ -99,6 +106,107 @@ public void publishDirDicom(
     }
   }
 
+  /**
+   * Start publishing the DICOM files of the stream while they are being produced.
+   *
+   * @param stream the stream of dicomized files
+   * @param destinationNode the destination node
+   * @param callingAet the calling AE title, only for DIMSE node
+   * @return true if the publishing task has been started
+   */
+  public boolean publishStream(
+      DicomizeStream stream, AbstractDicomNode destinationNode, String callingAet) {
+    SwingWorker<DicomState, Path> publishDicomTask = null;
+    if (destinationNode instanceof DefaultDicomNode defaultDicomNode) {
+      publishDicomTask = publishStreamDimse(stream, defaultDicomNode.getDicomNode(), callingAet);
+    } else if (destinationNode instanceof final DicomWebNode node) {
+      publishDicomTask = publishStreamStow(stream, node);
+    }
+
+    if (publishDicomTask != null) {
+      publishDicomTask.addPropertyChangeListener(this::publishChanged);
+      PUBLISH_DICOM.execute(publishDicomTask);
+      return true;
+    }
+    return false;
+  }
+
+  public PublishDicomTask publishStreamDimse(
+      DicomizeStream stream, DicomNode destNode, String callingAet) {
+    DicomProgress dicomProgress = new DicomProgress();
+    Supplier<DicomState> publish =
+        () -> {
+          AdvancedParams params = new AdvancedParams();
+          ConnectOptions connectOptions = new ConnectOptions();
+          connectOptions.setConnectTimeout(3000);
+          connectOptions.setAcceptTimeout(5000);
+          params.setConnectOptions(connectOptions);
+          DicomNode callingNode = new DicomNode(callingAet); // NON-NLS
+          return publishBatches(
+              stream,
+              MIN_DIMSE_BATCH,
+              files -> CStore.process(params, callingNode, destNode, files, dicomProgress));
+        };
+    return new PublishDicomTask(publish, dicomProgress, stream);
+  }
+
+  public PublishDicomTask publishStreamStow(DicomizeStream stream, DicomWebNode node) {
+    if (!initStowAuthentication(node)) {
+      return null;
+    }
+
+    Supplier<DicomState> publish =
+        () -> {
+          try (StowRS stowRS =
+              new StowRS(
+                  node.getUrl().toString(),
+                  ContentType.APPLICATION_DICOM,
+                  AppProperties.WEASIS_NAME,
+                  node.getHeaders())) {
+            // One client sends all the requests, each file can be sent as soon as it is ready
+            return publishBatches(stream, 1, files -> stowRS.uploadDicom(files, false, authMethod));
+          } catch (Exception e) {
+            LOGGER.error("STOW-RS publish", e);
+            stream.abort();
+            stream.dispose();
+            return DicomState.buildMessage(null, e.getMessage(), null);
+          }
+        };
+    return new PublishDicomTask(publish, new DicomProgress(), stream);
+  }
+
+  private static DicomState publishBatches(
+      DicomizeStream stream, int minBatch, Function<List<String>, DicomState> sender) {
+    DicomState state = null;
+    boolean ended = false;
+    try {
+      List<Path> batch;
+      while (!(batch = stream.nextBatch(minBatch, MAX_STREAM_BATCH)).isEmpty()) {
+        state = sender.apply(batch.stream().map(Path::toString).toList());
+        if (state.getStatus() != Status.Success) {
+          return state;
+        }
+        stream.markTransferred(batch);
+        batch.forEach(FileUtil::delete);
+      }
+      ended = true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      if (!ended) {
+        stream.abort();
+      }
+      // Wait for the workers of the dicomize stage before deleting their folder
+      stream.dispose();
+    }
+
+    if (state == null || stream.isAborted()) {
+      state = new DicomState(new DicomProgress());
+      state.setStatus(Status.Cancel);
+    }
+    return state;
+  }
+
   public PublishDicomTask publishDicomDimse(
       File exportDirDicom, DicomNode destNode, String callingAet) {
     DicomProgress dicomProgress = new DicomProgress();
@@ -124,16 +232,8 @@ public PublishDicomTask publishDicomDimse(
 
   public PublishDicomTask publishStow(
       File tempDirDicom, DicomWebNode node, List<AcquireMediaInfo> toPublish) {
-    AuthMethod auth = AuthenticationPersistence.getAuthMethod(node.getAuthMethodUid());
-    if (!OAuth2ServiceFactory.NO_AUTH.equals(auth)) {
-      String oldCode = auth.getCode();
-      authMethod = auth;
-      if (authMethod.getToken() == null) {
-        return null;
-      }
-      if (!Objects.equals(oldCode, authMethod.getCode())) {
-        AuthenticationPersistence.saveMethod();
-      }
+    if (!initStowAuthentication(node)) {
+      return null;
     }
 
     Supplier<DicomState> publish =
@@ -162,6 +262,21 @@ public PublishDicomTask publishStow(
     return new PublishDicomTask(publish, new DicomProgress());
   }
 
+  private boolean initStowAuthentication(DicomWebNode node) {
+    AuthMethod auth = AuthenticationPersistence.getAuthMethod(node.getAuthMethodUid());
+    if (!OAuth2ServiceFactory.NO_AUTH.equals(auth)) {
+      String oldCode = auth.getCode();
+      authMethod = auth;
+      if (authMethod.getToken() == null) {
+        return false;
+      }
+      if (!Objects.equals(oldCode, authMethod.getCode())) {
+        AuthenticationPersistence.saveMethod();
+      }
+    }
+    return true;
+  }
+
   private void publishChanged(PropertyChangeEvent evt) {
     if ("progress".equals(evt.getPropertyName())) {
       int progress = (Integer) evt.getNewValue();
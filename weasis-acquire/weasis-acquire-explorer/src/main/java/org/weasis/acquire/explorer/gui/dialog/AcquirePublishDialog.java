@@ -43,6 +43,7 @@
 import org.weasis.acquire.explorer.AcquireImageInfo;
 import org.weasis.acquire.explorer.AcquireManager;
 import org.weasis.acquire.explorer.AcquireMediaInfo;
+import org.weasis.acquire.explorer.DicomizeStream;
 import org.weasis.acquire.explorer.DicomizeTask;
 import org.weasis.acquire.explorer.MediaImporterFactory;
 import org.weasis.acquire.explorer.Messages;
@@ -330,15 +331,35 @@ private void publishAction(File exportDir) {
       }
     }
 
-    SwingWorker<Path, AcquireMediaInfo> dicomizeTask = setupPublishingTask(toPublish, exportDir);
+    // When publishing to a node, the instances are sent while the next ones are being dicomized
+    DicomizeStream stream = null;
+    if (exportDir == null) {
+      stream = startPublishStream(toPublish.size());
+      if (stream == null) {
+        return;
+      }
+    }
+
+    SwingWorker<Path, AcquireMediaInfo> dicomizeTask =
+        setupPublishingTask(toPublish, exportDir, stream);
     try (var executor = ThreadUtil.newSingleThreadExecutor("AcquireDicomize")) {
       executor.execute(dicomizeTask);
     }
   }
 
+  private DicomizeStream startPublishStream(int nbMedia) {
+    AbstractDicomNode node = (AbstractDicomNode) comboNode.getSelectedItem();
+    DicomizeStream stream = new DicomizeStream(nbMedia);
+    if (publishPanel.publishStream(stream, node, getCallingAet())) {
+      return stream;
+    }
+    stream.dispose();
+    return null;
+  }
+
   private SwingWorker<Path, AcquireMediaInfo> setupPublishingTask(
-      List<AcquireMediaInfo> toPublish, File exportDir) {
-    SwingWorker<Path, AcquireMediaInfo> dicomizeTask = new DicomizeTask(toPublish);
+      List<AcquireMediaInfo> toPublish, File exportDir, DicomizeStream stream) {
+    SwingWorker<Path, AcquireMediaInfo> dicomizeTask = new DicomizeTask(toPublish, stream);
     ActionListener taskCancelActionListener = _ -> dicomizeTask.cancel(true);
 
     dicomizeTask.addPropertyChangeListener(
@@ -370,7 +391,12 @@ private SwingWorker<Path, AcquireMediaInfo> setupPublishingTask(
                 }
 
                 if (tempDirDicom != null) {
-                  exportProcess(toPublish, exportDir, tempDirDicom.toFile());
+                  if (stream == null) {
+                    exportProcess(toPublish, exportDir, tempDirDicom.toFile());
+                  } else {
+                    // The publish stage completes in background
+                    clearAndHide();
+                  }
                 } else {
                   JOptionPane.showMessageDialog(
                       WinUtil.getValidComponent(this),
@@ -380,6 +406,11 @@ private SwingWorker<Path, AcquireMediaInfo> setupPublishingTask(
                 }
               }
 
+              if (stream != null && dicomizeTask.isCancelled()) {
+                // Release the publish stage even if the task has been cancelled before starting
+                stream.abort();
+              }
+
               if (tempDirDicom == null) {
                 resolutionCombo.setEnabled(!getOversizedSelected(publishTree).isEmpty());
                 progressBar.setValue(0);
@@ -399,19 +430,23 @@ private void exportProcess(List<AcquireMediaInfo> toPublish, File exportDir, Fil
       publishPanel.exportDirDicom(exportDir, tempDirDicom, toPublish);
     } else {
       AbstractDicomNode node = (AbstractDicomNode) comboNode.getSelectedItem();
-      String weasisAet =
-          GuiUtils.getUICore().getSystemPreferences().getProperty("weasis.aet"); // NON-NLS
-      if (!StringUtil.hasText(weasisAet)) {
-        weasisAet =
-            comboCallingNode.getSelectedItem() == null
-                ? "WEASIS_AE" // NON-NLS
-                : ((DefaultDicomNode) comboCallingNode.getSelectedItem()).getAeTitle();
-      }
-      publishPanel.publishDirDicom(tempDirDicom, node, weasisAet, toPublish);
+      publishPanel.publishDirDicom(tempDirDicom, node, getCallingAet(), toPublish);
     }
     clearAndHide();
   }
 
+  private String getCallingAet() {
+    String weasisAet =
+        GuiUtils.getUICore().getSystemPreferences().getProperty("weasis.aet"); // NON-NLS
+    if (!StringUtil.hasText(weasisAet)) {
+      weasisAet =
+          comboCallingNode.getSelectedItem() == null
+              ? "WEASIS_AE" // NON-NLS
+              : ((DefaultDicomNode) comboCallingNode.getSelectedItem()).getAeTitle();
+    }
+    return weasisAet;
+  }
+
   private static void setZoomRatio(AcquireImageInfo imgInfo, Double ratio) {
     imgInfo.getCurrentValues().setRatio(ratio);
     Optional<ImageOpNode> node = imgInfo.getPostProcessOpManager().getNode(ZoomOp.OP_NAME);
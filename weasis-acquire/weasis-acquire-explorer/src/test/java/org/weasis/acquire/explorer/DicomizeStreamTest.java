@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2009-2020 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.acquire.explorer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DicomizeStreamTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void testBatchesPreserveOrder() throws Exception {
+    DicomizeStream stream = new DicomizeStream(tempDir, 3);
+    stream.offer(List.of(tempDir.resolve("1"), tempDir.resolve("1-pr")));
+    stream.offer(List.of(tempDir.resolve("2")));
+
+    assertEquals(List.of(tempDir.resolve("1"), tempDir.resolve("1-pr")), stream.nextBatch(2));
+    assertEquals(List.of(tempDir.resolve("2")), stream.nextBatch(2));
+
+    stream.offer(List.of(tempDir.resolve("3")));
+    stream.close();
+    assertEquals(List.of(tempDir.resolve("3")), stream.nextBatch(10));
+    assertTrue(stream.nextBatch(10).isEmpty());
+    // The end of stream is sticky
+    assertTrue(stream.nextBatch(10).isEmpty());
+    assertFalse(stream.isAborted());
+  }
+
+  @Test
+  void testConsumerReceivesFilesWhileProducing() throws Exception {
+    DicomizeStream stream = new DicomizeStream(tempDir, 2);
+    CompletableFuture<List<Path>> consumer =
+        CompletableFuture.supplyAsync(
+            () -> {
+              List<Path> received = new ArrayList<>();
+              try {
+                List<Path> batch;
+                while (!(batch = stream.nextBatch(5)).isEmpty()) {
+                  received.addAll(batch);
+                  stream.markTransferred(batch);
+                }
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              return received;
+            });
+
+    stream.offer(List.of(tempDir.resolve("a")));
+    stream.offer(List.of());
+    stream.close();
+
+    assertEquals(List.of(tempDir.resolve("a")), consumer.get(5, TimeUnit.SECONDS));
+    assertEquals(1, stream.getTransferred());
+    assertEquals(0, stream.getPending());
+    assertEquals(100, stream.getProgress());
+  }
+
+  @Test
+  void testAbortReleasesConsumer() throws Exception {
+    DicomizeStream stream = new DicomizeStream(tempDir, 4);
+    stream.offer(List.of(tempDir.resolve("1")));
+    stream.abort();
+
+    assertTrue(stream.isAborted());
+    assertTrue(stream.nextBatch(10).isEmpty());
+    // Files offered after aborting are ignored
+    stream.offer(List.of(tempDir.resolve("2")));
+    assertTrue(stream.nextBatch(10).isEmpty());
+  }
+
+  @Test
+  void testAbortAfterClose() throws Exception {
+    DicomizeStream stream = new DicomizeStream(tempDir, 1);
+    stream.offer(List.of(tempDir.resolve("1")));
+    stream.close();
+    // Both stages may abort the stream
+    stream.abort();
+    stream.abort();
+    assertTrue(stream.nextBatch(10).isEmpty());
+    assertTrue(stream.nextBatch(10).isEmpty());
+  }
+
+  @Test
+  void testMinimumBatchSize() throws Exception {
+    DicomizeStream stream = new DicomizeStream(tempDir, 4);
+    CompletableFuture<List<Path>> consumer =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return stream.nextBatch(3, 10);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return List.of();
+              }
+            });
+    stream.offer(List.of(tempDir.resolve("1")));
+    stream.offer(List.of(tempDir.resolve("2")));
+    Thread.sleep(50);
+    assertFalse(consumer.isDone());
+
+    stream.offer(List.of(tempDir.resolve("3"), tempDir.resolve("3-pr")));
+    List<Path> batch = consumer.get(5, TimeUnit.SECONDS);
+    assertTrue(batch.size() >= 3);
+    assertEquals(List.of(tempDir.resolve("1"), tempDir.resolve("2")), batch.subList(0, 2));
+
+    // The last batch can be smaller
+    stream.offer(List.of(tempDir.resolve("4")));
+    stream.close();
+    List<Path> files = new ArrayList<>(batch);
+    files.addAll(stream.nextBatch(3, 10));
+    assertEquals(5, files.size());
+    assertTrue(stream.nextBatch(3, 10).isEmpty());
+  }
+
+  @Test
+  void testDisposeWaitsForTheProducer() throws Exception {
+    Path dir = Files.createDirectories(tempDir.resolve("stream"));
+    DicomizeStream stream = new DicomizeStream(dir, 1);
+    assertTrue(stream.beginProducing());
+    stream.abort();
+    CompletableFuture<Void> dispose = CompletableFuture.runAsync(stream::dispose);
+    Thread.sleep(50);
+    assertFalse(dispose.isDone());
+    assertTrue(Files.exists(dir));
+
+    stream.endProducing();
+    dispose.get(5, TimeUnit.SECONDS);
+    assertFalse(Files.exists(dir));
+  }
+
+  @Test
+  void testDisposeBeforeProducing() throws Exception {
+    Path dir = Files.createDirectories(tempDir.resolve("stream"));
+    DicomizeStream stream = new DicomizeStream(dir, 1);
+    stream.dispose();
+    assertFalse(Files.exists(dir));
+    assertFalse(stream.beginProducing());
+  }
+
+  @Test
+  void testProgress() throws Exception {
+    DicomizeStream stream = new DicomizeStream(tempDir, 4);
+    assertEquals(0, stream.getProgress());
+    assertEquals(4, stream.getPending());
+
+    stream.offer(List.of(tempDir.resolve("1")));
+    assertEquals(4, stream.getPending());
+    stream.markTransferred(stream.nextBatch(10));
+    assertEquals(3, stream.getPending());
+    assertEquals(25, stream.getProgress());
+  }
+}
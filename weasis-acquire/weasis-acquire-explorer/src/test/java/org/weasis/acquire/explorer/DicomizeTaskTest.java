@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.acquire.explorer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.weasis.acquire.explorer.DicomizeTask.Dicomizer;
+
+class DicomizeTaskTest {
+
+  @TempDir Path tempDir;
+
+  private Path streamDir() throws Exception {
+    return Files.createDirectories(tempDir.resolve("stream"));
+  }
+
+  private static List<AcquireMediaInfo> media(int size) {
+    List<AcquireMediaInfo> list = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      list.add(mock(AcquireMediaInfo.class));
+    }
+    return list;
+  }
+
+  private static List<Path> drain(DicomizeStream stream) throws InterruptedException {
+    List<Path> files = new ArrayList<>();
+    List<Path> batch;
+    while (!(batch = stream.nextBatch(100)).isEmpty()) {
+      files.addAll(batch);
+    }
+    return files;
+  }
+
+  /** Writes one file per media, named from its index in the list. */
+  private abstract static class FileDicomizer implements Dicomizer {
+    final List<AcquireMediaInfo> media;
+    final AtomicInteger converted = new AtomicInteger();
+
+    FileDicomizer(List<AcquireMediaInfo> media) {
+      this.media = media;
+    }
+
+    @Override
+    public void prepare(Collection<AcquireMediaInfo> toDicomize) {
+      assertEquals(media, toDicomize);
+    }
+
+    @Override
+    public List<Path> dicomize(
+        AcquireMediaInfo mediaInfo, Path exportDirDicom, Path exportDirImage, String seriesUID) {
+      int index = media.indexOf(mediaInfo);
+      try {
+        if (!convert(index)) {
+          return List.of();
+        }
+        converted.incrementAndGet();
+        return List.of(Files.writeString(exportDirDicom.resolve(String.valueOf(index)), ""));
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    /**
+     * @return false when the media cannot be dicomized
+     */
+    abstract boolean convert(int index) throws Exception;
+  }
+
+  @Test
+  void filesAreOfferedInTheOrderOfTheMedia() throws Exception {
+    List<AcquireMediaInfo> media = media(12);
+    Path dir = streamDir();
+    DicomizeStream stream = new DicomizeStream(dir, media.size());
+    FileDicomizer dicomizer =
+        new FileDicomizer(media) {
+          @Override
+          boolean convert(int index) throws InterruptedException {
+            // The first media are the slowest to convert
+            Thread.sleep(media.size() - index);
+            return index != 5;
+          }
+        };
+
+    DicomizeTask task = new DicomizeTask(media, stream, dicomizer);
+    task.run();
+
+    assertEquals(dir, task.get());
+    List<Path> expected = new ArrayList<>();
+    for (int i = 0; i < media.size(); i++) {
+      if (i != 5) {
+        expected.add(dir.resolve(String.valueOf(i)));
+      }
+    }
+    assertEquals(expected, drain(stream));
+    assertFalse(stream.isAborted());
+    verify(media.get(5)).setStatus(AcquireImageStatus.FAILED);
+    verify(media.get(4), never()).setStatus(AcquireImageStatus.FAILED);
+  }
+
+  @Test
+  void abortedStreamStopsTheConversion() throws Exception {
+    List<AcquireMediaInfo> media = media(100);
+    Path dir = streamDir();
+    DicomizeStream stream = new DicomizeStream(dir, media.size());
+    FileDicomizer dicomizer =
+        new FileDicomizer(media) {
+          @Override
+          boolean convert(int index) {
+            if (index == 1) {
+              // The publish stage has failed
+              stream.abort();
+            }
+            return true;
+          }
+        };
+
+    DicomizeTask task = new DicomizeTask(media, stream, dicomizer);
+    task.run();
+
+    assertNull(task.get());
+    assertTrue(stream.isAborted());
+    assertTrue(drain(stream).isEmpty());
+    // Only the media already in progress have been converted
+    assertTrue(dicomizer.converted.get() < media.size());
+    stream.dispose();
+    assertFalse(Files.exists(dir));
+  }
+
+  @Test
+  void disposedStreamIsNotWritten() throws Exception {
+    List<AcquireMediaInfo> media = media(3);
+    Path dir = streamDir();
+    DicomizeStream stream = new DicomizeStream(dir, media.size());
+    stream.abort();
+    stream.dispose();
+    FileDicomizer dicomizer =
+        new FileDicomizer(media) {
+          @Override
+          boolean convert(int index) {
+            return true;
+          }
+        };
+
+    DicomizeTask task = new DicomizeTask(media, stream, dicomizer);
+    task.run();
+
+    assertNull(task.get());
+    assertEquals(0, dicomizer.converted.get());
+    assertFalse(Files.exists(dir));
+  }
+
+  @Test
+  void folderIsDeletedAfterTheCancelledWorkers() throws Exception {
+    List<AcquireMediaInfo> media = media(20);
+    Path dir = streamDir();
+    DicomizeStream stream = new DicomizeStream(dir, media.size());
+    CountDownLatch started = new CountDownLatch(1);
+    AtomicInteger lateFiles = new AtomicInteger();
+    FileDicomizer dicomizer =
+        new FileDicomizer(media) {
+          @Override
+          boolean convert(int index) throws Exception {
+            started.countDown();
+            try {
+              Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+              // An interrupted worker takes some time to release its files, whatever the interrupts
+              long end = System.nanoTime() + 100_000_000L;
+              while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+              }
+              if (dir.resolve("late-" + index).toFile().createNewFile()) {
+                lateFiles.incrementAndGet();
+              }
+            }
+            return false;
+          }
+        };
+
+    DicomizeTask task = new DicomizeTask(media, stream, dicomizer);
+    Thread thread = new Thread(task);
+    thread.start();
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    task.cancel(true);
+    // The publish stage is released and waits for the workers before deleting the folder
+    assertTrue(drain(stream).isEmpty());
+    stream.dispose();
+
+    assertTrue(lateFiles.get() > 0);
+    assertFalse(Files.exists(dir));
+    thread.join(5000);
+    assertFalse(thread.isAlive());
+    assertEquals(0, dicomizer.converted.get());
+  }
+}
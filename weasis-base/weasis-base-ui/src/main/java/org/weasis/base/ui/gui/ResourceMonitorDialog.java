@@ -66,6 +66,7 @@ public class ResourceMonitorDialog extends JDialog {
 
   private final JLabel largestImageValue = new JLabel();
   private final JLabel largestVolumeValue = new JLabel();
+  private final JLabel lutCacheValue = new JLabel();
 
   private final transient Timer timer;
 
@@ -104,6 +105,7 @@ public ResourceMonitorDialog(Frame owner) {
     addSection(content, "ResourceMonitor.workload");
     addRow(content, "ResourceMonitor.largestImage", largestImageValue);
     addRow(content, "ResourceMonitor.largestVolume", largestVolumeValue);
+    addRow(content, "ResourceMonitor.lutCache", lutCacheValue);
 
     addSection(content, "ResourceMonitor.events");
     addRow(content, "ResourceMonitor.uptime", uptimeValue);
@@ -171,6 +173,7 @@ private void refresh() {
 
     largestImageValue.setText(bytes(snapshot.largestImageBytes()));
     largestVolumeValue.setText(volumeText(snapshot.largestVolumeSlices()));
+    lutCacheValue.setText(lutCacheText(snapshot));
   }
 
   private static void applyVerdict(JLabel label, Assessment assessment, boolean bold) {
@@ -254,6 +257,7 @@ private String buildTextReport(Snapshot s, Report report) {
     sb.append(label("ResourceMonitor.largestVolume"))
         .append(volumeText(s.largestVolumeSlices()))
         .append('\n');
+    sb.append(label("ResourceMonitor.lutCache")).append(lutCacheText(s)).append('\n');
     sb.append(label("ResourceMonitor.evictions")).append(s.cacheEvictions()).append('\n');
     sb.append(label("ResourceMonitor.oomEvents")).append(s.outOfMemoryEvents()).append('\n');
     sb.append(label("ResourceMonitor.diskFallbacks")).append(s.volumeDiskFallbacks()).append('\n');
@@ -327,6 +331,14 @@ private static String uptimeText(Snapshot s) {
         + ')';
   }
 
+  private static String lutCacheText(Snapshot s) {
+    return percent(s.lutCacheHitRate())
+        + " "
+        + Messages.getString("ResourceMonitor.hits")
+        + "  -  "
+        + bytes(s.lutCacheBytes());
+  }
+
   private static String volumeText(int slices) {
     return slices <= 0
         ? Messages.getString("ResourceMonitor.none")
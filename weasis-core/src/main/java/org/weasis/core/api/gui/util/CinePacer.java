@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.api.gui.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Paces the cine playback from a monotonic clock ({@link System#nanoTime()}).
+ *
+ * <p>The playhead is a pure function of the elapsed time: at time {@code t}, the due frame is
+ * {@code floor((t - origin) * fps)} frames after the beginning of the playback. The presentation
+ * policy is deterministic:
+ *
+ * <ul>
+ *   <li>when the due frame is decoded, it is presented and the frames skipped since the last
+ *       presentation are counted as dropped;
+ *   <li>when the due frame is not decoded yet, the current frame is kept on screen and counted as
+ *       duplicated for each frame interval elapsed;
+ *   <li>when no frame could be presented during {@link #MAX_HOLD_NANOS}, the next frame is
+ *       presented anyway and the clock is rebased to avoid skipping the whole loop.
+ * </ul>
+ *
+ * <p>The statistics (achieved frame rate, decode latency, dropped and duplicated frames) can be read
+ * from any thread.
+ */
+public final class CinePacer {
+
+  /** Maximum duration without presenting a new frame before forcing the next one. */
+  public static final long MAX_HOLD_NANOS = 500_000_000L;
+
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+  // Smoothing factor of the exponential moving average of the frame interval
+  private static final double EMA_ALPHA = 0.1;
+
+  private double frameRate;
+  private long origin;
+  private long presentedStep;
+  private long lastDueStep;
+  private long lastPresentationTime;
+  private double meanInterval;
+
+  private final AtomicLong presentedFrames = new AtomicLong();
+  private final AtomicLong droppedFrames = new AtomicLong();
+  private final AtomicLong duplicatedFrames = new AtomicLong();
+  private final AtomicLong decodedFrames = new AtomicLong();
+  private final AtomicLong decodeNanos = new AtomicLong();
+  private volatile double achievedFrameRate;
+
+  /**
+   * Immutable snapshot of the playback statistics.
+   *
+   * @param achievedFrameRate the frame rate measured on screen (frames per second)
+   * @param meanDecodeLatencyMs the mean decoding time of a frame in milliseconds
+   * @param presentedFrames the number of frames presented since the start
+   * @param droppedFrames the number of frames skipped because they were not decoded in time
+   * @param duplicatedFrames the number of frame intervals where the previous frame was kept
+   */
+  public record Statistics(
+      double achievedFrameRate,
+      double meanDecodeLatencyMs,
+      long presentedFrames,
+      long droppedFrames,
+      long duplicatedFrames) {}
+
+  /**
+   * Starts a new playback at the given time and resets the statistics.
+   *
+   * @param frameRate the nominal number of frames per second
+   * @param now the current value of {@link System#nanoTime()}
+   */
+  public synchronized void start(double frameRate, long now) {
+    this.frameRate = frameRate;
+    rebase(now);
+    lastPresentationTime = now;
+    meanInterval = 0.0;
+    achievedFrameRate = 0.0;
+    presentedFrames.set(0);
+    droppedFrames.set(0);
+    duplicatedFrames.set(0);
+    decodedFrames.set(0);
+    decodeNanos.set(0);
+  }
+
+  /**
+   * Changes the frame rate without resetting the statistics. The frame currently on screen stays
+   * the reference of the timeline.
+   *
+   * @param frameRate the nominal number of frames per second
+   * @param now the current value of {@link System#nanoTime()}
+   */
+  public synchronized void setFrameRate(double frameRate, long now) {
+    this.frameRate = frameRate;
+    rebase(now);
+  }
+
+  private void rebase(long now) {
+    origin = now;
+    presentedStep = 0;
+    lastDueStep = 0;
+  }
+
+  /**
+   * @param now the current value of {@link System#nanoTime()}
+   * @return the number of frames between the frame on screen and the due frame
+   */
+  public synchronized int getPendingSteps(long now) {
+    if (frameRate <= 0.0) {
+      return 0;
+    }
+    long due = (long) ((now - origin) * frameRate / NANOS_PER_SECOND);
+    return (int) Math.min(Integer.MAX_VALUE, Math.max(0, due - presentedStep));
+  }
+
+  /**
+   * @param now the current value of {@link System#nanoTime()}
+   * @return true when no frame has been presented for too long and the next one must be forced
+   */
+  public synchronized boolean isStalled(long now) {
+    return now - lastPresentationTime > MAX_HOLD_NANOS;
+  }
+
+  /**
+   * Records the presentation of the due frame.
+   *
+   * @param steps the number of frames advanced, as returned by {@link #getPendingSteps(long)}
+   * @param now the current value of {@link System#nanoTime()}
+   */
+  public synchronized void framePresented(int steps, long now) {
+    if (steps <= 0) {
+      return;
+    }
+    presentedStep += steps;
+    lastDueStep = Math.max(lastDueStep, presentedStep);
+    droppedFrames.addAndGet(steps - 1L);
+    updateRate(now);
+  }
+
+  /**
+   * Records the forced presentation of the next frame after a stall. The timeline restarts from
+   * this frame.
+   *
+   * @param now the current value of {@link System#nanoTime()}
+   */
+  public synchronized void frameForced(long now) {
+    rebase(now);
+    updateRate(now);
+  }
+
+  /**
+   * Records that the due frame is not decoded and the current frame stays on screen.
+   *
+   * @param steps the number of frames between the frame on screen and the due frame
+   */
+  public synchronized void frameHeld(int steps) {
+    long due = presentedStep + steps;
+    if (due > lastDueStep) {
+      duplicatedFrames.addAndGet(due - lastDueStep);
+      lastDueStep = due;
+    }
+  }
+
+  private void updateRate(long now) {
+    long interval = now - lastPresentationTime;
+    lastPresentationTime = now;
+    if (presentedFrames.incrementAndGet() > 1 && interval > 0) {
+      meanInterval =
+          meanInterval == 0.0 ? interval : meanInterval + EMA_ALPHA * (interval - meanInterval);
+      achievedFrameRate = NANOS_PER_SECOND / meanInterval;
+    }
+  }
+
+  /**
+   * Records the decoding time of a frame. Can be called from any thread.
+   *
+   * @param nanos the decoding duration in nanoseconds
+   */
+  public void recordDecodeLatency(long nanos) {
+    decodedFrames.incrementAndGet();
+    decodeNanos.addAndGet(nanos);
+  }
+
+  /**
+   * @return the frame rate measured on screen, or 0 when not enough frames have been presented
+   */
+  public double getAchievedFrameRate() {
+    return achievedFrameRate;
+  }
+
+  public Statistics getStatistics() {
+    long decoded = decodedFrames.get();
+    double latency = decoded == 0 ? 0.0 : decodeNanos.get() / (decoded * 1_000_000.0);
+    return new Statistics(
+        achievedFrameRate,
+        latency,
+        presentedFrames.get(),
+        droppedFrames.get(),
+        duplicatedFrames.get());
+  }
+}
@@ -9,17 +9,25 @@
  */
 package org.weasis.core.api.gui.util;
 
-import java.util.concurrent.atomic.AtomicInteger;
 import javax.swing.SpinnerNumberModel;
 import javax.swing.Timer;
 import javax.swing.UIManager;
 import javax.swing.border.TitledBorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.weasis.core.Messages;
 import org.weasis.core.api.gui.util.GuiUtils.IconColor;
 import org.weasis.core.util.MathUtil;
 import org.weasis.core.util.StringUtil;
 
+/**
+ * Slider action which can play the frames as a cine loop. The playback is paced by {@link
+ * CinePacer}: the frame on screen follows a monotonic clock, frames that are not decoded in time
+ * are dropped or held deterministically, and subclasses can decode the next frames ahead of the
+ * playhead with {@link #prefetchFrames(int[])}.
+ */
 public abstract class SliderCineListener extends SliderChangeListener {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SliderCineListener.class);
 
   public enum TIME {
     SECOND,
@@ -30,49 +38,21 @@ public enum TIME {
   private static final double DEFAULT_MIN = 0.01;
   private static final double DEFAULT_MAX = 90.0;
 
+  // Number of decoded frames kept ahead of the playhead
+  private static final int DECODE_AHEAD_MIN = 4;
+  private static final int DECODE_AHEAD_MAX = 32;
+  // Poll the clock more often than the frame interval to limit the presentation jitter
+  private static final int MIN_TIMER_DELAY = 5;
+
   protected volatile boolean sweeping = false;
   private volatile boolean backward = false;
 
-  private volatile long startTime;
-  private volatile long spentTime;
-
-  private final AtomicInteger iteration = new AtomicInteger(0);
+  private final CinePacer pacer = new CinePacer();
 
   private final TIME time;
   private final SpinnerNumberModel speedModel;
 
-  private final Timer timer =
-      new Timer(
-          50,
-          _ -> {
-            int step = (int) (getSpeed() / 5);
-            if (step <= 0) {
-              step = 1;
-            }
-            if (iteration.getAndIncrement() % step == 0) {
-              long prevStartTime = startTime;
-              startTime = System.currentTimeMillis();
-              if (iteration.get() > step) {
-                spentTime = (System.currentTimeMillis() - prevStartTime) / 1000;
-              } else {
-                spentTime = 0;
-              }
-            }
-            int offset = backward ? -1 : 1;
-            int frameIndex = getSliderValue() + offset;
-            if (frameIndex > getSliderMax()) {
-              if (sweeping) {
-                backward = true;
-                frameIndex = frameIndex - 2;
-              } else {
-                frameIndex = getSliderMin();
-              }
-            } else if (frameIndex < getSliderMin()) {
-              backward = false;
-              frameIndex = getSliderMin();
-            }
-            setSliderValue(frameIndex);
-          });
+  private final Timer timer = new Timer(50, _ -> presentDueFrame());
 
   protected SliderCineListener(
       Feature<? extends ActionState> action,
@@ -96,8 +76,9 @@ protected SliderCineListener(
 
   public void start() {
     if (!timer.isRunning() && getSliderMax() - getSliderMin() > 0) {
-      timer.setDelay((int) (1000 / getSpeed()));
-      iteration.set(0);
+      timer.setDelay(getTimerDelay());
+      pacer.start(getSpeed(), System.nanoTime());
+      prefetchFrames(getUpcomingFrames(getSliderValue(), backward));
       timer.start();
     }
   }
@@ -105,7 +86,111 @@ public void start() {
   public void stop() {
     if (timer.isRunning()) {
       timer.stop();
+      prefetchFrames(new int[0]);
+      LOGGER.debug("Cine playback statistics: {}", pacer.getStatistics());
+    }
+  }
+
+  private int getTimerDelay() {
+    return Math.max(MIN_TIMER_DELAY, (int) (500 / getSpeed()));
+  }
+
+  private void presentDueFrame() {
+    long now = System.nanoTime();
+    int steps = pacer.getPendingSteps(now);
+    if (steps <= 0) {
+      return;
+    }
+    int current = getSliderValue();
+    long target = walk(current, backward, steps);
+    if (isFrameReady(frameOf(target))) {
+      pacer.framePresented(steps, now);
+    } else if (pacer.isStalled(now)) {
+      // Decoding cannot keep up: show the next frame and restart the timeline from it
+      target = walk(current, backward, 1);
+      pacer.frameForced(now);
+    } else {
+      pacer.frameHeld(steps);
+      return;
+    }
+    backward = isBackward(target);
+    setSliderValue(frameOf(target));
+    prefetchFrames(getUpcomingFrames(frameOf(target), backward));
+  }
+
+  // Returns the frame and the direction (sign bit) after advancing of the given number of steps
+  private long walk(int frameIndex, boolean back, int steps) {
+    int min = getSliderMin();
+    int max = getSliderMax();
+    int index = frameIndex;
+    int nbSteps = max > min ? steps % (sweeping ? 2 * (max - min) : max - min + 1) : 0;
+    for (int i = 0; i < nbSteps; i++) {
+      index += back ? -1 : 1;
+      if (index > max) {
+        if (sweeping) {
+          back = true;
+          index = max - 1;
+        } else {
+          index = min;
+        }
+      } else if (index < min) {
+        back = false;
+        index = sweeping ? min + 1 : min;
+      }
     }
+    return back ? -((long) index) - 1 : index;
+  }
+
+  private static int frameOf(long position) {
+    return (int) (position < 0 ? -position - 1 : position);
+  }
+
+  private static boolean isBackward(long position) {
+    return position < 0;
+  }
+
+  /**
+   * @return the slider values of the next frames to present, in the order of the playback
+   */
+  private int[] getUpcomingFrames(int frameIndex, boolean back) {
+    // Decode about half a second ahead
+    int depth = Math.max(DECODE_AHEAD_MIN, (int) Math.ceil(getSpeed() / 2.0));
+    depth = Math.min(depth, Math.min(DECODE_AHEAD_MAX, getSliderMax() - getSliderMin()));
+    int[] frames = new int[Math.max(0, depth)];
+    long position = back ? -((long) frameIndex) - 1 : frameIndex;
+    for (int i = 0; i < frames.length; i++) {
+      position = walk(frameOf(position), isBackward(position), 1);
+      frames[i] = frameOf(position);
+    }
+    return frames;
+  }
+
+  /**
+   * Indicates whether the frame at the given slider value can be displayed without waiting for
+   * its decoding. When the frame is not ready, the cine keeps the current frame on screen.
+   *
+   * @param sliderValue the slider value of the frame
+   * @return true if the frame can be presented immediately
+   */
+  protected boolean isFrameReady(int sliderValue) {
+    return true;
+  }
+
+  /**
+   * Requests the decoding of the next frames of the playback. An empty array means that the cine
+   * has stopped and the decoded frames can be released.
+   *
+   * @param sliderValues the slider values of the next frames, in the order of the playback
+   */
+  protected void prefetchFrames(int[] sliderValues) {
+    // Nothing by default
+  }
+
+  /**
+   * @return the pacer of the playback, which provides the statistics and records decode latencies
+   */
+  public CinePacer getPacer() {
+    return pacer;
   }
 
   public boolean isCining() {
@@ -149,11 +234,8 @@ public void updateSliderProperties(JSliderW slider) {
 
   public double getCurrentCineRate() {
     if (isCining()) {
-      double time = spentTime;
-      if (time == 0) {
-        return 1000.0 / timer.getDelay();
-      }
-      return spentTime;
+      double rate = pacer.getAchievedFrameRate();
+      return rate > 0.0 ? rate : getSpeed();
     }
     return 0.0;
   }
@@ -164,8 +246,8 @@ public void setSpeed(double speed) {
 
   protected void updateSpeed() {
     if (timer.isRunning()) {
-      iteration.set(0);
-      timer.setDelay((int) (1000 / getSpeed()));
+      timer.setDelay(getTimerDelay());
+      pacer.setFrameRate(getSpeed(), System.nanoTime());
     }
   }
 
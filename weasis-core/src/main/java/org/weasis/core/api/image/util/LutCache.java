@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.api.image.util;
+
+import java.awt.image.DataBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.weasis.opencv.data.LookupTableCV;
+import org.weasis.opencv.op.lut.LutShape;
+import org.weasis.opencv.op.lut.WlParams;
+
+/**
+ * Cache of the lookup tables shared by the images having the same pixel value transform, e.g. the
+ * slices of a CT series with the same rescale slope/intercept and bit depth. Scrolling through the
+ * series with the same window/level then reuses the same table instead of building a new one for
+ * each slice.
+ *
+ * <p>The tables must not be modified by the callers. The least recently used tables are removed
+ * when their size exceeds {@code weasis.lut.cache.bytes} (16 MB by default).
+ */
+public final class LutCache {
+
+  private static final LutCache INSTANCE =
+      new LutCache(Long.getLong("weasis.lut.cache.bytes", 16L * 1024 * 1024)); // NON-NLS
+
+  /**
+   * Key of a VOI lookup table.
+   *
+   * @param pixelKey the description of the stored values and of their modality transform
+   *     (rescale, pixel padding, bits stored, signedness), it must implement equals and hashCode
+   * @param inverse true when the table is inverted (e.g. MONOCHROME1)
+   */
+  public record VoiKey(
+      Object pixelKey,
+      double window,
+      double level,
+      double levelMin,
+      double levelMax,
+      LutShape lutShape,
+      boolean pixelPadding,
+      boolean fillOutsideLutRange,
+      boolean inverseLut,
+      boolean inverse,
+      Object presentationState) {
+
+    public VoiKey(Object pixelKey, WlParams wl, boolean inverse) {
+      this(
+          Objects.requireNonNull(pixelKey),
+          wl.getWindow(),
+          wl.getLevel(),
+          wl.getLevelMin(),
+          wl.getLevelMax(),
+          wl.getLutShape(),
+          wl.isPixelPadding(),
+          wl.isFillOutsideLutRange(),
+          wl.isInverseLut(),
+          inverse,
+          wl.getPresentationState());
+    }
+  }
+
+  /**
+   * @param hits the number of tables found in the cache
+   * @param misses the number of tables built
+   * @param bytes the size of the cached tables
+   * @param entries the number of cached tables
+   */
+  public record Stats(long hits, long misses, long bytes, int entries) {
+
+    /**
+     * @return the fraction of the requests found in the cache, or 0 without request
+     */
+    public double hitRate() {
+      long total = hits + misses;
+      return total == 0 ? 0.0 : hits / (double) total;
+    }
+  }
+
+  private static final class Entry {
+    final LookupTableCV lut;
+    final long bytes;
+    volatile long lastAccess;
+
+    Entry(LookupTableCV lut, long access) {
+      this.lut = lut;
+      this.bytes = sizeOf(lut);
+      this.lastAccess = access;
+    }
+  }
+
+  private final long maxBytes;
+  private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicLong bytes = new AtomicLong();
+  private final AtomicLong clock = new AtomicLong();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  LutCache(long maxBytes) {
+    this.maxBytes = Math.max(0, maxBytes);
+  }
+
+  public static LutCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the cached table of the key, or builds it. Concurrent requests of the same key build
+   * the table only once.
+   *
+   * @param key the full set of parameters of the table
+   * @param builder builds the table, a null table is returned without being cached
+   * @return the shared table
+   */
+  public LookupTableCV get(Object key, Supplier<LookupTableCV> builder) {
+    Objects.requireNonNull(key);
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      boolean[] built = new boolean[1];
+      entry =
+          entries.computeIfAbsent(
+              key,
+              _ -> {
+                LookupTableCV lut = builder.get();
+                if (lut == null) {
+                  return null;
+                }
+                built[0] = true;
+                Entry created = new Entry(lut, clock.incrementAndGet());
+                bytes.addAndGet(created.bytes);
+                return created;
+              });
+      if (entry == null) {
+        misses.increment();
+        return null;
+      }
+      if (built[0]) {
+        misses.increment();
+        if (bytes.get() > maxBytes) {
+          evict();
+        }
+        return entry.lut;
+      }
+    }
+    hits.increment();
+    entry.lastAccess = clock.incrementAndGet();
+    return entry.lut;
+  }
+
+  private synchronized void evict() {
+    if (bytes.get() <= maxBytes) {
+      return;
+    }
+    // Copy the access times, they may change while sorting
+    record Access(Object key, Entry entry, long time) {}
+    List<Access> list = new ArrayList<>(entries.size());
+    entries.forEach((key, entry) -> list.add(new Access(key, entry, entry.lastAccess)));
+    list.sort(Comparator.comparingLong(Access::time));
+    for (Access access : list) {
+      if (bytes.get() <= maxBytes * 3 / 4) {
+        break;
+      }
+      if (entries.remove(access.key(), access.entry())) {
+        bytes.addAndGet(-access.entry().bytes);
+      }
+    }
+  }
+
+  /** Removes all the tables, the statistics are kept. */
+  public void clear() {
+    for (Object key : List.copyOf(entries.keySet())) {
+      Entry entry = entries.remove(key);
+      if (entry != null) {
+        bytes.addAndGet(-entry.bytes);
+      }
+    }
+  }
+
+  public Stats getStats() {
+    return new Stats(hits.sum(), misses.sum(), bytes.get(), entries.size());
+  }
+
+  private static long sizeOf(LookupTableCV lut) {
+    long values = (long) lut.getNumEntries() * lut.getNumBands();
+    return values * DataBuffer.getDataTypeSize(lut.getDataType()) / 8;
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.api.media.data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Window of decoded images ahead of a playhead (e.g. cine playback). The images of the window are
+ * decoded in {@link ImageElement#IMAGE_LOADER} and pinned in the image cache until the playhead
+ * moves past them, so that they cannot be evicted before being displayed.
+ */
+public class ImageDecodeAhead {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ImageDecodeAhead.class);
+
+  // Limit the tasks in the shared loader queue, the nearest images are submitted first
+  private static final int MAX_PENDING = 8;
+
+  private final ExecutorService executor;
+  private final LongConsumer decodeLatencyListener;
+  private final Set<ImageElement> window = new LinkedHashSet<>();
+  private final Map<ImageElement, Future<?>> pending = new HashMap<>();
+
+  /**
+   * @param decodeLatencyListener receives the decoding time (in nanoseconds) of each image decoded
+   *     ahead, can be null
+   */
+  public ImageDecodeAhead(LongConsumer decodeLatencyListener) {
+    this(ImageElement.IMAGE_LOADER, decodeLatencyListener);
+  }
+
+  ImageDecodeAhead(ExecutorService executor, LongConsumer decodeLatencyListener) {
+    this.executor = executor;
+    this.decodeLatencyListener = decodeLatencyListener;
+  }
+
+  /**
+   * @param image the image
+   * @return true if the image can be displayed without waiting for its decoding
+   */
+  public static boolean isReadyToDisplay(ImageElement image) {
+    return image == null
+        || !image.isReadable()
+        || (image.isImageInCache() && image.isImageAvailable());
+  }
+
+  /**
+   * Sets the images expected after the playhead. The images leaving the window are unpinned and
+   * their decoding is canceled if not started yet. An empty list releases all the images.
+   *
+   * @param upcoming the next images in the order of the playback
+   */
+  public synchronized void update(List<? extends ImageElement> upcoming) {
+    Set<ImageElement> next = new LinkedHashSet<>();
+    for (ImageElement image : upcoming) {
+      if (image != null) {
+        next.add(image);
+      }
+    }
+
+    Iterator<ImageElement> it = window.iterator();
+    while (it.hasNext()) {
+      ImageElement image = it.next();
+      if (!next.contains(image)) {
+        it.remove();
+        image.unpinFromCache();
+        Future<?> future = pending.remove(image);
+        if (future != null) {
+          // Do not interrupt a decoding in progress, the image will be in the cache
+          future.cancel(false);
+        }
+      }
+    }
+
+    pending.values().removeIf(Future::isDone);
+    for (ImageElement image : next) {
+      if (window.add(image)) {
+        image.pinInCache();
+      }
+      if (pending.size() < MAX_PENDING
+          && !pending.containsKey(image)
+          && !isReadyToDisplay(image)) {
+        submit(image);
+      }
+    }
+  }
+
+  /** Releases all the images of the window. */
+  public void clear() {
+    update(List.of());
+  }
+
+  /**
+   * @return the images currently in the window
+   */
+  public synchronized List<ImageElement> getWindow() {
+    return new ArrayList<>(window);
+  }
+
+  private void submit(ImageElement image) {
+    try {
+      pending.put(
+          image,
+          executor.submit(
+              () -> {
+                try {
+                  long start = System.nanoTime();
+                  if (image.loadInCache() && decodeLatencyListener != null) {
+                    decodeLatencyListener.accept(System.nanoTime() - start);
+                  }
+                } finally {
+                  removePending(image);
+                }
+              }));
+    } catch (RejectedExecutionException e) {
+      LOGGER.debug("Cannot decode ahead: {}", image);
+    }
+  }
+
+  private synchronized void removePending(ImageElement image) {
+    pending.remove(image);
+  }
+}
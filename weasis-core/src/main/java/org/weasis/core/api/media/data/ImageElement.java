@@ -15,12 +15,15 @@
 import java.awt.image.RenderedImage;
 import java.net.URI;
 import java.util.Map;
-import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import org.opencv.core.Core.MinMaxLocResult;
 import org.opencv.core.CvType;
 import org.slf4j.Logger;
@@ -54,6 +57,28 @@ public class ImageElement extends MediaElement {
   public static final ExecutorService IMAGE_LOADER =
       ThreadUtil.newManagedImageIOThreadPool("ImageLoader");
 
+  /** Order of the pending loads of {@link #getImageAsync(OpManager, boolean, Priority)}. */
+  public enum Priority {
+    /** The image is required for the display. */
+    HIGH,
+    NORMAL,
+    /** The image is only required for a preview (e.g. a thumbnail) or a prefetch. */
+    LOW
+  }
+
+  /**
+   * Runs the pending loads of {@link #getImageAsync(OpManager, boolean, Priority)}. Unlike {@link
+   * #IMAGE_LOADER}, the queue is unbounded so that a request never decodes in the calling thread
+   * (e.g. the EDT). A queued task only takes the next pending load, so there are no more tasks than
+   * pending loads.
+   */
+  static final ExecutorService LOAD_EXECUTOR =
+      ThreadUtil.newUnboundedImageIOThreadPool("ImageAsyncLoader");
+
+  // Loads waiting for a thread of LOAD_EXECUTOR, the highest priority is taken first
+  private static final PriorityBlockingQueue<LoadTask> LOAD_QUEUE = new PriorityBlockingQueue<>();
+  private static final AtomicLong LOAD_SEQUENCE = new AtomicLong();
+
   private static final NativeCache<ImageElement, PlanarImage> mCache =
       new NativeCache<>(SystemMemory.getNativeMemoryBudget()) {
 
@@ -73,7 +98,11 @@ protected void afterEntryRemove(ImageElement key, PlanarImage img) {
         }
       };
 
-  protected boolean readable = true;
+  protected volatile boolean readable = true;
+
+  private final Object loadLock = new Object();
+  // The load in progress or waiting in LOAD_QUEUE, guarded by loadLock
+  private LoadTask pendingLoad;
 
   protected double pixelSizeX = 1.0;
   protected double pixelSizeY = 1.0;
@@ -410,16 +439,127 @@ public String toString() {
     return uri.toString();
   }
 
-  public synchronized PlanarImage getImage(OpManager manager, boolean findMinMax) {
+  /**
+   * Returns the full size image, waiting for the loading at the highest priority. This is a thin
+   * wrapper around {@link #getImageAsync(OpManager, boolean, Priority)}.
+   *
+   * @return the image or null if the image cannot be read
+   */
+  public PlanarImage getImage(OpManager manager, boolean findMinMax) {
+    CompletableFuture<PlanarImage> future = loadAsync(Priority.HIGH);
+    try {
+      // The post-processing runs in the calling thread as the caller may hold the lock of this
+      // element (required by processCacheImage)
+      return processCacheImage(future.get(45, TimeUnit.SECONDS), manager, findMinMax);
+    } catch (InterruptedException e) {
+      // Re-assert the thread's interrupted status
+      Thread.currentThread().interrupt();
+      future.cancel(false);
+    } catch (TimeoutException e) {
+      future.cancel(false);
+      LOGGER.warn("Timeout when reading image: {}", this);
+    } catch (ExecutionException | CancellationException e) {
+      LOGGER.error("Cannot read image: {}", this, e);
+    } catch (OutOfMemoryError e) {
+      ResourceMonitor.getInstance().recordOutOfMemory();
+      mCache.expungeStaleEntries();
+      LOGGER.warn("Reading image data: {}", this, e);
+    }
+    return null;
+  }
+
+  /**
+   * Loads the full size image without blocking the calling thread.
+   *
+   * <p>The concurrent requests of the same image share a single decoding. The pending loads are
+   * executed in their own thread pool by order of priority, a request with a higher priority
+   * raises the priority of the pending load. Cancelling the returned future discards the decoding
+   * if it has not started yet and if no other request is waiting for it.
+   *
+   * @param manager the operations to apply to the image, can be null
+   * @param findMinMax true to compute the min and max values of the image
+   * @param priority the priority of the loading
+   * @return the future image, the value is null if the image cannot be read
+   */
+  public CompletableFuture<PlanarImage> getImageAsync(
+      OpManager manager, boolean findMinMax, Priority priority) {
+    CompletableFuture<PlanarImage> load = loadAsync(priority);
+    CompletableFuture<PlanarImage> result =
+        load.thenApply(img -> processCacheImage(img, manager, findMinMax));
+    result.whenComplete(
+        (_, _) -> {
+          if (result.isCancelled()) {
+            load.cancel(false);
+          }
+        });
+    return result;
+  }
+
+  public CompletableFuture<PlanarImage> getImageAsync(OpManager manager, Priority priority) {
+    return getImageAsync(manager, true, priority);
+  }
+
+  private synchronized PlanarImage processCacheImage(
+      PlanarImage cacheImage, OpManager manager, boolean findMinMax) {
+    return getCacheImage(cacheImage, manager, findMinMax);
+  }
+
+  /**
+   * @return a future of the cached image, cancelling it releases the request on the shared load
+   */
+  private CompletableFuture<PlanarImage> loadAsync(Priority priority) {
+    PlanarImage cacheImage = mCache.get(this);
+    if (cacheImage != null || !readable) {
+      return CompletableFuture.completedFuture(cacheImage);
+    }
+    LoadTask task;
+    boolean submit = false;
+    synchronized (loadLock) {
+      task = pendingLoad;
+      if (task == null) {
+        task = new LoadTask(priority);
+        pendingLoad = task;
+        LOAD_QUEUE.add(task);
+        submit = true;
+      } else if (priority.compareTo(task.priority) < 0 && LOAD_QUEUE.remove(task)) {
+        // The queue does not reorder its elements, the task must be inserted again
+        task.priority = priority;
+        LOAD_QUEUE.add(task);
+      }
+      task.waiters++;
+    }
+    if (submit) {
+      // One execution per queued task, each one takes the task with the highest priority
+      LOAD_EXECUTOR.execute(ImageElement::runNextLoad);
+    }
+    LoadTask sharedTask = task;
+    CompletableFuture<PlanarImage> future = task.result.copy();
+    future.whenComplete(
+        (_, _) -> {
+          if (future.isCancelled()) {
+            sharedTask.release();
+          }
+        });
+    return future;
+  }
+
+  private static void runNextLoad() {
+    LoadTask task = LOAD_QUEUE.poll();
+    if (task != null && task.claim()) {
+      task.execute();
+    }
+  }
+
+  private PlanarImage loadCacheImage() {
     try {
-      return getCacheImage(startImageLoading(), manager, findMinMax);
+      return startImageLoading();
     } catch (OutOfMemoryError e1) {
       ResourceMonitor.getInstance().recordOutOfMemory();
       mCache.expungeStaleEntries();
       CvUtil.runGarbageCollectorAndWait(100);
 
       try {
-        return getCacheImage(startImageLoading(), manager, findMinMax);
+        return startImageLoading();
       } catch (OutOfMemoryError e) {
         LOGGER.warn("Reading image data: {}", this, e1);
       }
@@ -465,28 +605,66 @@ public PlanarImage getImage() {
     return getImage(null);
   }
 
+  /**
+   * Decodes the image in the calling thread and keeps it in the cache. Unlike {@link #getImage()},
+   * the decoding is not delegated to another thread, so this method can be called from a task of
+   * {@link #IMAGE_LOADER} (e.g. decode-ahead during cine playback) without blocking a second one.
+   *
+   * @return true if the image is available in the cache
+   */
+  public boolean loadInCache() {
+    if (mCache.get(this) == null && readable) {
+      LoadTask task;
+      boolean owner;
+      synchronized (loadLock) {
+        task = pendingLoad;
+        if (task == null) {
+          task = new LoadTask(Priority.NORMAL);
+          pendingLoad = task;
+        }
+        // Take over a queued load, the requests waiting for it are completed by this thread
+        owner = task.claim();
+        if (owner) {
+          LOAD_QUEUE.remove(task);
+        }
+      }
+      if (owner) {
+        task.execute();
+      } else {
+        // Already decoding in another thread
+        try {
+          task.result.get(45, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return false;
+        } catch (ExecutionException | CancellationException | TimeoutException e) {
+          return false;
+        }
+      }
+    }
+    try {
+      return processCacheImage(mCache.get(this), null, true) != null;
+    } catch (OutOfMemoryError e) {
+      ResourceMonitor.getInstance().recordOutOfMemory();
+      mCache.expungeStaleEntries();
+      LOGGER.warn("Reading image data: {}", this, e);
+      return false;
+    }
+  }
+
   private PlanarImage startImageLoading() throws OutOfMemoryError {
     PlanarImage cacheImage;
     if ((cacheImage = mCache.get(this)) == null && readable && setAsLoading()) {
-      LOGGER.debug("Asking for reading image: {}", this);
-      Load ref = new Load();
-      Future<PlanarImage> future = IMAGE_LOADER.submit(ref);
+      LOGGER.debug("Reading image: {}", this);
       PlanarImage img = null;
       try {
-        img = future.get(45, TimeUnit.SECONDS);
-      } catch (InterruptedException | TimeoutException e) {
-        // Re-assert the thread's interrupted status
-        Thread.currentThread().interrupt();
-        // We don't need the result, so cancel the task too
-        future.cancel(true);
-      } catch (ExecutionException e) {
-        if (e.getCause() instanceof OutOfMemoryError memoryError) {
-          setAsLoaded();
-          throw memoryError;
-        } else {
-          readable = false;
-          LOGGER.error("Cannot read pixel data!: {}", this, e);
-        }
+        img = loadImage();
+      } catch (OutOfMemoryError e) {
+        setAsLoaded();
+        throw e;
+      } catch (Exception e) {
+        readable = false;
+        LOGGER.error("Cannot read pixel data!: {}", this, e);
       }
       if (img != null) {
         readable = img.width() > 0;
@@ -506,11 +684,64 @@ public boolean isReadable() {
     return readable;
   }
 
-  class Load implements Callable<PlanarImage> {
+  /** A load of the image of this element, shared by all the requests. */
+  private final class LoadTask implements Comparable<LoadTask> {
+    final CompletableFuture<PlanarImage> result = new CompletableFuture<>();
+    final long sequence = LOAD_SEQUENCE.incrementAndGet();
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    // Modified only when the task is not in LOAD_QUEUE, guarded by loadLock
+    volatile Priority priority;
+    // The number of requests not cancelled, guarded by loadLock
+    int waiters;
+
+    LoadTask(Priority priority) {
+      this.priority = priority;
+    }
+
+    /** Returns true for the single thread allowed to execute or to discard the task. */
+    boolean claim() {
+      return claimed.compareAndSet(false, true);
+    }
+
+    void execute() {
+      PlanarImage img = null;
+      Throwable error = null;
+      try {
+        img = loadCacheImage();
+      } catch (RuntimeException | Error e) {
+        error = e;
+      } finally {
+        synchronized (loadLock) {
+          if (pendingLoad == this) {
+            pendingLoad = null;
+          }
+        }
+      }
+      if (error == null) {
+        result.complete(img);
+      } else {
+        result.completeExceptionally(error);
+      }
+    }
+
+    void release() {
+      synchronized (loadLock) {
+        if (--waiters > 0 || !claim()) {
+          return;
+        }
+        LOAD_QUEUE.remove(this);
+        if (pendingLoad == this) {
+          pendingLoad = null;
+        }
+      }
+      LOGGER.debug("Loading cancelled: {}", ImageElement.this);
+      result.cancel(false);
+    }
 
     @Override
-    public PlanarImage call() throws Exception {
-      return loadImage();
+    public int compareTo(LoadTask o) {
+      int c = priority.compareTo(o.priority);
+      return c != 0 ? c : Long.compare(sequence, o.sequence);
     }
   }
 }
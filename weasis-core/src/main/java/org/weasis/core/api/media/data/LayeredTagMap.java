@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.api.media.data;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Tag map made of an immutable base shared by several media (e.g. the frames of a multiframe
+ * instance) and a small overlay holding the values specific to one media.
+ *
+ * <p>Reading looks in the overlay first and then in the base. Writing and removing only modify the
+ * overlay, so the base is never copied. A value equal to the one of the base (arrays included) is
+ * not stored in the overlay. The entries returned by {@link #entrySet()} are read-only.
+ */
+public final class LayeredTagMap extends AbstractMap<TagW, Object> {
+
+  /** Masks an entry of the base in the overlay. */
+  private static final Object REMOVED = new Object();
+
+  /** Stands for a null value in the base, which does not accept null. */
+  private static final Object NULL = new Object();
+
+  /** Immutable and compact copy of tags, to be shared by several {@link LayeredTagMap}. */
+  public static final class Base {
+    private final Map<TagW, Object> tags;
+
+    public Base(Map<TagW, Object> tags) {
+      Map<TagW, Object> copy = HashMap.newHashMap(tags.size());
+      for (Entry<TagW, Object> entry : tags.entrySet()) {
+        if (entry.getKey() != null) {
+          copy.put(entry.getKey(), entry.getValue() == null ? NULL : entry.getValue());
+        }
+      }
+      this.tags = Map.copyOf(copy);
+    }
+
+    public int size() {
+      return tags.size();
+    }
+  }
+
+  private final Base base;
+  private final Map<TagW, Object> overlay;
+  // Set by clear(), the base is then ignored
+  private boolean baseHidden;
+
+  public LayeredTagMap(Base base) {
+    this.base = Objects.requireNonNull(base);
+    this.overlay = HashMap.newHashMap(8);
+  }
+
+  /** Returns the number of entries stored only in this map, including the removed tags. */
+  public int getOverlaySize() {
+    return overlay.size();
+  }
+
+  /** Returns true if the tags of the base are visible through this map. */
+  public boolean isSharing(Base base) {
+    return this.base == base && !baseHidden;
+  }
+
+  /** Returns the value of the base, NULL for a null value or null if the key is not in the base. */
+  private Object baseValue(Object key) {
+    return baseHidden || key == null ? null : base.tags.get(key);
+  }
+
+  @Override
+  public Object get(Object key) {
+    Object value = overlay.get(key);
+    if (value != null || overlay.containsKey(key)) {
+      return value == REMOVED ? null : value;
+    }
+    value = baseValue(key);
+    return value == NULL ? null : value;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    Object value = overlay.get(key);
+    if (value != null || overlay.containsKey(key)) {
+      return value != REMOVED;
+    }
+    return baseValue(key) != null;
+  }
+
+  @Override
+  public Object put(TagW key, Object value) {
+    Object previous = get(key);
+    Object baseValue = baseValue(key);
+    // Arrays are compared by content: the geometry of every frame is read in new arrays
+    if (baseValue != null && Objects.deepEquals(baseValue == NULL ? null : baseValue, value)) {
+      overlay.remove(key);
+    } else {
+      overlay.put(key, value);
+    }
+    return previous;
+  }
+
+  @Override
+  public Object remove(Object key) {
+    Object previous = get(key);
+    if (baseValue(key) == null) {
+      overlay.remove(key);
+    } else if (key instanceof TagW tag) {
+      overlay.put(tag, REMOVED);
+    }
+    return previous;
+  }
+
+  @Override
+  public void clear() {
+    overlay.clear();
+    baseHidden = true;
+  }
+
+  @Override
+  public int size() {
+    int size = baseHidden ? 0 : base.tags.size();
+    for (Entry<TagW, Object> entry : overlay.entrySet()) {
+      boolean inBase = baseValue(entry.getKey()) != null;
+      if (entry.getValue() == REMOVED) {
+        if (inBase) {
+          size--;
+        }
+      } else if (!inBase) {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public Set<Entry<TagW, Object>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<TagW, Object>> iterator() {
+        return new EntryIterator();
+      }
+
+      @Override
+      public int size() {
+        return LayeredTagMap.this.size();
+      }
+    };
+  }
+
+  private final class EntryIterator implements Iterator<Entry<TagW, Object>> {
+    private final Iterator<Entry<TagW, Object>> overlayIterator = overlay.entrySet().iterator();
+    private Iterator<Entry<TagW, Object>> baseIterator;
+    private Entry<TagW, Object> next;
+    private Entry<TagW, Object> nextOverlayEntry;
+    private Entry<TagW, Object> last;
+    private Entry<TagW, Object> lastOverlayEntry;
+
+    @Override
+    public boolean hasNext() {
+      if (next != null) {
+        return true;
+      }
+      while (overlayIterator.hasNext()) {
+        Entry<TagW, Object> entry = overlayIterator.next();
+        if (entry.getValue() != REMOVED) {
+          next = new SimpleImmutableEntry<>(entry);
+          nextOverlayEntry = entry;
+          return true;
+        }
+      }
+      if (baseIterator == null) {
+        Map<TagW, Object> tags = baseHidden ? Map.of() : base.tags;
+        baseIterator = tags.entrySet().iterator();
+      }
+      while (baseIterator.hasNext()) {
+        Entry<TagW, Object> entry = baseIterator.next();
+        if (!overlay.containsKey(entry.getKey())) {
+          Object value = entry.getValue();
+          next = new SimpleImmutableEntry<>(entry.getKey(), value == NULL ? null : value);
+          nextOverlayEntry = null;
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public Entry<TagW, Object> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      last = next;
+      lastOverlayEntry = nextOverlayEntry;
+      next = null;
+      return last;
+    }
+
+    @Override
+    public void remove() {
+      if (last == null) {
+        throw new IllegalStateException();
+      }
+      if (lastOverlayEntry != null) {
+        // Not a structural modification, the iteration of the overlay can continue
+        lastOverlayEntry.setValue(REMOVED);
+      } else {
+        // The iteration of the overlay is finished
+        overlay.put(last.getKey(), REMOVED);
+      }
+      last = null;
+    }
+  }
+}
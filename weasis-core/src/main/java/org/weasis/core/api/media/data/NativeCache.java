@@ -16,6 +16,7 @@
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 import org.weasis.core.api.util.MemoryManager;
 import org.weasis.core.api.util.NativeMemoryConsumer;
 import org.weasis.core.api.util.ResourceMonitor;
@@ -117,6 +118,34 @@ public void put(K key, V value) {
     useNativeMemory.addAndGet(-physicalBytes(previous));
   }
 
+  /**
+   * Stores the value only if no value is cached for the key, e.g. when several threads have built
+   * the same entry. The caller keeps the ownership of a value that has not been stored.
+   *
+   * @return the value already cached, or {@code null} if the given value has been stored
+   */
+  public V putIfAbsent(K key, V value) {
+    expungeStaleEntries();
+    V previous = hash.putIfAbsent(key, value);
+    if (previous == null) {
+      useNativeMemory.addAndGet(physicalBytes(value));
+    }
+    return previous;
+  }
+
+  /**
+   * Removes the entries whose key matches the filter, pinned or not, and drops their pins. Used
+   * when the source of the entries no longer exists.
+   */
+  public void removeIf(Predicate<? super K> filter) {
+    List<K> remKeys;
+    synchronized (hash) {
+      remKeys = hash.keySet().stream().filter(filter).toList();
+    }
+    remKeys.forEach(this::remove);
+    pinCount.keySet().removeIf(filter);
+  }
+
   public void remove(K key) {
     V val = hash.remove(key);
     useNativeMemory.addAndGet(-physicalBytes(val));
@@ -26,9 +26,12 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
@@ -281,7 +284,7 @@ private void loadThumbnail(
       }
       if (noPath) {
         if (media instanceof final ImageElement image) {
-          PlanarImage imgPl = image.getImage(opManager);
+          PlanarImage imgPl = loadSourceImage(image, opManager);
           if (imgPl != null) {
             PlanarImage img = image.getRenderedImage(imgPl);
             final PlanarImage thumb = createThumbnail(img);
@@ -364,11 +367,39 @@ private void loadThumbnail(
     }
   }
 
+  private static PlanarImage loadSourceImage(ImageElement image, OpManager opManager) {
+    // Low priority: the images requested by the views are decoded first
+    CompletableFuture<PlanarImage> future =
+        image.getImageAsync(opManager, ImageElement.Priority.LOW);
+    try {
+      return future.get(45, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      // Re-assert the thread's interrupted status
+      Thread.currentThread().interrupt();
+      // Skip the decoding if it has not started
+      future.cancel(false);
+    } catch (TimeoutException e) {
+      future.cancel(false);
+      LOGGER.warn("Timeout when reading image: {}", image);
+    } catch (ExecutionException e) {
+      LOGGER.error("Cannot read image: {}", image, e);
+    }
+    return null;
+  }
+
   protected void removeImageFromCache() {
     // Unload image from memory
     mCache.remove(this);
   }
 
+  /**
+   * Unloads the image from memory, e.g. when the thumbnail is scrolled out of view. The image is
+   * read again in background at the next paint.
+   */
+  public void releaseImage() {
+    removeImageFromCache();
+  }
+
   @Override
   public void dispose() {
     removeImageFromCache();
@@ -42,6 +42,7 @@
 import java.util.Locale.Category;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.management.InstanceNotFoundException;
 import javax.management.JMException;
 import javax.management.MBeanServer;
@@ -80,6 +81,7 @@ public final class UICore {
   public static final String LINUX_WINDOWS_DECORATION = "weasis.linux.windows.decoration";
   public static final String USE_SYSTEM_FILE_CHOOSER = "weasis.use.system.file.chooser";
   private static final Logger LOGGER = LoggerFactory.getLogger(UICore.class);
+  private static final AtomicBoolean FIRST_IMAGE_DISPLAYED = new AtomicBoolean();
   private final ToolBarContainer toolbarContainer;
   private final List<Launcher> dicomLaunchers;
   private final List<Launcher> otherLaunchers;
@@ -168,6 +170,23 @@ public boolean willGainFocus(CDockable dockable) {
     this.otherLaunchers = Launcher.loadLaunchers(Launcher.Type.OTHER);
   }
 
+  /**
+   * Notifies the launcher that an image has been displayed. Only the first call is forwarded, to
+   * report the time to first image.
+   */
+  public static void notifyImageDisplayed() {
+    if (FIRST_IMAGE_DISPLAYED.compareAndSet(false, true)) {
+      try {
+        ObjectName objectName = ObjectName.getInstance("weasis:name=MainWindow"); // NON-NLS
+        ManagementFactory.getPlatformMBeanServer()
+            .invoke(objectName, "firstImageDisplayed", null, null);
+      } catch (InstanceNotFoundException ignored) {
+      } catch (JMException e) {
+        LOGGER.debug("Cannot notify the first image", e);
+      }
+    }
+  }
+
   private static ConfigData retrieveconfigData() {
     MBeanServer server = ManagementFactory.getPlatformMBeanServer();
     try {
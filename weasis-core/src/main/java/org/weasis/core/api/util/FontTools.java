@@ -9,52 +9,284 @@
  */
 package org.weasis.core.api.util;
 
+import java.awt.AlphaComposite;
 import java.awt.BasicStroke;
 import java.awt.Color;
+import java.awt.Font;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
 import java.awt.RenderingHints;
 import java.awt.Shape;
+import java.awt.font.FontRenderContext;
 import java.awt.font.TextLayout;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.weasis.core.util.StringUtil;
 
 public class FontTools {
 
+  /** Maximum number of text layouts kept for the annotations repainted at each frame. */
+  static final int MAX_CACHED_TEXTS = 512;
+
+  /** Maximum number of pixels of the pre-rendered texts (4 bytes per pixel). */
+  static final long MAX_SPRITE_PIXELS = 1_000_000L;
+
+  /**
+   * Maximum number of pixels of a single pre-rendered text. Larger texts are painted directly, so
+   * that one text cannot evict most of the others.
+   */
+  static final long MAX_SINGLE_SPRITE_PIXELS = MAX_SPRITE_PIXELS / 4;
+
+  private static final int TRANSLATE_SCALE_MASK =
+      AffineTransform.TYPE_TRANSLATION
+          | AffineTransform.TYPE_UNIFORM_SCALE
+          | AffineTransform.TYPE_GENERAL_SCALE;
+
+  private static final BasicStroke OUTLINE_STROKE =
+      new BasicStroke(2f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_ROUND);
+  private static final BasicStroke FILL_STROKE =
+      new BasicStroke(1f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_ROUND);
+
+  /**
+   * The font render context holds the transform of the graphics and the antialiasing, so a font or
+   * a DPI change gives new keys.
+   */
+  private record TextKey(String text, Font font, FontRenderContext frc) {}
+
+  /**
+   * Key of a text rendered in device space: the fractional part of the device position is kept so
+   * that the glyphs are rasterized exactly like when painting the text directly.
+   */
+  private record SpriteKey(
+      TextKey text,
+      boolean antialiasing,
+      Color color,
+      double scaleX,
+      double scaleY,
+      float fx,
+      float fy) {}
+
+  /** Pre-rendered text with the offset of its top-left corner from the device position. */
+  private record Sprite(BufferedImage image, int x, int y) {
+    long pixels() {
+      return (long) image.getWidth() * image.getHeight();
+    }
+  }
+
+  private static final class CachedText {
+    final TextLayout layout;
+    Shape outline;
+
+    CachedText(TextKey key) {
+      this.layout = new TextLayout(key.text(), key.font(), key.frc());
+    }
+
+    synchronized Shape getOutline() {
+      if (outline == null) {
+        outline = layout.getOutline(null);
+      }
+      return outline;
+    }
+  }
+
+  private static final Map<TextKey, CachedText> TEXT_CACHE =
+      new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<TextKey, CachedText> eldest) {
+          return size() > MAX_CACHED_TEXTS;
+        }
+      };
+
+  private static final Map<SpriteKey, Sprite> SPRITE_CACHE = new LinkedHashMap<>(64, 0.75f, true);
+  private static long spritePixels;
+
   private FontTools() {}
 
+  private static CachedText getCachedText(TextKey key) {
+    synchronized (TEXT_CACHE) {
+      return TEXT_CACHE.computeIfAbsent(key, CachedText::new);
+    }
+  }
+
+  /** Clears the cached texts, e.g. when the fonts of the look and feel change. */
+  public static void clearTextCache() {
+    synchronized (TEXT_CACHE) {
+      TEXT_CACHE.clear();
+    }
+    synchronized (SPRITE_CACHE) {
+      SPRITE_CACHE.clear();
+      spritePixels = 0;
+    }
+  }
+
+  static int getCachedTextCount() {
+    synchronized (TEXT_CACHE) {
+      return TEXT_CACHE.size();
+    }
+  }
+
+  static int getCachedSpriteCount() {
+    synchronized (SPRITE_CACHE) {
+      return SPRITE_CACHE.size();
+    }
+  }
+
   public static void paintColorFontOutline(
       Graphics2D g2, String str, float x, float y, Color color) {
 
     if (StringUtil.hasText(str)) {
-      g2.setPaint(Color.BLACK);
-
-      if (RenderingHints.VALUE_TEXT_ANTIALIAS_ON.equals(
-          g2.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING))) {
-        TextLayout layout = new TextLayout(str, g2.getFont(), g2.getFontRenderContext());
-        AffineTransform textAt = new AffineTransform();
-        textAt.translate(x, y);
-        Shape outline = layout.getOutline(textAt);
-        g2.setStroke(new BasicStroke(2f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_ROUND));
+      boolean antialiasing =
+          RenderingHints.VALUE_TEXT_ANTIALIAS_ON.equals(
+              g2.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING));
+      TextKey key = new TextKey(str, g2.getFont(), g2.getFontRenderContext());
+      if (!paintSprite(g2, key, antialiasing, x, y, color)) {
+        paintText(g2, getCachedText(key), antialiasing, x, y, color);
+      }
+      // Same graphics state as when painting the text directly
+      g2.setPaint(color);
+      if (antialiasing) {
+        g2.setStroke(FILL_STROKE);
+      }
+    }
+  }
+
+  public static void paintFontOutline(Graphics2D g2, String str, float x, float y) {
+    paintColorFontOutline(g2, str, x, y, Color.WHITE);
+  }
+
+  private static void paintText(
+      Graphics2D g2, CachedText text, boolean antialiasing, float x, float y, Color color) {
+    g2.setPaint(Color.BLACK);
+    if (antialiasing) {
+      Shape outline = text.getOutline();
+      AffineTransform transform = g2.getTransform();
+      g2.translate(x, y);
+      try {
+        g2.setStroke(OUTLINE_STROKE);
         g2.draw(outline);
         g2.setPaint(color);
-        g2.setStroke(new BasicStroke(1f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_ROUND));
+        g2.setStroke(FILL_STROKE);
         g2.fill(outline);
-      } else {
-        g2.drawString(str, x - 1f, y - 1f);
-        g2.drawString(str, x - 1f, y);
-        g2.drawString(str, x - 1f, y + 1f);
-        g2.drawString(str, x, y - 1f);
-        g2.drawString(str, x, y + 1f);
-        g2.drawString(str, x + 1f, y - 1f);
-        g2.drawString(str, x + 1f, y);
-        g2.drawString(str, x + 1f, y + 1f);
-        g2.setPaint(color);
-        g2.drawString(str, x, y);
+      } finally {
+        g2.setTransform(transform);
       }
+    } else {
+      TextLayout layout = text.layout;
+      layout.draw(g2, x - 1f, y - 1f);
+      layout.draw(g2, x - 1f, y);
+      layout.draw(g2, x - 1f, y + 1f);
+      layout.draw(g2, x, y - 1f);
+      layout.draw(g2, x, y + 1f);
+      layout.draw(g2, x + 1f, y - 1f);
+      layout.draw(g2, x + 1f, y);
+      layout.draw(g2, x + 1f, y + 1f);
+      g2.setPaint(color);
+      layout.draw(g2, x, y);
     }
   }
 
-  public static void paintFontOutline(Graphics2D g2, String str, float x, float y) {
-    paintColorFontOutline(g2, str, x, y, Color.WHITE);
+  /**
+   * Paints the text from a pre-rendered image when the graphics is a raster without rotation.
+   * Blending the image with source-over gives the same pixels as painting the outline and the text
+   * successively.
+   *
+   * @return false when the text must be painted directly
+   */
+  private static boolean paintSprite(
+      Graphics2D g2, TextKey key, boolean antialiasing, float x, float y, Color color) {
+    AffineTransform at = g2.getTransform();
+    if ((at.getType() & ~TRANSLATE_SCALE_MASK) != 0
+        || !(g2.getComposite() instanceof AlphaComposite ac)
+        || ac.getRule() != AlphaComposite.SRC_OVER
+        || !isRasterDevice(g2.getDeviceConfiguration())) {
+      return false;
+    }
+    double dx = at.getScaleX() * x + at.getTranslateX();
+    double dy = at.getScaleY() * y + at.getTranslateY();
+    int ix = (int) Math.floor(dx);
+    int iy = (int) Math.floor(dy);
+    SpriteKey spriteKey =
+        new SpriteKey(
+            key,
+            antialiasing,
+            color,
+            at.getScaleX(),
+            at.getScaleY(),
+            (float) (dx - ix),
+            (float) (dy - iy));
+
+    Sprite sprite;
+    synchronized (SPRITE_CACHE) {
+      sprite = SPRITE_CACHE.get(spriteKey);
+    }
+    if (sprite == null) {
+      sprite = buildSprite(g2, getCachedText(key), spriteKey);
+      if (sprite == null) {
+        return false;
+      }
+      putSprite(spriteKey, sprite);
+    }
+    g2.setTransform(new AffineTransform());
+    try {
+      g2.drawImage(sprite.image(), ix + sprite.x(), iy + sprite.y(), null);
+    } finally {
+      g2.setTransform(at);
+    }
+    return true;
+  }
+
+  private static boolean isRasterDevice(GraphicsConfiguration config) {
+    // Keep the text as vector for printing
+    return config != null && config.getDevice().getType() != GraphicsDevice.TYPE_PRINTER;
+  }
+
+  private static Sprite buildSprite(Graphics2D g2, CachedText text, SpriteKey key) {
+    Rectangle2D bounds = text.getOutline().getBounds2D();
+    // Margin for the outline stroke and the shifted texts
+    double minX = (bounds.getMinX() - 2.0) * key.scaleX() + key.fx();
+    double minY = (bounds.getMinY() - 2.0) * key.scaleY() + key.fy();
+    double maxX = (bounds.getMaxX() + 2.0) * key.scaleX() + key.fx();
+    double maxY = (bounds.getMaxY() + 2.0) * key.scaleY() + key.fy();
+    int x = (int) Math.floor(Math.min(minX, maxX));
+    int y = (int) Math.floor(Math.min(minY, maxY));
+    int width = (int) Math.ceil(Math.max(minX, maxX)) - x;
+    int height = (int) Math.ceil(Math.max(minY, maxY)) - y;
+    if (width <= 0 || height <= 0 || (long) width * height > MAX_SINGLE_SPRITE_PIXELS) {
+      return null;
+    }
+
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    Graphics2D g = image.createGraphics();
+    try {
+      g.setRenderingHints(g2.getRenderingHints());
+      g.setFont(key.text().font());
+      g.translate(key.fx() - x, key.fy() - y);
+      g.scale(key.scaleX(), key.scaleY());
+      paintText(g, text, key.antialiasing(), 0f, 0f, key.color());
+    } finally {
+      g.dispose();
+    }
+    return new Sprite(image, x, y);
+  }
+
+  private static void putSprite(SpriteKey key, Sprite sprite) {
+    synchronized (SPRITE_CACHE) {
+      Sprite old = SPRITE_CACHE.put(key, sprite);
+      if (old != null) {
+        spritePixels -= old.pixels();
+      }
+      spritePixels += sprite.pixels();
+      Iterator<Sprite> it = SPRITE_CACHE.values().iterator();
+      while ((spritePixels > MAX_SPRITE_PIXELS || SPRITE_CACHE.size() > MAX_CACHED_TEXTS)
+          && it.hasNext()) {
+        spritePixels -= it.next().pixels();
+        it.remove();
+      }
+    }
   }
 }
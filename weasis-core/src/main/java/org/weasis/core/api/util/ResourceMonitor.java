@@ -27,6 +27,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.weasis.core.api.gui.util.AppProperties;
+import org.weasis.core.api.image.util.LutCache;
 
 /**
  * Collects lightweight hardware-resource metrics for Weasis and accumulates them across sessions.
@@ -201,6 +202,7 @@ public Snapshot snapshot() {
     }
 
     MemoryManager memoryManager = MemoryManager.getInstance();
+    LutCache.Stats lut = LutCache.getInstance().getStats();
     return new Snapshot(
         uptime,
         previousUptimeMillis + uptime,
@@ -224,7 +226,10 @@ public Snapshot snapshot() {
         outOfMemoryEvents.get(),
         volumeDiskFallbacks.get(),
         largestImageBytes.get(),
-        largestVolumeSlices.get());
+        largestVolumeSlices.get(),
+        lut.hits(),
+        lut.misses(),
+        lut.bytes());
   }
 
   private void sample() {
@@ -348,8 +353,8 @@ private static OperatingSystemMXBean resolveOsBean() {
   /**
    * Immutable set of resource metrics. Memory values are in bytes, CPU loads are fractions in
    * {@code [0, 1]} ({@code -1} when unavailable). Peaks, counters and workload figures are all-time
-   * (accumulated across sessions); {@code uptimeMillis} and {@code gcOverhead} describe the current
-   * run.
+   * (accumulated across sessions); {@code uptimeMillis}, {@code gcOverhead} and the LUT cache
+   * figures describe the current run.
    */
   public record Snapshot(
       long uptimeMillis,
@@ -374,5 +379,17 @@ public record Snapshot(
       long outOfMemoryEvents,
       long volumeDiskFallbacks,
       long largestImageBytes,
-      int largestVolumeSlices) {}
+      int largestVolumeSlices,
+      long lutCacheHits,
+      long lutCacheMisses,
+      long lutCacheBytes) {
+
+    /**
+     * @return the fraction of the lookup tables found in the shared cache, or 0 without request
+     */
+    public double lutCacheHitRate() {
+      long total = lutCacheHits + lutCacheMisses;
+      return total == 0 ? 0.0 : lutCacheHits / (double) total;
+    }
+  }
 }
@@ -85,6 +85,27 @@ public static ExecutorService newImageIOThreadPool(String name) {
         new ThreadPoolExecutor.CallerRunsPolicy());
   }
 
+  /**
+   * Creates an IO thread pool of the same size as {@link #newImageIOThreadPool(String)} but with an
+   * unbounded queue, so a task is never executed in the submitting thread. The caller must bound
+   * the number of submitted tasks.
+   *
+   * @param name the name prefix for threads
+   * @return a new IO thread pool with an unbounded queue
+   * @throws NullPointerException if name is null
+   */
+  public static ExecutorService newUnboundedImageIOThreadPool(String name) {
+    var config = calculateIOPoolConfig();
+
+    return new ThreadPoolExecutor(
+        config.poolSize(),
+        config.poolSize(),
+        30L,
+        TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(),
+        namedDaemonThreadFactory(name, true));
+  }
+
   /**
    * Creates a bounded thread pool optimized for CPU-intensive image processing. Pool size and queue
    * capacity are calculated based on system resources.
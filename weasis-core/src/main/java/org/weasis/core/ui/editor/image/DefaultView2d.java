@@ -43,6 +43,7 @@
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.Action;
 import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JMenu;
@@ -62,6 +63,7 @@
 import org.weasis.core.api.gui.util.ComboItemListener;
 import org.weasis.core.api.gui.util.Feature;
 import org.weasis.core.api.gui.util.Filter;
+import org.weasis.core.api.gui.util.GuiExecutor;
 import org.weasis.core.api.gui.util.GuiUtils;
 import org.weasis.core.api.gui.util.SliderCineListener;
 import org.weasis.core.api.image.AffineTransformOp;
@@ -82,6 +84,7 @@
 import org.weasis.core.api.media.data.SeriesComparator;
 import org.weasis.core.api.media.data.TagW;
 import org.weasis.core.api.service.AuditLog;
+import org.weasis.core.api.service.UICore;
 import org.weasis.core.api.util.FontItem;
 import org.weasis.core.ui.docking.DockableTool;
 import org.weasis.core.ui.editor.image.SynchData.SyncState;
@@ -149,6 +152,8 @@ public enum ZoomType {
 
   /** Image currently pinned in the memory cache on behalf of this viewport (may be null). */
   private E pinnedImage;
+  // Image of a scroll or synchronization event being decoded, accessed only in the EDT
+  private CompletableFuture<PlanarImage> pendingImageLoad;
 
   protected Panner<E> panner;
   protected ZoomWin<E> lens;
@@ -1031,6 +1036,7 @@ private void updatePinnedImage(E img) {
   }
 
   protected void setImage(E img) {
+    cancelPendingImage();
     updatePinnedImage(img);
     boolean updateGraphics = false;
     imageLayer.setEnableDispOperations(false);
@@ -1350,6 +1356,9 @@ protected void draw(Graphics2D g2d) {
     Point2D p = getClipViewCoordinatesOffset();
     g2d.translate(p.getX(), p.getY());
     imageLayer.drawImage(g2d);
+    if (imageLayer.getDisplayImage() != null) {
+      UICore.notifyImageDisplayed();
+    }
     drawLayers(g2d, affineTransform, inverseTransform);
     g2d.translate(-p.getX(), -p.getY());
 
@@ -1596,8 +1605,61 @@ private double applyManualSyncOffset(double location, ViewSynchData issuer, View
     return msd == null ? location : location + msd.getTargetLocation() - msd.getSourceLocation();
   }
 
-  /** Set the image while preserving the current zoom mode (best-fit / real-size / current). */
+  /**
+   * Set the image while preserving the current zoom mode (best-fit / real-size / current).
+   *
+   * <p>When the image is not in the cache, the current image remains displayed while the new one
+   * is decoded in the background, so scrolling quickly does not block the EDT. A new request
+   * cancels the previous one. When the load fails, the current image remains displayed. During
+   * cine, the images are decoded ahead and set directly.
+   */
   private void applyImagePreservingZoom(E imgElement) {
+    E current = imageLayer.getSourceImage();
+    if (current != null
+        && !current.equals(imgElement)
+        && SwingUtilities.isEventDispatchThread()
+        && imgElement.isReadable()
+        && !imgElement.isImageInCache()
+        && !isCining()) {
+      cancelPendingImage();
+      CompletableFuture<PlanarImage> load =
+          imgElement.getImageAsync(null, ImageElement.Priority.HIGH);
+      pendingImageLoad = load;
+      load.whenComplete(
+          (img, error) ->
+              GuiExecutor.execute(
+                  () -> {
+                    if (pendingImageLoad == load) {
+                      pendingImageLoad = null;
+                      if (img == null && imgElement.isReadable()) {
+                        // Skip the image rather than decoding it again in the EDT
+                        LOGGER.warn("Cannot load the image {}", imgElement, error);
+                      } else {
+                        // An unreadable image is displayed as such without being decoded
+                        setImagePreservingZoom(imgElement);
+                        repaint();
+                      }
+                    }
+                  }));
+      return;
+    }
+    setImagePreservingZoom(imgElement);
+  }
+
+  private void cancelPendingImage() {
+    CompletableFuture<PlanarImage> load = pendingImageLoad;
+    if (load != null) {
+      pendingImageLoad = null;
+      load.cancel(false);
+    }
+  }
+
+  private boolean isCining() {
+    Optional<SliderCineListener> cineAction = eventManager.getAction(ActionW.SCROLL_SERIES);
+    return cineAction.isPresent() && cineAction.get().isCining();
+  }
+
+  private void setImagePreservingZoom(E imgElement) {
     Double zoomFactor = (Double) actionsInView.get(ActionW.ZOOM.cmd());
     if (zoomFactor != null && zoomFactor >= 0.0) {
       Object zoomType = actionsInView.get(ViewCanvas.ZOOM_TYPE_CMD);
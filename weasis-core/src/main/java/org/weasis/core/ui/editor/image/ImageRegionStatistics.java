@@ -26,9 +26,12 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.WeakHashMap;
 import org.opencv.core.CvType;
 import org.opencv.core.Mat;
+import org.opencv.core.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.weasis.core.api.image.util.MeasurableLayer;
@@ -47,6 +50,11 @@
 public class ImageRegionStatistics {
   private static final Logger LOGGER = LoggerFactory.getLogger(ImageRegionStatistics.class);
 
+  private static final int MAX_IMAGES_PER_GRAPHIC = 4;
+
+  /** Statistics of the last images measured with each graphic, the most recent first. */
+  private static final Map<GraphicArea, List<RoiStatistics>> ROI_STATISTICS = new WeakHashMap<>();
+
   private ImageRegionStatistics() {}
 
   public static List<Mat> prepareInputImages(GraphicArea graphic, MeasurableLayer layer) {
@@ -124,10 +132,8 @@ public static List<HistogramData> getHistogram(Mat srcImg, Mat mask, MeasurableL
     }
 
     List<HistogramData> data = new ArrayList<>();
-    int datatype = ImageConversion.convertToDataType(srcImg.type());
-    boolean intVal = datatype >= DataBuffer.TYPE_BYTE && datatype < DataBuffer.TYPE_INT;
     try {
-      int binCount = intVal ? (int) pixMax - (int) pixMin + 1 : 1024;
+      int binCount = getBinCount(srcImg, pixMin, pixMax);
       List<Mat> histograms =
           HistogramData.computeHistogram(
               srcImg, mask, binCount, selChannels, colorModel, pixMin, pixMax);
@@ -153,22 +159,28 @@ public static List<MeasureItem> getImageStatistics(
       GraphicArea graphic, MeasurableLayer layer, boolean releaseEvent) {
     if (layer != null && layer.hasContent()) {
       List<MeasureItem> measVal = new ArrayList<>();
-      if (releaseEvent && isOneComputed()) {
-        List<Mat> imgPr = prepareInputImages(graphic, layer);
-        if (imgPr.size() == 2) {
-          Mat srcImg = imgPr.get(0);
-          Mat mask = imgPr.get(1);
-          RoiPixelStats direct = srcImg.channels() == 1 ? computeRoiPixelStats(srcImg, mask) : null;
-          List<HistogramData> hists = getHistogram(srcImg, mask, layer);
-          for (int i = 0; i < hists.size(); i++) {
-            HistogramData data = hists.get(i);
-            Integer bandIndex = hists.size() == 1 ? null : data.getBandIndex();
-            measVal.addAll(
-                getStatistics(data, bandIndex, i == 0, bandIndex == null ? direct : null));
+      if (isOneComputed()) {
+        // While dragging, only the statistics which can be updated incrementally are computed
+        boolean incrementalOnly = !releaseEvent;
+        PlanarImage image = layer.getSourceRenderedImage();
+        if (image != null && image.channels() == 1) {
+          RoiStatistics stats = getRoiStatistics(graphic, layer, incrementalOnly);
+          if (stats != null && stats.getCount() > 0) {
+            measVal.addAll(getStatistics(stats, layer));
+          }
+        } else if (releaseEvent) {
+          List<Mat> imgPr = prepareInputImages(graphic, layer);
+          if (imgPr.size() == 2) {
+            List<HistogramData> hists = getHistogram(imgPr.get(0), imgPr.get(1), layer);
+            for (int i = 0; i < hists.size(); i++) {
+              HistogramData data = hists.get(i);
+              Integer bandIndex = hists.size() == 1 ? null : data.getBandIndex();
+              measVal.addAll(getStatistics(data, bandIndex, i == 0));
+            }
           }
         }
         for (MeasurableLayer secondary : layer.getSecondaryLayers()) {
-          measVal.addAll(getSuvStatistics(graphic, secondary));
+          measVal.addAll(getSuvStatistics(graphic, secondary, incrementalOnly));
         }
       }
       return measVal;
@@ -180,22 +192,190 @@ public static List<MeasureItem> getImageStatistics(
   /** Direct ROI statistics in stored-pixel units (min, max, mean, standard deviation, count). */
   private record RoiPixelStats(double min, double max, double mean, double stdDev, double count) {}
 
+  private static List<MeasureItem> getStatistics(RoiStatistics stats, MeasurableLayer layer) {
+    RoiStatistics.Binning binning = stats.getBinning();
+    Model colorModel = Model.GRAY;
+    HistogramData data =
+        new HistogramData(
+            stats.getHistogram(),
+            new DisplayByteLut(colorModel.getByteLut()[0]),
+            0,
+            colorModel,
+            null,
+            binning.pixMin(),
+            binning.pixMax(),
+            layer);
+    RoiPixelStats direct =
+        new RoiPixelStats(
+            stats.getMin(), stats.getMax(), stats.getMean(), stats.getStdDev(), stats.getCount());
+    return getStatistics(data, null, true, direct);
+  }
+
   /**
-   * Measures min/max/mean/std/count on the masked ROI pixels via {@link ImageAnalyzer#meanStdDev};
-   * values are in stored-pixel units. Returns {@code null} when the ROI selects no pixel or the
-   * measurement fails.
+   * Returns the statistics of the single-channel image of the layer inside the graphic. The
+   * statistics and the mask of the last images measured with a graphic are kept, so that a new
+   * shape of the graphic only reads the pixels entering or leaving the region, and a refresh with
+   * the same shape does not read the image again.
+   *
+   * @param incrementalOnly when true, returns null instead of computing the statistics of an image
+   *     not yet measured with this graphic
+   * @return the statistics or null when they cannot be computed
    */
-  private static RoiPixelStats computeRoiPixelStats(Mat srcImg, Mat mask) {
-    try {
-      double[][] s = ImageAnalyzer.meanStdDev(srcImg, mask, null, null);
-      if (s.length < 5 || s[0].length == 0 || s[4][0] <= 0.0) {
+  private static RoiStatistics getRoiStatistics(
+      GraphicArea graphic, MeasurableLayer layer, boolean incrementalOnly) {
+    PlanarImage image = layer.getSourceRenderedImage();
+    if (image == null || image.channels() != 1) {
+      return null;
+    }
+    Shape shape = null;
+    if (graphic != null) {
+      if (!graphic.isShapeValid()) {
         return null;
       }
-      return new RoiPixelStats(s[0][0], s[1][0], s[2][0], s[3][0], s[4][0]);
-    } catch (Exception e) {
-      LOGGER.error("Compute ROI pixel statistics", e);
+      shape = graphic.getShape();
+    }
+    Shape roi = getShape(layer, shape);
+    Mat source = image.toMat();
+    double pixMin = layer.getPixelMin();
+    double pixMax = layer.getPixelMax();
+    RoiStatistics.Binning binning =
+        RoiStatistics.Binning.of(
+            getBinCount(source, pixMin, pixMax),
+            pixMin,
+            pixMax,
+            (Integer) layer.getSourceTagValue(TagW.get("PixelPaddingValue")),
+            (Integer) layer.getSourceTagValue(TagW.get("PixelPaddingRangeLimit")));
+    RoiStatistics.ShapeKey key = RoiStatistics.ShapeKey.of(roi, image.width(), image.height());
+    MatPixelReader reader = new MatPixelReader(source);
+
+    if (graphic == null) {
+      RoiStatistics.Mask mask = rasterize(source, roi);
+      return mask == null ? null : RoiStatistics.compute(image, key, mask, binning, reader);
+    }
+
+    synchronized (ROI_STATISTICS) {
+      List<RoiStatistics> list = ROI_STATISTICS.computeIfAbsent(graphic, _ -> new ArrayList<>());
+      RoiStatistics previous = null;
+      RoiStatistics.Mask mask = null;
+      for (RoiStatistics stats : list) {
+        if (previous == null && stats.isCompatible(image, binning)) {
+          previous = stats;
+        }
+        if (mask == null && key.equals(stats.getShapeKey())) {
+          mask = stats.getMask();
+        }
+      }
+      if (previous == null && incrementalOnly) {
+        return null;
+      }
+      if (mask == null) {
+        mask = rasterize(source, roi);
+        if (mask == null) {
+          return null;
+        }
+      }
+      if (previous != null) {
+        previous.update(key, mask, reader);
+        list.remove(previous);
+      } else {
+        previous = RoiStatistics.compute(image, key, mask, binning, reader);
+        if (list.size() >= MAX_IMAGES_PER_GRAPHIC) {
+          list.removeLast();
+        }
+      }
+      list.addFirst(previous);
+      return previous;
+    }
+  }
+
+  private static int getBinCount(Mat source, double pixMin, double pixMax) {
+    int datatype = ImageConversion.convertToDataType(source.type());
+    boolean intVal = datatype >= DataBuffer.TYPE_BYTE && datatype < DataBuffer.TYPE_INT;
+    return intVal ? (int) pixMax - (int) pixMin + 1 : 1024;
+  }
+
+  /**
+   * Rasterizes the region over its bounding box clipped to the image.
+   *
+   * @return the mask or null when the region does not cover the image
+   */
+  private static RoiStatistics.Mask rasterize(Mat source, Shape roi) {
+    if (roi == null) {
+      return RoiStatistics.Mask.of(source.width(), source.height());
+    }
+    List<Mat> masked = ImageAnalyzer.getMaskImage(source, roi, null, null);
+    if (masked.size() != 2) {
       return null;
     }
+    Mat region = masked.get(0);
+    Mat mask = masked.get(1);
+    org.opencv.core.Point offset = new org.opencv.core.Point();
+    region.locateROI(new Size(), offset);
+    if (mask == null) {
+      return new RoiStatistics.Mask(
+          (int) offset.x, (int) offset.y, region.width(), region.height(), null);
+    }
+    byte[] data = new byte[mask.width() * mask.height()];
+    mask.get(0, 0, data);
+    mask.release();
+    return new RoiStatistics.Mask(
+        (int) offset.x, (int) offset.y, mask.width(), mask.height(), data);
+  }
+
+  /** Reads the rows of a single-channel image with one bulk copy per row. */
+  private static final class MatPixelReader implements RoiStatistics.PixelReader {
+    private final Mat source;
+    private final int depth;
+    private Object buffer;
+
+    MatPixelReader(Mat source) {
+      this.source = source;
+      this.depth = CvType.depth(source.type());
+    }
+
+    @Override
+    public void read(int x, int y, int width, double[] dst) {
+      switch (depth) {
+        case CvType.CV_8U, CvType.CV_8S -> {
+          byte[] b = buffer instanceof byte[] a && a.length == width ? a : new byte[width];
+          source.get(y, x, b);
+          for (int i = 0; i < width; i++) {
+            dst[i] = depth == CvType.CV_8U ? b[i] & 0xFF : b[i];
+          }
+          buffer = b;
+        }
+        case CvType.CV_16U, CvType.CV_16S -> {
+          short[] b = buffer instanceof short[] a && a.length == width ? a : new short[width];
+          source.get(y, x, b);
+          for (int i = 0; i < width; i++) {
+            dst[i] = depth == CvType.CV_16U ? b[i] & 0xFFFF : b[i];
+          }
+          buffer = b;
+        }
+        case CvType.CV_32S -> {
+          int[] b = buffer instanceof int[] a && a.length == width ? a : new int[width];
+          source.get(y, x, b);
+          for (int i = 0; i < width; i++) {
+            dst[i] = b[i];
+          }
+          buffer = b;
+        }
+        case CvType.CV_32F -> {
+          float[] b = buffer instanceof float[] a && a.length == width ? a : new float[width];
+          source.get(y, x, b);
+          for (int i = 0; i < width; i++) {
+            dst[i] = b[i];
+          }
+          buffer = b;
+        }
+        default -> {
+          double[] b = buffer instanceof double[] a && a.length == width ? a : new double[width];
+          source.get(y, x, b);
+          System.arraycopy(b, 0, dst, 0, width);
+          buffer = b;
+        }
+      }
+    }
   }
 
   /**
@@ -203,7 +383,8 @@ private static RoiPixelStats computeRoiPixelStats(Mat srcImg, Mat mask) {
    * grid) within the ROI, labeled with a "PT" extension so they read alongside the base statistics.
    * Returns an empty list when the layer carries no SUV factor or the ROI covers no PET voxel.
    */
-  private static List<MeasureItem> getSuvStatistics(GraphicArea graphic, MeasurableLayer petLayer) {
+  private static List<MeasureItem> getSuvStatistics(
+      GraphicArea graphic, MeasurableLayer petLayer, boolean incrementalOnly) {
     if (petLayer == null || !petLayer.hasContent()) {
       return Collections.emptyList();
     }
@@ -212,49 +393,22 @@ private static List<MeasureItem> getSuvStatistics(GraphicArea graphic, Measurabl
         || !(IMAGE_MIN.getComputed() || IMAGE_MAX.getComputed() || IMAGE_MEAN.getComputed())) {
       return Collections.emptyList();
     }
-    List<Mat> imgPr = prepareInputImages(graphic, petLayer);
-    if (imgPr.size() != 2) {
-      return Collections.emptyList();
-    }
-    Mat mask = imgPr.get(1); // null when the whole image is measured (no ROI shape)
-    // The source may be any depth (native PET is CV_16S, the resampled volume CV_32F): read it as
-    // float so a single code path handles both. The volume path uses NaN to mark voxels outside it.
-    Mat src = new Mat();
-    imgPr.get(0).convertTo(src, CvType.CV_32F);
-    int rows = src.rows();
-    int cols = src.cols();
-    float[] values = new float[cols];
-    byte[] selected = mask == null ? null : new byte[cols];
-    double min = Double.MAX_VALUE;
-    double max = -Double.MAX_VALUE;
-    double sum = 0.0;
-    long count = 0;
-    for (int r = 0; r < rows; r++) {
-      src.get(r, 0, values);
-      if (mask != null) {
-        mask.get(r, 0, selected);
-      }
-      for (int c = 0; c < cols; c++) {
-        if ((selected == null || selected[c] != 0) && !Float.isNaN(values[c])) {
-          double v = values[c];
-          min = Math.min(min, v);
-          max = Math.max(max, v);
-          sum += v;
-          count++;
-        }
-      }
-    }
-    src.release();
-    if (count == 0) {
+    // The source may be any depth (native PET is CV_16S, the resampled volume CV_32F). The volume
+    // path uses NaN to mark voxels outside it, which are excluded from the statistics.
+    RoiStatistics stats = getRoiStatistics(graphic, petLayer, incrementalOnly);
+    if (stats == null || stats.getCount() == 0) {
       return Collections.emptyList();
     }
+    double min = stats.getMin();
+    double max = stats.getMax();
+    double mean = stats.getMean();
     String unit = "SUVbw, g/ml"; // NON-NLS
     String label = petLayer.getStatLabel();
     String ext = " " + (label == null ? "PT" : label); // NON-NLS
     List<MeasureItem> measList = new ArrayList<>(3);
     addSuvMeasure(measList, IMAGE_MIN, ext, petLayer.pixelToRealValue(min) * suv, unit);
     addSuvMeasure(measList, IMAGE_MAX, ext, petLayer.pixelToRealValue(max) * suv, unit);
-    addSuvMeasure(measList, IMAGE_MEAN, ext, petLayer.pixelToRealValue(sum / count) * suv, unit);
+    addSuvMeasure(measList, IMAGE_MEAN, ext, petLayer.pixelToRealValue(mean) * suv, unit);
     return measList;
   }
 
@@ -39,6 +39,7 @@
 import org.weasis.core.api.gui.util.SliderCineListener.TIME;
 import org.weasis.core.api.gui.util.ToggleButtonListener;
 import org.weasis.core.api.image.util.Unit;
+import org.weasis.core.api.media.data.ImageDecodeAhead;
 import org.weasis.core.api.media.data.ImageElement;
 import org.weasis.core.api.media.data.MediaSeries;
 import org.weasis.core.api.media.data.Series;
@@ -100,6 +101,18 @@ protected SynchManager<E> createSynchManager() {
   protected SliderCineListener getMoveTroughSliceAction(
       double speed, final TIME time, double mouseSensitivity) {
     return new SliderCineListener(ActionW.SCROLL_SERIES, 1, 2, 1, speed, time, mouseSensitivity) {
+      private final ImageDecodeAhead decodeAhead =
+          new ImageDecodeAhead(getPacer()::recordDecodeLatency);
+
+      @Override
+      protected boolean isFrameReady(int sliderValue) {
+        return ImageDecodeAhead.isReadyToDisplay(getSelectedSeriesImage(sliderValue));
+      }
+
+      @Override
+      protected void prefetchFrames(int[] sliderValues) {
+        prefetchSelectedSeriesImages(decodeAhead, sliderValues);
+      }
 
       @Override
       public void stateChanged(BoundedRangeModel model) {
@@ -690,6 +703,38 @@ public synchronized void enableActions(boolean enabled) {
     }
   }
 
+  /**
+   * Returns the image of the series displayed in the selected view.
+   *
+   * @param sliderValue the value of the series slider (index of the image + 1)
+   * @return the image or null if not found
+   */
+  protected E getSelectedSeriesImage(int sliderValue) {
+    ViewCanvas<E> view2d = getSelectedViewPane();
+    if (view2d != null && view2d.getSeries() instanceof Series<?> series) {
+      return ((Series<E>) series)
+          .getMedia(
+              sliderValue - 1,
+              (Filter<E>) view2d.getActionValue(ActionW.FILTERED_SERIES.cmd()),
+              view2d.getCurrentSortComparator());
+    }
+    return null;
+  }
+
+  /**
+   * Decodes ahead the images of the selected view for the cine playback.
+   *
+   * @param decodeAhead the window of decoded images
+   * @param sliderValues the next values of the series slider, empty to release the images
+   */
+  protected void prefetchSelectedSeriesImages(ImageDecodeAhead decodeAhead, int[] sliderValues) {
+    List<E> images = new ArrayList<>(sliderValues.length);
+    for (int value : sliderValues) {
+      images.add(getSelectedSeriesImage(value));
+    }
+    decodeAhead.update(images);
+  }
+
   public ViewCanvas<E> getSelectedViewPane() {
     ImageViewerPlugin<E> container = selectedView2dContainer;
     if (container != null) {
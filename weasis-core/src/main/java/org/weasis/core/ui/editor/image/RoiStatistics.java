@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.ui.editor.image;
+
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.geom.PathIterator;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * Statistics of the pixels of a single-channel image inside a region of interest.
+ *
+ * <p>The minimum, maximum, mean, standard deviation and histogram are accumulated in a single pass
+ * over the bounding box of the region. The state is kept with the rasterized mask of the region, so
+ * that a new shape of the same region on the same image only reads the pixels which enter or leave
+ * the region (e.g. while a handle is dragged).
+ *
+ * <p>The histogram has the same bins as {@link HistogramData#computeHistogram}: {@code bins}
+ * uniform bins over {@code [pixMin, pixMax + 1)}. Not thread-safe.
+ */
+final class RoiStatistics {
+
+  /** Reads the values of a row segment of the single-channel source image. */
+  @FunctionalInterface
+  interface PixelReader {
+
+    /**
+     * @param x the first column
+     * @param y the row
+     * @param width the number of pixels to read
+     * @param dst the destination of at least {@code width} values
+     */
+    void read(int x, int y, int width, double[] dst);
+  }
+
+  /**
+   * Rasterized region: the non-zero values of {@code data} ({@code width * height}, row by row) are
+   * the pixels inside the region, {@code (x, y)} being the location of the first pixel in the
+   * image. A null {@code data} selects every pixel of the rectangle.
+   */
+  record Mask(int x, int y, int width, int height, byte[] data) {
+
+    static Mask of(int width, int height) {
+      return new Mask(0, 0, width, height, null);
+    }
+
+    boolean contains(int px, int py) {
+      int cx = px - x;
+      int cy = py - y;
+      if (cx < 0 || cy < 0 || cx >= width || cy >= height) {
+        return false;
+      }
+      return data == null || data[cy * width + cx] != 0;
+    }
+
+    Rectangle getBounds() {
+      return new Rectangle(x, y, width, height);
+    }
+  }
+
+  /**
+   * Histogram binning and excluded values.
+   *
+   * @param bins the number of bins
+   * @param pixMin the lower bound of the first bin
+   * @param pixMax the upper bound of the last bin minus one
+   * @param paddingMin the lowest padding value, NaN without padding
+   * @param paddingMax the highest padding value, NaN without padding
+   */
+  record Binning(int bins, double pixMin, double pixMax, double paddingMin, double paddingMax) {
+
+    static Binning of(int bins, double pixMin, double pixMax, Integer padding, Integer limit) {
+      if (padding == null) {
+        return new Binning(bins, pixMin, pixMax, Double.NaN, Double.NaN);
+      }
+      int end = limit == null ? padding : limit;
+      return new Binning(bins, pixMin, pixMax, Math.min(padding, end), Math.max(padding, end));
+    }
+
+    boolean isExcluded(double value) {
+      return Double.isNaN(value) || (value >= paddingMin && value <= paddingMax);
+    }
+
+    /**
+     * @return the bin of the value or -1 when it is out of the histogram range
+     */
+    int binOf(double value) {
+      double pos = (value - pixMin) * bins / (pixMax + 1.0 - pixMin);
+      return pos >= 0 && pos < bins ? (int) pos : -1;
+    }
+
+    /** Returns true when each bin holds a single integer value. */
+    boolean isUnitBins() {
+      return pixMin == Math.rint(pixMin) && bins == pixMax + 1.0 - pixMin;
+    }
+  }
+
+  /** Geometry of a shape, to find out whether the mask of a region has to be rasterized again. */
+  record ShapeKey(int winding, int[] types, double[] coords, int imageWidth, int imageHeight) {
+
+    static ShapeKey of(Shape shape, int imageWidth, int imageHeight) {
+      if (shape == null) {
+        return new ShapeKey(-1, new int[0], new double[0], imageWidth, imageHeight);
+      }
+      PathIterator it = shape.getPathIterator(null);
+      int[] types = new int[16];
+      double[] coords = new double[96];
+      int n = 0;
+      double[] segment = new double[6];
+      while (!it.isDone()) {
+        if (n == types.length) {
+          types = Arrays.copyOf(types, n * 2);
+          coords = Arrays.copyOf(coords, n * 12);
+        }
+        types[n] = it.currentSegment(segment);
+        System.arraycopy(segment, 0, coords, n * 6, 6);
+        n++;
+        it.next();
+      }
+      return new ShapeKey(
+          it.getWindingRule(),
+          Arrays.copyOf(types, n),
+          Arrays.copyOf(coords, n * 6),
+          imageWidth,
+          imageHeight);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof ShapeKey k
+          && winding == k.winding
+          && imageWidth == k.imageWidth
+          && imageHeight == k.imageHeight
+          && Arrays.equals(types, k.types)
+          && Arrays.equals(coords, k.coords);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * Arrays.hashCode(coords) + Arrays.hashCode(types);
+    }
+  }
+
+  private final WeakReference<Object> source;
+  private final Binning binning;
+  private final long[] histogram;
+  private ShapeKey shapeKey;
+  private Mask mask;
+  private long count;
+  private long outOfRange;
+  // Sums of the values shifted by pixMin, to keep the variance accurate
+  private double sum;
+  private double sumSq;
+  private double min;
+  private double max;
+
+  private RoiStatistics(Object source, Binning binning) {
+    this.source = new WeakReference<>(source);
+    this.binning = binning;
+    this.histogram = new long[binning.bins()];
+  }
+
+  /**
+   * Computes the statistics of the pixels inside the mask.
+   *
+   * @param source the identity of the source image, the statistics can be updated only for the
+   *     same source
+   */
+  static RoiStatistics compute(
+      Object source, ShapeKey shapeKey, Mask mask, Binning binning, PixelReader reader) {
+    RoiStatistics stats = new RoiStatistics(source, binning);
+    stats.accumulate(shapeKey, mask, reader);
+    return stats;
+  }
+
+  /**
+   * @return true when the statistics have been computed on this source with this binning
+   */
+  boolean isCompatible(Object image, Binning otherBinning) {
+    return source.get() == image && binning.equals(otherBinning);
+  }
+
+  ShapeKey getShapeKey() {
+    return shapeKey;
+  }
+
+  Mask getMask() {
+    return mask;
+  }
+
+  /**
+   * Updates the statistics for a new mask of the same source, by reading only the pixels which
+   * enter or leave the region.
+   */
+  void update(ShapeKey newKey, Mask newMask, PixelReader reader) {
+    if (newKey.equals(shapeKey)) {
+      return;
+    }
+    Rectangle union = mask.getBounds().union(newMask.getBounds());
+    double[] run = new double[union.width];
+    boolean extremaRemoved = false;
+    for (int y = union.y; y < union.y + union.height; y++) {
+      int end = union.x + union.width;
+      int x = union.x;
+      while (x < end) {
+        if (mask.contains(x, y) == newMask.contains(x, y)) {
+          x++;
+          continue;
+        }
+        // Read the run of pixels entering or leaving the region
+        int start = x;
+        while (x < end && mask.contains(x, y) != newMask.contains(x, y)) {
+          x++;
+        }
+        reader.read(start, y, x - start, run);
+        for (int i = start; i < x; i++) {
+          double value = run[i - start];
+          if (binning.isExcluded(value)) {
+            continue;
+          }
+          if (mask.contains(i, y)) {
+            extremaRemoved |= remove(value);
+          } else {
+            add(value);
+          }
+        }
+      }
+    }
+    if ((extremaRemoved || count == 0) && !updateExtremaFromHistogram()) {
+      // The new extrema can only be found by reading the whole region again
+      clear();
+      accumulate(newKey, newMask, reader);
+      return;
+    }
+    shapeKey = newKey;
+    mask = newMask;
+  }
+
+  private void accumulate(ShapeKey key, Mask region, PixelReader reader) {
+    this.shapeKey = key;
+    this.mask = region;
+    double[] row = new double[region.width()];
+    byte[] data = region.data();
+    for (int y = 0; y < region.height(); y++) {
+      reader.read(region.x(), region.y() + y, region.width(), row);
+      int offset = y * region.width();
+      for (int x = 0; x < region.width(); x++) {
+        if ((data == null || data[offset + x] != 0) && !binning.isExcluded(row[x])) {
+          add(row[x]);
+        }
+      }
+    }
+  }
+
+  private void clear() {
+    Arrays.fill(histogram, 0);
+    count = 0;
+    outOfRange = 0;
+    sum = 0;
+    sumSq = 0;
+  }
+
+  private void add(double value) {
+    if (count == 0) {
+      min = value;
+      max = value;
+    } else if (value < min) {
+      min = value;
+    } else if (value > max) {
+      max = value;
+    }
+    count++;
+    double v = value - binning.pixMin();
+    sum += v;
+    sumSq += v * v;
+    int bin = binning.binOf(value);
+    if (bin < 0) {
+      outOfRange++;
+    } else {
+      histogram[bin]++;
+    }
+  }
+
+  /**
+   * @return true when the removed value was an extremum
+   */
+  private boolean remove(double value) {
+    count--;
+    double v = value - binning.pixMin();
+    sum -= v;
+    sumSq -= v * v;
+    int bin = binning.binOf(value);
+    if (bin < 0) {
+      outOfRange--;
+    } else {
+      histogram[bin]--;
+    }
+    return count > 0 && (value <= min || value >= max);
+  }
+
+  private boolean updateExtremaFromHistogram() {
+    if (count == 0) {
+      // Empty region, like a new computation without any value
+      min = 0;
+      max = 0;
+      return true;
+    }
+    if (outOfRange > 0 || !binning.isUnitBins()) {
+      return false;
+    }
+    int first = 0;
+    while (histogram[first] == 0) {
+      first++;
+    }
+    int last = histogram.length - 1;
+    while (histogram[last] == 0) {
+      last--;
+    }
+    min = binning.pixMin() + first;
+    max = binning.pixMin() + last;
+    return true;
+  }
+
+  long getCount() {
+    return count;
+  }
+
+  double getMin() {
+    return min;
+  }
+
+  double getMax() {
+    return max;
+  }
+
+  double getMean() {
+    return binning.pixMin() + sum / count;
+  }
+
+  /**
+   * @return the population standard deviation
+   */
+  double getStdDev() {
+    double mean = sum / count;
+    return Math.sqrt(Math.max(0.0, sumSq / count - mean * mean));
+  }
+
+  Binning getBinning() {
+    return binning;
+  }
+
+  float[] getHistogram() {
+    float[] values = new float[histogram.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = histogram[i];
+    }
+    return values;
+  }
+}
@@ -38,6 +38,7 @@
 import org.weasis.core.api.gui.util.GuiUtils.IconColor;
 import org.weasis.core.api.service.UICore;
 import org.weasis.core.api.service.WProperties;
+import org.weasis.core.api.util.FontTools;
 import org.weasis.core.util.StringUtil;
 
 public class ThemeSetting extends AbstractItemDialogPage {
@@ -113,6 +114,7 @@ private void jbInit() {
               () -> {
                 try {
                   UIManager.setLookAndFeel(finalLafClassName);
+                  FontTools.clearTextCache();
                   for (final Window w : Window.getWindows()) {
                     SwingUtilities.updateComponentTreeUI(w);
                   }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.api.gui.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/** Tests {@link CinePacer} with a simulated monotonic clock. */
+class CinePacerTest {
+
+  private static final long MS = 1_000_000L;
+
+  @Test
+  void pendingStepsFollowTheClock() {
+    CinePacer pacer = new CinePacer();
+    pacer.start(25.0, 0);
+
+    assertEquals(0, pacer.getPendingSteps(39 * MS));
+    assertEquals(1, pacer.getPendingSteps(40 * MS));
+    assertEquals(2, pacer.getPendingSteps(80 * MS));
+  }
+
+  @Test
+  void presentingLateFrameCountsDroppedFrames() {
+    CinePacer pacer = new CinePacer();
+    pacer.start(25.0, 0);
+
+    pacer.framePresented(pacer.getPendingSteps(40 * MS), 40 * MS);
+    int steps = pacer.getPendingSteps(160 * MS);
+    assertEquals(3, steps);
+    pacer.framePresented(steps, 160 * MS);
+
+    CinePacer.Statistics stats = pacer.getStatistics();
+    assertEquals(2, stats.presentedFrames());
+    assertEquals(2, stats.droppedFrames());
+    assertEquals(0, stats.duplicatedFrames());
+    assertEquals(0, pacer.getPendingSteps(160 * MS));
+  }
+
+  @Test
+  void holdingFrameCountsEachMissedIntervalOnce() {
+    CinePacer pacer = new CinePacer();
+    pacer.start(10.0, 0);
+
+    pacer.frameHeld(pacer.getPendingSteps(100 * MS));
+    pacer.frameHeld(pacer.getPendingSteps(150 * MS));
+    pacer.frameHeld(pacer.getPendingSteps(200 * MS));
+    assertEquals(2, pacer.getStatistics().duplicatedFrames());
+
+    // The decoded frame is finally presented: the skipped frame is dropped
+    pacer.framePresented(pacer.getPendingSteps(210 * MS), 210 * MS);
+    assertEquals(1, pacer.getStatistics().droppedFrames());
+    assertEquals(2, pacer.getStatistics().duplicatedFrames());
+  }
+
+  @Test
+  void stallForcesNextFrameAndRebasesTimeline() {
+    CinePacer pacer = new CinePacer();
+    pacer.start(50.0, 0);
+
+    assertFalse(pacer.isStalled(CinePacer.MAX_HOLD_NANOS));
+    long now = CinePacer.MAX_HOLD_NANOS + MS;
+    assertTrue(pacer.isStalled(now));
+    pacer.frameForced(now);
+    assertFalse(pacer.isStalled(now));
+    assertEquals(0, pacer.getPendingSteps(now));
+    assertEquals(1, pacer.getPendingSteps(now + 20 * MS));
+  }
+
+  @Test
+  void achievedFrameRateAndDecodeLatency() {
+    CinePacer pacer = new CinePacer();
+    pacer.start(20.0, 0);
+    for (int i = 1; i <= 10; i++) {
+      long now = i * 50 * MS;
+      pacer.framePresented(pacer.getPendingSteps(now), now);
+    }
+    assertEquals(20.0, pacer.getAchievedFrameRate(), 0.01);
+
+    pacer.recordDecodeLatency(10 * MS);
+    pacer.recordDecodeLatency(30 * MS);
+    assertEquals(20.0, pacer.getStatistics().meanDecodeLatencyMs(), 0.001);
+  }
+
+  @Test
+  void changingFrameRateKeepsStatistics() {
+    CinePacer pacer = new CinePacer();
+    pacer.start(10.0, 0);
+    pacer.framePresented(pacer.getPendingSteps(300 * MS), 300 * MS);
+    assertEquals(2, pacer.getStatistics().droppedFrames());
+
+    pacer.setFrameRate(100.0, 300 * MS);
+    assertEquals(1, pacer.getPendingSteps(310 * MS));
+    assertEquals(2, pacer.getStatistics().droppedFrames());
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.api.image.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.weasis.opencv.data.LookupTableCV;
+
+class LutCacheTest {
+
+  /** Stand-in of the rescale parameters shared by the slices of a series. */
+  private record Rescale(double slope, double intercept, int bitsStored, boolean signed) {}
+
+  private static final Rescale CT = new Rescale(1.0, -1024.0, 12, false);
+
+  private static LookupTableCV lut(int entries) {
+    return new LookupTableCV(new byte[entries]);
+  }
+
+  @Test
+  void slicesWithTheSameParametersShareTheTable() {
+    LutCache cache = new LutCache(1024 * 1024);
+    AtomicInteger builds = new AtomicInteger();
+    LookupTableCV first = null;
+    for (int slice = 0; slice < 600; slice++) {
+      // A new key for each slice, equal to the others
+      LutCache.VoiKey key = voiKey(new Rescale(1.0, -1024.0, 12, false), 400, 40);
+      LookupTableCV lut =
+          cache.get(
+              key,
+              () -> {
+                builds.incrementAndGet();
+                return lut(4096);
+              });
+      if (first == null) {
+        first = lut;
+      }
+      assertSame(first, lut);
+    }
+    assertEquals(1, builds.get());
+    LutCache.Stats stats = cache.getStats();
+    assertEquals(599, stats.hits());
+    assertEquals(1, stats.misses());
+    assertEquals(4096, stats.bytes());
+    assertEquals(1, stats.entries());
+    assertTrue(stats.hitRate() > 0.99);
+  }
+
+  @Test
+  void anyParameterChangeGivesAnotherTable() {
+    LutCache cache = new LutCache(1024 * 1024);
+    LookupTableCV lut = cache.get(voiKey(CT, 400, 40), () -> lut(256));
+    assertNotSame(lut, cache.get(voiKey(CT, 400, 50), () -> lut(256)));
+    Rescale noIntercept = new Rescale(1.0, 0.0, 12, false);
+    assertNotSame(lut, cache.get(voiKey(noIntercept, 400, 40), () -> lut(256)));
+    Rescale signed = new Rescale(1.0, -1024.0, 16, true);
+    assertNotSame(lut, cache.get(voiKey(signed, 400, 40), () -> lut(256)));
+    LutCache.VoiKey inverse =
+        new LutCache.VoiKey(CT, 400, 40, -1024, 3071, null, true, false, false, true, null);
+    assertNotSame(lut, cache.get(inverse, () -> lut(256)));
+    assertEquals(5, cache.getStats().entries());
+  }
+
+  @Test
+  void nullTableIsNotCached() {
+    LutCache cache = new LutCache(1024);
+    assertNull(cache.get("key", () -> null)); // NON-NLS
+    assertEquals(0, cache.getStats().entries());
+    assertEquals(1, cache.getStats().misses());
+  }
+
+  @Test
+  void leastRecentlyUsedTablesAreEvicted() {
+    LutCache cache = new LutCache(4 * 1024);
+    for (int i = 0; i < 4; i++) {
+      cache.get(i, () -> lut(1024));
+    }
+    // Use the first table again so that the second one is the oldest
+    LookupTableCV first = cache.get(0, () -> lut(1024));
+    cache.get(4, () -> lut(1024));
+    LutCache.Stats stats = cache.getStats();
+    assertTrue(stats.bytes() <= 4 * 1024);
+    assertSame(first, cache.get(0, () -> lut(1024)));
+    AtomicInteger rebuilt = new AtomicInteger();
+    cache.get(
+        1,
+        () -> {
+          rebuilt.incrementAndGet();
+          return lut(1024);
+        });
+    assertEquals(1, rebuilt.get());
+
+    cache.clear();
+    assertEquals(0, cache.getStats().bytes());
+    assertEquals(0, cache.getStats().entries());
+  }
+
+  @Test
+  void concurrentRequestsBuildTheTableOnce() throws Exception {
+    LutCache cache = new LutCache(1024 * 1024);
+    AtomicInteger builds = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<LookupTableCV>> results = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return cache.get(
+                      voiKey(CT, 400, 40),
+                      () -> {
+                        builds.incrementAndGet();
+                        return lut(65536);
+                      });
+                }));
+      }
+      start.countDown();
+      LookupTableCV lut = results.getFirst().get();
+      for (Future<LookupTableCV> result : results) {
+        assertSame(lut, result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(1, builds.get());
+    assertEquals(63, cache.getStats().hits());
+  }
+
+  private static LutCache.VoiKey voiKey(Object pixelKey, double window, double level) {
+    return new LutCache.VoiKey(
+        pixelKey, window, level, -1024, 3071, null, true, false, false, false, null);
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.api.media.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the window of {@link ImageDecodeAhead}: decoding order, cancellation of the images left
+ * behind and decoding latency. The tasks are run by the test, the images are mocks becoming
+ * available in the cache once loaded.
+ */
+class ImageDecodeAheadTest {
+
+  private final ManualExecutor executor = new ManualExecutor();
+  private final List<ImageElement> loaded = new CopyOnWriteArrayList<>();
+
+  /** Keeps the submitted tasks until the test runs them. */
+  private static final class ManualExecutor extends AbstractExecutorService {
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public void execute(Runnable command) {
+      tasks.add(command);
+    }
+
+    int size() {
+      return tasks.size();
+    }
+
+    void runAll() {
+      while (!tasks.isEmpty()) {
+        tasks.removeFirst().run();
+      }
+    }
+
+    @Override
+    public void shutdown() {
+      // Nothing to release
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return List.of();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return false;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+      return true;
+    }
+  }
+
+  private ImageElement image(boolean decoded) {
+    return image(decoded, 0);
+  }
+
+  private ImageElement image(boolean decoded, long decodeMillis) {
+    ImageElement image = mock(ImageElement.class);
+    AtomicBoolean inCache = new AtomicBoolean(decoded);
+    when(image.isReadable()).thenReturn(true);
+    when(image.isImageAvailable()).thenReturn(true);
+    when(image.isImageInCache()).thenAnswer(_ -> inCache.get());
+    when(image.loadInCache())
+        .thenAnswer(
+            _ -> {
+              Thread.sleep(decodeMillis);
+              loaded.add(image);
+              inCache.set(true);
+              return true;
+            });
+    return image;
+  }
+
+  private List<ImageElement> images(int size) {
+    List<ImageElement> images = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      images.add(image(false));
+    }
+    return images;
+  }
+
+  @Test
+  void nearestImagesAreDecodedFirst() {
+    List<ImageElement> images = images(12);
+    images.set(3, image(true));
+    ImageDecodeAhead decodeAhead = new ImageDecodeAhead(executor, null);
+
+    decodeAhead.update(images);
+    assertEquals(images, decodeAhead.getWindow());
+    images.forEach(img -> verify(img).pinInCache());
+    // The decoded image is skipped and the queue of the loader is limited
+    assertEquals(8, executor.size());
+    executor.runAll();
+    assertEquals(List.of(0, 1, 2, 4, 5, 6, 7, 8), loaded.stream().map(images::indexOf).toList());
+
+    // The same window submits only the remaining images and pins each image once
+    loaded.clear();
+    decodeAhead.update(images);
+    executor.runAll();
+    assertEquals(images.subList(9, 12), loaded);
+    images.forEach(img -> verify(img, times(1)).pinInCache());
+    images.forEach(img -> verify(img, never()).unpinFromCache());
+  }
+
+  @Test
+  void directionChangeCancelsTheImagesLeftBehind() {
+    List<ImageElement> images = images(20);
+    ImageDecodeAhead decodeAhead = new ImageDecodeAhead(executor, null);
+
+    // Forward playback from the image 10
+    decodeAhead.update(images.subList(10, 20));
+    assertEquals(8, executor.size());
+
+    // Backward playback from the image 9
+    List<ImageElement> backward = new ArrayList<>(images.subList(2, 10)).reversed();
+    decodeAhead.update(backward);
+    assertEquals(backward, decodeAhead.getWindow());
+    images.subList(10, 20).forEach(img -> verify(img).unpinFromCache());
+
+    // The canceled tasks do not decode
+    executor.runAll();
+    assertEquals(backward, loaded);
+    images.subList(10, 20).forEach(img -> verify(img, never()).loadInCache());
+    images.subList(2, 10).forEach(img -> verify(img, never()).unpinFromCache());
+  }
+
+  @Test
+  void latencyIsReportedForTheDecodedImages() {
+    List<Long> latencies = new CopyOnWriteArrayList<>();
+    ImageElement slow = image(false, 5);
+    ImageElement failed = mock(ImageElement.class);
+    when(failed.isReadable()).thenReturn(true);
+    when(failed.loadInCache()).thenReturn(false);
+    ImageElement unreadable = mock(ImageElement.class);
+    ImageDecodeAhead decodeAhead = new ImageDecodeAhead(executor, latencies::add);
+
+    decodeAhead.update(List.of(slow, failed, unreadable));
+    assertEquals(2, executor.size());
+    executor.runAll();
+
+    assertEquals(1, latencies.size());
+    assertTrue(latencies.getFirst() >= TimeUnit.MILLISECONDS.toNanos(5));
+    verify(failed).loadInCache();
+    verify(unreadable, never()).loadInCache();
+  }
+
+  @Test
+  void clearReleasesTheWindow() {
+    List<ImageElement> images = images(4);
+    ImageDecodeAhead decodeAhead = new ImageDecodeAhead(executor, null);
+    decodeAhead.update(images);
+
+    decodeAhead.clear();
+    assertTrue(decodeAhead.getWindow().isEmpty());
+    images.forEach(img -> verify(img).unpinFromCache());
+    executor.runAll();
+    assertTrue(loaded.isEmpty());
+  }
+}
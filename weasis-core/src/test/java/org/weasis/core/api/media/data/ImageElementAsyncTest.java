@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.api.media.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.weasis.core.api.media.data.ImageElement.Priority;
+import org.weasis.opencv.data.PlanarImage;
+
+/**
+ * Tests the shared loading of {@link ImageElement#getImageAsync}: one decoding per element for the
+ * concurrent requests, cancellation of the loads not started and order of priority. The readers
+ * are slow fakes blocked on latches, the pixel data is never analyzed (findMinMax is false).
+ */
+class ImageElementAsyncTest {
+
+  private final List<ImageElement> elements = new ArrayList<>();
+  private final List<CountDownLatch> latches = new ArrayList<>();
+
+  /** A fake reader counting the decodings and waiting for the latch before returning. */
+  private ImageElement slowElement(
+      String name, CountDownLatch release, AtomicInteger reads, List<String> order)
+      throws Exception {
+    MediaReader<ImageElement> reader = mock(MediaReader.class);
+    PlanarImage image = mock(PlanarImage.class);
+    when(image.width()).thenReturn(8);
+    when(image.height()).thenReturn(8);
+    ImageElement element = new ImageElement(reader, name);
+    when(reader.getImageFragment(any()))
+        .thenAnswer(
+            _ -> {
+              reads.incrementAndGet();
+              order.add(name);
+              assertTrue(release.await(10, TimeUnit.SECONDS));
+              return image;
+            });
+    elements.add(element);
+    latches.add(release);
+    return element;
+  }
+
+  @AfterEach
+  void tearDown() {
+    latches.forEach(CountDownLatch::countDown);
+    elements.forEach(ImageElement::removeImageFromCache);
+  }
+
+  /** Occupies all the threads of the loader, each one is released by its own latch. */
+  private List<CountDownLatch> blockLoader() throws Exception {
+    int threads = ((ThreadPoolExecutor) ImageElement.LOAD_EXECUTOR).getMaximumPoolSize();
+    List<CountDownLatch> blockers = new ArrayList<>();
+    AtomicInteger reads = new AtomicInteger();
+    List<String> order = new CopyOnWriteArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      CountDownLatch latch = new CountDownLatch(1);
+      blockers.add(latch);
+      slowElement("blocker-" + i, latch, reads, order).getImageAsync(null, false, Priority.HIGH);
+    }
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (reads.get() < threads && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(threads, reads.get());
+    return blockers;
+  }
+
+  @Test
+  void concurrentRequestsShareOneDecoding() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger reads = new AtomicInteger();
+    ImageElement element = slowElement("shared", release, reads, new CopyOnWriteArrayList<>());
+
+    int callers = 16;
+    ExecutorService pool = Executors.newFixedThreadPool(callers);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<CompletableFuture<PlanarImage>>> requests = new ArrayList<>();
+      for (int i = 0; i < callers; i++) {
+        Priority priority = Priority.values()[i % Priority.values().length];
+        requests.add(
+            pool.submit(
+                () -> {
+                  start.await();
+                  return element.getImageAsync(null, false, priority);
+                }));
+      }
+      start.countDown();
+      List<CompletableFuture<PlanarImage>> futures = new ArrayList<>();
+      for (Future<CompletableFuture<PlanarImage>> request : requests) {
+        futures.add(request.get(10, TimeUnit.SECONDS));
+      }
+      release.countDown();
+
+      PlanarImage first = futures.getFirst().get(10, TimeUnit.SECONDS);
+      for (CompletableFuture<PlanarImage> future : futures) {
+        assertSame(first, future.get(10, TimeUnit.SECONDS));
+      }
+      // The blocking method uses the cached image
+      assertSame(first, element.getImage(null, false));
+      assertEquals(1, reads.get());
+      assertTrue(element.isImageInCache());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void cancelledRequestSkipsDecodingNotStarted() throws Exception {
+    List<CountDownLatch> blockers = blockLoader();
+    AtomicInteger reads = new AtomicInteger();
+    List<String> order = new CopyOnWriteArrayList<>();
+    ImageElement cancelled = slowElement("cancelled", new CountDownLatch(0), reads, order);
+    ImageElement kept = slowElement("kept", new CountDownLatch(0), reads, order);
+
+    CompletableFuture<PlanarImage> first = cancelled.getImageAsync(null, false, Priority.HIGH);
+    CompletableFuture<PlanarImage> second = cancelled.getImageAsync(null, false, Priority.HIGH);
+    CompletableFuture<PlanarImage> other = kept.getImageAsync(null, false, Priority.LOW);
+    assertTrue(first.cancel(false));
+    assertTrue(second.cancel(false));
+    blockers.forEach(CountDownLatch::countDown);
+
+    assertSame(other.get(10, TimeUnit.SECONDS), kept.getImage(null, false));
+    assertEquals(List.of("kept"), order);
+    assertEquals(1, reads.get());
+
+    // A new request loads the image again
+    assertNotNull(cancelled.getImageAsync(null, false, Priority.NORMAL).get(10, TimeUnit.SECONDS));
+    assertEquals(2, reads.get());
+  }
+
+  @Test
+  void cancellingOneRequestKeepsTheSharedLoad() throws Exception {
+    List<CountDownLatch> blockers = blockLoader();
+    AtomicInteger reads = new AtomicInteger();
+    ImageElement element =
+        slowElement("shared", new CountDownLatch(0), reads, new CopyOnWriteArrayList<>());
+
+    CompletableFuture<PlanarImage> thumbnail = element.getImageAsync(null, false, Priority.LOW);
+    CompletableFuture<PlanarImage> view = element.getImageAsync(null, false, Priority.HIGH);
+    assertTrue(thumbnail.cancel(false));
+    blockers.forEach(CountDownLatch::countDown);
+
+    assertSame(view.get(10, TimeUnit.SECONDS), element.getImage(null, false));
+    assertEquals(1, reads.get());
+  }
+
+  @Test
+  void requestsNeverDecodeInTheCallingThread() throws Exception {
+    List<CountDownLatch> blockers = blockLoader();
+    AtomicInteger reads = new AtomicInteger();
+    CountDownLatch none = new CountDownLatch(0);
+    List<CompletableFuture<PlanarImage>> futures = new ArrayList<>();
+    // More pending loads than the queue of a bounded image loader
+    for (int i = 0; i < 300; i++) {
+      ImageElement element = slowElement("queued-" + i, none, reads, new CopyOnWriteArrayList<>());
+      futures.add(element.getImageAsync(null, false, Priority.LOW));
+    }
+    // All the threads are busy, nothing has been decoded by this thread
+    assertEquals(0, reads.get());
+
+    blockers.forEach(CountDownLatch::countDown);
+    for (CompletableFuture<PlanarImage> future : futures) {
+      assertNotNull(future.get(10, TimeUnit.SECONDS));
+    }
+    assertEquals(300, reads.get());
+  }
+
+  @Test
+  void pendingLoadsRunByPriority() throws Exception {
+    List<CountDownLatch> blockers = blockLoader();
+    AtomicInteger reads = new AtomicInteger();
+    List<String> order = new CopyOnWriteArrayList<>();
+    CountDownLatch none = new CountDownLatch(0);
+    ImageElement low = slowElement("low", none, reads, order);
+    ImageElement normal = slowElement("normal", none, reads, order);
+    ImageElement high = slowElement("high", none, reads, order);
+    ImageElement raised = slowElement("raised", none, reads, order);
+
+    List<CompletableFuture<PlanarImage>> futures = new ArrayList<>();
+    futures.add(low.getImageAsync(null, false, Priority.LOW));
+    futures.add(raised.getImageAsync(null, false, Priority.LOW));
+    futures.add(normal.getImageAsync(null, false, Priority.NORMAL));
+    futures.add(high.getImageAsync(null, false, Priority.HIGH));
+    // A request with a higher priority moves the pending load forward
+    futures.add(raised.getImageAsync(null, false, Priority.HIGH));
+
+    // A single thread of the loader takes the pending loads one by one
+    blockers.getFirst().countDown();
+    for (CompletableFuture<PlanarImage> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+    // With the same priority, the oldest pending load runs first
+    assertEquals(List.of("raised", "high", "normal", "low"), order);
+    assertEquals(4, reads.get());
+  }
+}
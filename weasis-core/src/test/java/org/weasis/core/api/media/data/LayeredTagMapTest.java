@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.api.media.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.weasis.core.api.media.data.TagW.TagType;
+
+class LayeredTagMapTest {
+
+  private static final TagW[] TAGS = new TagW[40];
+
+  static {
+    for (int i = 0; i < TAGS.length; i++) {
+      TAGS[i] = new TagW(97_000 + i, "LayeredTag" + i, TagType.STRING); // NON-NLS
+    }
+  }
+
+  private static Map<TagW, Object> baseTags() {
+    Map<TagW, Object> tags = new HashMap<>();
+    for (int i = 0; i < 20; i++) {
+      tags.put(TAGS[i], "base" + i); // NON-NLS
+    }
+    tags.put(TAGS[20], null);
+    return tags;
+  }
+
+  @Test
+  void readsTheBaseAndKeepsItUnchanged() {
+    Map<TagW, Object> tags = baseTags();
+    LayeredTagMap.Base base = new LayeredTagMap.Base(tags);
+    LayeredTagMap frame1 = new LayeredTagMap(base);
+    LayeredTagMap frame2 = new LayeredTagMap(base);
+
+    assertEquals(tags, frame1);
+    assertTrue(frame1.containsKey(TAGS[20]));
+    assertNull(frame1.get(TAGS[20]));
+
+    frame1.put(TAGS[0], "frame1"); // NON-NLS
+    frame1.put(TAGS[30], "new"); // NON-NLS
+    frame1.remove(TAGS[1]);
+    assertEquals("frame1", frame1.get(TAGS[0]));
+    assertEquals("new", frame1.get(TAGS[30]));
+    assertFalse(frame1.containsKey(TAGS[1]));
+    assertEquals(tags.size(), frame1.size());
+
+    // The other frame and the source map are not modified
+    assertEquals(tags, frame2);
+    assertEquals("base0", frame2.get(TAGS[0]));
+    assertEquals(0, frame2.getOverlaySize());
+    // Modifying the source map does not change the base
+    tags.put(TAGS[2], "modified"); // NON-NLS
+    assertEquals("base2", frame2.get(TAGS[2]));
+  }
+
+  @Test
+  void valueEqualToTheBaseIsNotStored() {
+    Map<TagW, Object> tags = baseTags();
+    tags.put(TAGS[21], new double[] {1.0, 0.0, 0.0, 0.0, 1.0, 0.0});
+    LayeredTagMap.Base base = new LayeredTagMap.Base(tags);
+    LayeredTagMap frame = new LayeredTagMap(base);
+
+    frame.put(TAGS[0], "base0"); // NON-NLS
+    frame.put(TAGS[21], new double[] {1.0, 0.0, 0.0, 0.0, 1.0, 0.0});
+    assertEquals(0, frame.getOverlaySize());
+    frame.put(TAGS[0], "other"); // NON-NLS
+    frame.put(TAGS[0], "base0"); // NON-NLS
+    assertEquals(0, frame.getOverlaySize());
+    assertTrue(frame.isSharing(base));
+  }
+
+  @Test
+  void clearHidesTheBase() {
+    LayeredTagMap.Base base = new LayeredTagMap.Base(baseTags());
+    LayeredTagMap frame = new LayeredTagMap(base);
+    frame.put(TAGS[30], "new"); // NON-NLS
+    frame.clear();
+    assertTrue(frame.isEmpty());
+    assertNull(frame.get(TAGS[0]));
+    assertFalse(frame.isSharing(base));
+
+    frame.put(TAGS[0], "base0"); // NON-NLS
+    assertEquals(Map.of(TAGS[0], "base0"), frame);
+    assertEquals("base0", new LayeredTagMap(base).get(TAGS[0]));
+  }
+
+  @Test
+  void iteratorRemovesEntriesOfBothLayers() {
+    Map<TagW, Object> expected = baseTags();
+    LayeredTagMap frame = new LayeredTagMap(new LayeredTagMap.Base(expected));
+    frame.put(TAGS[30], "new"); // NON-NLS
+    frame.put(TAGS[3], "modified"); // NON-NLS
+    expected.put(TAGS[30], "new"); // NON-NLS
+    expected.put(TAGS[3], "modified"); // NON-NLS
+
+    Iterator<Entry<TagW, Object>> iterator = frame.entrySet().iterator();
+    while (iterator.hasNext()) {
+      TagW tag = iterator.next().getKey();
+      if (tag.getId() % 2 == 0) {
+        iterator.remove();
+        expected.remove(tag);
+      }
+    }
+    assertEquals(expected, frame);
+    assertEquals(expected.size(), frame.size());
+  }
+
+  @Test
+  void behavesLikeACopyOfTheMap() {
+    Random random = new Random(7);
+    Map<TagW, Object> source = baseTags();
+    LayeredTagMap.Base base = new LayeredTagMap.Base(source);
+    for (int run = 0; run < 20; run++) {
+      Map<TagW, Object> expected = new HashMap<>(source);
+      LayeredTagMap frame = new LayeredTagMap(base);
+      for (int op = 0; op < 200; op++) {
+        TagW tag = TAGS[random.nextInt(TAGS.length)];
+        switch (random.nextInt(4)) {
+          case 0 -> assertEquals(expected.remove(tag), frame.remove(tag));
+          case 1 -> assertEquals(expected.put(tag, null), frame.put(tag, null));
+          default -> {
+            String value = "v" + random.nextInt(3); // NON-NLS
+            assertEquals(expected.put(tag, value), frame.put(tag, value));
+          }
+        }
+        assertEquals(expected.containsKey(tag), frame.containsKey(tag));
+        assertEquals(expected.size(), frame.size());
+      }
+      assertEquals(expected, frame);
+      assertEquals(expected.hashCode(), frame.hashCode());
+    }
+    assertEquals(source.size(), base.size());
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.api.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.font.TextLayout;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FontToolsTest {
+
+  private static final String[] LINES = {
+    "DOE^JOHN", "ID: 12345678", "CT ABDOMEN", "W:400 L:40", "Im: 125/2000", "Z: 1.25", "5.0 mm"
+  };
+
+  @BeforeEach
+  void clearCache() {
+    FontTools.clearTextCache();
+  }
+
+  private static Graphics2D graphics(BufferedImage image, boolean antialiasing) {
+    Graphics2D g2 = image.createGraphics();
+    g2.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 14));
+    g2.setRenderingHint(
+        RenderingHints.KEY_TEXT_ANTIALIASING,
+        antialiasing
+            ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON
+            : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+    return g2;
+  }
+
+  /** Previous implementation building the text layout and the strokes at each call. */
+  private static void paintUncached(Graphics2D g2, String str, float x, float y, Color color) {
+    g2.setPaint(Color.BLACK);
+    if (RenderingHints.VALUE_TEXT_ANTIALIAS_ON.equals(
+        g2.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING))) {
+      TextLayout layout = new TextLayout(str, g2.getFont(), g2.getFontRenderContext());
+      AffineTransform textAt = new AffineTransform();
+      textAt.translate(x, y);
+      Shape outline = layout.getOutline(textAt);
+      g2.setStroke(new BasicStroke(2f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_ROUND));
+      g2.draw(outline);
+      g2.setPaint(color);
+      g2.setStroke(new BasicStroke(1f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_ROUND));
+      g2.fill(outline);
+    } else {
+      for (int i = -1; i <= 1; i++) {
+        for (int j = -1; j <= 1; j++) {
+          if (i != 0 || j != 0) {
+            g2.drawString(str, x + i, y + j);
+          }
+        }
+      }
+      g2.setPaint(color);
+      g2.drawString(str, x, y);
+    }
+  }
+
+  private static int countDifferences(BufferedImage a, BufferedImage b, int tolerance) {
+    int count = 0;
+    for (int y = 0; y < a.getHeight(); y++) {
+      for (int x = 0; x < a.getWidth(); x++) {
+        int p = a.getRGB(x, y);
+        int q = b.getRGB(x, y);
+        for (int shift = 0; shift < 32; shift += 8) {
+          if (Math.abs(((p >>> shift) & 0xFF) - ((q >>> shift) & 0xFF)) > tolerance) {
+            count++;
+            break;
+          }
+        }
+      }
+    }
+    return count;
+  }
+
+  private static void assertSameRendering(boolean antialiasing, double scale) {
+    BufferedImage expected = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB);
+    BufferedImage actual = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g1 = graphics(expected, antialiasing);
+    Graphics2D g2 = graphics(actual, antialiasing);
+    // Like a HiDPI screen
+    g1.scale(scale, scale);
+    g2.scale(scale, scale);
+    // Twice to paint also from the cache
+    for (int k = 0; k < 2; k++) {
+      for (int i = 0; i < LINES.length; i++) {
+        paintUncached(g1, LINES[i], 5.5f, 20f + i * 20, Color.YELLOW);
+        FontTools.paintColorFontOutline(g2, LINES[i], 5.5f, 20f + i * 20, Color.YELLOW);
+      }
+    }
+    g1.dispose();
+    g2.dispose();
+    int differences = countDifferences(expected, actual, 2);
+    if (scale == 1.0) {
+      assertEquals(0, differences);
+    } else {
+      // The stroke normalization may move a few edge pixels with a fractional scale
+      assertTrue(differences < 10, () -> differences + " different pixels");
+    }
+  }
+
+  @Test
+  void outlinedTextIsRenderedLikeWithoutCache() {
+    assertSameRendering(true, 1.0);
+    assertSameRendering(false, 1.0);
+    assertEquals(LINES.length * 2, FontTools.getCachedTextCount());
+    assertEquals(LINES.length * 2, FontTools.getCachedSpriteCount());
+    assertSameRendering(true, 1.5);
+    assertSameRendering(false, 1.5);
+  }
+
+  @Test
+  void fontOrTransformChangeUsesNewEntries() {
+    BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g2 = graphics(image, true);
+    FontTools.paintFontOutline(g2, "Text", 1f, 20f);
+    FontTools.paintFontOutline(g2, "Text", 10f, 40f);
+    assertEquals(1, FontTools.getCachedTextCount());
+    g2.setFont(g2.getFont().deriveFont(20f));
+    FontTools.paintFontOutline(g2, "Text", 1f, 20f);
+    g2.scale(2.0, 2.0);
+    FontTools.paintFontOutline(g2, "Text", 1f, 20f);
+    assertEquals(3, FontTools.getCachedTextCount());
+    g2.dispose();
+  }
+
+  @Test
+  void cacheIsBounded() {
+    BufferedImage image = new BufferedImage(50, 50, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g2 = graphics(image, true);
+    for (int i = 0; i < FontTools.MAX_CACHED_TEXTS * 2; i++) {
+      FontTools.paintFontOutline(g2, "Slice " + i, 1f, 20f);
+    }
+    g2.dispose();
+    assertEquals(FontTools.MAX_CACHED_TEXTS, FontTools.getCachedTextCount());
+    assertTrue(FontTools.getCachedSpriteCount() <= FontTools.MAX_CACHED_TEXTS);
+  }
+}
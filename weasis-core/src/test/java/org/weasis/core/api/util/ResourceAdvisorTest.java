@@ -62,6 +62,9 @@ Snapshot build() {
           oom,
           diskFallback,
           0,
+          0,
+          0,
+          0,
           0);
     }
   }
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.core.ui.editor.image;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.weasis.core.ui.editor.image.RoiStatistics.Binning;
+import org.weasis.core.ui.editor.image.RoiStatistics.Mask;
+import org.weasis.core.ui.editor.image.RoiStatistics.PixelReader;
+import org.weasis.core.ui.editor.image.RoiStatistics.ShapeKey;
+
+class RoiStatisticsTest {
+
+  private static final double EPS = 1.0e-9;
+  private static final int SIZE = 64;
+
+  /** Pseudo-random 12-bit image. */
+  private static double[] image(boolean fractional) {
+    double[] pixels = new double[SIZE * SIZE];
+    long seed = 17;
+    for (int i = 0; i < pixels.length; i++) {
+      seed = seed * 6364136223846793005L + 1442695040888963407L;
+      int value = (int) ((seed >>> 33) % 4096);
+      pixels[i] = fractional ? value + 0.25 : value;
+    }
+    return pixels;
+  }
+
+  private static PixelReader reader(double[] pixels, AtomicInteger readCount) {
+    return (x, y, width, dst) -> {
+      System.arraycopy(pixels, y * SIZE + x, dst, 0, width);
+      readCount.addAndGet(width);
+    };
+  }
+
+  /** Disc of the given center and radius, clipped to the image. */
+  private static Mask disc(int cx, int cy, int radius) {
+    int x0 = Math.max(0, cx - radius);
+    int y0 = Math.max(0, cy - radius);
+    int x1 = Math.min(SIZE - 1, cx + radius);
+    int y1 = Math.min(SIZE - 1, cy + radius);
+    int w = x1 - x0 + 1;
+    int h = y1 - y0 + 1;
+    byte[] data = new byte[w * h];
+    for (int y = y0; y <= y1; y++) {
+      for (int x = x0; x <= x1; x++) {
+        int dx = x - cx;
+        int dy = y - cy;
+        if (dx * dx + dy * dy <= radius * radius) {
+          data[(y - y0) * w + x - x0] = 1;
+        }
+      }
+    }
+    return new Mask(x0, y0, w, h, data);
+  }
+
+  private static ShapeKey key(int cx, int cy, int radius) {
+    return ShapeKey.of(
+        new Ellipse2D.Double(cx - radius, cy - radius, 2 * radius, 2 * radius), SIZE, SIZE);
+  }
+
+  private static void assertSameStatistics(RoiStatistics expected, RoiStatistics actual) {
+    assertEquals(expected.getCount(), actual.getCount());
+    assertEquals(expected.getMin(), actual.getMin(), EPS);
+    assertEquals(expected.getMax(), actual.getMax(), EPS);
+    assertEquals(expected.getMean(), actual.getMean(), 1.0e-6);
+    assertEquals(expected.getStdDev(), actual.getStdDev(), 1.0e-6);
+    assertArrayEquals(expected.getHistogram(), actual.getHistogram());
+  }
+
+  @Test
+  void singlePassMatchesDirectComputation() {
+    double[] pixels = image(false);
+    Mask mask = disc(30, 34, 12);
+    Binning binning = Binning.of(4096, 0, 4095, null, null);
+    RoiStatistics stats =
+        RoiStatistics.compute(
+            pixels, key(30, 34, 12), mask, binning, reader(pixels, new AtomicInteger()));
+
+    long count = 0;
+    double sum = 0;
+    double min = Double.MAX_VALUE;
+    double max = -Double.MAX_VALUE;
+    for (int y = 0; y < SIZE; y++) {
+      for (int x = 0; x < SIZE; x++) {
+        if (mask.contains(x, y)) {
+          double v = pixels[y * SIZE + x];
+          count++;
+          sum += v;
+          min = Math.min(min, v);
+          max = Math.max(max, v);
+        }
+      }
+    }
+    double mean = sum / count;
+    double m2 = 0;
+    for (int y = 0; y < SIZE; y++) {
+      for (int x = 0; x < SIZE; x++) {
+        if (mask.contains(x, y)) {
+          double d = pixels[y * SIZE + x] - mean;
+          m2 += d * d;
+        }
+      }
+    }
+    assertEquals(count, stats.getCount());
+    assertEquals(min, stats.getMin(), EPS);
+    assertEquals(max, stats.getMax(), EPS);
+    assertEquals(mean, stats.getMean(), 1.0e-6);
+    assertEquals(Math.sqrt(m2 / count), stats.getStdDev(), 1.0e-6);
+    float total = 0;
+    for (float bin : stats.getHistogram()) {
+      total += bin;
+    }
+    assertEquals(count, total, EPS);
+  }
+
+  @Test
+  void draggedRegionOnlyReadsTheChangedPixels() {
+    double[] pixels = image(false);
+    Binning binning = Binning.of(4096, 0, 4095, null, null);
+    AtomicInteger reads = new AtomicInteger();
+    RoiStatistics stats =
+        RoiStatistics.compute(
+            pixels, key(30, 30, 12), disc(30, 30, 12), binning, reader(pixels, reads));
+
+    for (int step = 1; step <= 8; step++) {
+      int radius = 12 + (step % 3) - 1;
+      int cx = 30 + step;
+      reads.set(0);
+      stats.update(key(cx, 30, radius), disc(cx, 30, radius), reader(pixels, reads));
+      RoiStatistics expected =
+          RoiStatistics.compute(
+              pixels,
+              key(cx, 30, radius),
+              disc(cx, 30, radius),
+              binning,
+              reader(pixels, new AtomicInteger()));
+      assertSameStatistics(expected, stats);
+    }
+    // Moving by one pixel reads the pixels of the edges, not the whole disc again
+    stats.update(key(39, 30, 12), disc(39, 30, 12), reader(pixels, reads));
+    reads.set(0);
+    stats.update(key(40, 30, 12), disc(40, 30, 12), reader(pixels, reads));
+    assertTrue(reads.get() > 0);
+    assertTrue(reads.get() <= 2 * 25);
+
+    // A new shape with the same pixels reads nothing
+    reads.set(0);
+    stats.update(key(40, 30, 13), disc(40, 30, 12), reader(pixels, reads));
+    assertEquals(0, reads.get());
+  }
+
+  @Test
+  void shrinkingOverTheExtremaOfFractionalValues() {
+    double[] pixels = image(true);
+    Binning binning = Binning.of(1024, 0.25, 4095.25, null, null);
+    RoiStatistics stats =
+        RoiStatistics.compute(
+            pixels,
+            key(32, 32, 20),
+            disc(32, 32, 20),
+            binning,
+            reader(pixels, new AtomicInteger()));
+    for (int radius = 19; radius >= 2; radius -= 3) {
+      stats.update(key(32, 32, radius), disc(32, 32, radius), reader(pixels, new AtomicInteger()));
+      RoiStatistics expected =
+          RoiStatistics.compute(
+              pixels,
+              key(32, 32, radius),
+              disc(32, 32, radius),
+              binning,
+              reader(pixels, new AtomicInteger()));
+      assertSameStatistics(expected, stats);
+    }
+  }
+
+  @Test
+  void shrinkingTheRegionToNothing() {
+    double[] pixels = image(false);
+    Binning binning = Binning.of(4096, 0, 4095, null, null);
+    RoiStatistics stats =
+        RoiStatistics.compute(
+            pixels,
+            key(32, 32, 12),
+            disc(32, 32, 12),
+            binning,
+            reader(pixels, new AtomicInteger()));
+    // Remove the extrema first, then all the remaining pixels
+    stats.update(key(32, 32, 6), disc(32, 32, 6), reader(pixels, new AtomicInteger()));
+    Mask empty = new Mask(26, 26, 13, 13, new byte[13 * 13]);
+    ShapeKey emptyKey = ShapeKey.of(new Rectangle2D.Double(32, 32, 0, 0), SIZE, SIZE);
+    stats.update(emptyKey, empty, reader(pixels, new AtomicInteger()));
+
+    RoiStatistics expected =
+        RoiStatistics.compute(
+            pixels, emptyKey, empty, binning, reader(pixels, new AtomicInteger()));
+    assertEquals(0, stats.getCount());
+    assertSameStatistics(expected, stats);
+
+    stats.update(key(32, 32, 9), disc(32, 32, 9), reader(pixels, new AtomicInteger()));
+    expected =
+        RoiStatistics.compute(
+            pixels,
+            key(32, 32, 9),
+            disc(32, 32, 9),
+            binning,
+            reader(pixels, new AtomicInteger()));
+    assertSameStatistics(expected, stats);
+  }
+
+  @Test
+  void paddingAndNaNValuesAreExcluded() {
+    double[] pixels = {-2000, -1500, 10, 20, Double.NaN, 30};
+    PixelReader reader = (x, y, width, dst) -> System.arraycopy(pixels, x, dst, 0, width);
+    Binning binning = Binning.of(1024, -2000, 30, -1500, -2000);
+    RoiStatistics stats =
+        RoiStatistics.compute(pixels, ShapeKey.of(null, 6, 1), Mask.of(6, 1), binning, reader);
+
+    assertEquals(3, stats.getCount());
+    assertEquals(10, stats.getMin(), EPS);
+    assertEquals(30, stats.getMax(), EPS);
+    assertEquals(20, stats.getMean(), EPS);
+  }
+
+  @Test
+  void shapeKeyComparesTheGeometry() {
+    assertEquals(
+        ShapeKey.of(new Rectangle2D.Double(1, 2, 3, 4), SIZE, SIZE),
+        ShapeKey.of(new Rectangle2D.Double(1, 2, 3, 4), SIZE, SIZE));
+    assertNotEquals(
+        ShapeKey.of(new Rectangle2D.Double(1, 2, 3, 4), SIZE, SIZE),
+        ShapeKey.of(new Rectangle2D.Double(1, 2, 3, 5), SIZE, SIZE));
+    assertNotEquals(
+        ShapeKey.of(new Rectangle2D.Double(1, 2, 3, 4), SIZE, SIZE),
+        ShapeKey.of(new Rectangle2D.Double(1, 2, 3, 4), SIZE, SIZE + 1));
+  }
+}
@@ -14,6 +14,7 @@
 import java.awt.BorderLayout;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.List;
 import javax.sound.sampled.AudioFileFormat;
@@ -21,7 +22,6 @@
 import javax.sound.sampled.AudioFormat.Encoding;
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
 import javax.sound.sampled.DataLine;
 import javax.sound.sampled.FloatControl;
 import javax.sound.sampled.LineUnavailableException;
@@ -30,6 +30,7 @@
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JSlider;
 import javax.swing.Timer;
 import org.dcm4che3.data.Attributes;
@@ -56,7 +57,7 @@ public class AuView extends JPanel implements SeriesViewerListener {
 
   private Series<?> series;
 
-  private Clip clip;
+  private AudioStreamPlayer player;
   private boolean playing = false; // whether the sound is currently playing
 
   private int audioLength; // Length of the sound.
@@ -65,6 +66,7 @@ public class AuView extends JPanel implements SeriesViewerListener {
   private JButton play; // The Play/Stop button
   private JSlider progress; // Shows and sets current position in sound
   private JLabel time; // Displays audioPosition as a number
+  private JProgressBar level; // Peak level of the sound being played
   private Timer timer; // Updates slider every 100 milliseconds
 
   public AuView() {
@@ -150,8 +152,8 @@ public void dispose() {
       closingSeries(series);
       series = null;
     }
-    if (clip != null) {
-      clip.close();
+    if (player != null) {
+      player.close();
     }
   }
 
@@ -172,22 +174,19 @@ private void showPlayer(final DicomSpecialElement media)
     }
     setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
 
-    try (AudioInputStream audioStream =
-        new AudioInputStream(
-            audioData.bulkData.openStream(),
-            audioData.audioFormat,
-            audioData.bulkData.length() / audioData.audioFormat.getFrameSize())) {
-      DataLine.Info info = new DataLine.Info(Clip.class, audioStream.getFormat());
-      clip = (Clip) AudioSystem.getLine(info);
-      clip.open(audioStream);
-    }
+    // The audio data is streamed from the bulk data while playing
+    player =
+        new AudioStreamPlayer(audioData, audioData.audioFormat, AudioStreamPlayer.newLineSink());
+    player.open();
 
-    // Get the clip length in microseconds and convert to milliseconds
-    audioLength = (int) (clip.getMicrosecondLength() / 1000);
+    // Get the length in microseconds and convert to milliseconds
+    audioLength = (int) (player.getMicrosecondLength() / 1000);
 
     play = new JButton(Messages.getString("AuView.play")); // Play/stop button
     progress = new JSlider(0, audioLength, 0); // Shows position in sound
     time = new JLabel("0"); // Shows position as a #
+    level = new JProgressBar(0, 100);
+    level.setToolTipText(Messages.getString("AuView.level"));
 
     // When clicked, start or stop playing the sound
     play.addActionListener(
@@ -214,7 +213,7 @@ private void showPlayer(final DicomSpecialElement media)
     // our slider in sync with the music.
     timer = new Timer(100, e -> tick());
     add(GuiUtils.boxVerticalStrut(15));
-    add(GuiUtils.getHorizontalBoxLayoutPanel(10, play, progress, time));
+    add(GuiUtils.getHorizontalBoxLayoutPanel(10, play, progress, time, level));
     add(GuiUtils.boxVerticalStrut(15));
     addSampledControls();
 
@@ -265,7 +264,7 @@ private void saveAudioFile(DicomSpecialElement media) {
   /** Start playing the sound at the current position */
   public void play() {
 
-    clip.start();
+    player.play();
 
     timer.start();
     play.setText(Messages.getString("AuView.stop"));
@@ -276,7 +275,8 @@ public void play() {
   public void stop() {
     timer.stop();
 
-    clip.stop();
+    player.pause();
+    level.setValue(0);
 
     play.setText(Messages.getString("AuView.play"));
     playing = false;
@@ -286,7 +286,7 @@ public void stop() {
   public void reset() {
     stop();
 
-    clip.setMicrosecondPosition(0);
+    player.setMicrosecondPosition(0);
 
     audioPosition = 0;
     progress.setValue(0);
@@ -299,7 +299,7 @@ public void skip(int position) { // Called when user drags the slider
     }
     audioPosition = position;
 
-    clip.setMicrosecondPosition(position * 1000L);
+    player.setMicrosecondPosition(position * 1000L);
 
     progress.setValue(position); // in case skip( ) is called from outside
   }
@@ -313,9 +313,10 @@ public int getLength() {
   // The Timer object calls it 10 times a second.
   // If the sound has finished, it resets to the beginning
   void tick() {
-    if (clip.isActive()) {
-      audioPosition = (int) (clip.getMicrosecondPosition() / 1000);
+    if (player.isPlaying()) {
+      audioPosition = (int) (player.getMicrosecondPosition() / 1000);
       progress.setValue(audioPosition);
+      level.setValue((int) Math.round(player.getLevel() * 100));
     } else {
       reset();
     }
@@ -323,25 +324,19 @@ void tick() {
 
   // For sampled sounds, add sliders to control volume and balance
   void addSampledControls() {
-    try {
-      FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-      if (gainControl != null) {
-        this.add((GuiUtils.getHorizontalBoxLayoutPanel(10, createSlider(gainControl))));
-        this.add(GuiUtils.boxVerticalStrut(15));
-      }
-    } catch (IllegalArgumentException e) {
-      // If MASTER_GAIN volume control is unsupported, just skip it
+    // If MASTER_GAIN volume control is unsupported, just skip it
+    FloatControl gainControl = player.getControl(FloatControl.Type.MASTER_GAIN);
+    if (gainControl != null) {
+      this.add((GuiUtils.getHorizontalBoxLayoutPanel(10, createSlider(gainControl))));
+      this.add(GuiUtils.boxVerticalStrut(15));
     }
 
-    try {
-      // FloatControl.Type.BALANCE is probably the correct control to
-      // use here, but it doesn't work for me, so I use PAN instead.
-      FloatControl panControl = (FloatControl) clip.getControl(FloatControl.Type.PAN);
-      if (panControl != null) {
-        this.add(GuiUtils.getHorizontalBoxLayoutPanel(10, createSlider(panControl)));
-        this.add(GuiUtils.boxVerticalStrut(15));
-      }
-    } catch (IllegalArgumentException e) {
+    // FloatControl.Type.BALANCE is probably the correct control to
+    // use here, but it doesn't work for me, so I use PAN instead.
+    FloatControl panControl = player.getControl(FloatControl.Type.PAN);
+    if (panControl != null) {
+      this.add(GuiUtils.getHorizontalBoxLayoutPanel(10, createSlider(panControl)));
+      this.add(GuiUtils.boxVerticalStrut(15));
     }
   }
 
@@ -434,7 +429,7 @@ protected AudioData getAudioData(DicomSpecialElement media) {
     return null;
   }
 
-  static class AudioData {
+  static class AudioData implements AudioStreamPlayer.AudioSource {
     final BulkData bulkData;
     final AudioFormat audioFormat;
 
@@ -442,6 +437,16 @@ public AudioData(BulkData bulkData, AudioFormat audioFormat) {
       this.bulkData = bulkData;
       this.audioFormat = audioFormat;
     }
+
+    @Override
+    public InputStream openStream() throws IOException {
+      return bulkData.openStream();
+    }
+
+    @Override
+    public long length() {
+      return bulkData.length();
+    }
   }
 
   public static void playSound(AudioInputStream audioStream, AudioFormat audioFormat) {
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.au;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded byte ring buffer between the thread reading the audio data and the thread writing it to
+ * the audio line. The writer blocks when the buffer is full and the reader blocks when it is
+ * empty, so the memory used does not depend on the length of the recording.
+ */
+final class AudioRingBuffer {
+
+  private final byte[] buffer;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Condition notFull = lock.newCondition();
+  private int head;
+  private int size;
+  private boolean endOfStream;
+  private boolean closed;
+
+  AudioRingBuffer(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Invalid capacity: " + capacity);
+    }
+    this.buffer = new byte[capacity];
+  }
+
+  int capacity() {
+    return buffer.length;
+  }
+
+  int available() {
+    lock.lock();
+    try {
+      return size;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Writes all the bytes, waiting for free space when the buffer is full.
+   *
+   * @return false if the buffer has been closed
+   */
+  boolean write(byte[] b, int off, int len) throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      int written = 0;
+      while (written < len) {
+        while (size == buffer.length && !closed) {
+          notFull.await();
+        }
+        if (closed) {
+          return false;
+        }
+        int tail = (head + size) % buffer.length;
+        int count = Math.min(len - written, Math.min(buffer.length - size, buffer.length - tail));
+        System.arraycopy(b, off + written, buffer, tail, count);
+        size += count;
+        written += count;
+        notEmpty.signalAll();
+      }
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Reads at most {@code len} bytes, waiting for data when the buffer is empty.
+   *
+   * @return the number of bytes read, or -1 at the end of the stream or when the buffer is closed
+   */
+  int read(byte[] b, int off, int len) throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (size == 0 && !endOfStream && !closed) {
+        notEmpty.await();
+      }
+      if (closed || size == 0) {
+        return -1;
+      }
+      int count = Math.min(len, Math.min(size, buffer.length - head));
+      System.arraycopy(buffer, head, b, off, count);
+      head = (head + count) % buffer.length;
+      size -= count;
+      notFull.signalAll();
+      return count;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Marks the end of the data: the reader gets -1 once the remaining bytes are read. */
+  void setEndOfStream() {
+    lock.lock();
+    try {
+      endOfStream = true;
+      notEmpty.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Discards the data and wakes up the waiting threads. */
+  void close() {
+    lock.lock();
+    try {
+      closed = true;
+      size = 0;
+      notEmpty.signalAll();
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
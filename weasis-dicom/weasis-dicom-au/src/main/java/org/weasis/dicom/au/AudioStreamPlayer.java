@@ -0,0 +1,489 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.au;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioFormat.Encoding;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.FloatControl;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.weasis.core.api.util.ThreadUtil;
+
+/**
+ * Plays an audio stream without loading it entirely in memory.
+ *
+ * <p>A reader thread reads the source by chunks into a bounded {@link AudioRingBuffer}, converting
+ * the G.711 (mu-law and A-law) samples to linear PCM, and a playback thread writes the buffer to
+ * the {@link AudioSink}. Seeking restarts the reading at the byte offset of the requested frame.
+ * The size of the ring buffer is given by {@code weasis.audio.buffer.ms} (500 ms by default).
+ */
+public class AudioStreamPlayer implements AutoCloseable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(AudioStreamPlayer.class);
+
+  static final int BUFFER_MS = Math.max(50, Integer.getInteger("weasis.audio.buffer.ms", 500));
+  /** Number of levels computed by second. */
+  static final int LEVELS_PER_SECOND = 20;
+
+  private static final ThreadFactory THREAD_FACTORY =
+      ThreadUtil.namedDaemonThreadFactory("Audio Player", true); // NON-NLS
+
+  /** The encoded audio data, e.g. the Waveform Data of a DICOM audio object. */
+  public interface AudioSource {
+
+    /**
+     * @return a new stream at the beginning of the audio data
+     */
+    InputStream openStream() throws IOException;
+
+    /**
+     * @return the length of the audio data in bytes, or a negative value if unknown
+     */
+    long length();
+  }
+
+  /** The output of the player, usually a {@link SourceDataLine}. */
+  public interface AudioSink {
+
+    void open(AudioFormat format, int bufferSize) throws LineUnavailableException;
+
+    void start();
+
+    void stop();
+
+    /** Discards the data not yet played. */
+    void flush();
+
+    /** Waits until the data written has been played. */
+    void drain();
+
+    int write(byte[] b, int off, int len);
+
+    /**
+     * @return the number of frames played since the sink has been opened
+     */
+    long getLongFramePosition();
+
+    /**
+     * @return the control, or null if it is not supported
+     */
+    FloatControl getControl(FloatControl.Type type);
+
+    void close();
+  }
+
+  private final AudioSource source;
+  private final AudioFormat sourceFormat;
+  private final AudioFormat playbackFormat;
+  private final AudioSink sink;
+  private final long frameLength;
+  private final int framesPerLevel;
+  private final int chunkSize;
+  private final int ringCapacity;
+  private final int levelSlots;
+  private final Object sinkLock = new Object();
+  private volatile Session session;
+  private long startFrame;
+  private boolean opened;
+
+  /**
+   * @param source the encoded audio data
+   * @param format the format of the source
+   * @param sink the output, see {@link #newLineSink()}
+   */
+  public AudioStreamPlayer(AudioSource source, AudioFormat format, AudioSink sink) {
+    this.source = Objects.requireNonNull(source);
+    this.sourceFormat = Objects.requireNonNull(format);
+    this.sink = Objects.requireNonNull(sink);
+    this.playbackFormat = getPlaybackFormat(format);
+    if (format.getFrameSize() <= 0 || format.getFrameRate() <= 0) {
+      throw new IllegalArgumentException("Unsupported audio format: " + format);
+    }
+    long length = source.length();
+    this.frameLength = length < 0 ? AudioSystem.NOT_SPECIFIED : length / format.getFrameSize();
+    int frameSize = playbackFormat.getFrameSize();
+    this.framesPerLevel = Math.max(1, Math.round(format.getFrameRate() / LEVELS_PER_SECOND));
+    this.chunkSize = framesPerLevel * frameSize;
+    int bufferFrames = Math.round(format.getFrameRate() * BUFFER_MS / 1000f);
+    this.ringCapacity = Math.max(2 * chunkSize, bufferFrames * frameSize);
+    // The levels computed ahead of the played frames: the ring buffer, the sink buffer and margin
+    this.levelSlots = 4 * ringCapacity / chunkSize + 4;
+  }
+
+  /**
+   * @return the linear PCM format played for the source format
+   */
+  static AudioFormat getPlaybackFormat(AudioFormat format) {
+    Encoding encoding = format.getEncoding();
+    if (Encoding.ULAW.equals(encoding) || Encoding.ALAW.equals(encoding)) {
+      return new AudioFormat(
+          Encoding.PCM_SIGNED,
+          format.getSampleRate(),
+          16,
+          format.getChannels(),
+          format.getChannels() * 2,
+          format.getFrameRate(),
+          format.isBigEndian());
+    }
+    return format;
+  }
+
+  /**
+   * @return a sink writing to the default audio line of the system
+   */
+  public static AudioSink newLineSink() {
+    return new LineSink();
+  }
+
+  /**
+   * Byte offset of a frame in the source data.
+   *
+   * @param frame the frame index
+   * @param format the format of the source
+   * @return the offset in bytes
+   */
+  static long getByteOffset(long frame, AudioFormat format) {
+    return Math.max(0, frame) * format.getFrameSize();
+  }
+
+  public synchronized void open() throws LineUnavailableException {
+    if (!opened) {
+      sink.open(playbackFormat, ringCapacity);
+      opened = true;
+    }
+  }
+
+  public AudioFormat getPlaybackFormat() {
+    return playbackFormat;
+  }
+
+  int getChunkSize() {
+    return chunkSize;
+  }
+
+  int getRingCapacity() {
+    return ringCapacity;
+  }
+
+  /**
+   * @return the number of frames, or {@link AudioSystem#NOT_SPECIFIED} if unknown
+   */
+  public long getFrameLength() {
+    return frameLength;
+  }
+
+  public long getMicrosecondLength() {
+    return frameLength < 0 ? 0 : toMicroseconds(frameLength);
+  }
+
+  public synchronized long getFramePosition() {
+    Session s = session;
+    if (s == null) {
+      return startFrame;
+    }
+    long played = sink.getLongFramePosition() - s.sinkStartFrame;
+    long position = s.startFrame + Math.max(0, played);
+    return frameLength < 0 ? position : Math.min(frameLength, position);
+  }
+
+  public long getMicrosecondPosition() {
+    return toMicroseconds(getFramePosition());
+  }
+
+  /**
+   * Moves the playback to a position, the reading restarts at the byte offset of the frame.
+   *
+   * @param microseconds the position from the beginning
+   */
+  public synchronized void setMicrosecondPosition(long microseconds) {
+    setFramePosition(Math.round(microseconds * (double) sourceFormat.getFrameRate() / 1_000_000));
+  }
+
+  public synchronized void setFramePosition(long frame) {
+    long position = Math.max(0, frame);
+    if (frameLength >= 0) {
+      position = Math.min(frameLength, position);
+    }
+    boolean playing = isPlaying();
+    cancelSession();
+    startFrame = position;
+    if (playing) {
+      startSession();
+    }
+  }
+
+  public synchronized boolean isPlaying() {
+    Session s = session;
+    return s != null && !s.finished;
+  }
+
+  public synchronized void play() {
+    if (isPlaying()) {
+      return;
+    }
+    // Release the session which has reached the end of the data
+    cancelSession();
+    if (frameLength >= 0 && startFrame >= frameLength) {
+      startFrame = 0;
+    }
+    startSession();
+  }
+
+  /** Stops the playback and keeps the current position. */
+  public synchronized void pause() {
+    long position = getFramePosition();
+    cancelSession();
+    startFrame = position;
+  }
+
+  /**
+   * @return the peak level (between 0 and 1) of the block of samples at the frame position of the
+   *     sink, that is the block being heard and not the last one written
+   */
+  public synchronized double getLevel() {
+    Session s = session;
+    if (s == null || s.finished) {
+      return 0.0;
+    }
+    return s.getLevel(sink.getLongFramePosition() - s.sinkStartFrame);
+  }
+
+  /**
+   * @return the control of the sink, or null if it is not supported
+   */
+  public FloatControl getControl(FloatControl.Type type) {
+    return sink.getControl(type);
+  }
+
+  @Override
+  public synchronized void close() {
+    cancelSession();
+    if (opened) {
+      sink.close();
+      opened = false;
+    }
+  }
+
+  private long toMicroseconds(long frames) {
+    return Math.round(frames * 1_000_000.0 / sourceFormat.getFrameRate());
+  }
+
+  private void startSession() {
+    try {
+      open();
+    } catch (LineUnavailableException e) {
+      LOGGER.error("Cannot open audio line", e);
+      return;
+    }
+    Session s = new Session(startFrame, sink.getLongFramePosition());
+    session = s;
+    sink.start();
+    THREAD_FACTORY.newThread(s::read).start();
+    THREAD_FACTORY.newThread(s::play).start();
+  }
+
+  private void cancelSession() {
+    Session s = session;
+    if (s == null) {
+      return;
+    }
+    session = null;
+    s.cancelled = true;
+    s.ring.close();
+    // Unblock the line write, then wait for the chunk being written and discard it
+    sink.stop();
+    sink.flush();
+    synchronized (sinkLock) {
+      sink.flush();
+    }
+  }
+
+  private synchronized void finished(Session s) {
+    if (session == s) {
+      startFrame = getFramePosition();
+      s.finished = true;
+    }
+  }
+
+  /** One playback from a position until the end of the data or the cancellation. */
+  private final class Session {
+    final long startFrame;
+    final long sinkStartFrame;
+    final AudioRingBuffer ring = new AudioRingBuffer(ringCapacity);
+    // Levels of the blocks written to the sink, indexed by block number modulo the length
+    final double[] levels = new double[levelSlots];
+    volatile long levelCount;
+    volatile boolean cancelled;
+    volatile boolean finished;
+
+    Session(long startFrame, long sinkStartFrame) {
+      this.startFrame = startFrame;
+      this.sinkStartFrame = sinkStartFrame;
+    }
+
+    /** Reads the source by chunks from the byte offset of the start frame. */
+    void read() {
+      try (InputStream input = openDecodedStream(startFrame)) {
+        byte[] chunk = new byte[chunkSize];
+        int frameSize = playbackFormat.getFrameSize();
+        int length;
+        while (!cancelled && (length = input.readNBytes(chunk, 0, chunk.length)) > 0) {
+          // A truncated last frame cannot be written to the line
+          length -= length % frameSize;
+          if (length == 0 || !ring.write(chunk, 0, length)) {
+            break;
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (IOException e) {
+        if (!cancelled) {
+          LOGGER.error("Reading audio data", e);
+        }
+      } finally {
+        ring.setEndOfStream();
+      }
+    }
+
+    /** Called by the playback thread only. */
+    void addLevel(double value) {
+      long count = levelCount;
+      levels[(int) (count % levels.length)] = value;
+      levelCount = count + 1;
+    }
+
+    /**
+     * @param playedFrames the number of frames played by the sink since the start of the session
+     * @return the level of the block containing the frame, or 0 if it is not known
+     */
+    double getLevel(long playedFrames) {
+      long block = Math.max(0, playedFrames) / framesPerLevel;
+      long count = levelCount;
+      if (block >= count || block < count - levels.length) {
+        return 0.0;
+      }
+      return levels[(int) (block % levels.length)];
+    }
+
+    /** Writes the ring buffer to the sink and computes the levels. */
+    void play() {
+      byte[] chunk = new byte[chunkSize];
+      try {
+        LevelMeter meter = newLevelMeter(this);
+        int length;
+        while (!cancelled && (length = ring.read(chunk, 0, chunk.length)) > 0) {
+          if (meter != null) {
+            meter.process(chunk, 0, length);
+          }
+          synchronized (sinkLock) {
+            if (cancelled) {
+              break;
+            }
+            sink.write(chunk, 0, length);
+          }
+        }
+        if (!cancelled) {
+          sink.drain();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        finished(this);
+      }
+    }
+  }
+
+  private LevelMeter newLevelMeter(Session s) {
+    try {
+      return new LevelMeter(playbackFormat, framesPerLevel, s::addLevel);
+    } catch (IllegalArgumentException e) {
+      LOGGER.debug("No level meter: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  private InputStream openDecodedStream(long frame) throws IOException {
+    InputStream input = source.openStream();
+    try {
+      input.skipNBytes(getByteOffset(frame, sourceFormat));
+    } catch (IOException e) {
+      input.close();
+      throw e;
+    }
+    if (playbackFormat == sourceFormat) {
+      return input;
+    }
+    long frames = frameLength < 0 ? AudioSystem.NOT_SPECIFIED : frameLength - frame;
+    return AudioSystem.getAudioInputStream(
+        playbackFormat, new AudioInputStream(input, sourceFormat, frames));
+  }
+
+  private static final class LineSink implements AudioSink {
+    private SourceDataLine line;
+
+    @Override
+    public void open(AudioFormat format, int bufferSize) throws LineUnavailableException {
+      line = AudioSystem.getSourceDataLine(format);
+      line.open(format, bufferSize);
+    }
+
+    @Override
+    public void start() {
+      line.start();
+    }
+
+    @Override
+    public void stop() {
+      line.stop();
+    }
+
+    @Override
+    public void flush() {
+      line.flush();
+    }
+
+    @Override
+    public void drain() {
+      line.drain();
+    }
+
+    @Override
+    public int write(byte[] b, int off, int len) {
+      return line.write(b, off, len);
+    }
+
+    @Override
+    public long getLongFramePosition() {
+      return line == null ? 0 : line.getLongFramePosition();
+    }
+
+    @Override
+    public FloatControl getControl(FloatControl.Type type) {
+      if (line != null && line.isControlSupported(type)) {
+        return (FloatControl) line.getControl(type);
+      }
+      return null;
+    }
+
+    @Override
+    public void close() {
+      if (line != null) {
+        line.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.au;
+
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioFormat.Encoding;
+
+/**
+ * Decimates linear PCM samples into one peak level (between 0 and 1) per block of frames, for
+ * displaying a level meter without processing every sample on the EDT. A new meter is created for
+ * each playback, so the first block starts at the playback position.
+ */
+final class LevelMeter {
+
+  private final int bytesPerSample;
+  private final boolean signed;
+  private final boolean bigEndian;
+  private final int frameSize;
+  private final int framesPerBlock;
+  private final DoubleConsumer consumer;
+  private final double fullScale;
+  private int frameInBlock;
+  private int byteInFrame;
+  private double peak;
+  private int pending;
+  private int pendingBytes;
+
+  /**
+   * @param format a PCM format of 8 or 16 bits
+   * @param framesPerBlock the number of frames of a level
+   * @param consumer receives the peak level of each block
+   */
+  LevelMeter(AudioFormat format, int framesPerBlock, DoubleConsumer consumer) {
+    Encoding encoding = format.getEncoding();
+    if (!Encoding.PCM_SIGNED.equals(encoding) && !Encoding.PCM_UNSIGNED.equals(encoding)) {
+      throw new IllegalArgumentException("Not a linear PCM format: " + encoding);
+    }
+    this.bytesPerSample = (format.getSampleSizeInBits() + 7) / 8;
+    if (bytesPerSample != 1 && bytesPerSample != 2) {
+      throw new IllegalArgumentException("Unsupported sample size: " + bytesPerSample);
+    }
+    this.signed = Encoding.PCM_SIGNED.equals(encoding);
+    this.bigEndian = format.isBigEndian();
+    this.frameSize = format.getFrameSize();
+    this.framesPerBlock = Math.max(1, framesPerBlock);
+    this.consumer = Objects.requireNonNull(consumer);
+    this.fullScale = bytesPerSample == 1 ? 128.0 : 32768.0;
+  }
+
+  /** Processes PCM bytes, a sample may be split between two calls. */
+  void process(byte[] b, int off, int len) {
+    for (int i = off; i < off + len; i++) {
+      int value = b[i] & 0xFF;
+      if (bytesPerSample == 1) {
+        sample(signed ? (byte) value : value - 128);
+      } else {
+        if (pendingBytes == 0) {
+          pending = value;
+          pendingBytes = 1;
+        } else {
+          pendingBytes = 0;
+          int v = bigEndian ? (pending << 8) | value : (value << 8) | pending;
+          sample(signed ? (short) v : v - 32768);
+        }
+      }
+      if (++byteInFrame == frameSize) {
+        byteInFrame = 0;
+        if (++frameInBlock == framesPerBlock) {
+          consumer.accept(Math.min(1.0, peak / fullScale));
+          frameInBlock = 0;
+          peak = 0;
+        }
+      }
+    }
+  }
+
+  private void sample(int value) {
+    int abs = Math.abs(value);
+    if (abs > peak) {
+      peak = abs;
+    }
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.au;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AudioRingBufferTest {
+
+  private static byte[] sequence(int start, int length) {
+    byte[] b = new byte[length];
+    for (int i = 0; i < length; i++) {
+      b[i] = (byte) (start + i);
+    }
+    return b;
+  }
+
+  @Test
+  void readsInOrderAcrossTheWrapAround() throws InterruptedException {
+    AudioRingBuffer ring = new AudioRingBuffer(8);
+    assertTrue(ring.write(sequence(0, 6), 0, 6));
+    byte[] out = new byte[8];
+    assertEquals(4, ring.read(out, 0, 4));
+    assertArrayEquals(sequence(0, 4), Arrays.copyOf(out, 4));
+
+    // The tail passes the end of the array: 2 bytes at the end and 4 at the beginning
+    assertTrue(ring.write(sequence(6, 6), 0, 6));
+    assertEquals(8, ring.available());
+    // A read stops at the end of the array, the next one continues at the beginning
+    assertEquals(4, ring.read(out, 0, 8));
+    assertEquals(4, ring.read(out, 4, 4));
+    assertArrayEquals(sequence(4, 8), out);
+    assertEquals(0, ring.available());
+  }
+
+  @Test
+  void writerWaitsForTheReader() throws Exception {
+    AudioRingBuffer ring = new AudioRingBuffer(7);
+    byte[] data = sequence(0, 1000);
+    CompletableFuture<Boolean> writer =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                // Chunks larger than the capacity
+                for (int off = 0; off < data.length; off += 50) {
+                  if (!ring.write(data, off, Math.min(50, data.length - off))) {
+                    return false;
+                  }
+                }
+                ring.setEndOfStream();
+                return true;
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+              }
+            });
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[5];
+    int length;
+    while ((length = ring.read(buffer, 0, buffer.length)) > 0) {
+      assertTrue(ring.available() <= ring.capacity());
+      out.write(buffer, 0, length);
+    }
+    assertTrue(writer.get(10, TimeUnit.SECONDS));
+    assertArrayEquals(data, out.toByteArray());
+  }
+
+  @Test
+  void closeReleasesTheWaitingWriter() throws Exception {
+    AudioRingBuffer ring = new AudioRingBuffer(4);
+    CompletableFuture<Boolean> writer =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return ring.write(sequence(0, 10), 0, 10);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return true;
+              }
+            });
+    while (ring.available() < ring.capacity()) {
+      Thread.onSpinWait();
+    }
+    ring.close();
+    assertFalse(writer.get(10, TimeUnit.SECONDS));
+    assertEquals(-1, ring.read(new byte[4], 0, 4));
+  }
+
+  @Test
+  void remainingBytesAreReadAfterTheEndOfStream() throws InterruptedException {
+    AudioRingBuffer ring = new AudioRingBuffer(8);
+    ring.write(sequence(0, 3), 0, 3);
+    ring.setEndOfStream();
+    byte[] out = new byte[8];
+    assertEquals(3, ring.read(out, 0, 8));
+    assertEquals(-1, ring.read(out, 0, 8));
+  }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.au;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioFormat.Encoding;
+import javax.sound.sampled.FloatControl;
+import org.junit.jupiter.api.Test;
+import org.weasis.dicom.au.AudioStreamPlayer.AudioSink;
+import org.weasis.dicom.au.AudioStreamPlayer.AudioSource;
+
+class AudioStreamPlayerTest {
+
+  private static final double EPS = 1.0e-9;
+  private static final AudioFormat PCM_16 = new AudioFormat(8000, 16, 1, true, false);
+
+  /**
+   * Sink keeping the written data in memory. The frame position follows the written frames, or is
+   * set by the test to simulate the progress of the playback.
+   */
+  private static final class MemorySink implements AudioSink {
+    final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    final List<Integer> writeLengths = new ArrayList<>();
+    final boolean manualPosition;
+    int frameSize;
+    long writtenFrames;
+    long playedFrames;
+    boolean stopped;
+
+    MemorySink(boolean manualPosition) {
+      this.manualPosition = manualPosition;
+    }
+
+    @Override
+    public void open(AudioFormat format, int bufferSize) {
+      frameSize = format.getFrameSize();
+    }
+
+    @Override
+    public synchronized void start() {
+      stopped = false;
+    }
+
+    @Override
+    public synchronized void stop() {
+      stopped = true;
+      notifyAll();
+    }
+
+    @Override
+    public void flush() {
+      // The data is played as soon as it is written
+    }
+
+    @Override
+    public synchronized void drain() {
+      while (!stopped && getLongFramePosition() < writtenFrames) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+
+    @Override
+    public synchronized int write(byte[] b, int off, int len) {
+      written.write(b, off, len);
+      writeLengths.add(len);
+      writtenFrames += len / frameSize;
+      return len;
+    }
+
+    @Override
+    public synchronized long getLongFramePosition() {
+      return manualPosition ? playedFrames : writtenFrames;
+    }
+
+    synchronized long getWrittenFrames() {
+      return writtenFrames;
+    }
+
+    synchronized byte[] getWritten() {
+      return written.toByteArray();
+    }
+
+    synchronized void setPlayedFrames(long frames) {
+      playedFrames = frames;
+      notifyAll();
+    }
+
+    @Override
+    public FloatControl getControl(FloatControl.Type type) {
+      return null;
+    }
+
+    @Override
+    public void close() {
+      // Nothing to release
+    }
+  }
+
+  private static AudioSource source(byte[] data) {
+    return new AudioSource() {
+      @Override
+      public InputStream openStream() {
+        return new ByteArrayInputStream(data);
+      }
+
+      @Override
+      public long length() {
+        return data.length;
+      }
+    };
+  }
+
+  private static byte[] pcm16(int... samples) {
+    ByteBuffer buffer = ByteBuffer.allocate(samples.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+    for (int s : samples) {
+      buffer.putShort((short) s);
+    }
+    return buffer.array();
+  }
+
+  private static byte[] ramp(int frames) {
+    int[] samples = new int[frames];
+    for (int i = 0; i < frames; i++) {
+      samples[i] = i - frames / 2;
+    }
+    return pcm16(samples);
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + 10_000_000_000L;
+    while (!condition.getAsBoolean()) {
+      if (System.nanoTime() > deadline) {
+        fail("Timeout");
+      }
+      Thread.sleep(5);
+    }
+  }
+
+  @Test
+  void playsTheWholeDataByChunksOfFrames() throws Exception {
+    // 3000 frames and a truncated last frame
+    byte[] data = Arrays.copyOf(ramp(3000), 6001);
+    MemorySink sink = new MemorySink(false);
+    try (AudioStreamPlayer player = new AudioStreamPlayer(source(data), PCM_16, sink)) {
+      assertEquals(3000, player.getFrameLength());
+      assertEquals(400 * 2, player.getChunkSize());
+      player.play();
+      await(() -> !player.isPlaying());
+
+      assertArrayEquals(Arrays.copyOf(data, 6000), sink.getWritten());
+      for (int length : sink.writeLengths) {
+        assertTrue(length <= player.getChunkSize());
+        assertEquals(0, length % 2);
+      }
+      assertEquals(3000, player.getFramePosition());
+    }
+  }
+
+  @Test
+  void seekRestartsAtTheByteOffsetOfTheFrame() throws Exception {
+    byte[] data = ramp(4000);
+    MemorySink sink = new MemorySink(false);
+    try (AudioStreamPlayer player = new AudioStreamPlayer(source(data), PCM_16, sink)) {
+      player.setFramePosition(1234);
+      assertEquals(1234, player.getFramePosition());
+      player.play();
+      await(() -> !player.isPlaying());
+      assertArrayEquals(Arrays.copyOfRange(data, 1234 * 2, data.length), sink.getWritten());
+      assertEquals(4000, player.getFramePosition());
+
+      // 250 ms at 8000 Hz
+      player.setMicrosecondPosition(250_000);
+      assertEquals(2000, player.getFramePosition());
+      int before = sink.getWritten().length;
+      player.play();
+      await(() -> !player.isPlaying());
+      byte[] written = sink.getWritten();
+      assertArrayEquals(
+          Arrays.copyOfRange(data, 2000 * 2, data.length),
+          Arrays.copyOfRange(written, before, written.length));
+    }
+  }
+
+  @Test
+  void levelFollowsThePlayedFrames() throws Exception {
+    // 10 blocks of 400 frames, the peak of the block k is (k + 1) * 1000
+    int[] samples = new int[4000];
+    for (int i = 0; i < samples.length; i++) {
+      int amplitude = (i / 400 + 1) * 1000;
+      samples[i] = i % 2 == 0 ? amplitude : -amplitude / 2;
+    }
+    MemorySink sink = new MemorySink(true);
+    try (AudioStreamPlayer player = new AudioStreamPlayer(source(pcm16(samples)), PCM_16, sink)) {
+      player.play();
+      // All the data is written ahead of the playback
+      await(() -> sink.getWrittenFrames() == 4000);
+
+      assertEquals(1000 / 32768.0, player.getLevel(), EPS);
+      sink.setPlayedFrames(2 * 400 + 5);
+      assertEquals(3000 / 32768.0, player.getLevel(), EPS);
+      sink.setPlayedFrames(9 * 400);
+      assertEquals(10000 / 32768.0, player.getLevel(), EPS);
+      assertTrue(player.isPlaying());
+
+      sink.setPlayedFrames(4000);
+      await(() -> !player.isPlaying());
+      assertEquals(0.0, player.getLevel(), EPS);
+    }
+  }
+
+  @Test
+  void compandedSamplesAreDecodedToLinearPcm() throws Exception {
+    AudioFormat ulaw = new AudioFormat(Encoding.ULAW, 8000, 8, 1, 1, 8000, false);
+    MemorySink sink = new MemorySink(false);
+    byte[] data = {(byte) 0xFF, (byte) 0x80, 0x00};
+    try (AudioStreamPlayer player = new AudioStreamPlayer(source(data), ulaw, sink)) {
+      assertEquals(Encoding.PCM_SIGNED, player.getPlaybackFormat().getEncoding());
+      player.play();
+      await(() -> !player.isPlaying());
+      assertArrayEquals(pcm16(0, 32124, -32124), sink.getWritten());
+      assertFalse(player.isPlaying());
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.au;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioFormat.Encoding;
+import org.junit.jupiter.api.Test;
+
+class LevelMeterTest {
+
+  private static final double EPS = 1.0e-9;
+
+  private static byte[] pcm16(boolean bigEndian, int... samples) {
+    ByteBuffer buffer =
+        ByteBuffer.allocate(samples.length * 2)
+            .order(bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+    for (int s : samples) {
+      buffer.putShort((short) s);
+    }
+    return buffer.array();
+  }
+
+  @Test
+  void oneLevelPerBlockOfFrames() {
+    AudioFormat format = new AudioFormat(8000, 16, 1, true, false);
+    List<Double> levels = new ArrayList<>();
+    LevelMeter meter = new LevelMeter(format, 4, levels::add);
+    byte[] data = pcm16(false, 100, -200, 50, 0, 16384, 1, 2, 3, -32768, 0, 0, 0, 9, 9);
+    meter.process(data, 0, data.length);
+
+    // The last two frames do not complete a block
+    assertEquals(3, levels.size());
+    assertEquals(200 / 32768.0, levels.get(0), EPS);
+    assertEquals(0.5, levels.get(1), EPS);
+    assertEquals(1.0, levels.get(2), EPS);
+  }
+
+  @Test
+  void samplesSplitBetweenCalls() {
+    AudioFormat format = new AudioFormat(8000, 16, 2, true, true);
+    List<Double> whole = new ArrayList<>();
+    List<Double> split = new ArrayList<>();
+    byte[] data = pcm16(true, 10, -20, 300, -4000, 5, 6, 7, -8000, 0, 1, 2, 3);
+    new LevelMeter(format, 2, whole::add).process(data, 0, data.length);
+
+    LevelMeter meter = new LevelMeter(format, 2, split::add);
+    // Odd lengths split the samples and the stereo frames
+    int off = 0;
+    for (int len : new int[] {1, 3, 5, 2, 7, 6}) {
+      meter.process(data, off, len);
+      off += len;
+    }
+    assertEquals(List.of(4000 / 32768.0, 8000 / 32768.0, 3 / 32768.0), whole);
+    assertEquals(whole, split);
+  }
+
+  @Test
+  void unsignedEightBitSamples() {
+    AudioFormat format = new AudioFormat(Encoding.PCM_UNSIGNED, 8000, 8, 1, 1, 8000, false);
+    List<Double> levels = new ArrayList<>();
+    LevelMeter meter = new LevelMeter(format, 2, levels::add);
+    byte[] data = {(byte) 128, (byte) 192, (byte) 128, 0};
+    meter.process(data, 0, data.length);
+    assertEquals(List.of(0.5, 1.0), levels);
+  }
+
+  @Test
+  void compandedFormatIsRejected() {
+    AudioFormat format = new AudioFormat(Encoding.ULAW, 8000, 8, 1, 1, 8000, false);
+    assertThrows(IllegalArgumentException.class, () -> new LevelMeter(format, 2, _ -> {}));
+  }
+}
@@ -130,6 +130,7 @@ protected void deactivate(ComponentContext context) {
     for (IIOServiceProvider p : dcm4cheCodecs) {
       ImageioUtil.deregisterServiceProvider(p);
     }
+    DicomMediaIO.closeReaders();
   }
 
   @Reference(
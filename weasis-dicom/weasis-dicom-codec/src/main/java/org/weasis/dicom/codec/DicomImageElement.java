@@ -30,6 +30,7 @@
 import org.dcm4che3.img.lut.PresetWindowLevel;
 import org.dcm4che3.img.stream.BytesWithImageDescriptor;
 import org.dcm4che3.img.stream.ImageAdapter;
+import org.dcm4che3.img.stream.ImageDescriptor;
 import org.dcm4che3.img.stream.ImageAdapter.AdaptTransferSyntax;
 import org.dcm4che3.img.util.DicomUtils;
 import org.joml.Vector3d;
@@ -41,6 +42,7 @@
 import org.weasis.core.api.image.OpManager;
 import org.weasis.core.api.image.SimpleOpManager;
 import org.weasis.core.api.image.WindowOp;
+import org.weasis.core.api.image.util.LutCache;
 import org.weasis.core.api.image.util.Unit;
 import org.weasis.core.api.media.data.ImageElement;
 import org.weasis.core.api.media.data.TagW;
@@ -440,7 +442,12 @@ protected void findMinMaxValues(PlanarImage img, boolean exclude8bitImage) {
         if (getKey() instanceof Integer intVal) {
           frameIndex = intVal;
         }
-        adapter = new DicomImageAdapter(img, meta.getImageDescriptor(), frameIndex);
+        // A modality LUT sequence is not described by the LUT parameters: no table sharing
+        boolean shareLut = !meta.getDicomObject().containsValue(Tag.ModalityLUTSequence);
+        adapter =
+            shareLut
+                ? new SharedLutAdapter(img, meta.getImageDescriptor(), frameIndex)
+                : new DicomImageAdapter(img, meta.getImageDescriptor(), frameIndex);
         MinMaxLocResult val = adapter.getMinMax();
         if (val != null) {
           this.minPixelValue = val.minVal;
@@ -450,6 +457,35 @@ protected void findMinMaxValues(PlanarImage img, boolean exclude8bitImage) {
     }
   }
 
+  /**
+   * Adapter taking its VOI lookup tables from the {@link LutCache}, so that the images with the
+   * same modality transform (e.g. the slices of a CT series) share the tables of a window/level.
+   */
+  private static final class SharedLutAdapter extends DicomImageAdapter {
+
+    SharedLutAdapter(PlanarImage image, ImageDescriptor desc, int frameIndex) {
+      super(image, desc, frameIndex);
+    }
+
+    @Override
+    public LookupTableCV getVOILookup(WlParams wl) {
+      if (wl == null || wl.getLutShape() == null) {
+        return super.getVOILookup(wl);
+      }
+      PresentationStateLut pr = wl.getPresentationState();
+      LutParameters params =
+          getLutParameters(
+              wl.isPixelPadding(), null, false, pr instanceof PrDicomObject dcm ? dcm : null);
+      if (params == null) {
+        return super.getVOILookup(wl);
+      }
+      Object pixelKey = List.of(params, getImageDescriptor().getPhotometricInterpretation());
+      LutCache.VoiKey key =
+          new LutCache.VoiKey(pixelKey, wl, isPhotometricInterpretationInverse(pr));
+      return LutCache.getInstance().get(key, () -> super.getVOILookup(wl));
+    }
+  }
+
   public double[] getDisplayPixelSize() {
     return new double[] {pixelSizeX, pixelSizeY};
   }
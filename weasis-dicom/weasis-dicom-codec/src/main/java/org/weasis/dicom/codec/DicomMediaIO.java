@@ -24,6 +24,7 @@
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import org.dcm4che3.data.Attributes;
@@ -51,6 +52,7 @@
 import org.weasis.core.api.gui.util.AppProperties;
 import org.weasis.core.api.media.data.Codec;
 import org.weasis.core.api.media.data.FileCache;
+import org.weasis.core.api.media.data.LayeredTagMap;
 import org.weasis.core.api.media.data.MediaElement;
 import org.weasis.core.api.media.data.SimpleTaggable;
 import org.weasis.core.api.media.data.TagView;
@@ -282,6 +284,31 @@ public DicomSpecialElement buildDicomSpecialElement(DicomMediaIO mediaIO) {
 
   private static final SoftHashMap<DicomMediaIO, DicomMetaData> HEADER_CACHE = new SoftHashMap<>();
 
+  /**
+   * Image readers kept open between the frame requests, so that scrolling a multiframe does not
+   * open the file and parse the frame offsets again for each frame.
+   */
+  private static final ReaderLeasePool<DicomMediaIO, FrameReader> READERS =
+      new ReaderLeasePool<>(
+          Integer.getInteger("weasis.dicom.reader.pool.size", 8), // NON-NLS
+          Integer.getInteger("weasis.dicom.reader.idle.timeout", 10), // NON-NLS
+          TimeUnit.SECONDS);
+
+  /** Open image reader of a file with its stream and its parsed metadata. */
+  private record FrameReader(
+      Path path, DicomImageReader reader, DicomFileInputStream stream, DicomMetaData metaData)
+      implements AutoCloseable {
+
+    @Override
+    public void close() throws IOException {
+      try {
+        reader.dispose();
+      } finally {
+        stream.close();
+      }
+    }
+  }
+
   // The above softReference HEADER_CACHE shall be used instead of the following dcmMetadata
   // variable to get access to
   // the current DicomObject unless it's virtual and then URI doesn't exit. This case appends when
@@ -292,6 +319,8 @@ public DicomSpecialElement buildDicomSpecialElement(DicomMediaIO mediaIO) {
   private URI uri;
   private int numberOfFrame;
   private final Map<TagW, Object> tags;
+  // Tags shared by the frames of a multiframe, built at the first request of a frame > 0
+  private LayeredTagMap.Base frameBaseTags;
   private DicomImageElement[] image = null;
   private String mimeType;
   private boolean hasPixel = false;
@@ -341,6 +370,7 @@ private static void readTagsInModalityView(TagView[] views) {
   public synchronized void replaceURI(URI uri) {
     if (!Objects.equals(this.uri, Objects.requireNonNull(uri))) {
       this.uri = uri;
+      READERS.invalidate(this);
     }
   }
 
@@ -660,18 +690,19 @@ public PlanarImage getImageFragment(MediaElement media, int frame, boolean noEmb
             "Start reading dicom image frame: {} sopUID: {}",
             frame,
             TagD.getTagValue(this, Tag.SOPInstanceUID));
-        DicomImageReader reader = new DicomImageReader(Transcoder.dicomImageReaderSpi);
-        DicomMetaData metaData = HEADER_CACHE.get(this);
-        try (var inputStream = new DicomFileInputStream(original.get(), metaData)) {
-          reader.setInput(inputStream);
-          if (metaData == null) {
-            metaData = reader.getStreamMetadata();
-            HEADER_CACHE.put(this, metaData);
-          }
-          ImageDescriptor desc = metaData.getImageDescriptor();
+        Path path = original.get();
+        FrameReader lease = READERS.borrow(this, () -> openFrameReader(path));
+        if (!lease.path().equals(path)) {
+          // The cached file has changed since the reader was opened
+          READERS.release(this, lease, false);
+          lease = openFrameReader(path);
+        }
+        boolean reusable = false;
+        try {
+          ImageDescriptor desc = lease.metaData().getImageDescriptor();
           DicomImageReadParam param = new DicomImageReadParam();
           param.setAllowFloatImageConversion(true);
-          PlanarImage img = reader.getPlanarImage(frame, param);
+          PlanarImage img = lease.reader().getPlanarImage(frame, param);
           if (img.width() != desc.getColumns() || img.height() != desc.getRows()) {
             LOGGER.error(
                 "The native image size ({}x{}) does not match with the DICOM attributes({}x{})",
@@ -680,17 +711,36 @@ public PlanarImage getImageFragment(MediaElement media, int frame, boolean noEmb
                 desc.getColumns(),
                 desc.getRows());
           }
+          reusable = true;
           return noEmbeddedOverlay
               ? ImageRendering.getImageWithoutEmbeddedOverlay(img, desc, frame)
               : img;
         } finally {
-          reader.dispose();
+          READERS.release(this, lease, reusable);
         }
       }
     }
     return null;
   }
 
+  private FrameReader openFrameReader(Path path) throws IOException {
+    DicomMetaData metaData = HEADER_CACHE.get(this);
+    DicomFileInputStream inputStream = new DicomFileInputStream(path, metaData);
+    DicomImageReader reader = new DicomImageReader(Transcoder.dicomImageReaderSpi);
+    try {
+      reader.setInput(inputStream);
+      if (metaData == null) {
+        metaData = reader.getStreamMetadata();
+        HEADER_CACHE.put(this, metaData);
+      }
+      return new FrameReader(path, reader, inputStream, metaData);
+    } catch (IOException | RuntimeException e) {
+      reader.dispose();
+      inputStream.close();
+      throw e;
+    }
+  }
+
   private static Mat getMatBuffer(ExtendSegmentedInputImageStream extParams) throws IOException {
     try (RandomAccessFile raf = new RandomAccessFile(extParams.getFile(), "r")) {
 
@@ -852,8 +902,8 @@ public String getMediaFragmentMimeType() {
   @Override
   public Map<TagW, Object> getMediaFragmentTags(Object key) {
     if (key instanceof Integer val && val > 0) {
-      // Clone the shared tag
-      Map<TagW, Object> tagList = new HashMap<>(tags);
+      // Share the tags of the instance, only the values specific to the frame are stored by frame
+      Map<TagW, Object> tagList = new LayeredTagMap(getFrameBaseTags());
       SimpleTaggable taggable = new SimpleTaggable(tagList);
       if (DicomMediaUtils.writeFrameGeometry(taggable, getDicomMetaData(), val)) {
         DicomMediaUtils.computeSlicePosition(taggable);
@@ -863,8 +913,16 @@ public Map<TagW, Object> getMediaFragmentTags(Object key) {
     return tags;
   }
 
+  private synchronized LayeredTagMap.Base getFrameBaseTags() {
+    if (frameBaseTags == null) {
+      frameBaseTags = new LayeredTagMap.Base(tags);
+    }
+    return frameBaseTags;
+  }
+
   @Override
   public void close() {
+    READERS.invalidate(this);
     HEADER_CACHE.remove(this);
   }
 
@@ -971,6 +1029,11 @@ private synchronized DicomMetaData readMetaData() throws IOException {
     }
   }
 
+  /** Closes the idle image readers and stops their cleaner, when the codec is deactivated. */
+  static void closeReaders() {
+    READERS.close();
+  }
+
   public static boolean isHiddenModality(String modality) {
     if (modality != null) {
       DicomSpecialElementFactory factory = DCM_ELEMENT_FACTORIES.get(modality);
@@ -162,7 +162,7 @@ public synchronized void dispose() {
     String modality = TagD.getTagValue(this, Tag.Modality, String.class);
     if (DicomMediaIO.isHiddenModality(modality)) {
       HiddenSeriesManager manager = HiddenSeriesManager.getInstance();
-      Set<HiddenSpecialElement> removed = manager.series2Elements.remove(seriesUID);
+      Set<HiddenSpecialElement> removed = manager.removeHiddenSeries(seriesUID);
       if (removed != null && !removed.isEmpty()) {
         String patientPseudoUID =
             (String) removed.iterator().next().getTagValue(TagW.PatientPseudoUID);
@@ -38,10 +38,74 @@ public class HiddenSeriesManager {
 
   public final Map<String, Set<String>> sopRef2Series = new ConcurrentHashMap<>();
 
+  private final SpecialElementReferenceIndex referenceIndex = new SpecialElementReferenceIndex();
+
   public static HiddenSeriesManager getInstance() {
     return instance;
   }
 
+  /**
+   * Registers a hidden element of a series and indexes its references (KO and PR).
+   *
+   * @param seriesUID the Series Instance UID of the hidden element
+   * @param element the hidden element
+   */
+  public void addHiddenElement(String seriesUID, HiddenSpecialElement element) {
+    if (StringUtil.hasText(seriesUID) && element != null) {
+      series2Elements.computeIfAbsent(seriesUID, _ -> new CopyOnWriteArraySet<>()).add(element);
+      referenceIndex.add(element);
+    }
+  }
+
+  /**
+   * Unregisters a hidden element of a series. The series entry is kept even if it becomes empty.
+   *
+   * @param seriesUID the Series Instance UID of the hidden element
+   * @param element the hidden element
+   * @return true if the element was registered
+   */
+  public boolean removeHiddenElement(String seriesUID, HiddenSpecialElement element) {
+    referenceIndex.remove(element);
+    Set<HiddenSpecialElement> elements = seriesUID == null ? null : series2Elements.get(seriesUID);
+    return elements != null && elements.remove(element);
+  }
+
+  /**
+   * Unregisters all the hidden elements of a series.
+   *
+   * @param seriesUID the Series Instance UID of the hidden elements
+   * @return the removed elements, or null if the series was not registered
+   */
+  public Set<HiddenSpecialElement> removeHiddenSeries(String seriesUID) {
+    if (seriesUID == null) {
+      return null;
+    }
+    Set<HiddenSpecialElement> removed = series2Elements.remove(seriesUID);
+    if (removed != null) {
+      removed.forEach(referenceIndex::remove);
+    }
+    return removed;
+  }
+
+  /**
+   * Returns the KO or PR elements of the patient that reference a series or one of its SOP
+   * instances, without going through all the hidden elements of the patient. The frames are not
+   * checked and the editable elements of the patient are always part of the result.
+   *
+   * @param clazz the type of the elements (KO or PR)
+   * @param patientPseudoUID the patient pseudo UID
+   * @param seriesUID the referenced Series Instance UID
+   * @param sopUID the referenced SOP Instance UID, or null for all the elements referencing the
+   *     series
+   * @return the candidate elements
+   */
+  public static <E> List<E> getReferencingElements(
+      Class<E> clazz, String patientPseudoUID, String seriesUID, String sopUID) {
+    return getInstance()
+        .referenceIndex
+        .getReferencingElements(clazz, patientPseudoUID, seriesUID, sopUID);
+  }
+
   public void extractReferencedSeries(Attributes dicom, String originSeriesUID) {
     extractReferencedSeries(dicom, originSeriesUID, null);
   }
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.weasis.core.api.util.ThreadUtil;
+
+/**
+ * Small bounded pool keeping at most one idle reader per key (e.g. one open image reader per
+ * {@link DicomMediaIO}), so that consecutive reads of the same source do not open and parse it
+ * again.
+ *
+ * <p>A reader is used by a single thread between {@link #borrow} and {@link #release}: a borrowed
+ * reader is removed from the pool and concurrent reads of the same key open another reader. The
+ * least recently used readers are closed when more than {@code maxIdle} are kept, and a daemon
+ * thread closes the readers which have not been used for {@code idleTimeout}. Once the pool is
+ * closed, the readers are still opened on demand but closed when they are released.
+ *
+ * @param <K> the type of the key of the source
+ * @param <R> the type of the reader
+ */
+final class ReaderLeasePool<K, R extends AutoCloseable> implements AutoCloseable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReaderLeasePool.class);
+
+  /** Opens a new reader when no idle reader is available for the key. */
+  @FunctionalInterface
+  interface Opener<R> {
+    R open() throws IOException;
+  }
+
+  private record Idle<R>(R reader, long releaseTime) {}
+
+  private final int maxIdle;
+  private final long idleTimeoutNanos;
+  private final Map<K, Idle<R>> idle = new LinkedHashMap<>(16, 0.75f, true);
+  private final ScheduledExecutorService cleaner;
+  private int opened;
+
+  /**
+   * @param maxIdle the maximum number of idle readers kept open
+   * @param idleTimeout the time after which an unused reader is closed
+   * @param unit the time unit of {@code idleTimeout}
+   */
+  ReaderLeasePool(int maxIdle, long idleTimeout, TimeUnit unit) {
+    this.maxIdle = Math.max(0, maxIdle);
+    this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+    this.cleaner =
+        Executors.newSingleThreadScheduledExecutor(
+            ThreadUtil.namedDaemonThreadFactory("Reader lease cleaner", true)); // NON-NLS
+    long period = Math.max(1, idleTimeoutNanos / 2);
+    cleaner.scheduleWithFixedDelay(this::closeExpired, period, period, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Takes the idle reader of the key or opens a new one. The caller must give it back with {@link
+   * #release}.
+   *
+   * @param key the key of the source
+   * @param opener the function opening a new reader
+   * @return the reader of the source
+   * @throws IOException when a new reader cannot be opened
+   */
+  R borrow(K key, Opener<R> opener) throws IOException {
+    synchronized (this) {
+      Idle<R> entry = idle.remove(key);
+      if (entry != null) {
+        return entry.reader();
+      }
+      opened++;
+    }
+    return opener.open();
+  }
+
+  /**
+   * Gives back a borrowed reader, which is closed if it cannot be reused or if the key already has
+   * an idle reader.
+   *
+   * @param key the key of the source
+   * @param reader the borrowed reader
+   * @param reusable false when the reader is in an unknown state (e.g. after a read error)
+   */
+  void release(K key, R reader, boolean reusable) {
+    if (reader == null) {
+      return;
+    }
+    List<R> toClose = new ArrayList<>();
+    synchronized (this) {
+      if (!reusable || maxIdle == 0 || cleaner.isShutdown() || idle.containsKey(key)) {
+        toClose.add(reader);
+      } else {
+        idle.put(key, new Idle<>(reader, System.nanoTime()));
+        Iterator<Idle<R>> it = idle.values().iterator();
+        while (idle.size() > maxIdle && it.hasNext()) {
+          toClose.add(it.next().reader());
+          it.remove();
+        }
+      }
+    }
+    toClose.forEach(ReaderLeasePool::closeQuietly);
+  }
+
+  /**
+   * Closes the idle reader of the key, e.g. when its source is closed or replaced.
+   *
+   * @param key the key of the source
+   */
+  void invalidate(K key) {
+    Idle<R> entry;
+    synchronized (this) {
+      entry = idle.remove(key);
+    }
+    if (entry != null) {
+      closeQuietly(entry.reader());
+    }
+  }
+
+  /** Closes the readers which have not been used since the idle timeout. */
+  void closeExpired() {
+    long now = System.nanoTime();
+    List<R> toClose = new ArrayList<>();
+    synchronized (this) {
+      Iterator<Idle<R>> it = idle.values().iterator();
+      while (it.hasNext()) {
+        Idle<R> entry = it.next();
+        if (now - entry.releaseTime() >= idleTimeoutNanos) {
+          toClose.add(entry.reader());
+          it.remove();
+        }
+      }
+    }
+    toClose.forEach(ReaderLeasePool::closeQuietly);
+  }
+
+  /**
+   * @return the number of idle readers
+   */
+  synchronized int getIdleCount() {
+    return idle.size();
+  }
+
+  /**
+   * @return the number of readers opened since the creation of the pool
+   */
+  synchronized int getOpenedCount() {
+    return opened;
+  }
+
+  @Override
+  public void close() {
+    cleaner.shutdownNow();
+    List<R> toClose;
+    synchronized (this) {
+      toClose = idle.values().stream().map(Idle::reader).toList();
+      idle.clear();
+    }
+    toClose.forEach(ReaderLeasePool::closeQuietly);
+  }
+
+  private static void closeQuietly(AutoCloseable reader) {
+    try {
+      reader.close();
+    } catch (Exception e) {
+      LOGGER.warn("Cannot close the reader {}", reader, e);
+    }
+  }
+}
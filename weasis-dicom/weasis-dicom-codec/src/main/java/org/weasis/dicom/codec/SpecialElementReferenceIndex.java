@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.img.data.PrDicomObject;
+import org.weasis.core.api.media.data.TagW;
+import org.weasis.core.util.StringUtil;
+
+/**
+ * Index of the Key Object and Presentation State elements by the series and the SOP instances
+ * they reference, so that the elements applicable to a displayed image are found without going
+ * through all the hidden elements of the patient.
+ *
+ * <p>The frames are not part of the key: the callers check them on the few elements referencing
+ * the SOP instance. The editable elements (e.g. the KO created by the user) can change their
+ * references at any time, they are not indexed and are always returned as candidates for their
+ * patient.
+ */
+final class SpecialElementReferenceIndex {
+
+  /**
+   * @param sopUID the referenced SOP Instance UID, or null when the whole series is referenced
+   */
+  private record SopKey(String seriesUID, String sopUID) {}
+
+  private record Registration(
+      String patientPseudoUID, Set<String> seriesUIDs, Set<SopKey> sopKeys, boolean editable) {}
+
+  private final Map<String, Set<HiddenSpecialElement>> bySeries = new ConcurrentHashMap<>();
+  private final Map<SopKey, Set<HiddenSpecialElement>> bySop = new ConcurrentHashMap<>();
+  private final Map<String, Set<HiddenSpecialElement>> editableByPatient =
+      new ConcurrentHashMap<>();
+  private final Map<HiddenSpecialElement, Registration> registrations = new HashMap<>();
+
+  static boolean isIndexed(HiddenSpecialElement element) {
+    return element instanceof AbstractKOSpecialElement || element instanceof PRSpecialElement;
+  }
+
+  synchronized void add(HiddenSpecialElement element) {
+    if (!isIndexed(element) || registrations.containsKey(element)) {
+      return;
+    }
+    String patientPseudoUID = (String) element.getTagValue(TagW.PatientPseudoUID);
+    if (!StringUtil.hasText(patientPseudoUID)) {
+      return;
+    }
+    DcmMediaReader reader = element.getMediaReader();
+    Registration registration;
+    if (reader != null && reader.isEditableDicom()) {
+      registration = new Registration(patientPseudoUID, Set.of(), Set.of(), true);
+      editableByPatient.computeIfAbsent(patientPseudoUID, _ -> newSet()).add(element);
+    } else {
+      Set<SopKey> sopKeys = new LinkedHashSet<>();
+      if (element instanceof AbstractKOSpecialElement ko) {
+        addReferences(ko, sopKeys);
+      } else if (element instanceof PRSpecialElement pr) {
+        addReferences(pr, sopKeys);
+      }
+      Set<String> seriesUIDs = new LinkedHashSet<>();
+      for (SopKey key : sopKeys) {
+        seriesUIDs.add(key.seriesUID());
+        bySop.computeIfAbsent(key, _ -> newSet()).add(element);
+      }
+      for (String seriesUID : seriesUIDs) {
+        bySeries.computeIfAbsent(seriesUID, _ -> newSet()).add(element);
+      }
+      registration = new Registration(patientPseudoUID, seriesUIDs, sopKeys, false);
+    }
+    registrations.put(element, registration);
+  }
+
+  synchronized void remove(HiddenSpecialElement element) {
+    Registration registration = registrations.remove(element);
+    if (registration == null) {
+      return;
+    }
+    if (registration.editable()) {
+      removeFrom(editableByPatient, registration.patientPseudoUID(), element);
+    }
+    for (SopKey key : registration.sopKeys()) {
+      removeFrom(bySop, key, element);
+    }
+    for (String seriesUID : registration.seriesUIDs()) {
+      removeFrom(bySeries, seriesUID, element);
+    }
+  }
+
+  /**
+   * Returns the candidate elements referencing a series or a SOP instance of this series. The
+   * editable elements of the patient are always included.
+   *
+   * @param clazz the type of the elements
+   * @param patientPseudoUID the patient of the elements
+   * @param seriesUID the referenced Series Instance UID
+   * @param sopUID the referenced SOP Instance UID, or null to get all the elements referencing the
+   *     series
+   * @return the candidate elements
+   */
+  <E> List<E> getReferencingElements(
+      Class<E> clazz, String patientPseudoUID, String seriesUID, String sopUID) {
+    if (clazz == null || !StringUtil.hasText(patientPseudoUID)) {
+      return Collections.emptyList();
+    }
+    List<E> list = new ArrayList<>();
+    if (StringUtil.hasText(seriesUID)) {
+      if (sopUID == null) {
+        addElements(list, bySeries.get(seriesUID), clazz, patientPseudoUID);
+      } else {
+        addElements(list, bySop.get(new SopKey(seriesUID, sopUID)), clazz, patientPseudoUID);
+        addElements(list, bySop.get(new SopKey(seriesUID, null)), clazz, patientPseudoUID);
+      }
+    }
+    addElements(list, editableByPatient.get(patientPseudoUID), clazz, patientPseudoUID);
+    return list;
+  }
+
+  private static <E> void addElements(
+      List<E> list, Set<HiddenSpecialElement> elements, Class<E> clazz, String patientPseudoUID) {
+    if (elements != null) {
+      for (HiddenSpecialElement element : elements) {
+        if (clazz.isInstance(element)
+            && Objects.equals(patientPseudoUID, element.getTagValue(TagW.PatientPseudoUID))
+            && !list.contains(element)) {
+          list.add(clazz.cast(element));
+        }
+      }
+    }
+  }
+
+  private static void addReferences(AbstractKOSpecialElement ko, Set<SopKey> sopKeys) {
+    Set<String> seriesUIDs = ko.getReferencedSeriesInstanceUIDSet();
+    if (seriesUIDs != null) {
+      for (String seriesUID : seriesUIDs) {
+        Set<String> sopUIDs = ko.getReferencedSOPInstanceUIDSet(seriesUID);
+        if (sopUIDs != null) {
+          for (String sopUID : sopUIDs) {
+            sopKeys.add(new SopKey(seriesUID, sopUID));
+          }
+        }
+      }
+    }
+  }
+
+  private static void addReferences(PRSpecialElement pr, Set<SopKey> sopKeys) {
+    PrDicomObject prDicomObject = pr.getPrDicomObject();
+    Attributes dcm = prDicomObject == null ? null : prDicomObject.getDicomObject();
+    Sequence seriesSeq = dcm == null ? null : dcm.getSequence(Tag.ReferencedSeriesSequence);
+    if (seriesSeq == null) {
+      return;
+    }
+    for (Attributes seriesRef : seriesSeq) {
+      String seriesUID = seriesRef.getString(Tag.SeriesInstanceUID);
+      if (StringUtil.hasText(seriesUID)) {
+        Sequence imageSeq = seriesRef.getSequence(Tag.ReferencedImageSequence);
+        if (imageSeq == null || imageSeq.isEmpty()) {
+          sopKeys.add(new SopKey(seriesUID, null));
+        } else {
+          for (Attributes imageRef : imageSeq) {
+            String sopUID = imageRef.getString(Tag.ReferencedSOPInstanceUID);
+            if (StringUtil.hasText(sopUID)) {
+              sopKeys.add(new SopKey(seriesUID, sopUID));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private static Set<HiddenSpecialElement> newSet() {
+    return ConcurrentHashMap.newKeySet();
+  }
+
+  private static <K> void removeFrom(
+      Map<K, Set<HiddenSpecialElement>> map, K key, HiddenSpecialElement element) {
+    map.computeIfPresent(
+        key,
+        (_, set) -> {
+          set.remove(element);
+          return set.isEmpty() ? null : set;
+        });
+  }
+}
@@ -125,9 +125,8 @@ public String toString() {
     }
   }
 
-  static {
-    readTags();
-  }
+  /** Standard dictionary tags by tag number, see {@link #getNullable(int, String)}. */
+  private static final TagIdTable standardTags = readTags();
 
   protected final VR vr;
   protected final String privateCreatorID;
@@ -546,7 +545,7 @@ private static TagType getTypeFromTag(int tagID, VR vr) {
     return TagType.STRING;
   }
 
-  private static Map<Integer, TagD> readTags() {
+  private static TagIdTable readTags() {
     Map<Integer, TagD> map = new HashMap<>();
     XMLStreamReader xmler = null;
     InputStream stream = null;
@@ -582,7 +581,15 @@ private static Map<Integer, TagD> readTags() {
       StreamUtil.safeClose(xmler);
       StreamUtil.safeClose(stream);
     }
-    return map;
+    // Resolve the tags like the keyword lookup, as dcm4che may not use the keyword of the xml file
+    Map<Integer, TagW> table = HashMap.newHashMap(map.size());
+    for (Integer tagID : map.keySet()) {
+      String keyword = getKeywordFromTag(tagID, null);
+      if (keyword != null) {
+        table.put(tagID, tags.get(keyword));
+      }
+    }
+    return new TagIdTable(table);
   }
 
   private static void readElement(XMLStreamReader xmler, Map<Integer, TagD> map)
@@ -658,6 +665,7 @@ private static void readElement(XMLStreamReader xmler, Map<Integer, TagD> map)
                           LangUtil.emptyToFalse(retired));
                 }
                 TagW.addTag(t);
+                map.put(tagID, t);
               } catch (Exception e) {
                 LOGGER.error("Cannot read {}", disp, e);
               }
@@ -713,15 +721,22 @@ public static TagW getNullable(int tagID) {
   }
 
   public static TagW getNullable(int tagID, String privateCreatorID) {
+    if (privateCreatorID == null) {
+      TagW tag = standardTags.get(tagID);
+      if (tag != null) {
+        return tag;
+      }
+    }
+    // Private tags and repeating groups (e.g. 60xx) are resolved from their keyword
     String key = getKeywordFromTag(tagID, privateCreatorID);
     return key == null ? null : tags.get(key);
   }
 
   public static Object getTagValue(TagReadable taggable, int tagID) {
     if (taggable != null) {
-      String key = getKeywordFromTag(tagID, null);
-      if (key != null) {
-        return taggable.getTagValue(tags.get(key));
+      TagW tag = getNullable(tagID, null);
+      if (tag != null) {
+        return taggable.getTagValue(tag);
       }
     }
     return null;
@@ -729,12 +744,12 @@ public static Object getTagValue(TagReadable taggable, int tagID) {
 
   public static <T> T getTagValue(TagReadable taggable, int tagID, Class<T> type) {
     if (taggable != null) {
-      String key = getKeywordFromTag(tagID, null);
-      if (key != null) {
+      TagW tag = getNullable(tagID, null);
+      if (tag != null) {
         try {
-          return type.cast(taggable.getTagValue(tags.get(key)));
+          return type.cast(taggable.getTagValue(tag));
         } catch (ClassCastException e) {
-          LOGGER.error("Cannot cast the value of \"{}\" into {}", key, type, e);
+          LOGGER.error("Cannot cast the value of \"{}\" into {}", tag.getKeyword(), type, e);
         }
       }
     }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec;
+
+import java.util.Map;
+import java.util.Objects;
+import org.weasis.core.api.media.data.TagW;
+
+/**
+ * Immutable open-addressing table mapping a DICOM tag number to its {@link TagW}, without boxing
+ * the key nor building the keyword of the tag.
+ *
+ * <p>The keys are stored in a primitive array with linear probing; a {@code null} value marks a
+ * free slot, so every int is a valid key (including 0x00000000).
+ */
+final class TagIdTable {
+
+  private final int[] keys;
+  private final TagW[] values;
+  private final int mask;
+  private final int size;
+
+  /**
+   * @param tags the tags by tag number, the null values are ignored
+   */
+  TagIdTable(Map<Integer, ? extends TagW> tags) {
+    Objects.requireNonNull(tags);
+    int capacity = Integer.highestOneBit(Math.max(2, tags.size()) * 2 - 1) << 1;
+    this.keys = new int[capacity];
+    this.values = new TagW[capacity];
+    this.mask = capacity - 1;
+    int count = 0;
+    for (Map.Entry<Integer, ? extends TagW> entry : tags.entrySet()) {
+      TagW tag = entry.getValue();
+      if (entry.getKey() != null && tag != null) {
+        int key = entry.getKey();
+        int index = indexOf(key);
+        if (values[index] == null) {
+          keys[index] = key;
+          count++;
+        }
+        values[index] = tag;
+      }
+    }
+    this.size = count;
+  }
+
+  private static int hash(int key) {
+    // Fibonacci hashing: the element number and the group are both spread over the high bits
+    int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private int indexOf(int key) {
+    int index = hash(key) & mask;
+    while (values[index] != null && keys[index] != key) {
+      index = (index + 1) & mask;
+    }
+    return index;
+  }
+
+  /**
+   * @param tagID the DICOM tag number
+   * @return the tag, or null when the tag number is not in the table
+   */
+  TagW get(int tagID) {
+    return values[indexOf(tagID)];
+  }
+
+  /**
+   * @return the number of tags in the table
+   */
+  int size() {
+    return size;
+  }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec.seg;
+
+import java.util.Arrays;
+
+/**
+ * Brick-sparse storage of the voxel storage IDs of a {@link SegmentationVolume}.
+ *
+ * <p>The volume is divided into bricks of {@value #BRICK_SIZE}³ voxels. A brick is only allocated
+ * when it receives a label; a brick whose voxels all carry the same ID is collapsed into that ID by
+ * {@link #compact()}. An allocated brick stores one byte per voxel, or one short once the storage
+ * has been promoted by {@link #promoteToShort()}. Each brick keeps the number of its labelled
+ * voxels, so that the emptiness check and the full scans only visit the labelled bricks.
+ *
+ * <p>Not thread-safe: concurrent writers must write into distinct bricks (e.g. slabs of slices
+ * aligned on {@value #BRICK_SIZE}).
+ */
+final class BrickStorage {
+  static final int BRICK_SHIFT = 5;
+  static final int BRICK_SIZE = 1 << BRICK_SHIFT;
+  private static final int BRICK_MASK = BRICK_SIZE - 1;
+  private static final int BRICK_VOXELS = BRICK_SIZE * BRICK_SIZE * BRICK_SIZE;
+
+  private final int sizeX;
+  private final int sizeY;
+  private final int sizeZ;
+  private final int bricksX;
+  private final int bricksY;
+  private final int bricksZ;
+
+  /** Allocated bricks in byte mode, null when the storage has been promoted to short. */
+  private byte[][] byteBricks;
+
+  /** Allocated bricks in short mode, null in byte mode. Set before clearing {@link #byteBricks}. */
+  private volatile short[][] shortBricks;
+
+  /** ID of every voxel of a brick not allocated (0 = empty brick). */
+  private final int[] uniformIds;
+
+  /** Number of non-zero voxels of each brick. */
+  private final int[] occupancy;
+
+  BrickStorage(int sizeX, int sizeY, int sizeZ, boolean shortMode) {
+    this.sizeX = sizeX;
+    this.sizeY = sizeY;
+    this.sizeZ = sizeZ;
+    this.bricksX = (sizeX + BRICK_MASK) >> BRICK_SHIFT;
+    this.bricksY = (sizeY + BRICK_MASK) >> BRICK_SHIFT;
+    this.bricksZ = (sizeZ + BRICK_MASK) >> BRICK_SHIFT;
+    int count = Math.multiplyExact(Math.multiplyExact(bricksX, bricksY), bricksZ);
+    if (shortMode) {
+      this.shortBricks = new short[count][];
+    } else {
+      this.byteBricks = new byte[count][];
+    }
+    this.uniformIds = new int[count];
+    this.occupancy = new int[count];
+  }
+
+  boolean isShortMode() {
+    return shortBricks != null;
+  }
+
+  private int brickIndex(int x, int y, int z) {
+    return ((z >> BRICK_SHIFT) * bricksY + (y >> BRICK_SHIFT)) * bricksX + (x >> BRICK_SHIFT);
+  }
+
+  private static int brickOffset(int x, int y, int z) {
+    return ((z & BRICK_MASK) << (2 * BRICK_SHIFT))
+        | ((y & BRICK_MASK) << BRICK_SHIFT)
+        | (x & BRICK_MASK);
+  }
+
+  /** Returns the storage ID at voxel {@code (x, y, z)}, which must be inside the volume. */
+  int get(int x, int y, int z) {
+    int b = brickIndex(x, y, z);
+    short[][] shorts = shortBricks;
+    if (shorts == null) {
+      byte[][] bytes = byteBricks;
+      if (bytes != null) {
+        byte[] data = bytes[b];
+        return data == null ? uniformIds[b] : data[brickOffset(x, y, z)] & 0xFF;
+      }
+      // Promoted by another thread meanwhile
+      shorts = shortBricks;
+    }
+    short[] data = shorts[b];
+    return data == null ? uniformIds[b] : data[brickOffset(x, y, z)] & 0xFFFF;
+  }
+
+  /** Writes the storage ID at voxel {@code (x, y, z)}, which must be inside the volume. */
+  void set(int x, int y, int z, int id) {
+    int b = brickIndex(x, y, z);
+    int offset = brickOffset(x, y, z);
+    int old;
+    if (shortBricks != null) {
+      short[] data = shortBricks[b];
+      if (data == null) {
+        if (uniformIds[b] == id) {
+          return;
+        }
+        data = new short[BRICK_VOXELS];
+        if (uniformIds[b] != 0) {
+          Arrays.fill(data, (short) uniformIds[b]);
+        }
+        shortBricks[b] = data;
+      }
+      old = data[offset] & 0xFFFF;
+      data[offset] = (short) id;
+    } else {
+      byte[] data = byteBricks[b];
+      if (data == null) {
+        if (uniformIds[b] == id) {
+          return;
+        }
+        data = new byte[BRICK_VOXELS];
+        if (uniformIds[b] != 0) {
+          Arrays.fill(data, (byte) uniformIds[b]);
+        }
+        byteBricks[b] = data;
+      }
+      old = data[offset] & 0xFF;
+      data[offset] = (byte) id;
+    }
+    if (old == 0) {
+      if (id != 0) {
+        occupancy[b]++;
+      }
+    } else if (id == 0) {
+      occupancy[b]--;
+    }
+  }
+
+  /** Converts every allocated brick from one byte to one short per voxel. */
+  void promoteToShort() {
+    if (shortBricks != null) {
+      return;
+    }
+    short[][] shorts = new short[byteBricks.length][];
+    for (int b = 0; b < byteBricks.length; b++) {
+      byte[] data = byteBricks[b];
+      if (data != null) {
+        short[] dst = new short[BRICK_VOXELS];
+        for (int i = 0; i < BRICK_VOXELS; i++) {
+          dst[i] = (short) (data[i] & 0xFF);
+        }
+        shorts[b] = dst;
+      }
+    }
+    shortBricks = shorts;
+    byteBricks = null;
+  }
+
+  /** Returns {@code true} when no voxel carries a label. */
+  boolean isEmpty() {
+    for (int count : occupancy) {
+      if (count > 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Adds the number of voxels of each storage ID to {@code idCounts} (indexed by ID, the IDs out of
+   * its range are ignored). Only the labelled bricks are visited.
+   */
+  void countIds(long[] idCounts) {
+    for (int bz = 0; bz < bricksZ; bz++) {
+      for (int by = 0; by < bricksY; by++) {
+        for (int bx = 0; bx < bricksX; bx++) {
+          int b = (bz * bricksY + by) * bricksX + bx;
+          if (occupancy[b] == 0) {
+            continue;
+          }
+          if (!isAllocated(b)) {
+            int id = uniformIds[b];
+            if (id < idCounts.length) {
+              idCounts[id] += occupancy[b];
+            }
+            continue;
+          }
+          int x0 = bx << BRICK_SHIFT;
+          int y0 = by << BRICK_SHIFT;
+          int z0 = bz << BRICK_SHIFT;
+          int x1 = Math.min(sizeX, x0 + BRICK_SIZE);
+          int y1 = Math.min(sizeY, y0 + BRICK_SIZE);
+          int z1 = Math.min(sizeZ, z0 + BRICK_SIZE);
+          for (int z = z0; z < z1; z++) {
+            for (int y = y0; y < y1; y++) {
+              for (int x = x0; x < x1; x++) {
+                int id = readAllocated(b, brickOffset(x, y, z));
+                if (id != 0 && id < idCounts.length) {
+                  idCounts[id]++;
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Copies the storage IDs of slice {@code z} into {@code raster} ({@code sizeX * sizeY}, row by
+   * row), leaving the values of the empty bricks untouched.
+   */
+  void copySlice(int z, int[] raster) {
+    int bz = z >> BRICK_SHIFT;
+    for (int by = 0; by < bricksY; by++) {
+      for (int bx = 0; bx < bricksX; bx++) {
+        int b = (bz * bricksY + by) * bricksX + bx;
+        if (occupancy[b] == 0) {
+          continue;
+        }
+        int x0 = bx << BRICK_SHIFT;
+        int y0 = by << BRICK_SHIFT;
+        int x1 = Math.min(sizeX, x0 + BRICK_SIZE);
+        int y1 = Math.min(sizeY, y0 + BRICK_SIZE);
+        boolean allocated = isAllocated(b);
+        for (int y = y0; y < y1; y++) {
+          int rowBase = y * sizeX;
+          if (!allocated) {
+            Arrays.fill(raster, rowBase + x0, rowBase + x1, uniformIds[b]);
+            continue;
+          }
+          for (int x = x0; x < x1; x++) {
+            int id = readAllocated(b, brickOffset(x, y, z));
+            if (id != 0) {
+              raster[rowBase + x] = id;
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Releases the bricks without label and collapses the bricks whose voxels all carry the same ID.
+   * Call it once the labels have been written.
+   */
+  void compact() {
+    for (int bz = 0; bz < bricksZ; bz++) {
+      for (int by = 0; by < bricksY; by++) {
+        for (int bx = 0; bx < bricksX; bx++) {
+          int b = (bz * bricksY + by) * bricksX + bx;
+          if (!isAllocated(b)) {
+            continue;
+          }
+          int x0 = bx << BRICK_SHIFT;
+          int y0 = by << BRICK_SHIFT;
+          int z0 = bz << BRICK_SHIFT;
+          int x1 = Math.min(sizeX, x0 + BRICK_SIZE);
+          int y1 = Math.min(sizeY, y0 + BRICK_SIZE);
+          int z1 = Math.min(sizeZ, z0 + BRICK_SIZE);
+          int voxels = (x1 - x0) * (y1 - y0) * (z1 - z0);
+          if (occupancy[b] == 0) {
+            release(b, 0);
+          } else if (occupancy[b] == voxels) {
+            int id = readAllocated(b, brickOffset(x0, y0, z0));
+            if (isUniform(b, id, x0, y0, z0, x1, y1, z1)) {
+              release(b, id);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private boolean isUniform(int b, int id, int x0, int y0, int z0, int x1, int y1, int z1) {
+    for (int z = z0; z < z1; z++) {
+      for (int y = y0; y < y1; y++) {
+        for (int x = x0; x < x1; x++) {
+          if (readAllocated(b, brickOffset(x, y, z)) != id) {
+            return false;
+          }
+        }
+      }
+    }
+    return true;
+  }
+
+  private boolean isAllocated(int b) {
+    return shortBricks != null ? shortBricks[b] != null : byteBricks[b] != null;
+  }
+
+  private int readAllocated(int b, int offset) {
+    return shortBricks != null ? shortBricks[b][offset] & 0xFFFF : byteBricks[b][offset] & 0xFF;
+  }
+
+  private void release(int b, int uniformId) {
+    uniformIds[b] = uniformId;
+    if (shortBricks != null) {
+      shortBricks[b] = null;
+    } else {
+      byteBricks[b] = null;
+    }
+  }
+
+  /** Returns the number of bytes used by the allocated bricks. */
+  long getAllocatedBytes() {
+    long bytes = 0;
+    int voxelBytes = shortBricks != null ? 2 : 1;
+    for (int b = 0; b < occupancy.length; b++) {
+      if (isAllocated(b)) {
+        bytes += (long) BRICK_VOXELS * voxelBytes;
+      }
+    }
+    return bytes;
+  }
+}
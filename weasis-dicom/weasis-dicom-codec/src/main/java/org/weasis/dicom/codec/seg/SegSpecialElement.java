@@ -617,7 +617,7 @@ private void unregisterFromHiddenSeriesManager(DicomSeries series) {
     Set<HiddenSpecialElement> set = manager.series2Elements.get(seriesUID);
     boolean seriesEmptyAfter = false;
     if (set != null) {
-      set.remove(this); // NOSONAR SegSpecialElement extends HiddenSpecialElement
+      manager.removeHiddenElement(seriesUID, this);
       if (set.isEmpty()) {
         manager.series2Elements.remove(seriesUID);
         seriesEmptyAfter = true;
@@ -9,18 +9,22 @@
  */
 package org.weasis.dicom.codec.seg;
 
-import java.io.File;
-import java.io.IOException;
+import java.awt.geom.Point2D;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
 import org.joml.Matrix4d;
 import org.joml.Vector3d;
 import org.joml.Vector3i;
@@ -28,10 +32,6 @@
 import org.opencv.core.Mat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.weasis.core.api.gui.util.AppProperties;
-import org.weasis.core.api.image.cv.CvUtil;
-import org.weasis.core.api.vol.ChunkedArray;
-import org.weasis.core.api.vol.ChunkedMappedBuffer;
 import org.weasis.core.ui.model.graphic.imp.seg.SegContour;
 import org.weasis.core.ui.model.graphic.imp.seg.SegRegion;
 import org.weasis.core.util.MathUtil;
@@ -42,9 +42,9 @@
 import org.weasis.opencv.seg.Segment;
 
 /**
- * A 3D multi-label segmentation volume backed by {@link org.weasis.core.api.vol.ChunkedArray}
- * (in-memory) or {@link org.weasis.core.api.vol.ChunkedMappedBuffer} (disk-backed fallback for
- * large volumes).
+ * A 3D multi-label segmentation volume backed by a brick-sparse {@link BrickStorage}: only the
+ * bricks of {@value BrickStorage#BRICK_SIZE}³ voxels carrying labels use memory, so that memory and
+ * full scans scale with the labelled volume rather than with the reference volume.
  *
  * <h2>Storage model</h2>
  *
@@ -117,12 +117,13 @@ public final class SegmentationVolume {
   /**
    * Storage ID &rarr; sorted list of original segment numbers. ID 0 is implicit background and is
    * NOT present in the map. IDs in {@code [1, segmentCount]} are pre-allocated singletons; IDs
-   * above that range are overlap-combination IDs allocated on demand.
+   * above that range are overlap-combination IDs allocated on demand. Concurrent maps: frames of
+   * different slabs can be stamped in parallel (see {@link SlabStampPipeline}).
    */
-  private final Map<Integer, List<Integer>> idToSegments = new LinkedHashMap<>();
+  private final Map<Integer, List<Integer>> idToSegments = new ConcurrentHashMap<>();
 
   /** Reverse lookup: sorted segment list &rarr; storage ID (used during overlap merging). */
-  private final Map<List<Integer>, Integer> combinationToId = new HashMap<>();
+  private final Map<List<Integer>, Integer> combinationToId = new ConcurrentHashMap<>();
 
   /**
    * Direct lookup from a segment number to its pre-allocated singleton storage ID, indexed by
@@ -137,22 +138,27 @@ public final class SegmentationVolume {
   private int nextId;
 
   /**
-   * Per-segment stamping counter, indexed by segment number. Non-atomic: stamping is invoked from a
-   * single thread per frame via the {@code SegmentationVolumeBuilder}. Used purely for diagnostic
-   * logging in {@link #logBuildContoursDiagnostics}.
+   * Per-segment stamping counter, indexed by segment number. The mask stamping methods and the
+   * parallel {@link #resampleInto} count locally and add their total once. Used for diagnostic
+   * logging in {@link #logBuildContoursDiagnostics} and to detect a volume not stamped yet.
    */
-  private final long[] segStampCount;
+  private final AtomicLongArray segStampCount;
+
+  /** Maximum number of planes in {@link #contourCache}. */
+  private static final int CONTOUR_CACHE_SIZE = 32;
+
+  /** Contours of the last resliced planes, in access order (see {@link #getSliceContours}). */
+  private final Map<ContourKey, Map<Integer, List<SegContour>>> contourCache =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(
+            Map.Entry<ContourKey, Map<Integer, List<SegContour>>> eldest) {
+          return size() > CONTOUR_CACHE_SIZE;
+        }
+      };
 
   // ---- Adaptive storage fields ----
 
-  /**
-   * When {@code true}, the volume uses 2 bytes per voxel (either {@link #shortData} or {@link
-   * #mappedBuffer}). When {@code false}, it uses 1 byte per voxel ({@link #byteData}). Starts
-   * {@code false} and may flip to {@code true} once when the ID space overflows the byte range or
-   * when the in-memory allocation falls back to disk; never flips back.
-   */
-  private volatile boolean shortMode;
-
   /**
    * When {@code true}, the segmentation declared {@code SegmentsOverlap=NO} (or LABELMAP), so we
    * skip the per-voxel read+compare overlap check. Voxels with conflicting writes will be
@@ -161,17 +167,12 @@ public final class SegmentationVolume {
    */
   private final boolean forceExclusiveMode;
 
-  /** In-memory byte storage. Non-null when {@code !shortMode} and in-memory. */
-  private ChunkedArray<byte[]> byteData;
-
-  /** In-memory short storage. Non-null when {@code shortMode} and in-memory. */
-  private ChunkedArray<short[]> shortData;
-
   /**
-   * Disk-backed storage fallback. Non-null when the volume is too large for RAM. Always uses short
-   * mode (2 bytes per element via {@code getShort/putShort}).
+   * Voxel storage IDs, null once the data has been removed. Uses 1 byte per voxel of the allocated
+   * bricks and may be promoted once to 2 bytes when the ID space overflows the byte range; never
+   * flips back.
    */
-  private ChunkedMappedBuffer mappedBuffer;
+  private volatile BrickStorage storage;
 
   /**
    * Creates a new segmentation volume.
@@ -243,7 +244,7 @@ public SegmentationVolume(
 
     int maxSegNum = segNumbers.stream().mapToInt(Integer::intValue).max().orElse(0);
     this.segNumToSoloId = new int[maxSegNum + 1];
-    this.segStampCount = new long[maxSegNum + 1];
+    this.segStampCount = new AtomicLongArray(maxSegNum + 1);
     int id = 1;
     for (Integer segNum : segNumbers) {
       segNumToSoloId[segNum] = id;
@@ -263,147 +264,35 @@ public SegmentationVolume(
   // ---- Data allocation (starts in byte mode) ----
 
   private void createData() {
-    long totalElements = (long) size.x * size.y * size.z;
     // Skip the byte mode entirely if the singleton ID space already overflows it.
     boolean startShort = nextId - 1 > MAX_BYTE_ID;
-    try {
-      allocateInMemory(totalElements, startShort);
-    } catch (OutOfMemoryError e) {
-      CvUtil.runGarbageCollectorAndWait(100);
-      try {
-        allocateInMemory(totalElements, startShort);
-      } catch (OutOfMemoryError ex) {
-        createDataFile();
-      }
-    }
-  }
-
-  private void allocateInMemory(long totalElements, boolean asShort) {
-    if (asShort) {
-      this.shortData = ChunkedArray.ofShort(totalElements);
-      this.shortMode = true;
-    } else {
-      this.byteData = ChunkedArray.ofByte(totalElements);
-    }
-  }
-
-  /** Disk-backed fallback (always uses short mode to avoid a later byte→short migration). */
-  private void createDataFile() {
-    try {
-      removeData();
-      File dataFile =
-          File.createTempFile("seg_volume_", ".tmp", AppProperties.FILE_CACHE_DIR.toFile());
-      this.mappedBuffer = new ChunkedMappedBuffer(dataFile, totalVoxels() * 2L);
-      this.shortMode = true;
-    } catch (IOException e) {
-      throw new RuntimeException("Failed to create disk-backed segmentation volume", e);
-    }
-  }
-
-  private long totalVoxels() {
-    return (long) size.x * size.y * size.z;
+    this.storage = new BrickStorage(size.x, size.y, size.z, startShort);
   }
 
   // ---- Mode promotion (byte → short) ----
 
-  /** Promotes the in-memory storage from byte to short. Caller must hold {@link #idLock}. */
+  /** Promotes the storage from byte to short. Caller must hold {@link #idLock}. */
   private void promoteToShortMode() {
-    if (shortMode) {
-      return;
-    }
-    long totalElements = totalVoxels();
-
-    ChunkedArray<short[]> newData;
-    try {
-      newData = ChunkedArray.ofShort(totalElements);
-    } catch (OutOfMemoryError e) {
-      CvUtil.runGarbageCollectorAndWait(100);
-      try {
-        newData = ChunkedArray.ofShort(totalElements);
-      } catch (OutOfMemoryError ex) {
-        promoteToDiskShortMode();
-        return;
-      }
-    }
-
-    copyByteDataInto(allocateShortSink(newData));
-    shortData = newData;
-    shortMode = true;
-    LOGGER.info("SegmentationVolume promoted to short storage (>{} distinct IDs)", MAX_BYTE_ID);
-  }
-
-  private static ShortSink allocateShortSink(ChunkedArray<short[]> dst) {
-    return (i, v) -> dst.getChunk(dst.chunkIndex(i))[dst.chunkOffset(i)] = v;
-  }
-
-  /** Disk-backed short fallback when {@code short[]} in-memory allocation fails. */
-  private void promoteToDiskShortMode() {
-    try {
-      File dataFile =
-          File.createTempFile("seg_volume_", ".tmp", AppProperties.FILE_CACHE_DIR.toFile());
-      ChunkedMappedBuffer newBuffer = new ChunkedMappedBuffer(dataFile, totalVoxels() * 2L);
-      copyByteDataInto((i, v) -> newBuffer.putShort(i * 2L, v));
-      mappedBuffer = newBuffer;
-      shortMode = true;
-      LOGGER.info(
-          "SegmentationVolume promoted to disk-backed short storage (memory pressure during ID promotion)");
-    } catch (IOException e) {
-      throw new RuntimeException("Failed to create disk-backed short segmentation volume", e);
-    }
-  }
-
-  /** Streams every non-zero byte ID into the supplied short-mode sink, then clears byteData. */
-  private void copyByteDataInto(ShortSink sink) {
-    if (byteData == null) {
-      return;
-    }
-    long totalElements = totalVoxels();
-    for (long i = 0; i < totalElements; i++) {
-      byte b = byteData.getChunk(byteData.chunkIndex(i))[byteData.chunkOffset(i)];
-      if (b != 0) {
-        sink.put(i, (short) (b & 0xFF));
-      }
+    BrickStorage data = storage;
+    if (data != null && !data.isShortMode()) {
+      data.promoteToShort();
+      LOGGER.info("SegmentationVolume promoted to short storage (>{} distinct IDs)", MAX_BYTE_ID);
     }
-    byteData = null;
-  }
-
-  @FunctionalInterface
-  private interface ShortSink {
-    void put(long index, short value);
   }
 
   // ---- Voxel access ----
 
-  private long linearIndex(int x, int y, int z) {
-    return (long) z * sliceStride + (long) y * size.x + x;
-  }
-
-  /** Reads the storage ID at the given linear index (0 = background). */
-  private int readId(long index) {
-    if (shortMode) {
-      if (shortData != null) {
-        return shortData.getChunk(shortData.chunkIndex(index))[shortData.chunkOffset(index)]
-            & 0xFFFF;
-      } else if (mappedBuffer != null) {
-        return mappedBuffer.getShort(index * 2L) & 0xFFFF;
-      }
-    } else if (byteData != null) {
-      return byteData.getChunk(byteData.chunkIndex(index))[byteData.chunkOffset(index)] & 0xFF;
-    }
-    return 0;
+  /** Reads the storage ID at voxel (x, y, z), which must be inside the volume (0 = background). */
+  private int readId(int x, int y, int z) {
+    BrickStorage data = storage;
+    return data == null ? 0 : data.get(x, y, z);
   }
 
-  /** Writes the storage ID at the given linear index. */
-  private void writeId(long index, int newId) {
-    if (shortMode) {
-      if (shortData != null) {
-        shortData.getChunk(shortData.chunkIndex(index))[shortData.chunkOffset(index)] =
-            (short) newId;
-      } else if (mappedBuffer != null) {
-        mappedBuffer.putShort(index * 2L, (short) newId);
-      }
-    } else if (byteData != null) {
-      byteData.getChunk(byteData.chunkIndex(index))[byteData.chunkOffset(index)] = (byte) newId;
+  /** Writes the storage ID at voxel (x, y, z), which must be inside the volume. */
+  private void writeId(int x, int y, int z, int newId) {
+    BrickStorage data = storage;
+    if (data != null) {
+      data.set(x, y, z, newId);
     }
   }
 
@@ -412,41 +301,71 @@ private void writeId(long index, int newId) {
    * single segment, the singleton storage ID is written directly (fast path). Otherwise, the union
    * of the existing combination and the new segment is looked up (or allocated) in {@link
    * #combinationToId} and the resulting ID is written.
+   *
+   * <p>Concurrent callers must write into distinct bricks of {@value BrickStorage#BRICK_SIZE}
+   * slices.
    */
   public void addLabel(int x, int y, int z, int segmentNumber) {
+    if (putLabel(x, y, z, segmentNumber)) {
+      segStampCount.incrementAndGet(segmentNumber);
+    }
+  }
+
+  /**
+   * Same as {@link #addLabel} without counting the stamped voxel.
+   *
+   * @return {@code true} when the voxel is inside the volume and the segment is known
+   */
+  private boolean putLabel(int x, int y, int z, int segmentNumber) {
     if (segmentNumber < 0
         || segmentNumber >= segNumToSoloId.length
         || segNumToSoloId[segmentNumber] == 0) {
-      return;
+      return false;
     }
     if (x < 0 || x >= size.x || y < 0 || y >= size.y || z < 0 || z >= size.z) {
-      return;
+      return false;
     }
     int soloId = segNumToSoloId[segmentNumber];
-    long index = linearIndex(x, y, z);
-    segStampCount[segmentNumber]++;
 
     if (forceExclusiveMode) {
       // SegmentsOverlap=NO / LABELMAP: trust the declaration and write directly without
       // read-compare. Conflicting writes (if any) follow last-write-wins semantics.
-      writeId(index, soloId);
-      return;
+      writeId(x, y, z, soloId);
+      return true;
     }
 
-    int currentId = readId(index);
+    int currentId = readId(x, y, z);
     if (currentId == soloId) {
-      writeId(index, soloId);
-      return;
+      writeId(x, y, z, soloId);
+      return true;
     }
 
     // Voxel already carries another (single or combined) ID — merge.
     List<Integer> currentSegs = idToSegments.get(currentId);
     if (currentSegs != null && currentSegs.contains(segmentNumber)) {
-      return; // segment already present in the combination
+      return true; // segment already present in the combination
     }
     int mergedId = getOrAllocateCombination(currentSegs, segmentNumber);
     if (mergedId > 0) {
-      writeId(index, mergedId);
+      writeId(x, y, z, mergedId);
+    }
+    return true;
+  }
+
+  /**
+   * Prepares the volume for frames stamped concurrently into distinct bricks. The storage of a
+   * volume which may allocate overlap combinations is promoted to short beforehand, so that it is
+   * never promoted while other threads write into it.
+   */
+  void prepareConcurrentStamping() {
+    if (!forceExclusiveMode) {
+      synchronized (idLock) {
+        BrickStorage data = storage;
+        if (data != null && !data.isShortMode()) {
+          data.promoteToShort();
+          LOGGER.debug("SegmentationVolume uses short storage for concurrent stamping");
+        }
+      }
     }
   }
 
@@ -466,7 +385,7 @@ private int getOrAllocateCombination(List<Integer> currentSegs, int newSeg) {
         return existing;
       }
       int candidate = nextId;
-      if (!shortMode && candidate > MAX_BYTE_ID) {
+      if (!isShortMode() && candidate > MAX_BYTE_ID) {
         promoteToShortMode();
       }
       if (candidate > MAX_SHORT_ID) {
@@ -585,7 +504,7 @@ private int getStorageId(int x, int y, int z) {
     if (x < 0 || x >= size.x || y < 0 || y >= size.y || z < 0 || z >= size.z) {
       return 0;
     }
-    return readId(linearIndex(x, y, z));
+    return readId(x, y, z);
   }
 
   // ---- Resampling onto a different grid ----
@@ -606,17 +525,25 @@ public interface VoxelToLps {
   }
 
   /**
-   * Resamples this segmentation volume onto {@code target}'s voxel grid, writing every non-zero
-   * label into {@code target} via {@link #addLabel(int, int, int, int)}. Each target voxel is
-   * mapped to LPS through {@code targetVoxelToLps} and looked up here with nearest-neighbour
-   * sampling in the source's own (textbook) {@code (LPS - origin) · axis_i / spacing_i} mapping.
-   * Overlapping segments are preserved: every segment behind the source storage ID is added
-   * independently so {@code target}'s combination tables stay consistent.
+   * Resamples this segmentation volume onto {@code target}'s voxel grid, with the same result as
+   * if every non-zero label was written into {@code target} via {@link #addLabel(int, int, int,
+   * int)}. Each target voxel is mapped to LPS through {@code targetVoxelToLps} and looked up here
+   * with nearest-neighbour sampling in the source's own (textbook) {@code (LPS - origin) · axis_i /
+   * spacing_i} mapping. Overlapping segments are preserved: every segment behind the source storage
+   * ID is added so {@code target}'s combination tables stay consistent.
    *
    * <p>This is the resample-from-canonical fast path used by image-aligned SEG builders (MPR / 3D):
    * the per-frame mask decode + splatting is paid once when the canonical volume is built;
    * subsequent image-aligned copies only walk voxels and copy labels.
    *
+   * <p>When {@code target} has not been stamped yet, the slices are resampled in parallel on the
+   * common {@link ForkJoinPool}. {@code targetVoxelToLps} must then be affine along x (as any
+   * voxel→LPS matrix): the LPS position is computed for the first two voxels of each row and the
+   * source coordinates of a voxel are derived from its column and the step between them. The
+   * target storage ID of each source storage ID is resolved once before the parallel phase, so the
+   * workers only write precomputed IDs. Otherwise, the labels are merged voxel by voxel with the
+   * existing ones.
+   *
    * <p>Calling threads must hold no locks on {@code target}: {@link #addLabel} synchronises
    * internally via the volume's own locks.
    *
@@ -626,6 +553,50 @@ public interface VoxelToLps {
    * @return the number of target voxels that received at least one label
    */
   public long resampleInto(SegmentationVolume target, VoxelToLps targetVoxelToLps) {
+    if (target == null || targetVoxelToLps == null) {
+      return 0L;
+    }
+    if (!target.isPristine()) {
+      return resampleIntoSerial(target, targetVoxelToLps);
+    }
+
+    int[][] segmentTable = buildSegmentTable();
+    // May allocate combination IDs and promote the target storage: done before the parallel phase
+    int[] targetIds = new int[segmentTable.length];
+    for (int id = 1; id < segmentTable.length; id++) {
+      targetIds[id] = target.storageIdFor(segmentTable[id]);
+    }
+
+    long[] idCounts = new long[segmentTable.length];
+    // Submit on the common pool — DO NOT close it via try-with-resources (close() shuts it down).
+    @SuppressWarnings("resource")
+    ForkJoinPool pool = ForkJoinPool.commonPool();
+    pool.invoke(
+        new ResampleSlabTask(
+            0, target.size.z, this, target, targetVoxelToLps, targetIds, idCounts));
+
+    long stamped = 0L;
+    for (int id = 1; id < segmentTable.length; id++) {
+      long count = idCounts[id];
+      if (count == 0 || segmentTable[id].length == 0) {
+        continue;
+      }
+      stamped += count;
+      for (int segNum : segmentTable[id]) {
+        if (target.isKnownSegment(segNum)) {
+          target.segStampCount.addAndGet(segNum, count);
+        }
+      }
+    }
+    return stamped;
+  }
+
+  /**
+   * Reference implementation of {@link #resampleInto(SegmentationVolume, VoxelToLps)}: maps every
+   * target voxel through {@code targetVoxelToLps} and calls {@link #addLabel} for each segment of
+   * the source voxel, in a single thread.
+   */
+  long resampleIntoSerial(SegmentationVolume target, VoxelToLps targetVoxelToLps) {
     if (target == null || targetVoxelToLps == null) {
       return 0L;
     }
@@ -660,16 +631,101 @@ public long resampleInto(SegmentationVolume target, VoxelToLps targetVoxelToLps)
           if (id == 0) continue;
           List<Integer> segs = idToSegments.get(id);
           if (segs == null || segs.isEmpty()) continue;
+          boolean labelled = false;
           for (int segNum : segs) {
-            target.addLabel(x, y, z, segNum);
+            if (target.putLabel(x, y, z, segNum)) {
+              target.segStampCount.incrementAndGet(segNum);
+              labelled = true;
+            }
+          }
+          if (labelled) {
+            stamped++;
           }
-          stamped++;
         }
       }
     }
     return stamped;
   }
 
+  /**
+   * Writes the continuous source voxel coordinates of the LPS position {@code lps} into {@code
+   * dst} (rounding them gives the nearest source voxel).
+   */
+  private Vector3d lpsToSourceVoxel(Vector3d lps, Vector3d dst) {
+    double dx = lps.x - volumeOrigin.x;
+    double dy = lps.y - volumeOrigin.y;
+    double dz = lps.z - volumeOrigin.z;
+    return dst.set(
+        (dx * volumeAxisX.x + dy * volumeAxisX.y + dz * volumeAxisX.z) / pixelSpacing.x,
+        (dx * volumeAxisY.x + dy * volumeAxisY.y + dz * volumeAxisY.z) / pixelSpacing.y,
+        (dx * volumeAxisZ.x + dy * volumeAxisZ.y + dz * volumeAxisZ.z) / pixelSpacing.z);
+  }
+
+  /**
+   * Returns the segment numbers of each storage ID, indexed by storage ID (an empty array for the
+   * background and unused IDs), so that the segments can be resolved without boxing.
+   */
+  private int[][] buildSegmentTable() {
+    synchronized (idLock) {
+      int[][] table = new int[nextId][];
+      Arrays.fill(table, new int[0]);
+      for (Map.Entry<Integer, List<Integer>> entry : idToSegments.entrySet()) {
+        table[entry.getKey()] = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+      }
+      return table;
+    }
+  }
+
+  /**
+   * Returns the storage ID that {@link #addLabel} would write into an empty voxel after adding
+   * every segment of {@code segments} in order; 0 when none of them is known by this volume.
+   */
+  private int storageIdFor(int[] segments) {
+    int id = 0;
+    for (int segNum : segments) {
+      if (!isKnownSegment(segNum)) {
+        continue;
+      }
+      int soloId = segNumToSoloId[segNum];
+      if (forceExclusiveMode || id == 0 || id == soloId) {
+        id = soloId;
+        continue;
+      }
+      List<Integer> currentSegs = idToSegments.get(id);
+      if (currentSegs != null && currentSegs.contains(segNum)) {
+        continue;
+      }
+      int mergedId = getOrAllocateCombination(currentSegs, segNum);
+      if (mergedId > 0) {
+        id = mergedId;
+      }
+    }
+    return id;
+  }
+
+  private boolean isKnownSegment(int segNum) {
+    return segNum >= 0 && segNum < segNumToSoloId.length && segNumToSoloId[segNum] != 0;
+  }
+
+  /** Returns {@code true} when no label has been added to this volume yet. */
+  private boolean isPristine() {
+    for (int i = 0; i < segStampCount.length(); i++) {
+      if (segStampCount.get(i) > 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the sorted segment numbers at voxel {@code (x, y, z)}; empty when out-of-bounds or
+   * background.
+   */
+  List<Integer> getSegmentsAt(int x, int y, int z) {
+    List<Integer> segs = idToSegments.get(getStorageId(x, y, z));
+    return segs == null ? List.of() : segs;
+  }
+
   // ---- Stamping binary masks ----
 
   @FunctionalInterface
@@ -786,11 +842,14 @@ public void stampAxialMask(PlanarImage mask, int sliceZ, int segmentNumber) {
       return;
     }
     Mat mat = mask.toMat();
-    NonZeroPixelConsumer stamp = (x, y) -> addLabel(x, y, sliceZ, segmentNumber);
+    NonZeroPixelConsumer stamp = (x, y) -> putLabel(x, y, sliceZ, segmentNumber);
     int stamped = forEachNonZero(mat, stamp);
     if (stamped < 0) {
       stamped = forEachNonZeroGeneric(mat, stamp);
     }
+    if (stamped > 0 && isKnownSegment(segmentNumber)) {
+      segStampCount.addAndGet(segmentNumber, stamped);
+    }
     if (LOGGER.isDebugEnabled()) {
       int total = rows * cols;
       LOGGER.debug(
@@ -842,6 +901,7 @@ public void stampMaskWithTransform(
     double invSy = 1.0 / pixelSpacing.y;
     double invSz = 1.0 / pixelSpacing.z;
 
+    long[] inside = new long[1];
     NonZeroPixelConsumer stamp =
         (mx, my) -> {
           double dx = maskOrigin.x + mx * stepXx + my * stepYx - volumeOrigin.x;
@@ -859,13 +919,18 @@ public void stampMaskWithTransform(
               (int)
                   Math.round(
                       (dx * volumeAxisZ.x + dy * volumeAxisZ.y + dz * volumeAxisZ.z) * invSz);
-          addLabel(ix, iy, iz, segmentNumber);
+          if (putLabel(ix, iy, iz, segmentNumber)) {
+            inside[0]++;
+          }
         };
 
     int stamped = forEachNonZero(mat, stamp);
     if (stamped < 0) {
       forEachNonZeroGeneric(mat, stamp);
     }
+    if (inside[0] > 0) {
+      segStampCount.addAndGet(segmentNumber, inside[0]);
+    }
   }
 
   // ---- Reslicing ----
@@ -987,6 +1052,11 @@ private int[] sampleImagePlane(
    * Reslices the segmentation volume along an arbitrary plane defined by a combined transformation
    * matrix and returns one {@link SegContour} list per visible segment. Used by 2D MPR overlays.
    *
+   * <p>The last {@value #CONTOUR_CACHE_SIZE} results are cached by plane (quantized transform and
+   * voxel ratio), output size and set of visible segments, so that scrolling back and forth or
+   * repainting the same plane does not reslice and trace the contours again. The returned map must
+   * not be modified.
+   *
    * @param combinedTransform the 4×4 transformation from output pixel to volume voxel space
    * @param outputSize the width/height of the output square image
    * @param voxelRatio the volume's voxel ratio (pixelSpacing / minPixelSpacing)
@@ -996,6 +1066,27 @@ public Map<Integer, List<SegContour>> getSliceContours(
     if (combinedTransform == null || outputSize <= 0) {
       return Collections.emptyMap();
     }
+    ContourKey key =
+        ContourKey.of(
+            combinedTransform, outputSize, voxelRatio, getVisibleSegments(), getStampVersion());
+    synchronized (contourCache) {
+      Map<Integer, List<SegContour>> cached = contourCache.get(key);
+      if (cached != null) {
+        return cached;
+      }
+    }
+
+    int[] raster = resliceStorageIds(combinedTransform, outputSize, voxelRatio);
+    Map<Integer, List<SegContour>> contours =
+        Collections.unmodifiableMap(buildContours(raster, outputSize, outputSize));
+    synchronized (contourCache) {
+      contourCache.put(key, contours);
+    }
+    return contours;
+  }
+
+  /** Reslices the storage IDs of the plane of {@link #getSliceContours} into a square raster. */
+  int[] resliceStorageIds(Matrix4d combinedTransform, int outputSize, Vector3d voxelRatio) {
     int totalPixels = outputSize * outputSize;
     int[] raster = new int[totalPixels];
     // Submit on the common pool — DO NOT close it via try-with-resources (close() shuts it down).
@@ -1004,17 +1095,64 @@ public Map<Integer, List<SegContour>> getSliceContours(
     pool.invoke(
         new BitmaskSliceTask(
             0, totalPixels, outputSize, combinedTransform, voxelRatio, raster, this));
-    return buildContours(raster, outputSize, outputSize);
+    return raster;
+  }
+
+  /** Returns the visible segment numbers. */
+  private BitSet getVisibleSegments() {
+    BitSet visible = new BitSet(segNumToSoloId.length);
+    for (int s = 0; s < segNumToSoloId.length; s++) {
+      if (segNumToSoloId[s] != 0) {
+        RegionAttributes a = segAttributes.get(s);
+        if (a != null && a.isVisible()) {
+          visible.set(s);
+        }
+      }
+    }
+    return visible;
+  }
+
+  /**
+   * Returns a value that changes whenever a label is added, every write goes through {@link
+   * #addLabel} or {@link #resampleInto} which both increment {@link #segStampCount}.
+   */
+  private long getStampVersion() {
+    long version = 0;
+    for (int i = 0; i < segStampCount.length(); i++) {
+      version += segStampCount.get(i);
+    }
+    return version;
+  }
+
+  /** Removes the cached contours of {@link #getSliceContours}. */
+  public void clearContourCache() {
+    synchronized (contourCache) {
+      contourCache.clear();
+    }
   }
 
   /**
    * Builds {@link SegContour} objects from a resliced storage-ID raster for overlay rendering. Each
    * non-zero raster value is a storage ID whose constituent segments are looked up in {@link
-   * #idToSegments}; one binary mask is allocated lazily per visible segment that actually appears
-   * in the raster. There is no fixed cap on the number of segments — only the total storage-ID
-   * count is bounded by {@value #MAX_SHORT_ID}.
+   * #idToSegments}. A first pass computes the bounding box of each visible segment that actually
+   * appears in the raster; its binary mask is then allocated only over that box and the contours of
+   * the segments are traced in parallel on the common pool. There is no fixed cap on the number of
+   * segments — only the total storage-ID count is bounded by {@value #MAX_SHORT_ID}.
    */
   private Map<Integer, List<SegContour>> buildContours(int[] raster, int width, int height) {
+    return buildContours(raster, width, height, true);
+  }
+
+  /**
+   * Same as {@link #buildContours} but traces each segment on a mask of the whole raster, as before
+   * the masks were cropped to the bounding boxes. Kept as a reference for the tests.
+   */
+  Map<Integer, List<SegContour>> buildContoursOnFullRaster(int[] raster, int width, int height) {
+    return buildContours(raster, width, height, false);
+  }
+
+  private Map<Integer, List<SegContour>> buildContours(
+      int[] raster, int width, int height, boolean cropToBounds) {
     if (raster == null || raster.length == 0) {
       return Collections.emptyMap();
     }
@@ -1036,64 +1174,71 @@ private Map<Integer, List<SegContour>> buildContours(int[] raster, int width, in
       return Collections.emptyMap();
     }
 
-    // Lazy per-segment outputs (allocated only for segments that appear in the raster).
-    Map<Integer, byte[]> segMask = new LinkedHashMap<>();
-    Map<Integer, int[]> segPixelCount = new LinkedHashMap<>();
+    // Single pass over the raster: bounding box and pixel count of each visible segment, in the
+    // order of their first appearance (overlap is handled naturally because the same pixel can
+    // contribute to several segments).
+    int[][] segmentTable = buildSegmentTable();
+    int segCount = visibleSeg.length;
+    int[] minX = new int[segCount];
+    int[] minY = new int[segCount];
+    int[] maxX = new int[segCount];
+    int[] maxY = new int[segCount];
+    int[] pixelCount = new int[segCount];
+    List<Integer> found = new ArrayList<>();
     int totalNonZero = 0;
-
-    // Single pass over the raster: for each non-zero ID, OR each constituent segment into its
-    // own per-segment mask (overlap is handled naturally because the same pixel can contribute
-    // to several segments).
-    for (int i = 0; i < raster.length; i++) {
-      int id = raster[i];
-      if (id == 0) continue;
-      List<Integer> segs = idToSegments.get(id);
-      if (segs == null) continue;
-      totalNonZero++;
-      for (int segNum : segs) {
-        if (segNum < 0 || segNum >= visibleSeg.length || !visibleSeg[segNum]) continue;
-        byte[] mask = segMask.get(segNum);
-        if (mask == null) {
-          mask = new byte[raster.length];
-          segMask.put(segNum, mask);
-          segPixelCount.put(segNum, new int[1]);
-        }
-        if (mask[i] == 0) {
-          mask[i] = (byte) 255;
-          segPixelCount.get(segNum)[0]++;
+    for (int y = 0; y < height; y++) {
+      int rowBase = y * width;
+      for (int x = 0; x < width; x++) {
+        int id = raster[rowBase + x];
+        if (id == 0 || id >= segmentTable.length) continue;
+        int[] segs = segmentTable[id];
+        if (segs.length == 0) continue;
+        totalNonZero++;
+        for (int segNum : segs) {
+          if (segNum < 0 || segNum >= segCount || !visibleSeg[segNum]) continue;
+          if (pixelCount[segNum]++ == 0) {
+            found.add(segNum);
+            minX[segNum] = maxX[segNum] = x;
+            minY[segNum] = maxY[segNum] = y;
+          } else {
+            minX[segNum] = Math.min(minX[segNum], x);
+            maxX[segNum] = Math.max(maxX[segNum], x);
+            minY[segNum] = Math.min(minY[segNum], y);
+            maxY[segNum] = Math.max(maxY[segNum], y);
+          }
         }
       }
     }
 
-    if (segMask.isEmpty()) {
+    if (found.isEmpty()) {
       logBuildContoursDiagnostics();
       return Collections.emptyMap();
     }
 
+    SegContour[] contours = new SegContour[found.size()];
+    IntStream.range(0, contours.length)
+        .parallel()
+        .forEach(
+            i -> {
+              int segNum = found.get(i);
+              contours[i] =
+                  traceSegment(
+                      segNum,
+                      attrsBySeg[segNum],
+                      pixelCount[segNum],
+                      raster,
+                      width,
+                      height,
+                      segmentTable,
+                      cropToBounds
+                          ? new int[] {minX[segNum], minY[segNum], maxX[segNum], maxY[segNum]}
+                          : new int[] {0, 0, width - 1, height - 1});
+            });
+
     Map<Integer, List<SegContour>> result = new LinkedHashMap<>();
-    for (Map.Entry<Integer, byte[]> entry : segMask.entrySet()) {
-      int segNum = entry.getKey();
-      byte[] maskData = entry.getValue();
-      int pixelCount = segPixelCount.get(segNum)[0];
-      RegionAttributes attrs = attrsBySeg[segNum];
-      ImageCV binaryMask = new ImageCV(height, width, CvType.CV_8UC1);
-      try {
-        binaryMask.toMat().put(0, 0, maskData);
-        List<Segment> segmentList = Region.buildSegmentList(binaryMask);
-        if (!segmentList.isEmpty()) {
-          SegContour contour = new SegContour(String.valueOf(segNum), segmentList, pixelCount);
-          contour.setAttributes(attrs);
-          result.computeIfAbsent(segNum, _ -> new ArrayList<>()).add(contour);
-        } else if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug(
-              "buildContours: segment #{} '{}' had {} pixels in the resliced raster but"
-                  + " Region.buildSegmentList returned no contour",
-              segNum,
-              labelOf(segNum),
-              pixelCount);
-        }
-      } finally {
-        binaryMask.release();
+    for (int i = 0; i < contours.length; i++) {
+      if (contours[i] != null) {
+        result.computeIfAbsent(found.get(i), _ -> new ArrayList<>()).add(contours[i]);
       }
     }
 
@@ -1109,9 +1254,91 @@ private Map<Integer, List<SegContour>> buildContours(int[] raster, int width, in
     return result;
   }
 
+  /**
+   * Traces the contours of one segment from a binary mask covering only its bounding box (plus a
+   * one-pixel background border) and translates them back into the raster coordinates.
+   *
+   * @param bounds the bounding box of the segment in the raster (minX, minY, maxX, maxY)
+   * @return the contour of the segment or null when nothing can be traced
+   */
+  private SegContour traceSegment(
+      int segNum,
+      RegionAttributes attrs,
+      int pixelCount,
+      int[] raster,
+      int width,
+      int height,
+      int[][] segmentTable,
+      int[] bounds) {
+    int x0 = Math.max(0, bounds[0] - 1);
+    int y0 = Math.max(0, bounds[1] - 1);
+    int x1 = Math.min(width - 1, bounds[2] + 1);
+    int y1 = Math.min(height - 1, bounds[3] + 1);
+    int boxWidth = x1 - x0 + 1;
+    int boxHeight = y1 - y0 + 1;
+
+    byte[] maskData = new byte[boxWidth * boxHeight];
+    for (int y = y0; y <= y1; y++) {
+      int rowBase = y * width;
+      int maskBase = (y - y0) * boxWidth - x0;
+      for (int x = x0; x <= x1; x++) {
+        int id = raster[rowBase + x];
+        if (id != 0 && id < segmentTable.length && contains(segmentTable[id], segNum)) {
+          maskData[maskBase + x] = (byte) 255;
+        }
+      }
+    }
+
+    ImageCV binaryMask = new ImageCV(boxHeight, boxWidth, CvType.CV_8UC1);
+    try {
+      binaryMask.toMat().put(0, 0, maskData);
+      List<Segment> segmentList = Region.buildSegmentList(binaryMask);
+      if (segmentList.isEmpty()) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug(
+              "buildContours: segment #{} '{}' had {} pixels in the resliced raster but"
+                  + " Region.buildSegmentList returned no contour",
+              segNum,
+              labelOf(segNum),
+              pixelCount);
+        }
+        return null;
+      }
+      for (Segment segment : segmentList) {
+        translateSegment(segment, x0, y0);
+      }
+      SegContour contour = new SegContour(String.valueOf(segNum), segmentList, pixelCount);
+      contour.setAttributes(attrs);
+      return contour;
+    } finally {
+      binaryMask.release();
+    }
+  }
+
+  private static void translateSegment(Segment segment, int dx, int dy) {
+    if (dx == 0 && dy == 0) {
+      return;
+    }
+    for (Point2D p : segment) {
+      p.setLocation(p.getX() + dx, p.getY() + dy);
+    }
+    for (Segment child : segment.getChildren()) {
+      translateSegment(child, dx, dy);
+    }
+  }
+
+  private static boolean contains(int[] segments, int segNum) {
+    for (int s : segments) {
+      if (s == segNum) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private int countStampedSegments() {
     int n = 0;
-    for (long c : segStampCount) if (c > 0) n++;
+    for (int i = 0; i < segStampCount.length(); i++) if (segStampCount.get(i) > 0) n++;
     return n;
   }
 
@@ -1124,8 +1351,8 @@ private void logBuildContoursDiagnostics() {
     if (!LOGGER.isDebugEnabled()) {
       return;
     }
-    for (int segNum = 0; segNum < segStampCount.length; segNum++) {
-      long stamped = segStampCount[segNum];
+    for (int segNum = 0; segNum < segStampCount.length(); segNum++) {
+      long stamped = segStampCount.get(segNum);
       if (stamped <= 0) continue;
       if (segNumToSoloId[segNum] == 0) {
         LOGGER.debug(
@@ -1157,22 +1384,38 @@ public int getSizeZ() {
   }
 
   /**
-   * Returns {@code true} when the storage uses 2 bytes per voxel (either because the ID space
-   * exceeded {@value #MAX_BYTE_ID} due to overlap combinations or because the volume falls back to
-   * disk-backed storage). Used by SEG builders for diagnostic logging.
+   * Returns {@code true} when the storage uses 2 bytes per voxel because the ID space exceeded
+   * {@value #MAX_BYTE_ID} due to overlap combinations. Used by SEG builders for diagnostic logging.
    */
   public boolean isShortMode() {
-    return shortMode;
+    BrickStorage data = storage;
+    return data != null && data.isShortMode();
   }
 
+  /** Returns {@code true} when no voxel carries a label, only the per-brick summaries are read. */
   public boolean isEmpty() {
-    long total = totalVoxels();
-    for (long i = 0; i < total; i++) {
-      if (readId(i) != 0) {
-        return false;
+    BrickStorage data = storage;
+    return data == null || data.isEmpty();
+  }
+
+  /**
+   * Releases the storage of the bricks without label and collapses the bricks whose voxels all
+   * carry the same storage ID. Builders call it once all the labels have been added; adding labels
+   * afterwards remains possible.
+   */
+  public void compact() {
+    BrickStorage data = storage;
+    if (data != null) {
+      data.compact();
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(
+            "SegmentationVolume {}x{}x{}: {} KB of labelled bricks",
+            size.x,
+            size.y,
+            size.z,
+            data.getAllocatedBytes() / 1024);
       }
     }
-    return true;
   }
 
   // ---- Reference counting ----
@@ -1233,14 +1476,10 @@ public int getUseCount() {
     return useCount.get();
   }
 
-  /** Releases all allocated memory (chunked arrays and/or mapped buffer). */
+  /** Releases all allocated memory. */
   public void removeData() {
-    this.byteData = null;
-    this.shortData = null;
-    if (mappedBuffer != null) {
-      mappedBuffer.close();
-      mappedBuffer = null;
-    }
+    clearContourCache();
+    this.storage = null;
   }
 
   /**
@@ -1249,11 +1488,11 @@ public void removeData() {
    * and must be rebuilt before it can be reused.
    */
   public boolean isDisposed() {
-    return byteData == null && shortData == null && mappedBuffer == null;
+    return storage == null;
   }
 
   /**
-   * Counts, in a single pass over the whole volume, how many voxels belong to each segment and
+   * Counts, in a single pass over the labelled bricks, how many voxels belong to each segment and
    * stores the total on the matching {@link SegRegion} via {@link SegRegion#setNumberOfPixels}. An
    * overlap-combination storage ID contributes to every constituent segment. This gives the
    * Segmentation tool an exact voxel count / volume without relying on lazy per-slice contour
@@ -1263,15 +1502,13 @@ public void applySegmentVoxelCounts() {
     if (segAttributes == null || segAttributes.isEmpty() || isDisposed()) {
       return;
     }
-    // Per storage-ID voxel counts, gathered in a single pass over the raster.
-    long[] idCounts = new long[nextId];
-    long total = totalVoxels();
-    for (long i = 0; i < total; i++) {
-      int id = readId(i);
-      if (id > 0 && id < idCounts.length) {
-        idCounts[id]++;
-      }
+    BrickStorage data = storage;
+    if (data == null) {
+      return;
     }
+    // Per storage-ID voxel counts, gathered in a single pass over the labelled bricks.
+    long[] idCounts = new long[nextId];
+    data.countIds(idCounts);
     // Distribute each storage ID's count to the segment(s) it represents.
     Map<Integer, Long> segCounts = new HashMap<>();
     for (int id = 1; id < idCounts.length; id++) {
@@ -1316,14 +1553,10 @@ public int[] exportSliceBitmask(int z) {
     if (z < 0 || z >= size.z) {
       return null;
     }
-    int sliceSize = size.x * size.y;
-    int[] raster = new int[sliceSize];
-    long base = (long) z * sliceStride;
-    for (int i = 0; i < sliceSize; i++) {
-      int id = readId(base + i);
-      if (id != 0) {
-        raster[i] = id;
-      }
+    int[] raster = new int[size.x * size.y];
+    BrickStorage data = storage;
+    if (data != null) {
+      data.copySlice(z, raster);
     }
     return raster;
   }
@@ -1398,6 +1631,142 @@ public byte[] buildSegmentColorLUT(Map<Integer, ? extends RegionAttributes> over
     return lut;
   }
 
+  // ---- Resampling task onto a target grid (fork-join parallelism over slices) ----
+
+  private static final class ResampleSlabTask extends RecursiveAction {
+    // Minimum number of target voxels per task
+    private static final long THRESHOLD = 1L << 18;
+
+    private final int startZ;
+    private final int endZ;
+    private final SegmentationVolume source;
+    private final SegmentationVolume target;
+    private final VoxelToLps targetVoxelToLps;
+    private final int[] targetIds;
+    private final long[] idCounts;
+
+    ResampleSlabTask(
+        int startZ,
+        int endZ,
+        SegmentationVolume source,
+        SegmentationVolume target,
+        VoxelToLps targetVoxelToLps,
+        int[] targetIds,
+        long[] idCounts) {
+      this.startZ = startZ;
+      this.endZ = endZ;
+      this.source = source;
+      this.target = target;
+      this.targetVoxelToLps = targetVoxelToLps;
+      this.targetIds = targetIds;
+      this.idCounts = idCounts;
+    }
+
+    @Override
+    protected void compute() {
+      int slices = endZ - startZ;
+      if (slices <= BrickStorage.BRICK_SIZE || (long) slices * target.sliceStride <= THRESHOLD) {
+        resampleSlices();
+      } else {
+        // Split on a brick boundary so that two tasks never write into the same brick
+        int brickMask = BrickStorage.BRICK_SIZE - 1;
+        int mid = startZ + (((slices >>> 1) + brickMask) & ~brickMask);
+        invokeAll(
+            new ResampleSlabTask(
+                startZ, mid, source, target, targetVoxelToLps, targetIds, idCounts),
+            new ResampleSlabTask(mid, endZ, source, target, targetVoxelToLps, targetIds, idCounts));
+      }
+    }
+
+    private void resampleSlices() {
+      final int tx = target.size.x;
+      final int ty = target.size.y;
+      final int sx = source.size.x;
+      final int sy = source.size.y;
+      final int sz = source.size.z;
+      long[] counts = new long[idCounts.length];
+      Vector3d lps = new Vector3d();
+      Vector3d first = new Vector3d();
+      Vector3d next = new Vector3d();
+      for (int z = startZ; z < endZ; z++) {
+        for (int y = 0; y < ty; y++) {
+          source.lpsToSourceVoxel(targetVoxelToLps.apply(0, y, z, lps), first);
+          source.lpsToSourceVoxel(targetVoxelToLps.apply(1, y, z, lps), next);
+          double stepX = next.x - first.x;
+          double stepY = next.y - first.y;
+          double stepZ = next.z - first.z;
+          for (int x = 0; x < tx; x++) {
+            // Not accumulated along the row, so the rounding error does not grow with x
+            int vx = (int) Math.round(first.x + x * stepX);
+            int vy = (int) Math.round(first.y + x * stepY);
+            int vz = (int) Math.round(first.z + x * stepZ);
+            if (vx < 0 || vx >= sx || vy < 0 || vy >= sy || vz < 0 || vz >= sz) {
+              continue;
+            }
+            int id = source.readId(vx, vy, vz);
+            if (id == 0 || id >= counts.length) {
+              continue;
+            }
+            int targetId = targetIds[id];
+            if (targetId != 0) {
+              // Each task owns its bricks, no other thread writes into them
+              target.writeId(x, y, z, targetId);
+              counts[id]++;
+            }
+          }
+        }
+      }
+      synchronized (idCounts) {
+        for (int i = 0; i < counts.length; i++) {
+          idCounts[i] += counts[i];
+        }
+      }
+    }
+  }
+
+  // ---- Contour cache key ----
+
+  /**
+   * Identifies a resliced plane. The transform and voxel ratio are quantized (1e-6) so that the
+   * same plane computed again with rounding noise hits the cache.
+   */
+  private record ContourKey(long[] plane, int outputSize, BitSet visible, long stampVersion) {
+    private static final double QUANTUM = 1.0e6;
+
+    static ContourKey of(
+        Matrix4d transform,
+        int outputSize,
+        Vector3d voxelRatio,
+        BitSet visible,
+        long stampVersion) {
+      double[] m = transform.get(new double[16]);
+      long[] plane = new long[19];
+      for (int i = 0; i < m.length; i++) {
+        plane[i] = Math.round(m[i] * QUANTUM);
+      }
+      if (voxelRatio != null) {
+        plane[16] = Math.round(voxelRatio.x * QUANTUM);
+        plane[17] = Math.round(voxelRatio.y * QUANTUM);
+        plane[18] = Math.round(voxelRatio.z * QUANTUM);
+      }
+      return new ContourKey(plane, outputSize, visible, stampVersion);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof ContourKey k
+          && outputSize == k.outputSize
+          && stampVersion == k.stampVersion
+          && Arrays.equals(plane, k.plane)
+          && visible.equals(k.visible);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(Arrays.hashCode(plane), outputSize, visible, stampVersion);
+    }
+  }
+
   // ---- Nearest-neighbor storage-ID reslice task (fork-join parallelism) ----
 
   private static final class BitmaskSliceTask extends RecursiveAction {
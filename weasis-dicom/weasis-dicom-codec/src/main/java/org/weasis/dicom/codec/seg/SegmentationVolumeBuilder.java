@@ -205,7 +205,7 @@ public static SegmentationVolume buildCanonical(
     // Second pass: stamp each mask frame into the canonical grid.
     // Detect upfront whether this SEG hits the OpenCV native 1-bit-decoder bug for widths that
     // are not a multiple of 8 (phantom column + bit-stream shift across rows). When affected,
-    // stampFrame will re-decode each frame from the raw Pixel Data bytes via
+    // decodeFrame will re-decode each frame from the raw Pixel Data bytes via
     // SegBinaryMaskWorkaround until the native fix ships.
     boolean binaryDecoderWorkaround = SegBinaryMaskWorkaround.isAffected(dicom);
     StampStats stats;
@@ -266,19 +266,44 @@ public static SegmentationVolume buildCanonical(
           sliceSpacing,
           origin);
     }
+    volume.compact();
     volume.applySegmentVoxelCounts();
     return volume;
   }
 
-  /** Aggregated counts and first-frame size collected during the stamping loop. */
+  /**
+   * Aggregated counts and first-frame size collected during the stamping loop. Updated from the
+   * stamping workers.
+   */
   private static final class StampStats {
     int total;
     int fast;
     int transform;
     int firstW = -1;
     int firstH = -1;
+
+    synchronized void recordSize(int width, int height) {
+      if (firstW < 0) {
+        firstW = width;
+        firstH = height;
+      }
+    }
+
+    synchronized void recordStamp(boolean axisAligned) {
+      total++;
+      if (axisAligned) {
+        fast++;
+      } else {
+        transform++;
+      }
+    }
   }
 
+  /**
+   * Decodes the frames concurrently and stamps them grouped by slab of target slices (see {@link
+   * SlabStampPipeline}), so that the frames of different slabs never write into the same storage
+   * brick.
+   */
   private static StampStats stampAllFrames(
       SegmentationVolume volume,
       DicomSeries segSeries,
@@ -300,43 +325,44 @@ private static StampStats stampAllFrames(
       String segUid,
       Attributes binaryDecoderWorkaroundDicom) {
     StampStats stats = new StampStats();
-    for (int i = 0; i < frames.size(); i++) {
-      // Per-frame interrupt check: each iteration can decode a multi-MB DICOM mask and stamp
-      // it into the volume, so this is the natural cancellation point. Throwing
-      // CancellationException short-circuits the loop and lets the caller release the partially
-      // built volume.
-      checkInterrupted();
-      FrameSpatialInfo info = frames.get(i);
-      if (info == null) continue;
-      Attributes frame = perFrameSeq.get(i);
-      List<Integer> declaredSegs = isLabelMap ? null : resolveSegmentNumber(frame, segAttrs);
-      if (!isLabelMap && declaredSegs == null) continue;
-
-      DicomImageElement maskElement = segSeries.getMedia(i, null, null);
-      if (maskElement == null) continue;
-      stampFrame(
-          volume,
-          maskElement,
-          info,
-          declaredSegs,
-          isLabelMap,
-          segAttrs,
-          sizeX,
-          sizeY,
-          sizeZ,
-          origin,
-          axisX,
-          axisY,
-          axisZ,
-          colSpacing,
-          rowSpacing,
-          sliceSpacing,
-          minProj,
-          segUid,
-          stats,
-          binaryDecoderWorkaroundDicom,
-          i);
-    }
+    volume.prepareConcurrentStamping();
+    // Each frame is a cancellation point: the pipeline throws CancellationException when the
+    // calling thread is interrupted, which lets the caller release the partially built volume.
+    new SlabStampPipeline(sizeZ)
+        .run(
+            frames.size(),
+            i -> {
+              FrameSpatialInfo info = frames.get(i);
+              if (info == null) return null;
+              Attributes frame = perFrameSeq.get(i);
+              List<Integer> declaredSegs =
+                  isLabelMap ? null : resolveSegmentNumber(frame, segAttrs);
+              if (!isLabelMap && declaredSegs == null) return null;
+
+              DicomImageElement maskElement = segSeries.getMedia(i, null, null);
+              if (maskElement == null) return null;
+              return decodeFrame(
+                  volume,
+                  maskElement,
+                  info,
+                  declaredSegs,
+                  isLabelMap,
+                  segAttrs,
+                  sizeX,
+                  sizeY,
+                  origin,
+                  axisX,
+                  axisY,
+                  axisZ,
+                  colSpacing,
+                  rowSpacing,
+                  sliceSpacing,
+                  minProj,
+                  segUid,
+                  stats,
+                  binaryDecoderWorkaroundDicom,
+                  i);
+            });
     return stats;
   }
 
@@ -350,7 +376,11 @@ private static List<Integer> resolveSegmentNumber(
     return (segNum != null && segAttrs.containsKey(segNum)) ? List.of(segNum) : null;
   }
 
-  private static void stampFrame(
+  /**
+   * Decodes the mask of a frame and resolves where it is stamped. Returns null when the frame has
+   * nothing to stamp.
+   */
+  private static SlabStampPipeline.DecodedFrame decodeFrame(
       SegmentationVolume volume,
       DicomImageElement maskElement,
       FrameSpatialInfo info,
@@ -359,7 +389,6 @@ private static void stampFrame(
       Map<Integer, ? extends RegionAttributes> segAttrs,
       int sizeX,
       int sizeY,
-      int sizeZ,
       Vector3d origin,
       Vector3d axisX,
       Vector3d axisY,
@@ -391,7 +420,7 @@ private static void stampFrame(
     if (rawMask == null || rawMask.width() <= 0 || rawMask.height() <= 0) {
       if (rawMask != null) ImageConversion.releasePlanarImage(rawMask);
       maskElement.removeImageFromCache();
-      return;
+      return null;
     }
     // Re-align decoded mask to the SEG's declared (Columns, Rows) — handles the highdicom
     // packed-bit binary SEG case where dcm4che delivers a non-square frame transposed.
@@ -399,42 +428,97 @@ private static void stampFrame(
     if (maskImage == null) {
       ImageConversion.releasePlanarImage(rawMask);
       maskElement.removeImageFromCache();
-      return;
+      return null;
+    }
+    MaskFrame decoded = new MaskFrame(volume, maskElement, rawMask, maskImage, isLabelMap, stats);
+
+    stats.recordSize(maskImage.width(), maskImage.height());
+    boolean dimsMatch = maskImage.width() == sizeX && maskImage.height() == sizeY;
+    decoded.axisAligned =
+        dimsMatch
+            && isAxisAligned(
+                info, origin, axisX, axisY, colSpacing, rowSpacing, sizeX, sizeY, maskImage);
+    decoded.segments = isLabelMap ? collectLabelMapSegments(maskImage, segAttrs) : declaredSegs;
+    if (decoded.segments.isEmpty()) {
+      decoded.release();
+      return null;
+    }
+    decoded.info = info;
+    if (decoded.axisAligned) {
+      int sliceZ = (int) Math.round((axisZ.dot(info.position) - minProj) / sliceSpacing);
+      decoded.minZ = sliceZ;
+      decoded.maxZ = sliceZ;
+    } else {
+      // Slices covered by the corners of the frame, the mapping being affine
+      double colExtent = (maskImage.width() - 1) * info.pixelSpacing[1];
+      double rowExtent = (maskImage.height() - 1) * info.pixelSpacing[0];
+      double z0 = axisZ.dot(new Vector3d(info.position).sub(origin)) / sliceSpacing;
+      double dzCol = axisZ.dot(info.rowDir) * colExtent / sliceSpacing;
+      double dzRow = axisZ.dot(info.colDir) * rowExtent / sliceSpacing;
+      double zMin = z0 + Math.min(0, dzCol) + Math.min(0, dzRow);
+      double zMax = z0 + Math.max(0, dzCol) + Math.max(0, dzRow);
+      decoded.minZ = (int) Math.floor(zMin) - 1;
+      decoded.maxZ = (int) Math.ceil(zMax) + 1;
     }
-    boolean transposed = maskImage != rawMask;
+    return decoded;
+  }
 
-    try {
-      if (stats.firstW < 0) {
-        stats.firstW = maskImage.width();
-        stats.firstH = maskImage.height();
-      }
-      boolean dimsMatch = maskImage.width() == sizeX && maskImage.height() == sizeY;
-      boolean axisAligned =
-          dimsMatch
-              && isAxisAligned(
-                  info, origin, axisX, axisY, colSpacing, rowSpacing, sizeX, sizeY, maskImage);
+  /** Decoded mask of a frame, stamped into its slices by {@link SlabStampPipeline}. */
+  private static final class MaskFrame implements SlabStampPipeline.DecodedFrame {
+    private final SegmentationVolume volume;
+    private final DicomImageElement maskElement;
+    private final PlanarImage rawMask;
+    private final PlanarImage maskImage;
+    private final boolean isLabelMap;
+    private final StampStats stats;
+    private FrameSpatialInfo info;
+    private List<Integer> segments;
+    private boolean axisAligned;
+    private int minZ;
+    private int maxZ;
+
+    MaskFrame(
+        SegmentationVolume volume,
+        DicomImageElement maskElement,
+        PlanarImage rawMask,
+        PlanarImage maskImage,
+        boolean isLabelMap,
+        StampStats stats) {
+      this.volume = volume;
+      this.maskElement = maskElement;
+      this.rawMask = rawMask;
+      this.maskImage = maskImage;
+      this.isLabelMap = isLabelMap;
+      this.stats = stats;
+    }
 
-      List<Integer> resolvedSegs =
-          isLabelMap ? collectLabelMapSegments(maskImage, segAttrs) : declaredSegs;
-      if (resolvedSegs.isEmpty()) return;
+    @Override
+    public int minZ() {
+      return minZ;
+    }
 
-      for (Integer segNum : resolvedSegs) {
+    @Override
+    public int maxZ() {
+      return maxZ;
+    }
+
+    @Override
+    public void stamp() {
+      for (Integer segNum : segments) {
         PlanarImage stampMask = isLabelMap ? extractLabelMask(maskImage, segNum) : maskImage;
         try {
           if (axisAligned) {
-            int sliceZ = (int) Math.round((axisZ.dot(info.position) - minProj) / sliceSpacing);
-            if (sliceZ >= 0 && sliceZ < sizeZ) {
+            int sliceZ = minZ;
+            if (sliceZ >= 0 && sliceZ < volume.getSizeZ()) {
               volume.stampAxialMask(stampMask, sliceZ, segNum);
-              stats.total++;
-              stats.fast++;
+              stats.recordStamp(true);
             }
           } else {
             // Non-axis-aligned (oblique IOP / spacing mismatch / off-grid). Use per-pixel
             // transform.
             volume.stampMaskWithTransform(
                 stampMask, info.position, info.rowDir, info.colDir, info.pixelSpacing, segNum);
-            stats.total++;
-            stats.transform++;
+            stats.recordStamp(false);
           }
         } finally {
           if (isLabelMap) {
@@ -442,8 +526,11 @@ && isAxisAligned(
           }
         }
       }
-    } finally {
-      if (transposed) {
+    }
+
+    @Override
+    public void release() {
+      if (maskImage != rawMask) {
         maskImage.release();
       }
       ImageConversion.releasePlanarImage(rawMask);
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec.seg;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * Decodes and stamps the frames of a segmentation into a {@link SegmentationVolume} in parallel.
+ *
+ * <p>The frames are decoded concurrently on the current fork-join pool (the common pool when
+ * called from another thread). A decoded frame is then stamped while holding the lock of every
+ * slab of {@value BrickStorage#BRICK_SIZE} slices it covers: the frames of different slabs are
+ * stamped concurrently, and two frames never write into the same brick at the same time. Only one
+ * decoded frame per worker is kept in memory.
+ */
+final class SlabStampPipeline {
+
+  /** A decoded frame ready to be stamped. */
+  interface DecodedFrame {
+
+    /**
+     * @return the first slice the frame may write into
+     */
+    int minZ();
+
+    /**
+     * @return the last slice the frame may write into
+     */
+    int maxZ();
+
+    /** Writes the frame into the volume, called while holding the locks of its slabs. */
+    void stamp();
+
+    /** Releases the decoded data, called after stamping even when it fails. */
+    void release();
+  }
+
+  @FunctionalInterface
+  interface FrameDecoder {
+
+    /**
+     * @param frameIndex the index of the frame
+     * @return the decoded frame or null when the frame has nothing to stamp
+     */
+    DecodedFrame decode(int frameIndex);
+  }
+
+  private final int sizeZ;
+  private final ReentrantLock[] slabLocks;
+
+  SlabStampPipeline(int sizeZ) {
+    this.sizeZ = sizeZ;
+    int slabs = (sizeZ + BrickStorage.BRICK_SIZE - 1) >> BrickStorage.BRICK_SHIFT;
+    this.slabLocks = new ReentrantLock[slabs];
+    for (int i = 0; i < slabLocks.length; i++) {
+      slabLocks[i] = new ReentrantLock();
+    }
+  }
+
+  /**
+   * Decodes and stamps the frames {@code [0, frameCount)} and returns when all of them have been
+   * stamped.
+   *
+   * @throws CancellationException when the calling thread is interrupted, its interrupt flag is
+   *     cleared
+   */
+  void run(int frameCount, FrameDecoder decoder) {
+    Thread caller = Thread.currentThread();
+    try {
+      IntStream.range(0, frameCount)
+          .parallel()
+          .forEach(
+              i -> {
+                // Workers cannot see the interruption of the calling thread by themselves
+                if (caller.isInterrupted()) {
+                  throw new CancellationException("Segmentation volume build was cancelled");
+                }
+                DecodedFrame frame = decoder.decode(i);
+                if (frame != null) {
+                  try {
+                    stamp(frame);
+                  } finally {
+                    frame.release();
+                  }
+                }
+              });
+    } catch (CancellationException e) {
+      Thread.interrupted();
+      throw e;
+    }
+    if (Thread.interrupted()) {
+      throw new CancellationException("Segmentation volume build was cancelled");
+    }
+  }
+
+  private void stamp(DecodedFrame frame) {
+    int minZ = Math.max(0, frame.minZ());
+    int maxZ = Math.min(sizeZ - 1, frame.maxZ());
+    if (minZ > maxZ) {
+      // Entirely outside the volume
+      return;
+    }
+    int first = minZ >> BrickStorage.BRICK_SHIFT;
+    int last = maxZ >> BrickStorage.BRICK_SHIFT;
+    // Always lock in ascending order to avoid deadlocks between frames covering several slabs
+    for (int s = first; s <= last; s++) {
+      slabLocks[s].lock();
+    }
+    try {
+      frame.stamp();
+    } finally {
+      for (int s = last; s >= first; s--) {
+        slabLocks[s].unlock();
+      }
+    }
+  }
+}
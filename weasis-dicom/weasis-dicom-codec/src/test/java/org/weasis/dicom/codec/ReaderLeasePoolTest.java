@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ReaderLeasePoolTest {
+
+  private static final class Reader implements AutoCloseable {
+    private static final AtomicInteger IDS = new AtomicInteger();
+    final int id = IDS.incrementAndGet();
+    volatile boolean closed;
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
+  @Test
+  void sequentialReadsReuseTheReader() throws IOException {
+    try (ReaderLeasePool<String, Reader> pool = new ReaderLeasePool<>(4, 1, TimeUnit.MINUTES)) {
+      Reader first = pool.borrow("a", Reader::new);
+      pool.release("a", first, true);
+      for (int frame = 0; frame < 10; frame++) {
+        Reader reader = pool.borrow("a", Reader::new);
+        assertEquals(first.id, reader.id);
+        pool.release("a", reader, true);
+      }
+      assertEquals(1, pool.getOpenedCount());
+      assertFalse(first.closed);
+    }
+  }
+
+  @Test
+  void concurrentBorrowOpensAnotherReader() throws IOException {
+    try (ReaderLeasePool<String, Reader> pool = new ReaderLeasePool<>(4, 1, TimeUnit.MINUTES)) {
+      Reader r1 = pool.borrow("a", Reader::new);
+      Reader r2 = pool.borrow("a", Reader::new);
+      assertNotEquals(r1.id, r2.id);
+      pool.release("a", r1, true);
+      pool.release("a", r2, true);
+      // Only one idle reader is kept per key
+      assertEquals(1, pool.getIdleCount());
+      assertFalse(r1.closed);
+      assertTrue(r2.closed);
+    }
+  }
+
+  @Test
+  void leastRecentlyUsedReaderIsClosedWhenFull() throws IOException {
+    try (ReaderLeasePool<String, Reader> pool = new ReaderLeasePool<>(2, 1, TimeUnit.MINUTES)) {
+      Reader a = pool.borrow("a", Reader::new);
+      Reader b = pool.borrow("b", Reader::new);
+      Reader c = pool.borrow("c", Reader::new);
+      pool.release("a", a, true);
+      pool.release("b", b, true);
+      pool.release("a", pool.borrow("a", Reader::new), true);
+      pool.release("c", c, true);
+      assertEquals(2, pool.getIdleCount());
+      assertFalse(a.closed);
+      assertTrue(b.closed);
+      assertFalse(c.closed);
+    }
+  }
+
+  @Test
+  void failedOrInvalidatedReaderIsClosed() throws IOException {
+    try (ReaderLeasePool<String, Reader> pool = new ReaderLeasePool<>(4, 1, TimeUnit.MINUTES)) {
+      Reader failed = pool.borrow("a", Reader::new);
+      pool.release("a", failed, false);
+      assertTrue(failed.closed);
+      assertEquals(0, pool.getIdleCount());
+
+      Reader reader = pool.borrow("a", Reader::new);
+      pool.release("a", reader, true);
+      pool.invalidate("a");
+      assertTrue(reader.closed);
+      assertEquals(0, pool.getIdleCount());
+    }
+  }
+
+  @Test
+  void idleReaderIsClosedAfterTimeout() throws Exception {
+    Reader reader;
+    try (ReaderLeasePool<String, Reader> pool =
+        new ReaderLeasePool<>(4, 20, TimeUnit.MILLISECONDS)) {
+      reader = pool.borrow("a", Reader::new);
+      pool.release("a", reader, true);
+      long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (!reader.closed && System.nanoTime() < end) {
+        Thread.sleep(10);
+      }
+      assertTrue(reader.closed);
+      assertEquals(0, pool.getIdleCount());
+    }
+  }
+
+  @Test
+  void closingThePoolClosesTheIdleReaders() throws IOException {
+    ReaderLeasePool<String, Reader> pool = new ReaderLeasePool<>(4, 1, TimeUnit.MINUTES);
+    Reader idle = pool.borrow("a", Reader::new);
+    Reader borrowed = pool.borrow("b", Reader::new);
+    pool.release("a", idle, true);
+    pool.close();
+    assertTrue(idle.closed);
+    pool.release("b", borrowed, true);
+    assertTrue(borrowed.closed);
+  }
+
+  /**
+   * Multiframe stand-in: a header with the offset table of the frames followed by the frames. Like
+   * a DICOM reader, the offsets are parsed when the file is opened.
+   */
+  private static final class FrameFile implements AutoCloseable {
+    final RandomAccessFile file;
+    final long[] offsets;
+    final int frameLength;
+
+    FrameFile(Path path) throws IOException {
+      this.file = new RandomAccessFile(path.toFile(), "r");
+      int frames = file.readInt();
+      this.frameLength = file.readInt();
+      this.offsets = new long[frames];
+      for (int i = 0; i < frames; i++) {
+        offsets[i] = file.readLong();
+      }
+    }
+
+    void read(int frame, byte[] buffer) throws IOException {
+      file.seek(offsets[frame]);
+      file.readFully(buffer, 0, frameLength);
+    }
+
+    @Override
+    public void close() throws IOException {
+      file.close();
+    }
+  }
+
+  private static Path writeFrames(int frames, int frameLength) throws IOException {
+    Path path = Files.createTempFile("multiframe", ".raw");
+    try (OutputStream os = Files.newOutputStream(path);
+        DataOutputStream out = new DataOutputStream(os)) {
+      out.writeInt(frames);
+      out.writeInt(frameLength);
+      long header = 8L + 8L * frames;
+      for (int i = 0; i < frames; i++) {
+        out.writeLong(header + (long) i * frameLength);
+      }
+      byte[] frame = new byte[frameLength];
+      for (int i = 0; i < frames; i++) {
+        frame[0] = (byte) i;
+        out.write(frame);
+      }
+    }
+    return path;
+  }
+
+  @Test
+  void sequentialFramesAreReadThroughOneReader() throws Exception {
+    int frames = 200;
+    Path path = writeFrames(frames, 64);
+    byte[] buffer = new byte[64];
+    try (ReaderLeasePool<Path, FrameFile> pool = new ReaderLeasePool<>(4, 1, TimeUnit.MINUTES)) {
+      for (int i = 0; i < frames; i++) {
+        FrameFile reader = pool.borrow(path, () -> new FrameFile(path));
+        try {
+          reader.read(i, buffer);
+        } finally {
+          pool.release(path, reader, true);
+        }
+        assertEquals((byte) i, buffer[0]);
+      }
+      assertEquals(1, pool.getOpenedCount());
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.img.data.PrDicomObject;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.weasis.core.api.media.data.TagW;
+
+class SpecialElementReferenceIndexTest {
+
+  private static DicomMediaIO reader(boolean editable) {
+    DicomMediaIO reader = Mockito.mock(DicomMediaIO.class);
+    Mockito.when(reader.isEditableDicom()).thenReturn(editable);
+    return reader;
+  }
+
+  private static <E extends HiddenSpecialElement> E element(
+      Class<E> clazz, String patient, boolean editable) {
+    E element = Mockito.mock(clazz);
+    Mockito.when(element.getTagValue(TagW.PatientPseudoUID)).thenReturn(patient);
+    DicomMediaIO reader = reader(editable);
+    Mockito.when(element.getMediaReader()).thenReturn(reader);
+    return element;
+  }
+
+  private static KOSpecialElement ko(
+      String patient, boolean editable, Map<String, Set<String>> sopBySeries) {
+    KOSpecialElement ko = element(KOSpecialElement.class, patient, editable);
+    Mockito.when(ko.getReferencedSeriesInstanceUIDSet()).thenReturn(sopBySeries.keySet());
+    sopBySeries.forEach(
+        (series, sops) ->
+            Mockito.when(ko.getReferencedSOPInstanceUIDSet(series)).thenReturn(sops));
+    return ko;
+  }
+
+  private static PRSpecialElement pr(String patient, String series, String... sops) {
+    Attributes dcm = new Attributes();
+    Sequence seriesSeq = dcm.newSequence(Tag.ReferencedSeriesSequence, 1);
+    Attributes seriesRef = new Attributes();
+    seriesRef.setString(Tag.SeriesInstanceUID, VR.UI, series);
+    Sequence imageSeq = seriesRef.newSequence(Tag.ReferencedImageSequence, sops.length);
+    for (String sop : sops) {
+      Attributes imageRef = new Attributes();
+      imageRef.setString(Tag.ReferencedSOPInstanceUID, VR.UI, sop);
+      imageSeq.add(imageRef);
+    }
+    seriesSeq.add(seriesRef);
+    PrDicomObject prDicomObject = Mockito.mock(PrDicomObject.class);
+    Mockito.when(prDicomObject.getDicomObject()).thenReturn(dcm);
+    PRSpecialElement pr = element(PRSpecialElement.class, patient, false);
+    Mockito.when(pr.getPrDicomObject()).thenReturn(prDicomObject);
+    return pr;
+  }
+
+  @Test
+  void elementsAreFoundBySeriesAndSop() {
+    SpecialElementReferenceIndex index = new SpecialElementReferenceIndex();
+    KOSpecialElement ko = ko("P1", false, Map.of("S1", Set.of("I1", "I2"), "S2", Set.of("I3")));
+    PRSpecialElement pr = pr("P1", "S1", "I2");
+    index.add(ko);
+    index.add(pr);
+
+    assertEquals(
+        List.of(ko), index.getReferencingElements(KOSpecialElement.class, "P1", "S2", null));
+    assertEquals(
+        List.of(ko), index.getReferencingElements(KOSpecialElement.class, "P1", "S1", "I1"));
+    assertEquals(
+        List.of(pr), index.getReferencingElements(PRSpecialElement.class, "P1", "S1", "I2"));
+    assertTrue(index.getReferencingElements(PRSpecialElement.class, "P1", "S1", "I1").isEmpty());
+    assertTrue(index.getReferencingElements(KOSpecialElement.class, "P1", "S3", null).isEmpty());
+    // Same references for another patient
+    assertTrue(index.getReferencingElements(KOSpecialElement.class, "P2", "S1", "I1").isEmpty());
+  }
+
+  @Test
+  void presentationStateWithoutImageReferenceAppliesToTheSeries() {
+    SpecialElementReferenceIndex index = new SpecialElementReferenceIndex();
+    PRSpecialElement pr = pr("P1", "S1");
+    index.add(pr);
+    assertEquals(
+        List.of(pr), index.getReferencingElements(PRSpecialElement.class, "P1", "S1", "I9"));
+  }
+
+  @Test
+  void editableElementsAreAlwaysCandidates() {
+    SpecialElementReferenceIndex index = new SpecialElementReferenceIndex();
+    KOSpecialElement editable = ko("P1", true, Map.of());
+    index.add(editable);
+    assertEquals(
+        List.of(editable), index.getReferencingElements(KOSpecialElement.class, "P1", "S1", "I1"));
+    assertEquals(
+        List.of(editable), index.getReferencingElements(KOSpecialElement.class, "P1", "S2", null));
+    assertTrue(index.getReferencingElements(KOSpecialElement.class, "P2", "S1", null).isEmpty());
+  }
+
+  @Test
+  void removedElementsAreNoLongerFound() {
+    SpecialElementReferenceIndex index = new SpecialElementReferenceIndex();
+    KOSpecialElement ko = ko("P1", false, Map.of("S1", Set.of("I1")));
+    KOSpecialElement editable = ko("P1", true, Map.of());
+    index.add(ko);
+    index.add(editable);
+    index.remove(ko);
+    index.remove(editable);
+    assertTrue(index.getReferencingElements(KOSpecialElement.class, "P1", "S1", "I1").isEmpty());
+    assertTrue(index.getReferencingElements(KOSpecialElement.class, "P1", "S1", null).isEmpty());
+  }
+
+  @Test
+  void typeIsFiltered() {
+    SpecialElementReferenceIndex index = new SpecialElementReferenceIndex();
+    RejectedKOSpecialElement rejected = element(RejectedKOSpecialElement.class, "P1", false);
+    Mockito.when(rejected.getReferencedSeriesInstanceUIDSet()).thenReturn(Set.of("S1"));
+    Mockito.when(rejected.getReferencedSOPInstanceUIDSet("S1")).thenReturn(Set.of("I1"));
+    KOSpecialElement ko = ko("P1", false, Map.of("S1", Set.of("I1")));
+    index.add(rejected);
+    index.add(ko);
+    assertEquals(
+        List.of(rejected),
+        index.getReferencingElements(RejectedKOSpecialElement.class, "P1", "S1", "I1"));
+    assertEquals(
+        2, index.getReferencingElements(AbstractKOSpecialElement.class, "P1", "S1", "I1").size());
+  }
+}
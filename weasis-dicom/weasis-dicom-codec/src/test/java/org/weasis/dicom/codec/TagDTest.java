@@ -11,16 +11,20 @@
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
 import java.util.Date;
 import org.dcm4che3.data.DatePrecision;
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.util.DateUtils;
+import org.dcm4che3.util.TagUtils;
 import org.junit.jupiter.api.Test;
 import org.weasis.core.Messages;
 import org.weasis.core.api.media.data.TagW;
@@ -245,4 +249,38 @@ void getUID() {
     uid = TagD.getUID(Level.FRAME);
     assertEquals(TagD.get(Tag.SOPInstanceUID), uid);
   }
+
+  private static int[] dictionaryTags() throws IllegalAccessException {
+    Field[] fields = Tag.class.getFields();
+    int[] ids = new int[fields.length];
+    int count = 0;
+    for (Field field : fields) {
+      if (field.getType() == int.class && Modifier.isStatic(field.getModifiers())) {
+        ids[count++] = field.getInt(null);
+      }
+    }
+    return Arrays.copyOf(ids, count);
+  }
+
+  private static TagW getFromKeyword(int tagID, String privateCreatorID) {
+    String keyword = TagD.getKeywordFromTag(tagID, privateCreatorID);
+    return keyword == null ? null : TagW.get(keyword);
+  }
+
+  @Test
+  void tagNumberLookupMatchesKeywordLookup() throws IllegalAccessException {
+    int[] ids = dictionaryTags();
+    assertTrue(ids.length > 4000);
+    for (int id : ids) {
+      assertSame(getFromKeyword(id, null), TagD.getNullable(id), () -> TagUtils.toString(id));
+    }
+    assertSame(TagD.get(Tag.PatientName), TagD.get(Tag.PatientName, null));
+    assertEquals(TagW.UnknownTag, TagD.get(0x00090010));
+
+    // Repeating groups and private tags use the keyword
+    assertSame(getFromKeyword(0x60020010, null), TagD.getNullable(0x60020010));
+    assertSame(getFromKeyword(0x50100005, null), TagD.getNullable(0x50100005));
+    String creator = "SIEMENS CSA HEADER"; // NON-NLS
+    assertSame(getFromKeyword(0x00291010, creator), TagD.getNullable(0x00291010, creator));
+  }
 }
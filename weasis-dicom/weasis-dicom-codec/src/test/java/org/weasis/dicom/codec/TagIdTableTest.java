@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.weasis.core.api.media.data.TagW;
+import org.weasis.core.api.media.data.TagW.TagType;
+
+class TagIdTableTest {
+
+  private static TagW tag(int id) {
+    return new TagW(id, "Tag" + Integer.toHexString(id), TagType.STRING); // NON-NLS
+  }
+
+  @Test
+  void findsEveryTagOfTheMap() {
+    Map<Integer, TagW> map = new HashMap<>();
+    Random random = new Random(42);
+    while (map.size() < 5000) {
+      int id = random.nextInt();
+      map.put(id, tag(id));
+    }
+    // Consecutive elements of the same group
+    for (int id = 0x00280000; id < 0x00280200; id++) {
+      map.put(id, tag(id));
+    }
+    TagIdTable table = new TagIdTable(map);
+    assertEquals(map.size(), table.size());
+    for (Map.Entry<Integer, TagW> entry : map.entrySet()) {
+      assertSame(entry.getValue(), table.get(entry.getKey()));
+    }
+    for (int i = 0; i < 10_000; i++) {
+      int id = random.nextInt();
+      assertSame(map.get(id), table.get(id));
+    }
+  }
+
+  @Test
+  void zeroIsAValidKeyAndNullValuesAreIgnored() {
+    Map<Integer, TagW> map = new HashMap<>();
+    TagW groupLength = tag(0);
+    map.put(0x00000000, groupLength);
+    map.put(0x00100010, null);
+    TagIdTable table = new TagIdTable(map);
+    assertEquals(1, table.size());
+    assertSame(groupLength, table.get(0));
+    assertNull(table.get(0x00100010));
+    assertNull(new TagIdTable(Map.of()).get(0));
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec.seg;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BrickStorageTest {
+
+  // Not a multiple of the brick size to cover the partial bricks
+  private static final int SX = 70;
+  private static final int SY = 40;
+  private static final int SZ = 35;
+
+  @Test
+  void emptyStorageAllocatesNoBrick() {
+    BrickStorage storage = new BrickStorage(SX, SY, SZ, false);
+    assertTrue(storage.isEmpty());
+    assertEquals(0, storage.get(SX - 1, SY - 1, SZ - 1));
+    assertEquals(0, storage.getAllocatedBytes());
+
+    storage.set(69, 39, 34, 3);
+    assertFalse(storage.isEmpty());
+    assertEquals(3, storage.get(69, 39, 34));
+    assertEquals(0, storage.get(68, 39, 34));
+
+    storage.set(69, 39, 34, 0);
+    assertTrue(storage.isEmpty());
+    storage.compact();
+    assertEquals(0, storage.getAllocatedBytes());
+  }
+
+  @Test
+  void uniformBricksAreCollapsed() {
+    BrickStorage storage = new BrickStorage(SX, SY, SZ, false);
+    // Fill the partial brick at the far corner (x 64..69, y 32..39, z 32..34)
+    for (int z = 32; z < SZ; z++) {
+      for (int y = 32; y < SY; y++) {
+        for (int x = 64; x < SX; x++) {
+          storage.set(x, y, z, 7);
+        }
+      }
+    }
+    storage.set(1, 1, 1, 2);
+    storage.compact();
+    assertEquals(
+        BrickStorage.BRICK_SIZE * BrickStorage.BRICK_SIZE * BrickStorage.BRICK_SIZE,
+        storage.getAllocatedBytes());
+    assertEquals(7, storage.get(66, 35, 33));
+
+    long[] counts = new long[8];
+    storage.countIds(counts);
+    assertEquals(6 * 8 * 3, counts[7]);
+    assertEquals(1, counts[2]);
+
+    // Writing into a collapsed brick restores its content
+    storage.set(65, 33, 32, 4);
+    assertEquals(4, storage.get(65, 33, 32));
+    assertEquals(7, storage.get(64, 33, 32));
+    counts = new long[8];
+    storage.countIds(counts);
+    assertEquals(6 * 8 * 3 - 1, counts[7]);
+    assertEquals(1, counts[4]);
+  }
+
+  @Test
+  void copySliceMatchesVoxels() {
+    BrickStorage storage = new BrickStorage(SX, SY, SZ, false);
+    int[] expected = new int[SX * SY];
+    int z = 33;
+    for (int y = 0; y < SY; y += 3) {
+      for (int x = 0; x < SX; x += 2) {
+        int id = 1 + (x + y) % 5;
+        storage.set(x, y, z, id);
+        expected[y * SX + x] = id;
+      }
+    }
+    storage.set(5, 5, z - 1, 9);
+    storage.compact();
+
+    int[] raster = new int[SX * SY];
+    storage.copySlice(z, raster);
+    assertArrayEquals(expected, raster);
+  }
+
+  @Test
+  void promotionKeepsTheIds() {
+    BrickStorage storage = new BrickStorage(SX, SY, SZ, false);
+    storage.set(3, 4, 5, 255);
+    storage.set(40, 20, 34, 17);
+    storage.promoteToShort();
+    assertTrue(storage.isShortMode());
+    assertEquals(255, storage.get(3, 4, 5));
+    assertEquals(17, storage.get(40, 20, 34));
+
+    storage.set(3, 4, 6, 60000);
+    assertEquals(60000, storage.get(3, 4, 6));
+    long[] counts = new long[60001];
+    storage.countIds(counts);
+    assertEquals(1, counts[255]);
+    assertEquals(1, counts[17]);
+    assertEquals(1, counts[60000]);
+  }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec.seg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.awt.Color;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.joml.Matrix4d;
+import org.joml.Vector3d;
+import org.junit.jupiter.api.Test;
+import org.opencv.core.Core;
+import org.weasis.core.ui.model.graphic.imp.seg.SegContour;
+import org.weasis.core.ui.model.graphic.imp.seg.SegRegion;
+import org.weasis.dicom.codec.DicomImageElement;
+import org.weasis.dicom.codec.seg.SegmentationVolume.VoxelToLps;
+import org.weasis.opencv.seg.Segment;
+
+class SegmentationVolumeTest {
+
+  private static Map<Integer, SegRegion<DicomImageElement>> segments(int count) {
+    Map<Integer, SegRegion<DicomImageElement>> map = new LinkedHashMap<>();
+    for (int i = 1; i <= count; i++) {
+      map.put(i, new SegRegion<>(i, "Segment " + i, Color.RED));
+    }
+    return map;
+  }
+
+  private static SegmentationVolume volume(
+      int size, double spacing, Vector3d origin, int segCount, boolean exclusive) {
+    return new SegmentationVolume(
+        size,
+        size,
+        size,
+        new Vector3d(spacing),
+        origin,
+        new Vector3d(1, 0, 0),
+        new Vector3d(0, 1, 0),
+        new Vector3d(0, 0, 1),
+        segments(segCount),
+        exclusive);
+  }
+
+  /** Overlapping spheres, one per segment. */
+  private static SegmentationVolume canonical(int size, int segCount) {
+    SegmentationVolume volume = volume(size, 1.0, new Vector3d(), segCount, false);
+    double radius = size / 3.0;
+    for (int s = 1; s <= segCount; s++) {
+      double cx = size * (0.3 + 0.4 * s / segCount);
+      double cy = size * (0.7 - 0.4 * s / segCount);
+      double cz = size / 2.0;
+      for (int z = 0; z < size; z++) {
+        for (int y = 0; y < size; y++) {
+          for (int x = 0; x < size; x++) {
+            double dx = x - cx;
+            double dy = y - cy;
+            double dz = z - cz;
+            if (dx * dx + dy * dy + dz * dz <= radius * radius) {
+              volume.addLabel(x, y, z, s);
+            }
+          }
+        }
+      }
+    }
+    return volume;
+  }
+
+  /** Finer target grid, shifted and slightly rotated around z. */
+  private static VoxelToLps targetMapping(double spacing, Vector3d origin, double angle) {
+    double cos = Math.cos(angle);
+    double sin = Math.sin(angle);
+    return (x, y, z, dst) ->
+        dst.set(
+            origin.x + (x * cos - y * sin) * spacing,
+            origin.y + (x * sin + y * cos) * spacing,
+            origin.z + z * spacing);
+  }
+
+  private static void assertSameLabels(SegmentationVolume expected, SegmentationVolume actual) {
+    for (int z = 0; z < expected.getSizeZ(); z++) {
+      for (int y = 0; y < expected.getSizeY(); y++) {
+        for (int x = 0; x < expected.getSizeX(); x++) {
+          assertEquals(
+              expected.getSegmentsAt(x, y, z),
+              actual.getSegmentsAt(x, y, z),
+              "voxel " + x + "," + y + "," + z);
+        }
+      }
+    }
+  }
+
+  @Test
+  void parallelResampleMatchesSerial() {
+    SegmentationVolume source = canonical(40, 3);
+    Vector3d origin = new Vector3d(-3.37, 2.21, -1.13);
+    VoxelToLps mapping = targetMapping(0.73, origin, 0.05);
+
+    SegmentationVolume serial = volume(60, 0.73, origin, 3, false);
+    SegmentationVolume parallel = volume(60, 0.73, origin, 3, false);
+    long expected = source.resampleIntoSerial(serial, mapping);
+    long stamped = source.resampleInto(parallel, mapping);
+
+    assertTrue(expected > 0);
+    assertEquals(expected, stamped);
+    assertSameLabels(serial, parallel);
+  }
+
+  @Test
+  void parallelResampleMatchesSerialInExclusiveTarget() {
+    SegmentationVolume source = canonical(32, 4);
+    Vector3d origin = new Vector3d(1.19, -0.41, 0.27);
+    VoxelToLps mapping = targetMapping(1.31, origin, 0.0);
+
+    SegmentationVolume serial = volume(28, 1.31, origin, 4, true);
+    SegmentationVolume parallel = volume(28, 1.31, origin, 4, true);
+    assertEquals(
+        source.resampleIntoSerial(serial, mapping), source.resampleInto(parallel, mapping));
+    assertSameLabels(serial, parallel);
+  }
+
+  @Test
+  void segmentsUnknownToTheTargetAreNotCounted() {
+    SegmentationVolume source = canonical(32, 3);
+    Vector3d origin = new Vector3d(0.47, -0.29, 0.11);
+    VoxelToLps mapping = targetMapping(0.91, origin, 0.1);
+
+    // The target does not declare the third segment
+    SegmentationVolume serial = volume(36, 0.91, origin, 2, false);
+    SegmentationVolume parallel = volume(36, 0.91, origin, 2, false);
+    long expected = source.resampleIntoSerial(serial, mapping);
+    long stamped = source.resampleInto(parallel, mapping);
+    assertEquals(expected, stamped);
+    assertSameLabels(serial, parallel);
+
+    long labelled = 0;
+    for (int z = 0; z < 36; z++) {
+      for (int y = 0; y < 36; y++) {
+        for (int x = 0; x < 36; x++) {
+          if (!parallel.getSegmentsAt(x, y, z).isEmpty()) {
+            labelled++;
+          }
+        }
+      }
+    }
+    assertTrue(labelled > 0);
+    assertEquals(labelled, stamped);
+  }
+
+  @Test
+  void stampedTargetMergesWithExistingLabels() {
+    SegmentationVolume source = canonical(24, 2);
+    Vector3d origin = new Vector3d(0.21, 0.33, 0.17);
+    VoxelToLps mapping = targetMapping(1.0, origin, 0.0);
+
+    SegmentationVolume serial = volume(24, 1.0, origin, 2, false);
+    SegmentationVolume merged = volume(24, 1.0, origin, 2, false);
+    for (int x = 0; x < 24; x++) {
+      serial.addLabel(x, 12, 12, 2);
+      merged.addLabel(x, 12, 12, 2);
+    }
+    source.resampleIntoSerial(serial, mapping);
+    source.resampleInto(merged, mapping);
+    assertSameLabels(serial, merged);
+  }
+
+  @Test
+  void sliceContoursAreCachedByPlaneAndVisibility() {
+    Map<Integer, SegRegion<DicomImageElement>> segments = segments(2);
+    SegmentationVolume volume =
+        new SegmentationVolume(
+            16,
+            16,
+            16,
+            new Vector3d(1.0),
+            new Vector3d(),
+            new Vector3d(1, 0, 0),
+            new Vector3d(0, 1, 0),
+            new Vector3d(0, 0, 1),
+            segments);
+    Vector3d ratio = new Vector3d(1.0);
+    Matrix4d transform = new Matrix4d().translation(0, 0, 8);
+
+    var contours = volume.getSliceContours(transform, 16, ratio);
+    assertSame(
+        contours,
+        volume.getSliceContours(new Matrix4d().translation(0, 0, 8 + 1.0e-9), 16, ratio));
+    assertNotSame(
+        contours, volume.getSliceContours(new Matrix4d().translation(0, 0, 9), 16, ratio));
+
+    segments.get(2).setVisible(false);
+    assertNotSame(contours, volume.getSliceContours(transform, 16, ratio));
+  }
+
+  /** The contours are traced by OpenCV: the test only runs when its native library is found. */
+  private static boolean isOpenCvAvailable() {
+    try {
+      System.loadLibrary(Core.NATIVE_LIBRARY_NAME);
+      return true;
+    } catch (UnsatisfiedLinkError e) {
+      return false;
+    }
+  }
+
+  /** The points of the contours of each segment, holes included, in the order of tracing. */
+  private static Map<Integer, List<List<Point2D>>> points(Map<Integer, List<SegContour>> contours) {
+    Map<Integer, List<List<Point2D>>> points = new TreeMap<>();
+    contours.forEach(
+        (segNum, list) -> {
+          List<List<Point2D>> segPoints = new ArrayList<>();
+          for (SegContour contour : list) {
+            contour.getSegmentList().forEach(segment -> addPoints(segment, segPoints));
+          }
+          points.put(segNum, segPoints);
+        });
+    return points;
+  }
+
+  private static Map<Integer, Long> pixelCounts(Map<Integer, List<SegContour>> contours) {
+    Map<Integer, Long> counts = new TreeMap<>();
+    contours.forEach(
+        (segNum, list) -> {
+          for (SegContour contour : list) {
+            counts.merge(segNum, (long) contour.getNumberOfPixels(), Long::sum);
+          }
+        });
+    return counts;
+  }
+
+  private static void addPoints(Segment segment, List<List<Point2D>> points) {
+    points.add(new ArrayList<>(segment));
+    for (Segment child : segment.getChildren()) {
+      addPoints(child, points);
+    }
+  }
+
+  @Test
+  void contoursTracedOnBoundingBoxesMatchFullRaster() {
+    assumeTrue(isOpenCvAvailable(), "OpenCV native library not available");
+    SegmentationVolume volume =
+        new SegmentationVolume(
+            48,
+            48,
+            48,
+            new Vector3d(1.0),
+            new Vector3d(),
+            new Vector3d(1, 0, 0),
+            new Vector3d(0, 1, 0),
+            new Vector3d(0, 0, 1),
+            segments(3));
+    for (int z = 18; z < 30; z++) {
+      for (int y = 0; y < 48; y++) {
+        for (int x = 0; x < 48; x++) {
+          // Off-origin ring with a hole, a rectangle overlapping it and touching the border
+          double d2 = (x - 30) * (x - 30) + (y - 14) * (y - 14);
+          if (d2 <= 81 && d2 > 16) {
+            volume.addLabel(x, y, z, 1);
+          }
+          if (x >= 35 && y >= 2 && y <= 9) {
+            volume.addLabel(x, y, z, 2);
+          }
+        }
+      }
+    }
+    // Not in the traced planes
+    volume.addLabel(5, 5, 40, 3);
+
+    Vector3d ratio = new Vector3d(1.0);
+    List<Matrix4d> planes =
+        List.of(
+            new Matrix4d().translation(0, 0, 24),
+            new Matrix4d().translation(3.3, -2.1, 23.6).rotateZ(0.17).rotateX(0.12));
+    for (Matrix4d plane : planes) {
+      int[] raster = volume.resliceStorageIds(plane, 64, ratio);
+      Map<Integer, List<SegContour>> cropped = volume.getSliceContours(plane, 64, ratio);
+      assertEquals(Set.of(1, 2), cropped.keySet());
+      Map<Integer, List<SegContour>> full = volume.buildContoursOnFullRaster(raster, 64, 64);
+      assertEquals(pixelCounts(full), pixelCounts(cropped));
+      assertEquals(points(full), points(cropped));
+    }
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec.seg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.joml.Vector3d;
+import org.junit.jupiter.api.Test;
+import org.weasis.core.ui.model.graphic.imp.seg.SegRegion;
+import org.weasis.dicom.codec.DicomImageElement;
+
+class SlabStampPipelineTest {
+
+  private static SegmentationVolume volume(int size, int segCount) {
+    Map<Integer, SegRegion<DicomImageElement>> map = new LinkedHashMap<>();
+    for (int i = 1; i <= segCount; i++) {
+      map.put(i, new SegRegion<>(i, "Segment " + i, Color.RED));
+    }
+    return new SegmentationVolume(
+        size,
+        size,
+        size,
+        new Vector3d(1.0),
+        new Vector3d(),
+        new Vector3d(1, 0, 0),
+        new Vector3d(0, 1, 0),
+        new Vector3d(0, 0, 1),
+        map,
+        false);
+  }
+
+  /**
+   * Synthetic multi-frame segmentation: one frame per slice and per segment (overlapping spheres),
+   * and one frame per segment crossing all the slices diagonally like an oblique frame.
+   */
+  private record SyntheticSeg(SegmentationVolume volume, int size, int segCount) {
+
+    int frameCount() {
+      return size * segCount + segCount;
+    }
+
+    SlabStampPipeline.DecodedFrame decode(int frameIndex) {
+      int axialFrames = size * segCount;
+      if (frameIndex >= axialFrames) {
+        return diagonal(frameIndex - axialFrames + 1);
+      }
+      int segNum = frameIndex / size + 1;
+      int z = frameIndex % size;
+      // "Decoding": rasterize the slice of the sphere into a mask
+      boolean[] mask = new boolean[size * size];
+      double radius = size / 3.0;
+      double cx = size * (0.3 + 0.4 * segNum / segCount);
+      double cy = size * (0.7 - 0.4 * segNum / segCount);
+      double dz = z - size / 2.0;
+      boolean any = false;
+      for (int y = 0; y < size; y++) {
+        for (int x = 0; x < size; x++) {
+          double dx = x - cx;
+          double dy = y - cy;
+          if (dx * dx + dy * dy + dz * dz <= radius * radius) {
+            mask[y * size + x] = true;
+            any = true;
+          }
+        }
+      }
+      if (!any) {
+        return null;
+      }
+      return frame(
+          z,
+          z,
+          () -> {
+            for (int i = 0; i < mask.length; i++) {
+              if (mask[i]) {
+                volume.addLabel(i % size, i / size, z, segNum);
+              }
+            }
+          });
+    }
+
+    private SlabStampPipeline.DecodedFrame diagonal(int segNum) {
+      return frame(
+          0,
+          size - 1,
+          () -> {
+            for (int i = 0; i < size; i++) {
+              volume.addLabel(i, (i + segNum) % size, i, segNum);
+            }
+          });
+    }
+
+    private static SlabStampPipeline.DecodedFrame frame(int minZ, int maxZ, Runnable stamp) {
+      return new SlabStampPipeline.DecodedFrame() {
+        @Override
+        public int minZ() {
+          return minZ;
+        }
+
+        @Override
+        public int maxZ() {
+          return maxZ;
+        }
+
+        @Override
+        public void stamp() {
+          stamp.run();
+        }
+
+        @Override
+        public void release() {
+          // Nothing to release
+        }
+      };
+    }
+  }
+
+  private static SegmentationVolume build(ForkJoinPool pool, int size, int segCount)
+      throws Exception {
+    SyntheticSeg seg = new SyntheticSeg(volume(size, segCount), size, segCount);
+    seg.volume().prepareConcurrentStamping();
+    SlabStampPipeline pipeline = new SlabStampPipeline(size);
+    pool.submit(() -> pipeline.run(seg.frameCount(), seg::decode)).get();
+    return seg.volume();
+  }
+
+  @Test
+  void parallelBuildMatchesSingleThreadBuild() throws Exception {
+    SegmentationVolume expected;
+    ForkJoinPool single = new ForkJoinPool(1);
+    try {
+      expected = build(single, 70, 3);
+    } finally {
+      single.shutdown();
+    }
+    SegmentationVolume actual = build(ForkJoinPool.commonPool(), 70, 3);
+
+    assertFalse(actual.isEmpty());
+    for (int z = 0; z < 70; z++) {
+      for (int y = 0; y < 70; y++) {
+        for (int x = 0; x < 70; x++) {
+          assertEquals(
+              expected.getSegmentsAt(x, y, z),
+              actual.getSegmentsAt(x, y, z),
+              "voxel " + x + "," + y + "," + z);
+        }
+      }
+    }
+  }
+
+  @Test
+  void framesOutsideTheVolumeAreNotStamped() {
+    AtomicInteger stamped = new AtomicInteger();
+    AtomicInteger released = new AtomicInteger();
+    new SlabStampPipeline(40)
+        .run(
+            2,
+            i ->
+                new SlabStampPipeline.DecodedFrame() {
+                  @Override
+                  public int minZ() {
+                    return i == 0 ? -5 : 40;
+                  }
+
+                  @Override
+                  public int maxZ() {
+                    return i == 0 ? -1 : 45;
+                  }
+
+                  @Override
+                  public void stamp() {
+                    stamped.incrementAndGet();
+                  }
+
+                  @Override
+                  public void release() {
+                    released.incrementAndGet();
+                  }
+                });
+    assertEquals(0, stamped.get());
+    assertEquals(2, released.get());
+  }
+
+  @Test
+  void interruptedCallerCancelsTheBuild() {
+    AtomicInteger decoded = new AtomicInteger();
+    Thread.currentThread().interrupt();
+    assertThrows(
+        CancellationException.class,
+        () ->
+            new SlabStampPipeline(32)
+                .run(
+                    100,
+                    i -> {
+                      decoded.incrementAndGet();
+                      return null;
+                    }));
+    assertFalse(Thread.interrupted());
+    assertTrue(decoded.get() < 100);
+  }
+}
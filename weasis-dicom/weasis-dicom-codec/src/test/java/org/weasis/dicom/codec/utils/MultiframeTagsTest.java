@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.codec.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.img.DicomMetaData;
+import org.junit.jupiter.api.Test;
+import org.weasis.core.api.media.data.LayeredTagMap;
+import org.weasis.core.api.media.data.SimpleTaggable;
+import org.weasis.core.api.media.data.TagW;
+import org.weasis.core.api.media.data.TagW.TagType;
+import org.weasis.dicom.codec.TagD;
+
+/**
+ * Tags of the frames of a synthetic enhanced multiframe: the frames share the tags of the instance
+ * and store only their own geometry, as done by {@code DicomMediaIO.getMediaFragmentTags}.
+ */
+class MultiframeTagsTest {
+
+  private static final int FRAMES = 3000;
+  private static final TagW[] INSTANCE_TAGS = new TagW[300];
+
+  static {
+    for (int i = 0; i < INSTANCE_TAGS.length; i++) {
+      INSTANCE_TAGS[i] = new TagW(0x7FE10000 + i, "Instance" + i, TagType.STRING); // NON-NLS
+    }
+  }
+
+  /** Builds an enhanced header with a Per-frame Functional Groups Sequence item by frame. */
+  private static DicomMetaData enhancedMultiframe(int frames) {
+    Attributes header = new Attributes();
+    header.setString(Tag.Modality, VR.CS, "MR");
+    header.setInt(Tag.NumberOfFrames, VR.IS, frames);
+    Sequence perFrame = header.newSequence(Tag.PerFrameFunctionalGroupsSequence, frames);
+    for (int i = 0; i < frames; i++) {
+      Attributes frame = new Attributes();
+      Attributes position = new Attributes();
+      position.setDouble(Tag.ImagePositionPatient, VR.DS, -120.0, -120.0, 0.5 * i);
+      frame.newSequence(Tag.PlanePositionSequence, 1).add(position);
+      Attributes orientation = new Attributes();
+      orientation.setDouble(Tag.ImageOrientationPatient, VR.DS, 1, 0, 0, 0, 1, 0);
+      frame.newSequence(Tag.PlaneOrientationSequence, 1).add(orientation);
+      Attributes measures = new Attributes();
+      measures.setDouble(Tag.PixelSpacing, VR.DS, 0.5, 0.5);
+      measures.setDouble(Tag.SliceThickness, VR.DS, 0.5);
+      frame.newSequence(Tag.PixelMeasuresSequence, 1).add(measures);
+      Attributes content = new Attributes();
+      content.setInt(Tag.InStackPositionNumber, VR.UL, i + 1);
+      frame.newSequence(Tag.FrameContentSequence, 1).add(content);
+      perFrame.add(frame);
+    }
+    return new DicomMetaData(header, UID.ExplicitVRLittleEndian);
+  }
+
+  /** The tags of the instance: the attributes of the header and the geometry of the first frame. */
+  private static Map<TagW, Object> instanceTags(DicomMetaData md) {
+    Map<TagW, Object> tags = new HashMap<>();
+    for (int i = 0; i < INSTANCE_TAGS.length; i++) {
+      tags.put(INSTANCE_TAGS[i], "value " + i); // NON-NLS
+    }
+    return writeGeometry(tags, md, 0);
+  }
+
+  private static Map<TagW, Object> writeGeometry(Map<TagW, Object> tags, DicomMetaData md, int i) {
+    SimpleTaggable taggable = new SimpleTaggable(tags);
+    if (DicomMediaUtils.writeFrameGeometry(taggable, md, i)) {
+      DicomMediaUtils.computeSlicePosition(taggable);
+    }
+    return tags;
+  }
+
+  private static void assertSameTags(Map<TagW, Object> expected, Map<TagW, Object> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (Map.Entry<TagW, Object> entry : expected.entrySet()) {
+      assertTrue(actual.containsKey(entry.getKey()), entry.getKey().toString());
+      assertTrue(
+          Objects.deepEquals(entry.getValue(), actual.get(entry.getKey())),
+          entry.getKey().toString());
+    }
+  }
+
+  @Test
+  void framesStoreOnlyTheirGeometry() {
+    DicomMetaData md = enhancedMultiframe(FRAMES);
+    Map<TagW, Object> tags = instanceTags(md);
+    LayeredTagMap.Base base = new LayeredTagMap.Base(tags);
+    assertEquals(tags.size(), base.size());
+
+    for (int i = 1; i < FRAMES; i++) {
+      LayeredTagMap frame = (LayeredTagMap) writeGeometry(new LayeredTagMap(base), md, i);
+      assertTrue(frame.isSharing(base));
+      // Position, slice position, in-stack position and instance number
+      assertTrue(frame.getOverlaySize() <= 4, "Overlay size: " + frame.getOverlaySize());
+      assertArrayEquals(
+          new double[] {-120.0, -120.0, 0.5 * i},
+          (double[]) frame.get(TagD.get(Tag.ImagePositionPatient)),
+          1e-9);
+      if (i % 250 == 1) {
+        assertSameTags(writeGeometry(new HashMap<>(tags), md, i), frame);
+      }
+    }
+    // The instance tags are not modified by the frames
+    assertSameTags(instanceTags(md), tags);
+  }
+}
@@ -464,13 +464,13 @@ public void removeHiddenSpecialElement(HiddenSpecialElement element) {
     }
 
     if (isHiddenModality(dicomSeries)) {
-      Set<HiddenSpecialElement> specialElementList =
-          HiddenSeriesManager.getInstance().series2Elements.get(seriesUID);
+      HiddenSeriesManager manager = HiddenSeriesManager.getInstance();
+      Set<HiddenSpecialElement> specialElementList = manager.series2Elements.get(seriesUID);
       if (specialElementList == null) {
         return;
       }
 
-      if (specialElementList.remove(element)) {
+      if (manager.removeHiddenElement(seriesUID, element)) {
         firePropertyChange(
             new ObservableEvent(ObservableEvent.BasicAction.UPDATE, this, null, element));
         element.dispose();
@@ -582,11 +582,11 @@ public static Collection<KOSpecialElement> getEditableKoSpecialElements(
   public static Collection<KOSpecialElement> getKoSpecialElements(
       MediaSeries<DicomImageElement> dicomSeries) {
     String patientPseudoUID = getPatientPseudoUID(dicomSeries);
-    List<KOSpecialElement> specialElementList =
-        HiddenSeriesManager.getHiddenElementsFromPatient(KOSpecialElement.class, patientPseudoUID);
-
     String referencedSeriesInstanceUID =
         TagD.getTagValue(dicomSeries, Tag.SeriesInstanceUID, String.class);
+    List<KOSpecialElement> specialElementList =
+        getReferencingElements(
+            KOSpecialElement.class, patientPseudoUID, referencedSeriesInstanceUID);
     return AbstractKOSpecialElement.getKoSpecialElements(
         specialElementList, referencedSeriesInstanceUID);
   }
@@ -594,12 +594,11 @@ public static Collection<KOSpecialElement> getKoSpecialElements(
   public static Collection<RejectedKOSpecialElement> getRejectionKoSpecialElements(
       MediaSeries<DicomImageElement> dicomSeries) {
     String patientPseudoUID = getPatientPseudoUID(dicomSeries);
-    List<RejectedKOSpecialElement> specialElementList =
-        HiddenSeriesManager.getHiddenElementsFromPatient(
-            RejectedKOSpecialElement.class, patientPseudoUID);
-
     String referencedSeriesInstanceUID =
         TagD.getTagValue(dicomSeries, Tag.SeriesInstanceUID, String.class);
+    List<RejectedKOSpecialElement> specialElementList =
+        getReferencingElements(
+            RejectedKOSpecialElement.class, patientPseudoUID, referencedSeriesInstanceUID);
     return AbstractKOSpecialElement.getRejectionKoSpecialElements(
         specialElementList, referencedSeriesInstanceUID);
   }
@@ -618,32 +617,47 @@ public static String getPatientPseudoUID(MediaSeries<DicomImageElement> dicomSer
   public static RejectedKOSpecialElement getRejectionKoSpecialElement(
       MediaSeries<DicomImageElement> dicomSeries, String sopUID, Integer dicomFrameNumber) {
     String patientPseudoUID = getPatientPseudoUID(dicomSeries);
-    List<RejectedKOSpecialElement> specialElementList =
-        HiddenSeriesManager.getHiddenElementsFromPatient(
-            RejectedKOSpecialElement.class, patientPseudoUID);
-
     String referencedSeriesInstanceUID =
         TagD.getTagValue(dicomSeries, Tag.SeriesInstanceUID, String.class);
+    if (!StringUtil.hasText(referencedSeriesInstanceUID) || sopUID == null) {
+      return null;
+    }
+    List<RejectedKOSpecialElement> specialElementList =
+        HiddenSeriesManager.getReferencingElements(
+            RejectedKOSpecialElement.class, patientPseudoUID, referencedSeriesInstanceUID, sopUID);
     return AbstractKOSpecialElement.getRejectionKoSpecialElement(
         specialElementList, referencedSeriesInstanceUID, sopUID, dicomFrameNumber);
   }
 
   public static List<PRSpecialElement> getPrSpecialElements(
       MediaSeries<DicomImageElement> dicomSeries, DicomImageElement img) {
-    String patientPseudoUID = getPatientPseudoUID(dicomSeries);
-    List<PRSpecialElement> specialElementList =
-        HiddenSeriesManager.getHiddenElementsFromPatient(PRSpecialElement.class, patientPseudoUID);
-    if (!specialElementList.isEmpty()) {
-      String referencedSeriesInstanceUID =
-          TagD.getTagValue(dicomSeries, Tag.SeriesInstanceUID, String.class);
-      String seriesUID = TagD.getTagValue(img, Tag.SeriesInstanceUID, String.class);
-      if (Objects.equals(seriesUID, referencedSeriesInstanceUID)) {
+    String referencedSeriesInstanceUID =
+        TagD.getTagValue(dicomSeries, Tag.SeriesInstanceUID, String.class);
+    String seriesUID = TagD.getTagValue(img, Tag.SeriesInstanceUID, String.class);
+    String sopUID = TagD.getTagValue(img, Tag.SOPInstanceUID, String.class);
+    if (sopUID != null && Objects.equals(seriesUID, referencedSeriesInstanceUID)) {
+      List<PRSpecialElement> specialElementList =
+          HiddenSeriesManager.getReferencingElements(
+              PRSpecialElement.class, getPatientPseudoUID(dicomSeries), seriesUID, sopUID);
+      if (!specialElementList.isEmpty()) {
         return PRSpecialElement.getPRSpecialElements(specialElementList, img);
       }
     }
     return Collections.emptyList();
   }
 
+  /**
+   * @return the KO elements referencing the series (or all the KO of the patient when the series
+   *     UID is null), the editable KO of the patient are always included
+   */
+  private static <E> List<E> getReferencingElements(
+      Class<E> clazz, String patientPseudoUID, String seriesUID) {
+    if (seriesUID == null) {
+      return HiddenSeriesManager.getHiddenElementsFromPatient(clazz, patientPseudoUID);
+    }
+    return HiddenSeriesManager.getReferencingElements(clazz, patientPseudoUID, seriesUID, null);
+  }
+
   public static <E> List<E> getSpecialElements(MediaSeriesGroup series, Class<E> clazz) {
     if (series != null && clazz != null && clazz.isAssignableFrom(clazz)) {
       List<DicomSpecialElement> elements =
@@ -1041,9 +1055,7 @@ private void handleHiddenSpecialElement(
 
     // Register hidden element
     synchronized (this) {
-      Map<String, Set<HiddenSpecialElement>> mapSeries =
-          HiddenSeriesManager.getInstance().series2Elements;
-      mapSeries.computeIfAbsent(seriesUID, _ -> new CopyOnWriteArraySet<>()).add(hiddenElement);
+      HiddenSeriesManager.getInstance().addHiddenElement(seriesUID, hiddenElement);
 
       String patientPseudoUID = (String) hiddenElement.getTagValue(TagW.PatientPseudoUID);
       if (patientPseudoUID != null) {
@@ -19,14 +19,22 @@
 import java.awt.image.Raster;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import javax.swing.BorderFactory;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JButton;
@@ -71,6 +79,7 @@
 import org.weasis.core.api.media.data.Series;
 import org.weasis.core.api.media.data.TagW;
 import org.weasis.core.api.util.FontItem;
+import org.weasis.core.api.util.ThreadUtil;
 import org.weasis.core.ui.model.GraphicModel;
 import org.weasis.core.ui.serialize.XmlSerializer;
 import org.weasis.core.util.FileUtil;
@@ -104,6 +113,9 @@
 public class LocalExport extends AbstractItemDialogPage implements ExportDicom {
   private static final Logger LOGGER = LoggerFactory.getLogger(LocalExport.class);
 
+  private static final int EXPORT_THREADS =
+      Math.clamp(Runtime.getRuntime().availableProcessors() / 2, 1, 4);
+
   public static final String LAST_DIR = "lastExportDir";
   public static final String INC_DICOMDIR = "exp.include.dicomdir";
   public static final String KEEP_INFO_DIR = "exp.keep.dir.name";
@@ -655,7 +667,9 @@ private static Attributes getUIDs(DefaultAttributeEditor editor, MediaElement dc
         Tag.SeriesInstanceUID, VR.UI, TagD.getTagValue(dcm, Tag.SeriesInstanceUID, String.class));
     uidTags.setString(
         Tag.SOPInstanceUID, VR.UI, TagD.getTagValue(dcm, Tag.SOPInstanceUID, String.class));
-    editor.apply(uidTags, null);
+    synchronized (editor) {
+      editor.apply(uidTags, null);
+    }
     return uidTags;
   }
 
@@ -697,105 +711,77 @@ protected void writeDicom(
         writer = DicomDirLoader.open(dcmdirFile);
       }
 
+      // Snapshot the checked nodes, the files are written without locking the tree
+      List<DefaultMutableTreeNode> nodes = new ArrayList<>();
       synchronized (exportTree) {
-        ArrayList<String> uids = new ArrayList<>();
-        TreePath[] paths = model.getCheckingPaths();
-        for (TreePath treePath : paths) {
+        for (TreePath treePath : model.getCheckingPaths()) {
+          nodes.add((DefaultMutableTreeNode) treePath.getLastPathComponent());
+        }
+      }
+
+      List<AttributeEditor> dicomEditors = getAttributeEditors(editor);
+      try (ExportQueue queue = new ExportQueue(writer, EXPORT_THREADS)) {
+        for (DefaultMutableTreeNode node : nodes) {
           if (task.isCancelled()) {
             return;
           }
 
-          DefaultMutableTreeNode node = (DefaultMutableTreeNode) treePath.getLastPathComponent();
           if (node.getUserObject() instanceof DicomImageElement img) {
             Attributes uidTags = getUIDs(editor, img);
             String iuid = uidTags.getString(Tag.SOPInstanceUID);
-            int index = uids.indexOf(iuid);
-            if (index == -1) {
-              uids.add(iuid);
-            } else {
+            if (!queue.addInstance(iuid)) {
               // Write only once the file for multiframe
               continue;
             }
-            if (!keepNames) {
-              iuid = makeFileIDs(iuid);
-            }
+            String fileID = keepNames ? iuid : makeFileIDs(iuid);
 
             String path = buildPath(img, keepNames, cdCompatible, node, uidTags);
             File destinationDir = new File(exportDir, path);
             destinationDir.mkdirs();
 
-            List<AttributeEditor> dicomEditors = getAttributeEditors(editor);
-            File destinationFile = new File(destinationDir, iuid);
-
+            File destinationFile = new File(destinationDir, fileID);
             DicomExportParameters dicomExportParameters =
                 new DicomExportParameters(
                     tsuid, onlyRaw, dicomEditors, jpegQuality, compressionRatio);
-            Attributes attributes = img.saveToFile(destinationFile, dicomExportParameters);
-            if (attributes != null) {
-              if (attributes.isEmpty()) {
-                attributes = img.getMediaReader().getDicomObject();
-              }
-              writeInDicomDir(writer, attributes, node, iuid, destinationFile);
-            }
+            queue.submit(
+                () -> exportFile(img, dicomExportParameters, node, fileID, destinationFile));
           } else if (node.getUserObject() instanceof DicomElement dcm) {
             Attributes uidTags = getUIDs(editor, (MediaElement) dcm);
             String iuid = uidTags.getString(Tag.SOPInstanceUID);
-            if (!keepNames) {
-              iuid = makeFileIDs(iuid);
-            }
+            String fileID = keepNames ? iuid : makeFileIDs(iuid);
 
             String path = buildPath((MediaElement) dcm, keepNames, cdCompatible, node, uidTags);
             File destinationDir = new File(exportDir, path);
             destinationDir.mkdirs();
 
-            File destinationFile = new File(destinationDir, iuid);
+            File destinationFile = new File(destinationDir, fileID);
             DicomExportParameters dicomExportParameters =
                 new DicomExportParameters(
-                    null, onlyRaw, getAttributeEditors(editor), jpegQuality, compressionRatio);
-            Attributes attributes = dcm.saveToFile(destinationFile, dicomExportParameters);
-            if (attributes != null) {
-              if (attributes.isEmpty()) {
-                attributes = dcm.getMediaReader().getDicomObject();
-              }
-              writeInDicomDir(writer, attributes, node, iuid, destinationFile);
-            }
+                    null, onlyRaw, dicomEditors, jpegQuality, compressionRatio);
+            queue.submit(
+                () -> exportFile(dcm, dicomExportParameters, node, fileID, destinationFile));
           } else if (node.getUserObject() instanceof Series) {
             MediaSeries<?> s = (MediaSeries<?>) node.getUserObject();
             if (LangUtil.nullToFalse((Boolean) s.getTagValue(TagW.ObjectToSave))) {
               Series<?> series = (Series<?>) s.getTagValue(CheckTreeModel.SourceSeriesForPR);
               if (series != null) {
-                String seriesInstanceUID = UIDUtils.createUID();
-                for (MediaElement dcm : series.getMedias(null, null)) {
-                  GraphicModel grModel = (GraphicModel) dcm.getTagValue(TagW.PresentationModel);
-                  if (grModel != null && grModel.hasSerializableGraphics()) {
-                    String path =
-                        buildPath(dcm, keepNames, cdCompatible, node, getUIDs(editor, dcm));
-                    String outputFile =
-                        buildAndWritePR(
-                            dcm,
-                            keepNames,
-                            new File(exportDir, path),
-                            writer,
-                            node,
-                            seriesInstanceUID);
-                    if (outputFile != null) {
-                      File f = new File(outputFile);
-                      DicomModel.LOADING_EXECUTOR.execute(
-                          new LoadLocalDicom(
-                              new File[] {f},
-                              false,
-                              dicomModel,
-                              HangingProtocols.OpeningViewer.ALL_PATIENTS));
-                    }
-                  }
-                }
+                // The presentation states are added to the DICOMDIR after the previous files
+                queue.flush();
+                writePresentationStates(
+                    series, keepNames, cdCompatible, exportDir, writer, node, editor);
               }
             }
           }
         }
+        queue.flush();
       }
     } catch (IOException e) {
       throw e;
+    } catch (ExecutionException e) {
+      // The export of a file failed, the DICOMDIR keeps the previous files
+      LOGGER.error("Cannot export DICOM", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
     } catch (Exception e) {
       LOGGER.error("Cannot export DICOM", e);
     } finally {
@@ -808,11 +794,117 @@ protected void writeDicom(
 
   private static List<AttributeEditor> getAttributeEditors(DefaultAttributeEditor editor) {
     if (editor.isGenerateUIDs() || editor.getTagToOverride() != null) {
-      return List.of(editor);
+      // The files are transcoded concurrently and the editor keeps the map of the new UIDs
+      AttributeEditor synchronizedEditor =
+          (data, context) -> {
+            synchronized (editor) {
+              editor.apply(data, context);
+            }
+          };
+      return List.of(synchronizedEditor);
     }
     return Collections.emptyList();
   }
 
+  record ExportedFile(
+      Attributes attributes, DefaultMutableTreeNode node, String iuid, File destinationFile) {}
+
+  private static ExportedFile exportFile(
+      DicomElement dcm,
+      DicomExportParameters params,
+      DefaultMutableTreeNode node,
+      String iuid,
+      File destinationFile) {
+    Attributes attributes = dcm.saveToFile(destinationFile, params);
+    if (attributes == null) {
+      return null;
+    }
+    if (attributes.isEmpty()) {
+      attributes = dcm.getMediaReader().getDicomObject();
+    }
+    return new ExportedFile(attributes, node, iuid, destinationFile);
+  }
+
+  /**
+   * Exports the files on a few threads. The DICOMDIR records are written only by the thread
+   * submitting the files, in the order of submission.
+   */
+  static final class ExportQueue implements AutoCloseable {
+    private final DicomDirWriter writer;
+    private final ExecutorService executor;
+    // Transcoding holds whole images in memory, keep a few files in progress
+    private final int maxPending;
+    private final Set<String> instances = new HashSet<>();
+    private final Deque<Future<ExportedFile>> pending = new ArrayDeque<>();
+
+    ExportQueue(DicomDirWriter writer, int threads) {
+      this.writer = writer;
+      this.executor = ThreadUtil.newFixedThreadPool(threads, "DICOM Export"); // NON-NLS
+      this.maxPending = 2 * threads;
+    }
+
+    /**
+     * @return false if the SOP instance has already been added
+     */
+    boolean addInstance(String iuid) {
+      return instances.add(iuid);
+    }
+
+    /** Submits the export of a file, and waits while too many files are in progress. */
+    void submit(Callable<ExportedFile> export)
+        throws IOException, InterruptedException, ExecutionException {
+      pending.add(executor.submit(export));
+      collect(maxPending);
+    }
+
+    /** Waits for all the submitted files and writes their DICOMDIR records. */
+    void flush() throws IOException, InterruptedException, ExecutionException {
+      collect(0);
+    }
+
+    private void collect(int max) throws IOException, InterruptedException, ExecutionException {
+      while (pending.size() > max) {
+        ExportedFile file = pending.removeFirst().get();
+        if (file != null) {
+          writeInDicomDir(
+              writer, file.attributes(), file.node(), file.iuid(), file.destinationFile());
+        }
+      }
+    }
+
+    @Override
+    public void close() {
+      pending.forEach(f -> f.cancel(true));
+      executor.close();
+    }
+  }
+
+  private void writePresentationStates(
+      Series<?> series,
+      boolean keepNames,
+      boolean cdCompatible,
+      File exportDir,
+      DicomDirWriter writer,
+      DefaultMutableTreeNode node,
+      DefaultAttributeEditor editor) {
+    String seriesInstanceUID = UIDUtils.createUID();
+    for (MediaElement dcm : series.getMedias(null, null)) {
+      GraphicModel grModel = (GraphicModel) dcm.getTagValue(TagW.PresentationModel);
+      if (grModel != null && grModel.hasSerializableGraphics()) {
+        String path = buildPath(dcm, keepNames, cdCompatible, node, getUIDs(editor, dcm));
+        String outputFile =
+            buildAndWritePR(
+                dcm, keepNames, new File(exportDir, path), writer, node, seriesInstanceUID);
+        if (outputFile != null) {
+          File f = new File(outputFile);
+          DicomModel.LOADING_EXECUTOR.execute(
+              new LoadLocalDicom(
+                  new File[] {f}, false, dicomModel, HangingProtocols.OpeningViewer.ALL_PATIENTS));
+        }
+      }
+    }
+  }
+
   public static String buildAndWritePR(
       MediaElement img,
       boolean keepNames,
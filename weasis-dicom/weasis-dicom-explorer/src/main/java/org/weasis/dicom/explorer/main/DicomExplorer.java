@@ -1421,12 +1421,15 @@ public void changingViewContentEvent(SeriesViewerEvent event) {
             && !getSelectionList().isOpeningSeries()
             && paneManager.containsSeriesInPatient(selectedPatient, s)) {
           SeriesPane p = paneManager.getSeriesPane(s);
-          if (p != null) {
+          StudyPane studyPane = paneManager.getStudyPane(paneManager.getStudyForSeries(s));
+          // The series pane may not be realized, its bounds are given by the study grid
+          Rectangle paneBound =
+              studyPane == null ? null : studyPane.getSeriesBounds(p, selectedPatient);
+          if (paneBound != null) {
             JViewport vp = thumbnailView.getViewport();
             Rectangle bound = vp.getViewRect();
-            Point ptmin = SwingUtilities.convertPoint(p, new Point(0, 0), selectedPatient);
-            Point ptmax =
-                SwingUtilities.convertPoint(p, new Point(0, p.getHeight()), selectedPatient);
+            Point ptmin = paneBound.getLocation();
+            Point ptmax = new Point(paneBound.x, paneBound.y + paneBound.height);
             if (!bound.contains(ptmin.x, ptmin.y) || !bound.contains(ptmax.x, ptmax.y)) {
               Point pt = vp.getViewPosition();
               pt.y = ptmin.y + (ptmax.y - ptmin.y) / 2;
@@ -17,13 +17,19 @@
 import org.weasis.core.api.media.data.MediaSeriesGroup;
 import org.weasis.dicom.codec.DicomSeries;
 import org.weasis.dicom.explorer.*;
+import org.weasis.dicom.explorer.main.VirtualThumbnailGrid.CellPool;
 
 public class DicomPaneManager {
 
+  // Idle series cells kept for reuse, more than the cells of a tall viewport with small thumbnails
+  private static final int MAX_IDLE_SERIES_CELLS = 128;
+
   private final HashMap<MediaSeriesGroup, List<StudyPane>> patient2study = new HashMap<>();
   private final HashMap<MediaSeriesGroup, List<SeriesPane>> study2series = new HashMap<>();
 
   private final DicomExplorer explorer;
+  private final CellPool<SeriesCell> seriesCells =
+      new CellPool<>(SeriesCell::new, MAX_IDLE_SERIES_CELLS);
 
   public DicomPaneManager(DicomExplorer explorer) {
     this.explorer = explorer;
@@ -83,7 +89,7 @@ public StudyPane getStudyPane(MediaSeriesGroup study) {
   public StudyPane createStudyPaneInstance(MediaSeriesGroup study, int[] position) {
     StudyPane studyPane = getStudyPane(study);
     if (studyPane == null) {
-      studyPane = new StudyPane(study);
+      studyPane = new StudyPane(study, seriesCells);
       MediaSeriesGroup patient = getPatientForStudy(study);
       if (patient != null) {
         List<StudyPane> studies = getStudyList(patient);
@@ -254,11 +260,9 @@ public void removeSeriesPane(MediaSeriesGroup series) {
             model.removeStudy(study);
             break;
           }
-          se.removeAll();
-
           StudyPane studyPane = getStudyPane(study);
           if (studyPane != null && studyPane.isSeriesVisible(series)) {
-            studyPane.remove(se);
+            studyPane.removePane(se);
             studyPane.revalidate();
             studyPane.repaint();
           }
@@ -352,5 +356,6 @@ public boolean hasVisibleStudies(MediaSeriesGroup patient) {
   public void dispose() {
     patient2study.clear();
     study2series.clear();
+    seriesCells.clear();
   }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.explorer.main;
+
+import java.awt.Dimension;
+import java.awt.font.FontRenderContext;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingConstants;
+import net.miginfocom.swing.MigLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.weasis.core.api.gui.util.GuiUtils;
+import org.weasis.core.api.media.data.SeriesThumbnail;
+import org.weasis.core.api.util.FontItem;
+import org.weasis.core.util.StringUtil;
+
+/**
+ * Component displaying the thumbnail and the description of a {@link SeriesPane}. The cells are
+ * recycled by the {@link VirtualThumbnailGrid} of the studies: a cell scrolled out of view is
+ * unbound from its series, gives back the thumbnail component and is bound to another series.
+ */
+final class SeriesCell extends JPanel {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SeriesCell.class);
+
+  private static final int LABEL_GAP = 1;
+  private static final String LAYOUT_CONSTRAINTS = "wrap 1, insets 0, gapy " + LABEL_GAP + "lp";
+  private static final String COLUMN_CONSTRAINTS = "[center]";
+
+  private final JLabel label;
+  private SeriesPane seriesPane;
+  private SeriesThumbnail thumbnail;
+  private int labelSize;
+
+  SeriesCell() {
+    super(new MigLayout(LAYOUT_CONSTRAINTS, COLUMN_CONSTRAINTS));
+    setFocusable(false);
+    this.label = new JLabel(StringUtil.EMPTY_STRING, SwingConstants.CENTER);
+    label.setFont(FontItem.MINI.getFont());
+    label.setFocusable(false);
+    add(label);
+  }
+
+  /**
+   * Displays a series in this cell.
+   *
+   * @param pane the series to display
+   */
+  void bind(SeriesPane pane) {
+    unbind();
+    this.seriesPane = pane;
+    pane.setCell(this);
+    updateContent();
+  }
+
+  /** Removes the thumbnail of the series from this cell and unloads its image. */
+  void unbind() {
+    if (seriesPane != null) {
+      seriesPane.setCell(null);
+      seriesPane = null;
+    }
+    setThumbnail(null);
+  }
+
+  /**
+   * @return the series displayed by this cell, or null
+   */
+  SeriesPane getSeriesPane() {
+    return seriesPane;
+  }
+
+  /** Displays the current thumbnail, description, size and selection state of the series. */
+  void updateContent() {
+    if (seriesPane == null) {
+      return;
+    }
+    setThumbnail(seriesPane.getOrCreateThumbnail());
+    updateSize(seriesPane.getCurrentThumbnailSize());
+    updateText(seriesPane.getSeriesDescription());
+    updateSelection(seriesPane.isSelected());
+    revalidate();
+    repaint();
+  }
+
+  private void setThumbnail(SeriesThumbnail newThumbnail) {
+    if (newThumbnail == thumbnail) {
+      return;
+    }
+    if (thumbnail != null) {
+      if (thumbnail.getParent() == this) {
+        remove(thumbnail);
+      }
+      thumbnail.releaseImage();
+    }
+    thumbnail = newThumbnail;
+    if (thumbnail != null) {
+      add(thumbnail, 0);
+    }
+  }
+
+  /**
+   * Updates the thumbnail size and the label size.
+   *
+   * @param thumbnailSize the thumbnail size
+   */
+  void updateSize(int thumbnailSize) {
+    if (thumbnail != null) {
+      thumbnail.setThumbnailSize(thumbnailSize);
+    }
+    if (labelSize == thumbnailSize) {
+      return;
+    }
+    try {
+      FontRenderContext frc = new FontRenderContext(null, false, false);
+      int width = GuiUtils.getScaleLength(thumbnailSize);
+      int height =
+          (int) Math.ceil(label.getFont().getStringBounds("0", frc).getHeight())
+              + GuiUtils.getScaleLength(LABEL_GAP);
+
+      Dimension dimension = new Dimension(width, height);
+      label.setPreferredSize(dimension);
+      label.setMaximumSize(dimension);
+      labelSize = thumbnailSize;
+    } catch (Exception e) {
+      LOGGER.warn("Error updating label size of thumbnail: {}", thumbnailSize, e);
+    }
+    revalidate();
+    repaint();
+  }
+
+  void updateText(String description) {
+    label.setText(description);
+  }
+
+  void updateSelection(boolean selected) {
+    setBackground(SeriesSelectionModel.getPaneBackground(selected));
+    label.setForeground(SeriesSelectionModel.getPaneForeground(selected));
+  }
+}
@@ -9,10 +9,6 @@
  */
 package org.weasis.dicom.explorer.main;
 
-import com.formdev.flatlaf.ui.FlatUIUtils;
-import java.awt.Color;
-import java.awt.Dimension;
-import java.awt.font.FontRenderContext;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -20,16 +16,13 @@
 import java.util.concurrent.FutureTask;
 import java.util.function.Function;
 import javax.swing.*;
-import net.miginfocom.swing.MigLayout;
 import org.dcm4che3.data.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.weasis.core.api.gui.util.GuiExecutor;
-import org.weasis.core.api.gui.util.GuiUtils;
 import org.weasis.core.api.media.data.MediaSeriesGroup;
 import org.weasis.core.api.media.data.SeriesThumbnail;
 import org.weasis.core.api.media.data.TagW;
-import org.weasis.core.api.util.FontItem;
 import org.weasis.core.api.util.ResourceUtil;
 import org.weasis.core.util.StringUtil;
 import org.weasis.dicom.codec.DicomSeries;
@@ -38,61 +31,45 @@
 import org.weasis.dicom.explorer.DicomModel;
 import org.weasis.dicom.explorer.wado.LoadSeries;
 
-public class SeriesPane extends JPanel {
+/**
+ * Series of a study in the explorer. It is not a component: the series is displayed by a {@link
+ * SeriesCell} only when it comes close to the visible area, the cells being recycled by the {@link
+ * VirtualThumbnailGrid} of the study.
+ */
+public class SeriesPane {
   private static final Logger LOGGER = LoggerFactory.getLogger(SeriesPane.class);
 
-  private static final int LABEL_GAP = 1;
-  private static final String LAYOUT_CONSTRAINTS = "wrap 1, insets 0, gapy " + LABEL_GAP + "lp";
-  private static final String COLUMN_CONSTRAINTS = "[center]";
-
   private final DicomSeries dicomSeries;
-  private final JLabel label;
   private final DicomModel model;
-  private SeriesThumbnail thumbnail;
   private int currentThumbnailSize;
+  private boolean selected;
+  private SeriesCell cell;
 
   public SeriesPane(DicomSeries dicomSeries, DicomModel model) {
     this.dicomSeries = Objects.requireNonNull(dicomSeries);
     this.model = Objects.requireNonNull(model);
-    this.label = createDescriptionLabel();
-
-    initializeLayout();
-    initializeComponents();
+    this.currentThumbnailSize = SeriesThumbnail.getThumbnailSizeFromPreferences();
   }
 
-  private void initializeLayout() {
-    setLayout(new MigLayout(LAYOUT_CONSTRAINTS, COLUMN_CONSTRAINTS));
-    setBackground(FlatUIUtils.getUIColor(SeriesSelectionModel.BACKGROUND, Color.LIGHT_GRAY));
-    setFocusable(false);
+  /**
+   * @return true if the series is currently displayed by a cell
+   */
+  public boolean isRealized() {
+    return cell != null;
   }
 
-  private void initializeComponents() {
-    currentThumbnailSize = SeriesThumbnail.getThumbnailSizeFromPreferences();
-
-    thumbnail = getOrCreateThumbnail();
-    if (thumbnail != null) {
-      add(thumbnail);
-    }
-    updateSize(currentThumbnailSize);
-    add(label);
+  void setCell(SeriesCell cell) {
+    this.cell = cell;
   }
 
+  /** Displays the thumbnail of the series again, e.g. after it has been rebuilt. */
   public void updateThumbnail() {
-    SeriesThumbnail newThumb = (SeriesThumbnail) dicomSeries.getTagValue(TagW.Thumbnail);
-    if (newThumb != this.thumbnail) {
-      this.thumbnail = newThumb;
-      removeAll();
-      if (this.thumbnail != null) {
-        add(this.thumbnail);
-      }
-      add(label);
-      updateSize(currentThumbnailSize);
-      revalidate();
-      repaint();
+    if (cell != null) {
+      cell.updateContent();
     }
   }
 
-  private SeriesThumbnail getOrCreateThumbnail() {
+  SeriesThumbnail getOrCreateThumbnail() {
     SeriesThumbnail thumb = (SeriesThumbnail) dicomSeries.getTagValue(TagW.Thumbnail);
     if (thumb == null) {
       thumb = createThumbnail(dicomSeries, model, currentThumbnailSize);
@@ -103,15 +80,7 @@ private SeriesThumbnail getOrCreateThumbnail() {
     return thumb;
   }
 
-  private JLabel createDescriptionLabel() {
-    String description = getSeriesDescription();
-    JLabel descLabel = new JLabel(description, SwingConstants.CENTER);
-    descLabel.setFont(FontItem.MINI.getFont());
-    descLabel.setFocusable(false);
-    return descLabel;
-  }
-
-  private String getSeriesDescription() {
+  String getSeriesDescription() {
     String desc = TagD.getTagValue(dicomSeries, Tag.SeriesDescription, String.class);
     return desc == null ? StringUtil.EMPTY_STRING : desc;
   }
@@ -127,43 +96,14 @@ public void updateSize(int thumbnailSize) {
       return;
     }
 
-    // Only update if size has changed
-    if (currentThumbnailSize == thumbnailSize
-        && label.getMaximumSize() != null
-        && label.getMaximumSize().width == thumbnailSize) {
-      return;
-    }
-
     currentThumbnailSize = thumbnailSize;
-    updateThumbnailSize(thumbnailSize);
-    updateLabelSize(thumbnailSize);
-    SwingUtilities.invokeLater(
-        () -> {
-          revalidate();
-          repaint();
-        });
-  }
-
-  private void updateThumbnailSize(int thumbnailSize) {
-    SeriesThumbnail thumb = (SeriesThumbnail) dicomSeries.getTagValue(TagW.Thumbnail);
-    if (thumb != null) {
-      thumb.setThumbnailSize(thumbnailSize);
-    }
-  }
-
-  private void updateLabelSize(int thumbnailSize) {
-    try {
-      FontRenderContext frc = new FontRenderContext(null, false, false);
-      int width = GuiUtils.getScaleLength(thumbnailSize);
-      int height =
-          (int) Math.ceil(label.getFont().getStringBounds("0", frc).getHeight())
-              + GuiUtils.getScaleLength(LABEL_GAP);
-
-      Dimension dimension = new Dimension(width, height);
-      label.setPreferredSize(dimension);
-      label.setMaximumSize(dimension);
-    } catch (Exception e) {
-      LOGGER.warn("Error updating label size of thumbnail: {}", thumbnailSize, e);
+    if (cell != null) {
+      cell.updateSize(thumbnailSize);
+    } else {
+      SeriesThumbnail thumb = (SeriesThumbnail) dicomSeries.getTagValue(TagW.Thumbnail);
+      if (thumb != null) {
+        thumb.setThumbnailSize(thumbnailSize);
+      }
     }
   }
 
@@ -173,7 +113,28 @@ private void updateLabelSize(int thumbnailSize) {
    */
   public void updateText() {
     String description = getSeriesDescription();
-    SwingUtilities.invokeLater(() -> label.setText(description));
+    SwingUtilities.invokeLater(
+        () -> {
+          if (cell != null) {
+            cell.updateText(description);
+          }
+        });
+  }
+
+  /**
+   * Sets the selection state, which is displayed by the cell of the series when it is realized.
+   *
+   * @param selected true if the series is selected
+   */
+  public void setSelected(boolean selected) {
+    this.selected = selected;
+    if (cell != null) {
+      cell.updateSelection(selected);
+    }
+  }
+
+  public boolean isSelected() {
+    return selected;
   }
 
   /**
@@ -190,15 +151,6 @@ public DicomSeries getDicomSeries() {
     return dicomSeries;
   }
 
-  /**
-   * Gets the label used for displaying the series description.
-   *
-   * @return the JLabel containing the series description
-   */
-  public JLabel getLabel() {
-    return label;
-  }
-
   public DicomModel getModel() {
     return model;
   }
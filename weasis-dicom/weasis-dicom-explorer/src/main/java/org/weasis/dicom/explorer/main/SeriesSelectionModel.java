@@ -11,7 +11,6 @@
 
 import com.formdev.flatlaf.ui.FlatUIUtils;
 import java.awt.Color;
-import java.awt.Container;
 import java.awt.Toolkit;
 import java.awt.event.InputEvent;
 import java.util.*;
@@ -19,6 +18,7 @@
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.swing.*;
+import org.weasis.core.api.gui.util.GuiExecutor;
 import org.weasis.core.api.media.data.*;
 import org.weasis.core.ui.editor.ViewerOpenOptions;
 import org.weasis.core.ui.editor.ViewerPluginBuilder;
@@ -480,31 +480,36 @@ private void updateSeriesVisualState(DicomSeries series, boolean selected) {
 
     SwingUtilities.invokeLater(
         () -> {
-          Optional<Thumbnail> thumbnail = getThumbnailForSeries(series);
-          thumbnail.ifPresent(thumb -> updateThumbnailVisualState(thumb, selected));
+          // The cell of the series displays the state when it is realized
+          SeriesPane pane = explorer.getPaneManager().getSeriesPane(series);
+          if (pane != null) {
+            pane.setSelected(selected);
+          } else {
+            Optional<Thumbnail> thumbnail = getThumbnailForSeries(series);
+            thumbnail.ifPresent(thumb -> updateThumbnailVisualState(thumb, selected));
+          }
         });
   }
 
   /** Updates the visual state of a thumbnail. */
   private void updateThumbnailVisualState(Thumbnail thumbnail, boolean selected) {
-    Container parent = thumbnail.getParent();
-    if (!(parent instanceof JPanel)) {
-      return;
+    if (thumbnail.getParent() instanceof JPanel parent) {
+      parent.setBackground(getPaneBackground(selected));
     }
+  }
 
-    Color background =
-        selected
-            ? FlatUIUtils.getUIColor(SELECTION_BACKGROUND, DEFAULT_SELECTION_BACKGROUND)
-            : FlatUIUtils.getUIColor(BACKGROUND, DEFAULT_BACKGROUND);
+  /** Background color of the pane of a series. */
+  static Color getPaneBackground(boolean selected) {
+    return selected
+        ? FlatUIUtils.getUIColor(SELECTION_BACKGROUND, DEFAULT_SELECTION_BACKGROUND)
+        : FlatUIUtils.getUIColor(BACKGROUND, DEFAULT_BACKGROUND);
+  }
 
-    Color foreground =
-        selected
-            ? FlatUIUtils.getUIColor(SELECTION_FOREGROUND, DEFAULT_SELECTION_FOREGROUND)
-            : FlatUIUtils.getUIColor(FOREGROUND, DEFAULT_FOREGROUND);
-    parent.setBackground(background);
-    if (parent instanceof SeriesPane pane) {
-      pane.getLabel().setForeground(foreground);
-    }
+  /** Foreground color of the description of a series. */
+  static Color getPaneForeground(boolean selected) {
+    return selected
+        ? FlatUIUtils.getUIColor(SELECTION_FOREGROUND, DEFAULT_SELECTION_FOREGROUND)
+        : FlatUIUtils.getUIColor(FOREGROUND, DEFAULT_FOREGROUND);
   }
 
   /** Gets the thumbnail for a series. */
@@ -522,13 +527,22 @@ private void requestFocusForSeries(DicomSeries series) {
     if (series == null) {
       return;
     }
-    getThumbnailForSeries(series)
-        .ifPresent(
-            thumbnail -> {
-              if (!thumbnail.hasFocus() && thumbnail.isRequestFocusEnabled()) {
-                SwingUtilities.invokeLater(thumbnail::requestFocus);
-              }
-            });
+    DicomPaneManager paneManager = explorer.getPaneManager();
+    StudyPane studyPane = paneManager.getStudyPane(paneManager.getStudyForSeries(series));
+    GuiExecutor.execute(
+        () -> {
+          // The thumbnail is displayed only once the scroll has realized the series
+          if (studyPane != null) {
+            studyPane.scrollToSeries(series);
+          }
+          getThumbnailForSeries(series)
+              .ifPresent(
+                  thumbnail -> {
+                    if (!thumbnail.hasFocus() && thumbnail.isRequestFocusEnabled()) {
+                      SwingUtilities.invokeLater(thumbnail::requestFocus);
+                    }
+                  });
+        });
   }
 
   /** Updates selection anchors after a series is removed. */
@@ -12,6 +12,7 @@
 import java.awt.Component;
 import java.awt.Container;
 import java.awt.Insets;
+import java.awt.Rectangle;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.util.List;
@@ -24,10 +25,14 @@
 import org.weasis.core.api.gui.util.GuiUtils;
 import org.weasis.core.api.media.data.MediaSeriesGroup;
 import org.weasis.core.api.media.data.SeriesThumbnail;
+import org.weasis.dicom.explorer.main.VirtualThumbnailGrid.CellPool;
 
 /**
  * A panel component that displays a DICOM study and manages its associated series panes. This
- * component provides layout management.
+ * component provides layout management. The series panes are laid out in a {@link
+ * VirtualThumbnailGrid}: only the series near the viewport are displayed, by cells recycled from a
+ * pool shared by the study panes, so that a patient with thousands of series remains fast to build
+ * and to scroll.
  */
 public class StudyPane extends JPanel {
 
@@ -39,7 +44,7 @@ public class StudyPane extends JPanel {
   private static final int BORDER_INSET = 3; // study pane empty border left/right
   private static final int SEPARATION = 4; // gap kept between the last column and the scrollbar
 
-  private final JPanel subPanel;
+  private final VirtualThumbnailGrid<SeriesPane, SeriesCell> subPanel;
   private final MediaSeriesGroup dicomStudy;
   private final TitledBorder titleBorder;
   private final ComponentResizeHandler resizeHandler;
@@ -48,15 +53,17 @@ public class StudyPane extends JPanel {
    * Creates a new StudyPane for the specified DICOM study.
    *
    * @param dicomStudy the DICOM study to display, must not be null
+   * @param seriesCells the pool of the cells displaying the series
    * @throws IllegalArgumentException if dicomStudy is null
    */
-  public StudyPane(MediaSeriesGroup dicomStudy) {
+  StudyPane(MediaSeriesGroup dicomStudy, CellPool<SeriesCell> seriesCells) {
     super(new MigLayout(LAYOUT_CONSTRAINTS, COLUMN_CONSTRAINTS));
 
     this.dicomStudy = Objects.requireNonNull(dicomStudy);
     // Sub-panel padding uses a Swing border (measurable via getInsets), not MigLayout "lp" insets,
     // so the dock width can reserve exactly one column at any UI scale.
-    this.subPanel = new JPanel(new MigLayout("insets 0, gap " + GAP + " " + GAP + ", flowx"));
+    this.subPanel =
+        new VirtualThumbnailGrid<>(GAP, seriesCells, SeriesCell::bind, SeriesCell::unbind);
     this.subPanel.setBorder(GuiUtils.getEmptyBorder(SUB_PANEL_INSET));
     this.titleBorder = GuiUtils.getTitledBorder(dicomStudy.toString());
     this.resizeHandler = new ComponentResizeHandler();
@@ -97,10 +104,10 @@ public static int getHorizontalChrome(Component c) {
    * @return the one-column width in device pixels, or 0 if the study has no series pane yet
    */
   public int getSingleColumnWidth() {
-    if (subPanel.getComponentCount() == 0) {
+    if (subPanel.getItemCount() == 0) {
       return 0;
     }
-    int itemWidth = subPanel.getComponent(0).getPreferredSize().width;
+    int itemWidth = subPanel.getCellSize().width;
     Insets sub = subPanel.getInsets();
     Insets study = getInsets();
     return itemWidth + sub.left + sub.right + study.left + study.right;
@@ -109,46 +116,53 @@ public int getSingleColumnWidth() {
   @Override
   public void remove(int index) {
     if (isValidIndex(index)) {
-      subPanel.remove(index);
+      subPanel.removeItem(subPanel.getItems().get(index));
       refreshLayoutAsync();
     }
   }
 
   @Override
   public void remove(Component comp) {
-    if (comp != null && subPanel.isAncestorOf(comp)) {
-      subPanel.remove(comp);
+    if (comp instanceof SeriesCell cell && cell.getSeriesPane() != null) {
+      removePane(cell.getSeriesPane());
+    }
+  }
+
+  /**
+   * Removes a series pane from this study pane.
+   *
+   * @param seriesPane the series pane to remove
+   */
+  public void removePane(SeriesPane seriesPane) {
+    if (subPanel.removeItem(seriesPane)) {
       refreshLayoutAsync();
     }
   }
 
   @Override
   public void removeAll() {
-    subPanel.removeAll();
+    subPanel.clearItems();
   }
 
   /** Refreshes the layout of the sub-panel to accommodate component changes. */
   public void refreshLayout() {
-    if (subPanel.getLayout() instanceof MigLayout migLayout) {
-      int width = subPanel.getWidth();
-      Container parent = SwingUtilities.getAncestorOfClass(JScrollPane.class, this);
-      if (parent instanceof JScrollPane scrollPane) {
-        width = scrollPane.getViewport().getWidth();
-        Insets insets = getInsets();
-        width -= (insets.left + insets.right);
-      }
+    int width = subPanel.getWidth();
+    Container parent = SwingUtilities.getAncestorOfClass(JScrollPane.class, this);
+    if (parent instanceof JScrollPane scrollPane) {
+      width = scrollPane.getViewport().getWidth();
+      Insets insets = getInsets();
+      width -= (insets.left + insets.right);
+    }
 
-      // Exclude the sub-panel padding (and a small separation) so the last column and the study
-      // border never extend under the vertical scrollbar
-      Insets subInsets = subPanel.getInsets();
-      width -= subInsets.left + subInsets.right + GuiUtils.getScaleLength(SEPARATION);
+    // Exclude the sub-panel padding (and a small separation) so the last column and the study
+    // border never extend under the vertical scrollbar
+    Insets subInsets = subPanel.getInsets();
+    width -= subInsets.left + subInsets.right + GuiUtils.getScaleLength(SEPARATION);
 
-      if (width > 0 && subPanel.getComponentCount() > 0) {
-        int itemWidth = subPanel.getComponent(0).getPreferredSize().width;
-        int count = (width + GAP) / (itemWidth + GAP);
-        migLayout.setLayoutConstraints(
-            "insets 0, gap " + GAP + " " + GAP + ", flowx, wrap " + Math.max(1, count));
-      }
+    if (width > 0 && subPanel.getItemCount() > 0) {
+      int itemWidth = subPanel.getCellSize().width;
+      int count = (width + GAP) / (itemWidth + GAP);
+      subPanel.setColumns(Math.max(1, count));
     }
   }
 
@@ -221,11 +235,7 @@ public void addPane(SeriesPane seriesPane, int index, int thumbnailSize) {
       return;
     }
     seriesPane.updateSize(thumbnailSize);
-    if (index >= 0 && index <= subPanel.getComponentCount()) {
-      subPanel.add(seriesPane, index);
-    } else {
-      subPanel.add(seriesPane);
-    }
+    subPanel.addItem(seriesPane, index);
     updateText();
   }
 
@@ -236,7 +246,7 @@ public void addPane(SeriesPane seriesPane, int index, int thumbnailSize) {
    */
   public void addPane(SeriesPane seriesPane) {
     int thumbnailSize = SeriesThumbnail.getThumbnailSizeFromPreferences();
-    addPane(seriesPane, subPanel.getComponentCount(), thumbnailSize);
+    addPane(seriesPane, subPanel.getItemCount(), thumbnailSize);
   }
 
   /**
@@ -295,17 +305,52 @@ public void updateThumbnailSize(int thumbnailSize) {
     }
 
     getSeriesPaneStream().forEach(seriesPane -> seriesPane.updateSize(thumbnailSize));
+    subPanel.invalidateCellSize();
     refreshLayoutAsync();
   }
 
+  /**
+   * Gets the bounds of a series pane, whether or not it is currently realized.
+   *
+   * @param seriesPane the series pane
+   * @param target the component in which coordinates the bounds are returned
+   * @return the bounds of the series pane, or null if it is not displayed in this study pane
+   */
+  public Rectangle getSeriesBounds(SeriesPane seriesPane, Component target) {
+    Rectangle bounds = subPanel.getCellBounds(seriesPane);
+    if (bounds == null || target == null) {
+      return bounds;
+    }
+    return SwingUtilities.convertRectangle(subPanel, bounds, target);
+  }
+
+  /**
+   * Scrolls the enclosing viewport to the series and realizes its pane, e.g. before giving the
+   * focus to its thumbnail.
+   *
+   * @param series the series to show
+   * @return true if the series is displayed in this study pane
+   */
+  public boolean scrollToSeries(MediaSeriesGroup series) {
+    Optional<SeriesPane> pane =
+        getSeriesPaneStream().filter(seriesPane -> seriesPane.isSeries(series)).findFirst();
+    if (pane.isEmpty()) {
+      return false;
+    }
+    Rectangle bounds = subPanel.getCellBounds(pane.get());
+    if (bounds != null) {
+      subPanel.scrollRectToVisible(bounds);
+      subPanel.updateRealizedItems();
+    }
+    return true;
+  }
+
   private Stream<SeriesPane> getSeriesPaneStream() {
-    return Stream.of(subPanel.getComponents())
-        .filter(SeriesPane.class::isInstance)
-        .map(SeriesPane.class::cast);
+    return subPanel.getItems().stream();
   }
 
   private boolean isValidIndex(int index) {
-    return index >= 0 && index < subPanel.getComponentCount();
+    return index >= 0 && index < subPanel.getItemCount();
   }
 
   private class ComponentResizeHandler extends ComponentAdapter {
@@ -0,0 +1,440 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.explorer.main;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Insets;
+import java.awt.LayoutManager;
+import java.awt.Rectangle;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+import javax.swing.event.ChangeListener;
+
+/**
+ * Grid of cells of the same size where only the items inside the viewport of the enclosing scroll
+ * pane (plus a margin of {@link #MARGIN_ROWS} rows) are displayed by a child component. The grid
+ * keeps the full list of items to compute its preferred size and the position of every cell, so
+ * that the scroll bar behaves as if all the items were laid out.
+ *
+ * <p>The cell components are taken from a {@link CellPool}, which can be shared by several grids.
+ * An item entering the realized rows is given to the {@code binder} with a cell, and the cell is
+ * given to the {@code unbinder} and back to the pool when the item leaves them. The number of
+ * components depends on the size of the viewport, not on the number of items. All the methods
+ * must be called from the EDT.
+ *
+ * @param <T> the type of the items
+ * @param <C> the type of the cell components
+ */
+public class VirtualThumbnailGrid<T, C extends JComponent> extends JPanel {
+
+  /** Number of rows realized above and below the viewport. */
+  public static final int MARGIN_ROWS = 2;
+
+  private final List<T> items = new ArrayList<>();
+  private final Map<T, C> realized = new IdentityHashMap<>();
+  private final CellPool<C> pool;
+  private final BiConsumer<C, T> binder;
+  private final Consumer<C> unbinder;
+  private final int gap;
+  private final ChangeListener viewportListener = _ -> updateRealizedItems();
+  private JViewport viewport;
+  private int columns = 1;
+  private Dimension cellSize;
+  private boolean updatePending;
+
+  /**
+   * @param gap the horizontal and vertical gap between the cells
+   * @param pool the pool of the cell components
+   * @param binder called to display an item in a cell before the cell is added to the grid
+   * @param unbinder called after a cell is removed from the grid, before being reused
+   */
+  public VirtualThumbnailGrid(
+      int gap, CellPool<C> pool, BiConsumer<C, T> binder, Consumer<C> unbinder) {
+    this.gap = Math.max(0, gap);
+    this.pool = Objects.requireNonNull(pool);
+    this.binder = Objects.requireNonNull(binder);
+    this.unbinder = Objects.requireNonNull(unbinder);
+    setLayout(new CellLayout());
+  }
+
+  public List<T> getItems() {
+    return Collections.unmodifiableList(items);
+  }
+
+  public int getItemCount() {
+    return items.size();
+  }
+
+  /**
+   * Inserts an item at the given position, or at the end when the index is out of range.
+   *
+   * @param item the item to insert
+   * @param index the position of the item
+   */
+  public void addItem(T item, int index) {
+    if (item == null || items.contains(item)) {
+      return;
+    }
+    if (index >= 0 && index <= items.size()) {
+      items.add(index, item);
+    } else {
+      items.add(item);
+    }
+    if (items.size() == 1) {
+      cellSize = null;
+    }
+    modelChanged();
+  }
+
+  /**
+   * @param item the item to remove
+   * @return true if the item was in the grid
+   */
+  public boolean removeItem(T item) {
+    int index = items.indexOf(item);
+    if (index < 0) {
+      return false;
+    }
+    items.remove(index);
+    if (index == 0) {
+      cellSize = null;
+    }
+    release(item);
+    modelChanged();
+    return true;
+  }
+
+  public void clearItems() {
+    items.clear();
+    List.copyOf(realized.keySet()).forEach(this::release);
+    cellSize = null;
+    modelChanged();
+  }
+
+  public int getColumns() {
+    return columns;
+  }
+
+  public void setColumns(int columns) {
+    int count = Math.max(1, columns);
+    if (this.columns != count) {
+      this.columns = count;
+      modelChanged();
+    }
+  }
+
+  /**
+   * Returns the size of a cell, which is the preferred size of a cell displaying the first item.
+   *
+   * @return the cell size, or an empty dimension without item
+   */
+  public Dimension getCellSize() {
+    if (items.isEmpty()) {
+      return new Dimension();
+    }
+    if (cellSize == null) {
+      T first = items.getFirst();
+      C cell = realized.get(first);
+      if (cell != null) {
+        cellSize = new Dimension(cell.getPreferredSize());
+      } else {
+        // Measure with a cell of the pool
+        cell = pool.acquire();
+        binder.accept(cell, first);
+        cellSize = new Dimension(cell.getPreferredSize());
+        unbinder.accept(cell);
+        pool.recycle(cell);
+      }
+    }
+    return new Dimension(cellSize);
+  }
+
+  /** Measures again the cell size, e.g. after a change of the thumbnail size. */
+  public void invalidateCellSize() {
+    cellSize = null;
+    modelChanged();
+  }
+
+  /**
+   * @param index the index of the item
+   * @return the bounds of the cell of the item in the coordinates of the grid
+   */
+  public Rectangle getCellBounds(int index) {
+    Dimension cell = getCellSize();
+    Insets insets = getInsets();
+    int row = index / columns;
+    int column = index % columns;
+    return new Rectangle(
+        insets.left + column * (cell.width + gap),
+        insets.top + row * (cell.height + gap),
+        cell.width,
+        cell.height);
+  }
+
+  /**
+   * @param item an item of the grid
+   * @return the bounds of the cell of the item in the coordinates of the grid, or null if the item
+   *     is not in the grid
+   */
+  public Rectangle getCellBounds(T item) {
+    int index = items.indexOf(item);
+    return index < 0 ? null : getCellBounds(index);
+  }
+
+  /**
+   * @param item an item of the grid
+   * @return true if the item is currently displayed by a cell of the grid
+   */
+  public boolean isRealized(T item) {
+    return realized.containsKey(item);
+  }
+
+  /**
+   * @param item an item of the grid
+   * @return the cell displaying the item, or null if the item is not realized
+   */
+  public C getCell(T item) {
+    return realized.get(item);
+  }
+
+  /**
+   * Binds the items inside the viewport (plus the margin) to a cell and recycles the cells of the
+   * others. Without enclosing viewport, all the items are realized.
+   */
+  public void updateRealizedItems() {
+    updatePending = false;
+    int[] range = getRealizedRange();
+    List<T> visible = items.subList(range[0], range[1]);
+    Map<T, Boolean> keep = new IdentityHashMap<>();
+    visible.forEach(item -> keep.put(item, Boolean.TRUE));
+
+    boolean changed = false;
+    for (T item : List.copyOf(realized.keySet())) {
+      if (!keep.containsKey(item)) {
+        release(item);
+        changed = true;
+      }
+    }
+    for (T item : visible) {
+      if (!realized.containsKey(item)) {
+        C cell = pool.acquire();
+        binder.accept(cell, item);
+        realized.put(item, cell);
+        add(cell);
+        changed = true;
+      }
+    }
+    if (changed) {
+      revalidate();
+      repaint();
+    }
+  }
+
+  /**
+   * @return the first (inclusive) and last (exclusive) indexes of the items to realize
+   */
+  int[] getRealizedRange() {
+    int count = items.size();
+    Rectangle view = getViewRect();
+    if (count == 0 || view == null) {
+      return new int[] {0, count};
+    }
+    int rowHeight = getCellSize().height + gap;
+    if (rowHeight <= 0) {
+      return new int[] {0, count};
+    }
+    int top = getInsets().top;
+    int margin = rowHeight * MARGIN_ROWS;
+    int firstRow = Math.max(0, Math.floorDiv(view.y - margin - top, rowHeight));
+    int lastRow = Math.floorDiv(view.y + view.height + margin - top, rowHeight);
+    if (lastRow < firstRow) {
+      return new int[] {0, 0};
+    }
+    int first = (int) Math.min(count, (long) firstRow * columns);
+    int last = (int) Math.min(count, ((long) lastRow + 1) * columns);
+    return new int[] {first, last};
+  }
+
+  private Rectangle getViewRect() {
+    JViewport vp = findViewport();
+    if (vp == null || vp.getView() == null) {
+      return null;
+    }
+    return SwingUtilities.convertRectangle(vp.getView(), vp.getViewRect(), this);
+  }
+
+  private JViewport findViewport() {
+    return (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, this);
+  }
+
+  private void release(T item) {
+    C cell = realized.remove(item);
+    if (cell != null) {
+      remove(cell);
+      unbinder.accept(cell);
+      pool.recycle(cell);
+    }
+  }
+
+  private void modelChanged() {
+    revalidate();
+    repaint();
+    scheduleUpdate();
+  }
+
+  private void scheduleUpdate() {
+    if (!updatePending && isShowing()) {
+      updatePending = true;
+      SwingUtilities.invokeLater(this::updateRealizedItems);
+    }
+  }
+
+  @Override
+  public void doLayout() {
+    super.doLayout();
+    // The position of the grid in the viewport may have changed
+    scheduleUpdate();
+  }
+
+  @Override
+  public void addNotify() {
+    super.addNotify();
+    viewport = findViewport();
+    if (viewport != null) {
+      viewport.addChangeListener(viewportListener);
+    }
+    scheduleUpdate();
+  }
+
+  @Override
+  public void removeNotify() {
+    if (viewport != null) {
+      viewport.removeChangeListener(viewportListener);
+      viewport = null;
+    }
+    super.removeNotify();
+  }
+
+  /** Places the realized items in their cell and sizes the grid for all the items. */
+  private class CellLayout implements LayoutManager {
+
+    @Override
+    public void addLayoutComponent(String name, Component comp) {
+      // Cells are computed from the item list
+    }
+
+    @Override
+    public void removeLayoutComponent(Component comp) {
+      // Cells are computed from the item list
+    }
+
+    @Override
+    public Dimension preferredLayoutSize(Container parent) {
+      Insets insets = parent.getInsets();
+      int count = items.size();
+      if (count == 0) {
+        return new Dimension(insets.left + insets.right, insets.top + insets.bottom);
+      }
+      Dimension cell = getCellSize();
+      int cols = Math.min(columns, count);
+      int rows = (count + columns - 1) / columns;
+      return new Dimension(
+          insets.left + insets.right + cols * cell.width + (cols - 1) * gap,
+          insets.top + insets.bottom + rows * cell.height + (rows - 1) * gap);
+    }
+
+    @Override
+    public Dimension minimumLayoutSize(Container parent) {
+      return preferredLayoutSize(parent);
+    }
+
+    @Override
+    public void layoutContainer(Container parent) {
+      for (int i = 0; i < items.size(); i++) {
+        C cell = realized.get(items.get(i));
+        if (cell != null) {
+          cell.setBounds(getCellBounds(i));
+        }
+      }
+    }
+  }
+
+  /**
+   * Cell components not bound to an item, shared by the grids displayed in the same viewport. The
+   * idle cells are kept up to a limit (e.g. the number of cells of a large viewport), beyond which
+   * they are left to the garbage collector.
+   *
+   * @param <C> the type of the cell components
+   */
+  public static final class CellPool<C extends JComponent> {
+    private final Supplier<C> factory;
+    private final int maxIdle;
+    private final Deque<C> idle = new ArrayDeque<>();
+    private int createdCount;
+
+    /**
+     * @param factory creates a new cell when no idle cell is available
+     * @param maxIdle the maximum number of idle cells kept for reuse
+     */
+    public CellPool(Supplier<C> factory, int maxIdle) {
+      this.factory = Objects.requireNonNull(factory);
+      this.maxIdle = Math.max(0, maxIdle);
+    }
+
+    C acquire() {
+      C cell = idle.pollFirst();
+      if (cell == null) {
+        createdCount++;
+        cell = factory.get();
+      }
+      return cell;
+    }
+
+    void recycle(C cell) {
+      if (idle.size() < maxIdle) {
+        idle.addFirst(cell);
+      }
+    }
+
+    /**
+     * @return the number of cells created since the creation of the pool
+     */
+    public int getCreatedCount() {
+      return createdCount;
+    }
+
+    /**
+     * @return the number of cells available for reuse
+     */
+    public int getIdleCount() {
+      return idle.size();
+    }
+
+    /** Drops the idle cells. */
+    public void clear() {
+      idle.clear();
+    }
+  }
+}
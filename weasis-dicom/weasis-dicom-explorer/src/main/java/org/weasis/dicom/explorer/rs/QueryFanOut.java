@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.explorer.rs;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.weasis.core.api.util.ThreadUtil;
+
+/**
+ * Runs the QIDO-RS requests of a query concurrently, with a bounded number of requests in flight.
+ *
+ * <p>A task can submit other tasks (e.g. the series of a study submit the queries of their
+ * instances). {@link #close()} waits until all the tasks, including the nested ones, are done.
+ */
+final class QueryFanOut implements AutoCloseable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(QueryFanOut.class);
+
+  /** Task holding a permit while its request is sent and its response is read. */
+  @FunctionalInterface
+  interface Query {
+    void run() throws Exception;
+  }
+
+  private final ExecutorService executor;
+  private final Semaphore permits;
+  private final Phaser pending;
+
+  /**
+   * @param maxRequests the maximum number of concurrent requests
+   */
+  QueryFanOut(int maxRequests) {
+    this.executor = ThreadUtil.newVirtualThreadPerTaskExecutor("QIDO-RS query"); // NON-NLS
+    this.permits = new Semaphore(Math.max(1, maxRequests));
+    this.pending = new Phaser(1);
+  }
+
+  /**
+   * Submits a query, the exceptions are logged with the given description.
+   *
+   * @param description the description of the query for the logs
+   * @param query the query to run
+   */
+  void submit(String description, Query query) {
+    pending.register();
+    try {
+      executor.execute(
+          () -> {
+            try {
+              permits.acquire();
+              try {
+                query.run();
+              } finally {
+                permits.release();
+              }
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            } catch (Exception e) {
+              LOGGER.error("QIDO-RS {}", description, e);
+            } finally {
+              pending.arriveAndDeregister();
+            }
+          });
+    } catch (RuntimeException e) {
+      pending.arriveAndDeregister();
+      throw e;
+    }
+  }
+
+  /**
+   * Waits until all the submitted queries are done.
+   *
+   * @throws CancellationException when the calling thread is interrupted, the pending queries are
+   *     interrupted
+   */
+  @Override
+  public void close() {
+    try {
+      pending.awaitAdvanceInterruptibly(pending.arrive());
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+      throw new CancellationException("QIDO-RS queries interrupted");
+    }
+    executor.shutdown();
+  }
+}
@@ -17,6 +17,7 @@
 import java.util.Objects;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
 import javax.swing.JOptionPane;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -227,6 +228,8 @@ private void fillPatientList() {
         arcConfig.buildFromStudyInstanceUID(getReqStudyUIDs());
         arcConfig.buildFromPatientID(getReqPatientIDs());
       }
+    } catch (CancellationException e) {
+      LOGGER.info("Building the patient list has been canceled");
     } catch (Exception e) {
       LOGGER.error("Error when building the patient list", e);
       showErrorMessage(
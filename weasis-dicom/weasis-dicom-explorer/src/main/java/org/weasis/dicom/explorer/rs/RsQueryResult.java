@@ -20,6 +20,8 @@
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.img.util.DateTimeUtils;
@@ -67,10 +69,16 @@ public class RsQueryResult extends AbstractQueryResult {
   public static final String INSTANCE_QUERY = multiParams("00080018,00200013,00081190");
   public static final String QIDO_REQUEST = "QIDO-RS request: {}"; // NON-NLS
 
+  /** Maximum number of QIDO-RS requests sent concurrently for the series and the instances. */
+  private static final int CONCURRENT_QUERIES =
+      Math.max(1, Integer.getInteger("dicom.qido.concurrent.queries", 4));
+
   private final RsQueryParams rsQueryParams;
   private final WadoParameters wadoParameters;
   private final boolean defaultStartDownloading;
   private final AuthMethod authMethod;
+  // Guards the insertion of the patients, studies and series from the concurrent queries
+  private final Object modelLock = new Object();
 
   public RsQueryResult(RsQueryParams rsQueryParams, AuthMethod authMethod) {
     this.rsQueryParams = rsQueryParams;
@@ -127,8 +135,12 @@ public void buildFromPatientID(List<String> patientIDs) {
                 buf.toString(), authMethod, new URLParameters(rsQueryParams.getQueryHeaders()));
         if (!studies.isEmpty()) {
           studies.sort(getStudyComparator());
-          applyAllFilters(studies);
+          try (QueryFanOut fanOut = new QueryFanOut(CONCURRENT_QUERIES)) {
+            applyAllFilters(fanOut, studies);
+          }
         }
+      } catch (CancellationException e) {
+        throw e;
       } catch (Exception e) {
         LOGGER.error("QIDO-RS with PatientID {}", patientID, e);
       }
@@ -138,13 +150,34 @@ public void buildFromPatientID(List<String> patientIDs) {
   public static List<Attributes> parseJSON(
       String url, AuthMethod authMethod, URLParameters urlParameters) throws Exception {
     List<Attributes> items = new ArrayList<>();
+    parseJSON(url, authMethod, urlParameters, items::add);
+    return items;
+  }
+
+  /**
+   * Sends a QIDO-RS request and gives each dataset of the JSON response to the consumer as soon as
+   * it is decoded, without keeping the whole response in memory.
+   *
+   * @return the number of datasets given to the consumer
+   */
+  public static int parseJSON(
+      String url,
+      AuthMethod authMethod,
+      URLParameters urlParameters,
+      Consumer<Attributes> consumer)
+      throws Exception {
+    int[] count = {0};
     try (HttpStream response = HttpUtils.getHttpResponse(url, urlParameters, authMethod);
         InputStreamReader instream =
             new InputStreamReader(response.getInputStream(), StandardCharsets.UTF_8)) {
       int code = response.getResponseCode();
       if (code == HttpURLConnection.HTTP_OK || code == HttpURLConnection.HTTP_PARTIAL) {
         JSONReader reader = new JSONReader(Json.createParser(instream));
-        Callback callback = (fmi, dataset) -> items.add(dataset);
+        Callback callback =
+            (_, dataset) -> {
+              consumer.accept(dataset);
+              count[0]++;
+            };
         reader.readDatasets(callback);
       }
       if (code == HttpURLConnection.HTTP_ENTITY_TOO_LARGE) {
@@ -155,10 +188,10 @@ public static List<Attributes> parseJSON(
         authMethod.getToken();
       }
     }
-    return items;
+    return count[0];
   }
 
-  private void applyAllFilters(List<Attributes> studies) {
+  private void applyAllFilters(QueryFanOut fanOut, List<Attributes> studies) {
     if (StringUtil.hasText(rsQueryParams.getLowerDateTime())) {
       Date lowerDateTime = null;
       try {
@@ -249,7 +282,7 @@ private void applyAllFilters(List<Attributes> studies) {
     }
 
     for (Attributes studyDataSet : studies) {
-      fillSeries(studyDataSet, defaultStartDownloading);
+      fillSeries(fanOut, studyDataSet, defaultStartDownloading);
     }
   }
 
@@ -291,90 +324,98 @@ public void buildFromStudyInstanceUID(List<String> studyInstanceUIDs) {
   }
 
   public void buildFromStudyInstanceUID(List<String> studyInstanceUIDs, boolean startDownloading) {
-    for (String studyInstanceUID : LangUtil.emptyIfNull(studyInstanceUIDs)) {
-      if (!StringUtil.hasText(studyInstanceUID)) {
-        continue;
-      }
-      StringBuilder buf = new StringBuilder(rsQueryParams.getBaseUrl());
-      buf.append("/studies?0020000D="); // NON-NLS
-      buf.append(studyInstanceUID);
-      buf.append(STUDY_QUERY);
-      buf.append(rsQueryParams.getProperties().getProperty(RsQueryParams.P_QUERY_EXT, ""));
-
-      try {
-        LOGGER.debug(QIDO_REQUEST, buf);
-        List<Attributes> studies =
-            parseJSON(
-                buf.toString(), authMethod, new URLParameters(rsQueryParams.getQueryHeaders()));
-        for (Attributes studyDataSet : studies) {
-          fillSeries(studyDataSet, startDownloading);
+    try (QueryFanOut fanOut = new QueryFanOut(CONCURRENT_QUERIES)) {
+      for (String studyInstanceUID : LangUtil.emptyIfNull(studyInstanceUIDs)) {
+        if (StringUtil.hasText(studyInstanceUID)) {
+          buildFromStudyInstanceUID(fanOut, studyInstanceUID, startDownloading);
         }
-      } catch (Exception e) {
-        LOGGER.error("QIDO-RS with studyUID {}", studyInstanceUID, e);
       }
     }
   }
 
-  public void buildFromStudyAccessionNumber(List<String> accessionNumbers) {
-    for (String accessionNumber : LangUtil.emptyIfNull(accessionNumbers)) {
-      if (!StringUtil.hasText(accessionNumber)) {
-        continue;
-      }
-      StringBuilder buf = new StringBuilder(rsQueryParams.getBaseUrl());
-      buf.append("/studies?00080050="); // NON-NLS
-      buf.append(accessionNumber);
-      buf.append(STUDY_QUERY);
-      buf.append(rsQueryParams.getProperties().getProperty(RsQueryParams.P_QUERY_EXT, ""));
+  private void buildFromStudyInstanceUID(
+      QueryFanOut fanOut, String studyInstanceUID, boolean startDownloading) {
+    StringBuilder buf = new StringBuilder(rsQueryParams.getBaseUrl());
+    buf.append("/studies?0020000D="); // NON-NLS
+    buf.append(studyInstanceUID);
+    buf.append(STUDY_QUERY);
+    buf.append(rsQueryParams.getProperties().getProperty(RsQueryParams.P_QUERY_EXT, ""));
+
+    try {
+      LOGGER.debug(QIDO_REQUEST, buf);
+      parseJSON(
+          buf.toString(),
+          authMethod,
+          new URLParameters(rsQueryParams.getQueryHeaders()),
+          studyDataSet -> fillSeries(fanOut, studyDataSet, startDownloading));
+    } catch (Exception e) {
+      LOGGER.error("QIDO-RS with studyUID {}", studyInstanceUID, e);
+    }
+  }
 
-      try {
-        LOGGER.debug(QIDO_REQUEST, buf);
-        List<Attributes> studies =
-            parseJSON(
-                buf.toString(), authMethod, new URLParameters(rsQueryParams.getQueryHeaders()));
-        for (Attributes studyDataSet : studies) {
-          fillSeries(studyDataSet, defaultStartDownloading);
+  public void buildFromStudyAccessionNumber(List<String> accessionNumbers) {
+    try (QueryFanOut fanOut = new QueryFanOut(CONCURRENT_QUERIES)) {
+      for (String accessionNumber : LangUtil.emptyIfNull(accessionNumbers)) {
+        if (StringUtil.hasText(accessionNumber)) {
+          buildFromStudyAccessionNumber(fanOut, accessionNumber);
         }
-      } catch (Exception e) {
-        LOGGER.error("QIDO-RS with AccessionNumber {}", accessionNumber, e);
       }
     }
   }
 
+  private void buildFromStudyAccessionNumber(QueryFanOut fanOut, String accessionNumber) {
+    StringBuilder buf = new StringBuilder(rsQueryParams.getBaseUrl());
+    buf.append("/studies?00080050="); // NON-NLS
+    buf.append(accessionNumber);
+    buf.append(STUDY_QUERY);
+    buf.append(rsQueryParams.getProperties().getProperty(RsQueryParams.P_QUERY_EXT, ""));
+
+    try {
+      LOGGER.debug(QIDO_REQUEST, buf);
+      parseJSON(
+          buf.toString(),
+          authMethod,
+          new URLParameters(rsQueryParams.getQueryHeaders()),
+          studyDataSet -> fillSeries(fanOut, studyDataSet, defaultStartDownloading));
+    } catch (Exception e) {
+      LOGGER.error("QIDO-RS with AccessionNumber {}", accessionNumber, e);
+    }
+  }
+
   public void buildFromSeriesInstanceUID(List<String> seriesInstanceUIDs) {
     boolean wholeStudy =
         LangUtil.emptyToFalse(
             rsQueryParams.getProperties().getProperty(RsQueryParams.P_SHOW_WHOLE_STUDY));
     Set<String> studyHashSet = new LinkedHashSet<>();
 
-    for (String seriesInstanceUID : LangUtil.emptyIfNull(seriesInstanceUIDs)) {
-      if (!StringUtil.hasText(seriesInstanceUID)) {
-        continue;
-      }
+    try (QueryFanOut fanOut = new QueryFanOut(CONCURRENT_QUERIES)) {
+      for (String seriesInstanceUID : LangUtil.emptyIfNull(seriesInstanceUIDs)) {
+        if (!StringUtil.hasText(seriesInstanceUID)) {
+          continue;
+        }
 
-      StringBuilder buf = new StringBuilder(rsQueryParams.getBaseUrl());
-      buf.append("/series?0020000E="); // NON-NLS
-      buf.append(seriesInstanceUID);
-      buf.append(STUDY_QUERY);
-      buf.append(",0008103E,00080060,00081190,00200011"); // NON-NLS
-      buf.append(rsQueryParams.getProperties().getProperty(RsQueryParams.P_QUERY_EXT, ""));
+        StringBuilder buf = new StringBuilder(rsQueryParams.getBaseUrl());
+        buf.append("/series?0020000E="); // NON-NLS
+        buf.append(seriesInstanceUID);
+        buf.append(STUDY_QUERY);
+        buf.append(",0008103E,00080060,00081190,00200011"); // NON-NLS
+        buf.append(rsQueryParams.getProperties().getProperty(RsQueryParams.P_QUERY_EXT, ""));
 
-      try {
-        LOGGER.debug(QIDO_REQUEST, buf);
-        List<Attributes> series =
-            parseJSON(
-                buf.toString(), authMethod, new URLParameters(rsQueryParams.getQueryHeaders()));
-        if (!series.isEmpty()) {
-          Attributes dataset = series.getFirst();
-          MediaSeriesGroup patient = getPatient(dataset, rsQueryParams.getDicomModel());
-          MediaSeriesGroup study = getStudy(patient, dataset, rsQueryParams.getDicomModel());
-          for (Attributes seriesDataset : series) {
-            Series<?> dicomSeries = getSeries(study, seriesDataset, defaultStartDownloading);
-            fillInstance(seriesDataset, dicomSeries);
-          }
-          studyHashSet.add(dataset.getString(Tag.StudyInstanceUID));
+        try {
+          LOGGER.debug(QIDO_REQUEST, buf);
+          parseJSON(
+              buf.toString(),
+              authMethod,
+              new URLParameters(rsQueryParams.getQueryHeaders()),
+              seriesDataset -> {
+                Series<?> dicomSeries =
+                    addSeries(seriesDataset, seriesDataset, defaultStartDownloading);
+                fillInstance(fanOut, seriesDataset, dicomSeries);
+                studyHashSet.add(seriesDataset.getString(Tag.StudyInstanceUID));
+              });
+        } catch (Exception e) {
+          LOGGER.error("QIDO-RS with seriesUID {}", seriesInstanceUID, e);
         }
-      } catch (Exception e) {
-        LOGGER.error("QIDO-RS with seriesUID {}", seriesInstanceUID, e);
       }
     }
 
@@ -422,7 +463,11 @@ public void buildFromSopInstanceUID(List<String> sopInstanceUIDs) {
     }
   }
 
-  private void fillSeries(Attributes studyDataSet, boolean startDownloading) {
+  /**
+   * Submits the query of the series of a study. Each series is added to the model as soon as it is
+   * decoded and the query of its instances is submitted at once.
+   */
+  private void fillSeries(QueryFanOut fanOut, Attributes studyDataSet, boolean startDownloading) {
     String studyInstanceUID = studyDataSet.getString(Tag.StudyInstanceUID);
     if (StringUtil.hasText(studyInstanceUID)) {
       StringBuilder buf = new StringBuilder(rsQueryParams.getBaseUrl());
@@ -432,67 +477,61 @@ private void fillSeries(Attributes studyDataSet, boolean startDownloading) {
       buf.append(SERIES_QUERY);
       buf.append(rsQueryParams.getProperties().getProperty(RsQueryParams.P_QUERY_EXT, ""));
 
-      try {
-        LOGGER.debug(QIDO_REQUEST, buf);
-        List<Attributes> series =
+      fanOut.submit(
+          "all series with studyUID " + studyInstanceUID, // NON-NLS
+          () -> {
+            LOGGER.debug(QIDO_REQUEST, buf);
             parseJSON(
-                buf.toString(), authMethod, new URLParameters(rsQueryParams.getQueryHeaders()));
-        if (!series.isEmpty()) {
-          // Get patient from each study in case IssuerOfPatientID is different
-          MediaSeriesGroup patient = getPatient(studyDataSet, rsQueryParams.getDicomModel());
-          MediaSeriesGroup study = getStudy(patient, studyDataSet, rsQueryParams.getDicomModel());
-          for (Attributes seriesDataset : series) {
-            Series<?> dicomSeries = getSeries(study, seriesDataset, startDownloading);
-            fillInstance(seriesDataset, dicomSeries);
-          }
-        }
-      } catch (Exception e) {
-        LOGGER.error("QIDO-RS all series with studyUID {}", studyInstanceUID, e);
-      }
+                buf.toString(),
+                authMethod,
+                new URLParameters(rsQueryParams.getQueryHeaders()),
+                seriesDataset -> {
+                  Series<?> dicomSeries = addSeries(studyDataSet, seriesDataset, startDownloading);
+                  fillInstance(fanOut, seriesDataset, dicomSeries);
+                });
+          });
     }
   }
 
-  private void fillInstance(Attributes seriesDataset, Series<?> dicomSeries) {
+  /** Submits the paginated query of the instances of a series. */
+  private void fillInstance(QueryFanOut fanOut, Attributes seriesDataset, Series<?> dicomSeries) {
     String seriesUID = seriesDataset.getString(Tag.SeriesInstanceUID);
-    if (StringUtil.hasText(seriesUID)) {
+    SeriesInstanceList seriesInstanceList =
+        (SeriesInstanceList) dicomSeries.getTagValue(TagW.WadoInstanceReferenceList);
+    if (StringUtil.hasText(seriesUID) && seriesInstanceList != null) {
       String seriesRetrieveURL = TagD.getTagValue(dicomSeries, Tag.RetrieveURL, String.class);
       StringBuilder baseQuery = new StringBuilder(seriesRetrieveURL);
       baseQuery.append("/instances?includefield="); // NON-NLS
       baseQuery.append(INSTANCE_QUERY);
       baseQuery.append(rsQueryParams.getProperties().getProperty(RsQueryParams.P_QUERY_EXT, ""));
 
-      int offset = 0;
-      int limit = 1000; // Maximum number of instances to fetch per query
-      try {
-        while (true) {
-          StringBuilder paginatedQuery = new StringBuilder(baseQuery);
-          paginatedQuery.append("&offset=").append(offset); // NON-NLS
-          paginatedQuery.append("&limit=").append(limit); // NON-NLS
-          LOGGER.debug(QIDO_REQUEST, paginatedQuery);
-          List<Attributes> instances =
-              parseJSON(
-                  paginatedQuery.toString(),
-                  authMethod,
-                  new URLParameters(rsQueryParams.getQueryHeaders()));
-          if (instances.isEmpty()) {
-            break;
-          }
-
-          SeriesInstanceList seriesInstanceList =
-              (SeriesInstanceList) dicomSeries.getTagValue(TagW.WadoInstanceReferenceList);
-          if (seriesInstanceList != null) {
-            for (Attributes instanceDataSet : instances) {
-              addSopInstance(instanceDataSet, seriesInstanceList, seriesRetrieveURL);
+      fanOut.submit(
+          "all instances with seriesUID " + seriesUID, // NON-NLS
+          () -> {
+            int offset = 0;
+            int limit = 1000; // Maximum number of instances to fetch per query
+            while (true) {
+              StringBuilder paginatedQuery = new StringBuilder(baseQuery);
+              paginatedQuery.append("&offset=").append(offset); // NON-NLS
+              paginatedQuery.append("&limit=").append(limit); // NON-NLS
+              LOGGER.debug(QIDO_REQUEST, paginatedQuery);
+              int count =
+                  parseJSON(
+                      paginatedQuery.toString(),
+                      authMethod,
+                      new URLParameters(rsQueryParams.getQueryHeaders()),
+                      instanceDataSet -> {
+                        // The same series can be queried by several studies or series requests
+                        synchronized (seriesInstanceList) {
+                          addSopInstance(instanceDataSet, seriesInstanceList, seriesRetrieveURL);
+                        }
+                      });
+              offset += count;
+              if (count < limit) {
+                break;
+              }
             }
-          }
-          offset += instances.size();
-          if (instances.size() < limit) {
-            break;
-          }
-        }
-      } catch (Exception e) {
-        LOGGER.error("QIDO-RS all instances with seriesUID {}", seriesUID, e);
-      }
+          });
     }
   }
 
@@ -571,6 +610,17 @@ public static MediaSeriesGroup getStudy(
     return study;
   }
 
+  private DicomSeries addSeries(
+      Attributes studyDataSet, Attributes seriesDataset, boolean startDownloading) {
+    DicomModel model = rsQueryParams.getDicomModel();
+    synchronized (modelLock) {
+      // Get patient from each study in case IssuerOfPatientID is different
+      MediaSeriesGroup patient = getPatient(studyDataSet, model);
+      MediaSeriesGroup study = getStudy(patient, studyDataSet, model);
+      return getSeries(study, seriesDataset, startDownloading);
+    }
+  }
+
   private DicomSeries getSeries(
       MediaSeriesGroup study, final Attributes seriesDataset, boolean startDownloading) {
     if (seriesDataset == null) {
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.explorer.exp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.tree.DefaultMutableTreeNode;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.media.DicomDirReader;
+import org.dcm4che3.media.DicomDirWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.weasis.dicom.explorer.exp.LocalExport.ExportQueue;
+import org.weasis.dicom.explorer.exp.LocalExport.ExportedFile;
+import org.weasis.dicom.explorer.imp.DicomDirLoader;
+
+class LocalExportTest {
+
+  private static final String STUDY_UID = "1.2.826.0.1.3680043.2.1"; // NON-NLS
+  private static final int SERIES = 3;
+  private static final int INSTANCES = 8;
+  // Frames of the same multiframe instance are checked as separate nodes of the tree
+  private static final int FRAMES = 3;
+
+  @TempDir Path dir;
+
+  private static Attributes dataset(String seriesUID, String iuid) {
+    Attributes attributes = new Attributes();
+    attributes.setString(Tag.PatientID, VR.LO, "PAT-1"); // NON-NLS
+    attributes.setString(Tag.StudyInstanceUID, VR.UI, STUDY_UID);
+    attributes.setString(Tag.SeriesInstanceUID, VR.UI, seriesUID);
+    attributes.setString(Tag.SOPClassUID, VR.UI, UID.CTImageStorage);
+    attributes.setString(Tag.SOPInstanceUID, VR.UI, iuid);
+    return attributes;
+  }
+
+  private static List<String> children(DicomDirReader reader, Attributes parent, int tag)
+      throws Exception {
+    List<String> values = new ArrayList<>();
+    Attributes rec = reader.findLowerDirectoryRecordInUse(parent, true);
+    while (rec != null) {
+      values.add(rec.getString(tag));
+      rec = reader.findNextDirectoryRecordInUse(rec, true);
+    }
+    return values;
+  }
+
+  @Test
+  void recordsAreWrittenOnceInTheOrderOfTheTree() throws Exception {
+    File dicomdir = dir.resolve("DICOMDIR").toFile(); // NON-NLS
+    DicomDirWriter writer = DicomDirLoader.open(dicomdir);
+    List<String> expectedSeries = new ArrayList<>();
+    List<String> expectedInstances = new ArrayList<>();
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    AtomicInteger exported = new AtomicInteger();
+
+    try (ExportQueue queue = new ExportQueue(writer, 4)) {
+      for (int s = 0; s < SERIES; s++) {
+        String seriesUID = STUDY_UID + "." + (s + 1);
+        expectedSeries.add(seriesUID);
+        for (int i = 0; i < INSTANCES * FRAMES; i++) {
+          String iuid = seriesUID + "." + (i / FRAMES + 1);
+          if (!queue.addInstance(iuid)) {
+            continue;
+          }
+          expectedInstances.add(iuid);
+          File file = new File(dir.toFile(), LocalExport.makeFileIDs(iuid));
+          // The first files of each series are the slowest to export
+          long delay = INSTANCES - i / FRAMES;
+          queue.submit(
+              () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(delay);
+                running.decrementAndGet();
+                exported.incrementAndGet();
+                return new ExportedFile(
+                    dataset(seriesUID, iuid), new DefaultMutableTreeNode(), file.getName(), file);
+              });
+        }
+      }
+      queue.flush();
+    } finally {
+      writer.close();
+    }
+
+    assertEquals(SERIES * INSTANCES, exported.get());
+    assertTrue(maxRunning.get() > 1, "The files are exported concurrently");
+    assertTrue(maxRunning.get() <= 4);
+
+    try (DicomDirReader reader = new DicomDirReader(dicomdir)) {
+      Attributes patient = reader.findFirstRootDirectoryRecordInUse(true);
+      assertEquals("PAT-1", patient.getString(Tag.PatientID));
+      assertNull(reader.findNextDirectoryRecordInUse(patient, true));
+      Attributes study = reader.findLowerDirectoryRecordInUse(patient, true);
+      assertEquals(List.of(STUDY_UID), children(reader, patient, Tag.StudyInstanceUID));
+      assertEquals(expectedSeries, children(reader, study, Tag.SeriesInstanceUID));
+
+      List<String> instances = new ArrayList<>();
+      Attributes series = reader.findLowerDirectoryRecordInUse(study, true);
+      while (series != null) {
+        instances.addAll(children(reader, series, Tag.ReferencedSOPInstanceUIDInFile));
+        series = reader.findNextDirectoryRecordInUse(series, true);
+      }
+      assertEquals(expectedInstances, instances);
+    }
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.explorer.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.swing.BoxLayout;
+import javax.swing.JPanel;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator.ReplaceUnderscores;
+import org.junit.jupiter.api.Test;
+import org.weasis.dicom.explorer.main.VirtualThumbnailGrid.CellPool;
+
+/** Layout of 5000 series (250 studies of 20 series) without display. */
+@DisplayNameGeneration(ReplaceUnderscores.class)
+class VirtualThumbnailGridTest {
+
+  private static final int STUDIES = 250;
+  private static final int SERIES = 20;
+  private static final int COLUMNS = 5;
+  private static final int GAP = 2;
+  private static final Dimension CELL = new Dimension(50, 60);
+  private static final Dimension EXTENT = new Dimension(COLUMNS * (CELL.width + GAP), 600);
+  // The cells released by a scroll are kept for the rows entering the viewport
+  private static final int MAX_IDLE = maxRealized();
+
+  private final List<VirtualThumbnailGrid<String, JPanel>> grids = new ArrayList<>();
+  private final Map<JPanel, String> bound = new IdentityHashMap<>();
+  private final Set<String> released = new HashSet<>();
+  private final CellPool<JPanel> pool = new CellPool<>(VirtualThumbnailGridTest::cell, MAX_IDLE);
+  private JPanel column;
+  private JViewport viewport;
+
+  private static JPanel cell() {
+    JPanel cell = new JPanel();
+    cell.setPreferredSize(CELL);
+    return cell;
+  }
+
+  private void bind(JPanel cell, String item) {
+    assertNull(bound.put(cell, item), "The cell is already bound");
+  }
+
+  private void unbind(JPanel cell) {
+    released.add(bound.remove(cell));
+  }
+
+  @BeforeEach
+  void setUp() {
+    column = new JPanel();
+    column.setLayout(new BoxLayout(column, BoxLayout.Y_AXIS));
+    for (int s = 0; s < STUDIES; s++) {
+      VirtualThumbnailGrid<String, JPanel> grid =
+          new VirtualThumbnailGrid<>(GAP, pool, this::bind, this::unbind);
+      for (int i = 0; i < SERIES; i++) {
+        grid.addItem(s + "-" + i, -1);
+      }
+      grid.setColumns(COLUMNS);
+      grids.add(grid);
+      column.add(grid);
+    }
+    viewport = new JViewport();
+    viewport.setView(column);
+    viewport.setSize(EXTENT);
+    column.setSize(column.getPreferredSize());
+    column.doLayout();
+  }
+
+  private void update() {
+    for (VirtualThumbnailGrid<String, JPanel> grid : grids) {
+      grid.updateRealizedItems();
+      grid.doLayout();
+    }
+  }
+
+  private int realizedCount() {
+    return grids.stream().mapToInt(JPanel::getComponentCount).sum();
+  }
+
+  @Test
+  void preferred_size_covers_all_the_items() {
+    int rows = SERIES / COLUMNS;
+    int gridHeight = rows * CELL.height + (rows - 1) * GAP;
+    assertEquals(gridHeight, grids.getFirst().getPreferredSize().height);
+    assertEquals(STUDIES * gridHeight, column.getPreferredSize().height);
+    assertEquals(
+        STUDIES * SERIES, grids.stream().mapToInt(VirtualThumbnailGrid::getItemCount).sum());
+  }
+
+  /** Maximum number of cells of the rows close to the viewport. */
+  private static int maxRealized() {
+    int rowHeight = CELL.height + GAP;
+    int bandRows = EXTENT.height / rowHeight + 2 * VirtualThumbnailGrid.MARGIN_ROWS + 2;
+    int gridRows = SERIES / COLUMNS;
+    // Each study overlapping the band may realize one partial row more
+    int maxStudies = bandRows / gridRows + 2;
+    return (bandRows + maxStudies) * COLUMNS;
+  }
+
+  @Test
+  void only_the_items_close_to_the_viewport_are_realized() {
+    update();
+    assertTrue(realizedCount() > 0);
+    assertTrue(realizedCount() <= maxRealized(), "" + realizedCount());
+    assertEquals(realizedCount(), bound.size());
+    assertVisibleItemsAreRealized();
+  }
+
+  @Test
+  void scrolling_recycles_the_cells() {
+    update();
+    VirtualThumbnailGrid<String, JPanel> first = grids.getFirst();
+    String firstItem = first.getItems().getFirst();
+    JPanel firstCell = first.getCell(firstItem);
+    assertTrue(first.isRealized(firstItem));
+
+    VirtualThumbnailGrid<String, JPanel> middle = grids.get(STUDIES / 2);
+    viewport.setViewPosition(new Point(0, middle.getY()));
+    update();
+
+    assertFalse(first.isRealized(firstItem));
+    assertEquals(0, first.getComponentCount());
+    assertTrue(released.contains(firstItem));
+    assertTrue(middle.isRealized(middle.getItems().getFirst()));
+    // The cells released by the first studies display the middle ones
+    assertTrue(bound.containsKey(firstCell));
+    assertTrue(pool.getCreatedCount() <= maxRealized(), "" + pool.getCreatedCount());
+    assertVisibleItemsAreRealized();
+  }
+
+  @Test
+  void scrolling_through_all_the_studies_creates_the_cells_of_one_viewport() {
+    int end = column.getHeight() - EXTENT.height;
+    for (int y = 0; y <= end; y += EXTENT.height / 3) {
+      viewport.setViewPosition(new Point(0, y));
+      update();
+      assertTrue(realizedCount() <= maxRealized(), "" + realizedCount());
+      assertEquals(realizedCount(), bound.size());
+    }
+    assertVisibleItemsAreRealized();
+    assertTrue(pool.getCreatedCount() <= maxRealized(), "" + pool.getCreatedCount());
+  }
+
+  @Test
+  void removed_items_are_released() {
+    update();
+    VirtualThumbnailGrid<String, JPanel> first = grids.getFirst();
+    String item = first.getItems().getFirst();
+    assertTrue(first.removeItem(item));
+    assertTrue(released.contains(item));
+    assertEquals(SERIES - 1, first.getItemCount());
+    first.clearItems();
+    assertEquals(0, first.getComponentCount());
+    assertEquals(0, first.getPreferredSize().height);
+    assertTrue(pool.getIdleCount() > 0);
+  }
+
+  private void assertVisibleItemsAreRealized() {
+    Rectangle view = viewport.getViewRect();
+    for (VirtualThumbnailGrid<String, JPanel> grid : grids) {
+      for (int i = 0; i < grid.getItemCount(); i++) {
+        String item = grid.getItems().get(i);
+        Rectangle bounds = SwingUtilities.convertRectangle(grid, grid.getCellBounds(i), column);
+        if (view.intersects(bounds)) {
+          JPanel cell = grid.getCell(item);
+          assertTrue(grid.isRealized(item));
+          assertEquals(item, bound.get(cell));
+          assertEquals(grid.getCellBounds(i), cell.getBounds());
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.explorer.rs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class QueryFanOutTest {
+
+  @Test
+  void closeWaitsForTheNestedQueries() {
+    AtomicInteger done = new AtomicInteger();
+    try (QueryFanOut fanOut = new QueryFanOut(3)) {
+      for (int study = 0; study < 5; study++) {
+        fanOut.submit(
+            "study",
+            () -> {
+              for (int series = 0; series < 4; series++) {
+                fanOut.submit(
+                    "series",
+                    () -> {
+                      Thread.sleep(5);
+                      done.incrementAndGet();
+                    });
+              }
+              done.incrementAndGet();
+            });
+      }
+    }
+    assertEquals(5 + 5 * 4, done.get());
+  }
+
+  @Test
+  void concurrentQueriesAreBounded() {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    try (QueryFanOut fanOut = new QueryFanOut(4)) {
+      for (int i = 0; i < 40; i++) {
+        fanOut.submit(
+            "query",
+            () -> {
+              maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+              Thread.sleep(2);
+              running.decrementAndGet();
+            });
+      }
+    }
+    assertTrue(maxRunning.get() <= 4);
+    assertTrue(maxRunning.get() > 1);
+  }
+
+  @Test
+  void failedQueryDoesNotStopTheOthers() {
+    AtomicInteger done = new AtomicInteger();
+    try (QueryFanOut fanOut = new QueryFanOut(2)) {
+      fanOut.submit(
+          "failing",
+          () -> {
+            throw new IllegalStateException("HTTP 500");
+          });
+      fanOut.submit("query", done::incrementAndGet);
+    }
+    assertEquals(1, done.get());
+  }
+
+  @Test
+  void interruptedCallerCancelsTheQueries() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    AtomicInteger interrupted = new AtomicInteger();
+    QueryFanOut fanOut = new QueryFanOut(1);
+    fanOut.submit(
+        "blocked",
+        () -> {
+          started.countDown();
+          try {
+            Thread.sleep(60_000);
+          } catch (InterruptedException e) {
+            interrupted.incrementAndGet();
+          }
+        });
+    started.await();
+    Thread.currentThread().interrupt();
+    assertThrows(CancellationException.class, fanOut::close);
+    assertTrue(Thread.interrupted());
+    Thread.sleep(100);
+    assertEquals(1, interrupted.get());
+    assertFalse(Thread.currentThread().isInterrupted());
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.explorer.rs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.weasis.core.api.net.URLParameters;
+
+class RsQueryResultTest {
+
+  private static final String STUDY_1 =
+      "{\"0020000D\":{\"vr\":\"UI\",\"Value\":[\"1.2.3.1\"]},"
+          + "\"00100020\":{\"vr\":\"LO\",\"Value\":[\"PAT-1\"]}}";
+  private static final String STUDY_2 =
+      "{\"0020000D\":{\"vr\":\"UI\",\"Value\":[\"1.2.3.2\"]},"
+          + "\"00100020\":{\"vr\":\"LO\",\"Value\":[\"PAT-1\"]}}";
+
+  private static final CountDownLatch FIRST_STUDY_DECODED = new CountDownLatch(1);
+  private static volatile boolean decodedBeforeEnd;
+
+  private static HttpServer server;
+  private static String baseUrl;
+
+  @BeforeAll
+  static void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext(
+        "/studies",
+        ex -> {
+          byte[] body = ("[" + STUDY_1 + "," + STUDY_2 + "]").getBytes(StandardCharsets.UTF_8);
+          ex.getResponseHeaders().add("Content-Type", "application/dicom+json");
+          ex.sendResponseHeaders(200, body.length);
+          try (OutputStream os = ex.getResponseBody()) {
+            os.write(body);
+          }
+        });
+    server.createContext(
+        "/slow",
+        ex -> {
+          // The end of the response is sent only when the first study has been decoded
+          ex.getResponseHeaders().add("Content-Type", "application/dicom+json");
+          ex.sendResponseHeaders(200, 0);
+          try (OutputStream os = ex.getResponseBody()) {
+            os.write(("[" + STUDY_1 + ",").getBytes(StandardCharsets.UTF_8));
+            os.flush();
+            try {
+              decodedBeforeEnd = FIRST_STUDY_DECODED.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            os.write((STUDY_2 + "]").getBytes(StandardCharsets.UTF_8));
+          }
+        });
+    server.createContext(
+        "/empty",
+        ex -> {
+          ex.sendResponseHeaders(204, -1);
+          ex.close();
+        });
+    server.createContext(
+        "/too-large",
+        ex -> {
+          ex.sendResponseHeaders(413, -1);
+          ex.close();
+        });
+    server.start();
+    baseUrl = "http://localhost:" + server.getAddress().getPort();
+  }
+
+  @AfterAll
+  static void stopServer() {
+    server.stop(0);
+  }
+
+  private static URLParameters params() {
+    return new URLParameters();
+  }
+
+  @Test
+  void listParserReturnsAllDatasets() throws Exception {
+    List<Attributes> studies = RsQueryResult.parseJSON(baseUrl + "/studies", null, params());
+    assertEquals(2, studies.size());
+    assertEquals("1.2.3.1", studies.get(0).getString(Tag.StudyInstanceUID));
+    assertEquals("1.2.3.2", studies.get(1).getString(Tag.StudyInstanceUID));
+    assertEquals("PAT-1", studies.get(1).getString(Tag.PatientID));
+  }
+
+  @Test
+  void streamingParserEmitsDatasetsBeforeTheEndOfTheResponse() throws Exception {
+    List<String> uids = new ArrayList<>();
+    int count =
+        RsQueryResult.parseJSON(
+            baseUrl + "/slow",
+            null,
+            params(),
+            dataset -> {
+              uids.add(dataset.getString(Tag.StudyInstanceUID));
+              FIRST_STUDY_DECODED.countDown();
+            });
+    assertTrue(decodedBeforeEnd);
+    assertEquals(2, count);
+    assertEquals(List.of("1.2.3.1", "1.2.3.2"), uids);
+  }
+
+  @Test
+  void noContentGivesNoDataset() throws Exception {
+    assertEquals(0, RsQueryResult.parseJSON(baseUrl + "/empty", null, params(), _ -> {}));
+    assertTrue(RsQueryResult.parseJSON(baseUrl + "/empty", null, params()).isEmpty());
+  }
+
+  @Test
+  void payloadTooLargeIsReported() {
+    assertThrows(
+        IllegalStateException.class,
+        () -> RsQueryResult.parseJSON(baseUrl + "/too-large", null, params(), _ -> {}));
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.qr.manisfest;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.ElementDictionary;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.net.ApplicationEntity;
+import org.dcm4che3.net.Association;
+import org.dcm4che3.net.Connection;
+import org.dcm4che3.net.Device;
+import org.dcm4che3.net.DimseRSPHandler;
+import org.dcm4che3.net.IncompatibleConnectionException;
+import org.dcm4che3.net.Priority;
+import org.dcm4che3.net.Status;
+import org.dcm4che3.net.pdu.AAssociateRQ;
+import org.dcm4che3.net.pdu.PresentationContext;
+import org.dcm4che3.net.service.QueryRetrieveLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.weasis.core.api.util.ThreadUtil;
+import org.weasis.dicom.param.AdvancedParams;
+import org.weasis.dicom.param.DicomNode;
+import org.weasis.dicom.param.DicomParam;
+
+/**
+ * Small pool of Study Root C-FIND associations to the same node.
+ *
+ * <p>Unlike {@link org.weasis.dicom.op.CFind#process}, which opens a new association for each
+ * query, an association is released only when the pool is closed, so that the queries of the
+ * series and instances of many studies reuse a few associations. At most {@code maxAssociations}
+ * queries run at the same time, the other callers wait for a free association.
+ */
+final class CFindAssociationPool implements AutoCloseable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CFindAssociationPool.class);
+
+  private static final String CUID = UID.StudyRootQueryRetrieveInformationModelFind;
+
+  private final AdvancedParams params;
+  private final DicomNode calledNode;
+  private final ApplicationEntity ae;
+  private final Connection remote;
+  private final ExecutorService executor;
+  private final ScheduledExecutorService scheduledExecutor;
+  private final Semaphore permits;
+  private final BlockingQueue<Association> idle = new LinkedBlockingQueue<>();
+  private final List<Association> opened = new ArrayList<>();
+  private final AtomicInteger openedCount = new AtomicInteger();
+
+  CFindAssociationPool(
+      AdvancedParams params, DicomNode callingNode, DicomNode calledNode, int maxAssociations)
+      throws IOException {
+    this.params = params == null ? new AdvancedParams() : params;
+    this.calledNode = calledNode;
+    this.permits = new Semaphore(Math.max(1, maxAssociations));
+    Device device = new Device("findscu"); // NON-NLS
+    this.ae = new ApplicationEntity(callingNode.getAet());
+    Connection conn = new Connection();
+    this.remote = new Connection();
+    device.addConnection(conn);
+    device.addApplicationEntity(ae);
+    ae.addConnection(conn);
+    ae.setAssociationInitiator(true);
+    this.params.configureBind(ae, conn, callingNode);
+    this.params.configure(conn);
+    this.params.configureTLS(conn, remote);
+
+    // One thread per association reads the responses
+    this.executor = ThreadUtil.newCachedThreadPool("C-FIND association"); // NON-NLS
+    this.scheduledExecutor =
+        Executors.newSingleThreadScheduledExecutor(ThreadUtil.namedThreadFactory("C-FIND timer"));
+    device.setExecutor(executor);
+    device.setScheduledExecutor(scheduledExecutor);
+  }
+
+  /**
+   * Sends a C-FIND request and gives each matching dataset to the consumer as soon as its pending
+   * response is received. The consumer is called from the thread reading the association.
+   *
+   * @param level the query/retrieve level
+   * @param consumer the consumer of the matches
+   * @param keys the matching and return keys
+   * @return the status of the final response, or {@link Status#UnableToProcess} when the
+   *     association is closed before it
+   */
+  int find(QueryRetrieveLevel level, Consumer<Attributes> consumer, DicomParam... keys)
+      throws IOException,
+          InterruptedException,
+          IncompatibleConnectionException,
+          GeneralSecurityException {
+    Attributes query = new Attributes();
+    query.setString(Tag.QueryRetrieveLevel, VR.CS, level.name());
+    for (DicomParam p : keys) {
+      addAttributes(query, p);
+    }
+
+    permits.acquire();
+    Association as = null;
+    boolean reusable = false;
+    try {
+      as = borrow();
+      // Pending until the final response is received
+      AtomicInteger status = new AtomicInteger(Status.Pending);
+      DimseRSPHandler handler =
+          new DimseRSPHandler(as.nextMessageID()) {
+            @Override
+            public void onDimseRSP(Association as, Attributes cmd, Attributes data) {
+              super.onDimseRSP(as, cmd, data);
+              int value = cmd.getInt(Tag.Status, -1);
+              if (Status.isPending(value)) {
+                if (data != null) {
+                  consumer.accept(data);
+                }
+              } else {
+                status.set(value);
+              }
+            }
+          };
+      as.cfind(CUID, Priority.NORMAL, query, null, handler);
+      as.waitForOutstandingRSP();
+      int value = status.get();
+      if (Status.isPending(value)) {
+        // The association was closed before the final response
+        return Status.UnableToProcess;
+      }
+      reusable = true;
+      return value;
+    } finally {
+      if (as != null) {
+        if (reusable && as.isReadyForDataTransfer()) {
+          idle.offer(as);
+        } else {
+          // A response may still be pending, the association cannot be reused
+          as.abort();
+        }
+      }
+      permits.release();
+    }
+  }
+
+  private Association borrow()
+      throws IOException,
+          InterruptedException,
+          IncompatibleConnectionException,
+          GeneralSecurityException {
+    Association as;
+    while ((as = idle.poll()) != null) {
+      if (as.isReadyForDataTransfer()) {
+        return as;
+      }
+    }
+    AAssociateRQ rq = new AAssociateRQ();
+    rq.addPresentationContext(new PresentationContext(1, CUID, params.getTsuidOrder()));
+    params.configureConnect(rq, remote, calledNode);
+    as = ae.connect(remote, rq);
+    synchronized (opened) {
+      opened.add(as);
+    }
+    openedCount.incrementAndGet();
+    return as;
+  }
+
+  private static void addAttributes(Attributes attrs, DicomParam param) {
+    int tag = param.getTag();
+    String[] values = param.getValues();
+    VR vr = ElementDictionary.vrOf(tag, null);
+    if (values == null || values.length == 0) {
+      attrs.setNull(tag, vr);
+    } else {
+      attrs.setString(tag, vr, values);
+    }
+  }
+
+  /**
+   * @return the number of associations opened since the creation of the pool
+   */
+  int getOpenedAssociations() {
+    return openedCount.get();
+  }
+
+  @Override
+  public void close() {
+    List<Association> list;
+    synchronized (opened) {
+      list = new ArrayList<>(opened);
+      opened.clear();
+    }
+    idle.clear();
+    for (Association as : list) {
+      try {
+        if (as.isReadyForDataTransfer()) {
+          as.release();
+        }
+        as.waitForSocketClose();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        as.abort();
+      } catch (IOException e) {
+        LOGGER.warn("Cannot release the C-FIND association {}", as, e);
+      }
+    }
+    executor.shutdown();
+    scheduledExecutor.shutdown();
+  }
+}
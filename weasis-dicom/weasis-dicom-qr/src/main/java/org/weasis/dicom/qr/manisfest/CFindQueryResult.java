@@ -9,12 +9,22 @@
  */
 package org.weasis.dicom.qr.manisfest;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.img.util.DicomUtils;
+import org.dcm4che3.net.Status;
 import org.dcm4che3.net.service.QueryRetrieveLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.weasis.core.api.media.data.MediaSeriesGroup;
+import org.weasis.core.api.util.ThreadUtil;
 import org.weasis.core.util.StringUtil;
 import org.weasis.dicom.explorer.DicomModel;
 import org.weasis.dicom.explorer.mf.DicomModelQueryResult;
@@ -28,9 +38,13 @@
 import org.weasis.dicom.param.AdvancedParams;
 import org.weasis.dicom.param.DicomNode;
 import org.weasis.dicom.param.DicomParam;
-import org.weasis.dicom.param.DicomState;
 
 public class CFindQueryResult extends AbstractQueryResult {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CFindQueryResult.class);
+
+  /** Maximum number of associations opened to expand the studies. */
+  private static final int CONCURRENT_ASSOCIATIONS =
+      Math.max(1, Integer.getInteger("dicom.cfind.concurrent.associations", 3));
 
   protected final WadoParameters wadoParameters;
 
@@ -43,61 +57,93 @@ public WadoParameters getWadoParameters() {
     return wadoParameters;
   }
 
+  /**
+   * Queries the series of the studies and the instances of each series. The studies and the series
+   * are expanded concurrently through a few reused associations, each response being added to the
+   * manifest as soon as it is received.
+   */
   public void fillSeries(
       AdvancedParams advancedParams,
       DicomNode callingNode,
       DicomNode calledNode,
       DicomModel model,
       List<String> studies) {
-    for (String studyUID : studies) {
+    try (CFindAssociationPool pool =
+            new CFindAssociationPool(
+                advancedParams, callingNode, calledNode, CONCURRENT_ASSOCIATIONS);
+        ExecutorService executor = ThreadUtil.newVirtualThreadPerTaskExecutor("C-FIND query")) {
+      CompletableFuture<?>[] tasks =
+          studies.stream()
+              .map(studyUID -> fillStudy(pool, executor, model, studyUID))
+              .toArray(CompletableFuture[]::new);
+      try {
+        CompletableFuture.allOf(tasks).get();
+      } catch (InterruptedException e) {
+        executor.shutdownNow();
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        LOGGER.error("C-FIND series and instances", e);
+      }
+    } catch (Exception e) {
+      LOGGER.error("C-FIND series and instances from {}", calledNode, e);
+    }
+  }
 
-      DicomParam[] keysSeries = {
-        // Matching Keys
-        new DicomParam(Tag.StudyInstanceUID, studyUID),
-        // Return Keys
-        CFind.SeriesInstanceUID,
-        CFind.Modality,
-        CFind.SeriesNumber,
-        CFind.SeriesDescription
-      };
+  private CompletableFuture<Void> fillStudy(
+      CFindAssociationPool pool, ExecutorService executor, DicomModel model, String studyUID) {
+    DicomParam[] keysSeries = {
+      // Matching Keys
+      new DicomParam(Tag.StudyInstanceUID, studyUID),
+      // Return Keys
+      CFind.SeriesInstanceUID,
+      CFind.Modality,
+      CFind.SeriesNumber,
+      CFind.SeriesDescription
+    };
 
-      DicomState state =
-          CFind.process(
-              advancedParams, callingNode, calledNode, 0, QueryRetrieveLevel.SERIES, keysSeries);
+    List<CompletableFuture<Void>> instanceTasks = Collections.synchronizedList(new ArrayList<>());
+    return CompletableFuture.runAsync(
+            () ->
+                query(
+                    pool,
+                    QueryRetrieveLevel.SERIES,
+                    keysSeries,
+                    seriesDataset -> {
+                      Study study = getStudy(model, studyUID);
+                      instanceTasks.add(
+                          CompletableFuture.runAsync(
+                              () -> fillInstance(pool, seriesDataset, study), executor));
+                    }),
+            executor)
+        .thenCompose(_ -> CompletableFuture.allOf(instanceTasks.toArray(new CompletableFuture[0])));
+  }
 
-      // TODO add error message
-      List<Attributes> seriesRSP = state.getDicomRSP();
-      if (seriesRSP != null && !seriesRSP.isEmpty()) {
-        MediaSeriesGroup studyGroup = model.getStudyNode(studyUID);
-        MediaSeriesGroup patientGroup = model.getParent(studyGroup, DicomModel.patient);
-        Patient patient = DicomModelQueryResult.getPatient(patientGroup, this);
-        Study study = DicomModelQueryResult.getStudy(studyGroup, patient);
-        for (Attributes seriesDataset : seriesRSP) {
-          fillInstance(advancedParams, callingNode, calledNode, seriesDataset, study);
-        }
-      }
+  private Study getStudy(DicomModel model, String studyUID) {
+    synchronized (this) {
+      MediaSeriesGroup studyGroup = model.getStudyNode(studyUID);
+      MediaSeriesGroup patientGroup = model.getParent(studyGroup, DicomModel.patient);
+      Patient patient = DicomModelQueryResult.getPatient(patientGroup, this);
+      return DicomModelQueryResult.getStudy(studyGroup, patient);
     }
   }
 
   private static Series getSeries(Study study, final Attributes seriesDataset) {
     String uid = seriesDataset.getString(Tag.SeriesInstanceUID);
-    Series s = study.getSeries(uid);
-    if (s == null) {
-      s = new Series(uid);
-      s.setSeriesDescription(seriesDataset.getString(Tag.SeriesDescription));
-      s.setSeriesNumber(seriesDataset.getString(Tag.SeriesNumber));
-      s.setModality(seriesDataset.getString(Tag.Modality));
-      study.addSeries(s);
+    synchronized (study) {
+      Series s = study.getSeries(uid);
+      if (s == null) {
+        s = new Series(uid);
+        s.setSeriesDescription(seriesDataset.getString(Tag.SeriesDescription));
+        s.setSeriesNumber(seriesDataset.getString(Tag.SeriesNumber));
+        s.setModality(seriesDataset.getString(Tag.Modality));
+        study.addSeries(s);
+      }
+      return s;
     }
-    return s;
   }
 
   private static void fillInstance(
-      AdvancedParams advancedParams,
-      DicomNode callingNode,
-      DicomNode calledNode,
-      Attributes seriesDataset,
-      Study study) {
+      CFindAssociationPool pool, Attributes seriesDataset, Study study) {
     String seriesInstanceUID = seriesDataset.getString(Tag.SeriesInstanceUID);
     if (StringUtil.hasText(seriesInstanceUID)) {
       DicomParam[] keysInstance = {
@@ -108,24 +154,39 @@ private static void fillInstance(
         CFind.SOPInstanceUID,
         CFind.InstanceNumber
       };
-      DicomState state =
-          CFind.process(
-              advancedParams, callingNode, calledNode, 0, QueryRetrieveLevel.IMAGE, keysInstance);
-
-      List<Attributes> instances = state.getDicomRSP();
-      if (instances != null && !instances.isEmpty()) {
-        Series s = getSeries(study, seriesDataset);
+      query(
+          pool,
+          QueryRetrieveLevel.IMAGE,
+          keysInstance,
+          instanceDataSet -> {
+            Series s = getSeries(study, seriesDataset);
+            Integer frame =
+                DicomUtils.getIntegerFromDicomElement(instanceDataSet, Tag.InstanceNumber, null);
+            String sopUID = instanceDataSet.getString(Tag.SOPInstanceUID);
+            synchronized (s) {
+              SopInstance sop = s.getSopInstance(sopUID, frame);
+              if (sop == null) {
+                s.addSopInstance(new SopInstance(sopUID, frame));
+              }
+            }
+          });
+    }
+  }
 
-        for (Attributes instanceDataSet : instances) {
-          Integer frame =
-              DicomUtils.getIntegerFromDicomElement(instanceDataSet, Tag.InstanceNumber, null);
-          String sopUID = instanceDataSet.getString(Tag.SOPInstanceUID);
-          SopInstance sop = s.getSopInstance(sopUID, frame);
-          if (sop == null) {
-            s.addSopInstance(new SopInstance(sopUID, frame));
-          }
-        }
+  private static void query(
+      CFindAssociationPool pool,
+      QueryRetrieveLevel level,
+      DicomParam[] keys,
+      Consumer<Attributes> consumer) {
+    try {
+      int status = pool.find(level, consumer, keys);
+      if (status != Status.Success) {
+        LOGGER.warn("C-FIND {} ends with status {}", level, Integer.toHexString(status));
       }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      LOGGER.error("C-FIND {}", level, e);
     }
   }
 }
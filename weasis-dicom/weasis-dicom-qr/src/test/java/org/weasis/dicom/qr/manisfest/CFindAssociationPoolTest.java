@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.qr.manisfest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.net.ApplicationEntity;
+import org.dcm4che3.net.Association;
+import org.dcm4che3.net.Connection;
+import org.dcm4che3.net.Device;
+import org.dcm4che3.net.Status;
+import org.dcm4che3.net.TransferCapability;
+import org.dcm4che3.net.pdu.PresentationContext;
+import org.dcm4che3.net.service.BasicCEchoSCP;
+import org.dcm4che3.net.service.BasicCFindSCP;
+import org.dcm4che3.net.service.BasicQueryTask;
+import org.dcm4che3.net.service.DicomServiceException;
+import org.dcm4che3.net.service.DicomServiceRegistry;
+import org.dcm4che3.net.service.QueryRetrieveLevel;
+import org.dcm4che3.net.service.QueryTask;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.weasis.dicom.param.AdvancedParams;
+import org.weasis.dicom.param.DicomNode;
+import org.weasis.dicom.param.DicomParam;
+
+class CFindAssociationPoolTest {
+
+  private static final int STUDIES = 3;
+  private static final int SERIES = 4;
+  private static final int INSTANCES = 5;
+  private static final String ABORTED_STUDY = "1.2.6.1";
+
+  private static final Set<Association> ASSOCIATIONS = ConcurrentHashMap.newKeySet();
+  private static final AtomicInteger RUNNING = new AtomicInteger();
+  private static final AtomicInteger MAX_RUNNING = new AtomicInteger();
+
+  private static Device device;
+  private static ExecutorService executor;
+  private static ScheduledExecutorService scheduledExecutor;
+  private static int port;
+
+  /** Study Root C-FIND SCP stand-in answering with a fixed hierarchy. */
+  private static class FindSCP extends BasicCFindSCP {
+
+    FindSCP() {
+      super(UID.StudyRootQueryRetrieveInformationModelFind);
+    }
+
+    @Override
+    protected QueryTask calculateMatches(
+        Association as, PresentationContext pc, Attributes rq, Attributes keys)
+        throws DicomServiceException {
+      if (ABORTED_STUDY.equals(keys.getString(Tag.StudyInstanceUID))) {
+        // Closes the association before the final response
+        as.abort();
+        throw new DicomServiceException(Status.UnableToProcess);
+      }
+      ASSOCIATIONS.add(as);
+      MAX_RUNNING.accumulateAndGet(RUNNING.incrementAndGet(), Math::max);
+      boolean series = "SERIES".equals(keys.getString(Tag.QueryRetrieveLevel));
+      String studyUID = keys.getString(Tag.StudyInstanceUID);
+      String seriesUID = keys.getString(Tag.SeriesInstanceUID);
+      int count = series ? SERIES : INSTANCES;
+      return new BasicQueryTask(as, pc, rq, keys) {
+        private int index;
+
+        @Override
+        protected boolean hasMoreMatches() {
+          if (index < count) {
+            return true;
+          }
+          RUNNING.decrementAndGet();
+          return false;
+        }
+
+        @Override
+        protected Attributes nextMatch() {
+          try {
+            Thread.sleep(5);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          index++;
+          Attributes match = new Attributes();
+          match.setString(Tag.StudyInstanceUID, VR.UI, studyUID);
+          if (series) {
+            match.setString(Tag.SeriesInstanceUID, VR.UI, studyUID + "." + index);
+            match.setString(Tag.Modality, VR.CS, "CT");
+          } else {
+            match.setString(Tag.SeriesInstanceUID, VR.UI, seriesUID);
+            match.setString(Tag.SOPInstanceUID, VR.UI, seriesUID + "." + index);
+            match.setInt(Tag.InstanceNumber, VR.IS, index);
+          }
+          return match;
+        }
+      };
+    }
+  }
+
+  @BeforeAll
+  static void startScp() throws IOException, GeneralSecurityException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    device = new Device("qrscp");
+    ApplicationEntity ae = new ApplicationEntity("QRSCP");
+    Connection conn = new Connection();
+    conn.setHostname("localhost");
+    conn.setPort(port);
+    device.addConnection(conn);
+    device.addApplicationEntity(ae);
+    ae.addConnection(conn);
+    ae.setAssociationAcceptor(true);
+    ae.addTransferCapability(new TransferCapability(null, "*", TransferCapability.Role.SCP, "*"));
+    DicomServiceRegistry registry = new DicomServiceRegistry();
+    registry.addDicomService(new BasicCEchoSCP());
+    registry.addDicomService(new FindSCP());
+    device.setDimseRQHandler(registry);
+    executor = Executors.newCachedThreadPool();
+    scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+    device.setExecutor(executor);
+    device.setScheduledExecutor(scheduledExecutor);
+    device.bindConnections();
+  }
+
+  @AfterAll
+  static void stopScp() {
+    device.unbindConnections();
+    executor.shutdownNow();
+    scheduledExecutor.shutdownNow();
+  }
+
+  private static DicomParam[] seriesKeys(String studyUID) {
+    return new DicomParam[] {
+      new DicomParam(Tag.StudyInstanceUID, studyUID), new DicomParam(Tag.SeriesInstanceUID)
+    };
+  }
+
+  @Test
+  void expansionReusesABoundedNumberOfAssociations() throws Exception {
+    ASSOCIATIONS.clear();
+    MAX_RUNNING.set(0);
+    List<String> sopUIDs = new CopyOnWriteArrayList<>();
+    ExecutorService tasks = Executors.newFixedThreadPool(8);
+    try (CFindAssociationPool pool =
+        new CFindAssociationPool(
+            new AdvancedParams(),
+            new DicomNode("WEASIS"),
+            new DicomNode("QRSCP", "localhost", port),
+            2)) {
+      List<Attributes> series = new CopyOnWriteArrayList<>();
+      for (int i = 1; i <= STUDIES; i++) {
+        String studyUID = "1.2.3." + i;
+        int status = pool.find(QueryRetrieveLevel.SERIES, series::add, seriesKeys(studyUID));
+        assertEquals(Status.Success, status);
+      }
+      assertEquals(STUDIES * SERIES, series.size());
+
+      List<Future<Integer>> results = new ArrayList<>();
+      for (Attributes s : series) {
+        DicomParam[] keys = {
+          new DicomParam(Tag.StudyInstanceUID, s.getString(Tag.StudyInstanceUID)),
+          new DicomParam(Tag.SeriesInstanceUID, s.getString(Tag.SeriesInstanceUID)),
+          new DicomParam(Tag.SOPInstanceUID)
+        };
+        results.add(
+            tasks.submit(
+                () ->
+                    pool.find(
+                        QueryRetrieveLevel.IMAGE,
+                        a -> sopUIDs.add(a.getString(Tag.SOPInstanceUID)),
+                        keys)));
+      }
+      for (Future<Integer> result : results) {
+        assertEquals(Status.Success, result.get());
+      }
+      assertTrue(pool.getOpenedAssociations() <= 2);
+    } finally {
+      tasks.shutdown();
+    }
+    assertEquals(STUDIES * SERIES * INSTANCES, sopUIDs.size());
+    assertEquals(STUDIES * SERIES * INSTANCES, Set.copyOf(sopUIDs).size());
+    assertTrue(ASSOCIATIONS.size() <= 2);
+    assertTrue(MAX_RUNNING.get() <= 2);
+  }
+
+  @Test
+  void sequentialQueriesReuseTheAssociation() throws Exception {
+    AtomicInteger received = new AtomicInteger();
+    try (CFindAssociationPool pool =
+        new CFindAssociationPool(
+            null, new DicomNode("WEASIS"), new DicomNode("QRSCP", "localhost", port), 4)) {
+      for (int i = 1; i <= STUDIES; i++) {
+        DicomParam[] keys = seriesKeys("1.2.9." + i);
+        int status = pool.find(QueryRetrieveLevel.SERIES, _ -> received.incrementAndGet(), keys);
+        assertEquals(Status.Success, status);
+      }
+      assertEquals(1, pool.getOpenedAssociations());
+    }
+    assertEquals(STUDIES * SERIES, received.get());
+  }
+
+  @Test
+  void queryWithoutFinalResponseIsNotSuccessful() throws Exception {
+    try (CFindAssociationPool pool =
+        new CFindAssociationPool(
+            null, new DicomNode("WEASIS"), new DicomNode("QRSCP", "localhost", port), 1)) {
+      int status = pool.find(QueryRetrieveLevel.SERIES, _ -> {}, seriesKeys(ABORTED_STUDY));
+      assertNotEquals(Status.Success, status);
+
+      // The closed association is not reused
+      AtomicInteger received = new AtomicInteger();
+      DicomParam[] keys = seriesKeys("1.2.7.1");
+      status = pool.find(QueryRetrieveLevel.SERIES, _ -> received.incrementAndGet(), keys);
+      assertEquals(Status.Success, status);
+      assertEquals(SERIES, received.get());
+      assertEquals(2, pool.getOpenedAssociations());
+    }
+  }
+}
@@ -9,7 +9,6 @@
  */
 package org.weasis.dicom.rt;
 
-import java.util.concurrent.CopyOnWriteArraySet;
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.Tag;
 import org.weasis.core.api.util.ResourceUtil.OtherIcon;
@@ -36,10 +35,7 @@ public RtSpecialElement(DicomMediaIO mediaIO) {
 
   @Override
   public void initReferences(String originSeriesUID) {
-    HiddenSeriesManager.getInstance()
-        .series2Elements
-        .computeIfAbsent(originSeriesUID, _ -> new CopyOnWriteArraySet<>())
-        .add(this);
+    HiddenSeriesManager.getInstance().addHiddenElement(originSeriesUID, this);
 
     Attributes dcmItems = getMediaReader().getDicomObject();
     if (dcmItems == null) {
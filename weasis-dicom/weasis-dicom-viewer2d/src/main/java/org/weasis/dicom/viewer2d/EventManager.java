@@ -22,6 +22,7 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import javax.swing.BoundedRangeModel;
@@ -68,6 +69,8 @@
 import org.weasis.core.api.image.op.ByteLutCollection;
 import org.weasis.core.api.image.util.KernelData;
 import org.weasis.core.api.image.util.Unit;
+import org.weasis.core.api.media.data.ImageDecodeAhead;
+import org.weasis.core.api.media.data.ImageElement;
 import org.weasis.core.api.media.data.MediaElement;
 import org.weasis.core.api.media.data.MediaSeries;
 import org.weasis.core.api.media.data.Series;
@@ -118,6 +121,7 @@
 import org.weasis.dicom.viewer2d.mpr.MprController;
 import org.weasis.dicom.viewer2d.mpr.MprView;
 import org.weasis.dicom.viewer2d.mpr.Volume;
+import org.weasis.opencv.data.PlanarImage;
 import org.weasis.opencv.op.ImageConversion;
 import org.weasis.opencv.op.lut.ByteLut;
 import org.weasis.opencv.op.lut.ColorLut;
@@ -279,6 +283,49 @@ protected SynchManager<DicomImageElement> createSynchManager() {
   protected SliderCineListener getMoveTroughSliceAction(
       double speed, TIME time, double mouseSensitivity) {
     return new SliderCineListener(ActionW.SCROLL_SERIES, 1, 2, 1, speed, time, mouseSensitivity) {
+      private final ImageDecodeAhead decodeAhead =
+          new ImageDecodeAhead(getPacer()::recordDecodeLatency);
+      // Slice decoded in the background before updating the views, accessed only in the EDT
+      private CompletableFuture<PlanarImage> pendingSlice;
+      private DicomImageElement loadedSlice;
+      // Slice whose background load failed, skipped instead of being decoded again in the EDT
+      private DicomImageElement failedSlice;
+
+      @Override
+      protected boolean isFrameReady(int sliderValue) {
+        // MPR slices are computed on demand from the volume
+        return getSelectedViewPane() instanceof MprView
+            || ImageDecodeAhead.isReadyToDisplay(getSelectedSeriesImage(sliderValue));
+      }
+
+      @Override
+      protected void prefetchFrames(int[] sliderValues) {
+        if (getSelectedViewPane() instanceof MprView) {
+          decodeAhead.clear();
+        } else {
+          prefetchSelectedSeriesImages(decodeAhead, sliderValues);
+        }
+      }
+
+      private void loadSliceAndUpdate(BoundedRangeModel model, DicomImageElement image) {
+        CompletableFuture<PlanarImage> load =
+            image.getImageAsync(null, ImageElement.Priority.HIGH);
+        pendingSlice = load;
+        load.whenComplete(
+            (img, error) ->
+                GuiExecutor.execute(
+                    () -> {
+                      pendingSlice = null;
+                      if (img == null && image.isReadable()) {
+                        LOGGER.warn("Cannot load the slice {}", image, error);
+                        failedSlice = image;
+                      } else {
+                        loadedSlice = image;
+                      }
+                      // Apply the last slider value, another image may be loaded first
+                      stateChanged(model);
+                    }));
+      }
 
       @Override
       public void stateChanged(BoundedRangeModel model) {
@@ -322,6 +369,17 @@ public void stateChanged(BoundedRangeModel model) {
             mediaEvent = new SynchCineEvent(view2d, image, index);
             // Ensure to load image before calling the default preset (requires pixel min and max)
             if (image != null && !image.isImageAvailable()) {
+              if (image == failedSlice && !isCining()) {
+                // The current image remains displayed
+                return;
+              }
+              if (image.isReadable() && !isCining() && image != loadedSlice) {
+                // Keep the current image displayed while decoding, then apply the slider value
+                if (pendingSlice == null) {
+                  loadSliceAndUpdate(model, image);
+                }
+                return;
+              }
               image.getImage();
             }
           }
@@ -11,11 +11,17 @@
 
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
-import java.util.LinkedHashMap;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import org.dcm4che3.data.Tag;
 import org.joml.Vector3d;
 import org.opencv.core.Core;
@@ -30,6 +36,9 @@
 import org.weasis.core.api.media.data.ImageElement;
 import org.weasis.core.api.media.data.MediaSeries;
 import org.weasis.core.api.media.data.MediaSeries.MEDIA_POSITION;
+import org.weasis.core.api.media.data.NativeCache;
+import org.weasis.core.api.util.MemoryManager;
+import org.weasis.core.api.util.SystemMemory;
 import org.weasis.core.ui.model.graphic.imp.seg.ByteLutAlpha;
 import org.weasis.core.util.StringUtil;
 import org.weasis.dicom.codec.DicomImageElement;
@@ -102,8 +111,6 @@ public class FusionOp extends AbstractOp {
   /** Identity gray BGR LUT used when no color LUT is selected. */
   private static final byte[][] GRAY_LUT = buildGrayLut();
 
-  private static final int VOLUME_OVERLAY_CACHE_SIZE = 8;
-
   /**
    * Slice-path cache keyed by the matched PET slice (strongly held by the series). Color is baked
    * in; opacity is applied at composite time, so the cache survives opacity changes.
@@ -112,19 +119,117 @@ public class FusionOp extends AbstractOp {
       new WeakHashMap<>();
 
   /**
-   * Volume-path cache keyed by the displayed plane geometry. MPR reuses a single {@link
-   * DicomImageElement} per axis and only mutates its geometry between reslices, so the overlay must
-   * be keyed by the plane (which has value-based equality) rather than the element identity —
-   * otherwise the first plane's overlay would be reused for every reslice. Bounded LRU because the
-   * {@link GeometryOfSlice} keys are not retained anywhere else.
+   * Volume-path overlays shared by every view fusing the same volume (e.g. the panes of a 1x3
+   * layout). MPR reuses a single {@link DicomImageElement} per axis and only mutates its geometry
+   * between reslices, so the overlay is keyed by the plane (which has value-based equality) rather
+   * than the element identity, and by everything else the overlay depends on. The entries are
+   * evicted in access order when the cache budget or the global native memory budget of the {@link
+   * MemoryManager} is exceeded; the overlays currently displayed are pinned.
+   */
+  private static final OverlayCache VOLUME_OVERLAY_CACHE =
+      new OverlayCache(Math.min(256L << 20, SystemMemory.getNativeMemoryBudget() / 8));
+
+  /** Identifies the volumes without retaining them, so that a cache key never pins a volume. */
+  private static final Map<Volume<?, ?>, VolumeRef> VOLUME_IDS = new WeakHashMap<>();
+
+  /** Keeps the references of the volumes reachable until they are enqueued. */
+  private static final Set<VolumeRef> VOLUME_REFS = ConcurrentHashMap.newKeySet();
+
+  private static final ReferenceQueue<Volume<?, ?>> RELEASED_VOLUMES = new ReferenceQueue<>();
+
+  /** Keeps the pins of the operations reachable until they are enqueued. */
+  private static final Set<OverlayPin> OVERLAY_PINS = ConcurrentHashMap.newKeySet();
+
+  private static final ReferenceQueue<FusionOp> RELEASED_OPS = new ReferenceQueue<>();
+
+  private static final AtomicLong VOLUME_COUNTER = new AtomicLong();
+
+  /**
+   * Everything a volume-path overlay depends on: the volume, the displayed plane and its pixel
+   * grid, the overlay window and the color LUT. The opacity is applied at composite time.
    */
-  private final transient Map<GeometryOfSlice, PlanarImage> volumeOverlayCache =
-      new LinkedHashMap<>(16, 0.75f, true) {
-        @Override
-        protected boolean removeEldestEntry(Map.Entry<GeometryOfSlice, PlanarImage> eldest) {
-          return size() > VOLUME_OVERLAY_CACHE_SIZE;
+  private record OverlayKey(
+      long volumeId,
+      GeometryOfSlice plane,
+      int width,
+      int height,
+      double min,
+      double max,
+      ByteLut lut) {}
+
+  /**
+   * Cache of the volume-path overlays. Before making room for a new overlay, it releases the pins
+   * of the operations and the overlays of the volumes that are no longer reachable, so an entry
+   * never stays pinned when {@link #clearCache()} has not been called.
+   */
+  private static final class OverlayCache extends NativeCache<OverlayKey, PlanarImage> {
+
+    OverlayCache(long maxNativeMemory) {
+      super(maxNativeMemory);
+    }
+
+    @Override
+    public void expungeStaleEntries() {
+      releaseUnreachable();
+      super.expungeStaleEntries();
+    }
+
+    @Override
+    protected void afterEntryRemove(OverlayKey key, PlanarImage img) {
+      if (img != null) {
+        img.release();
+      }
+    }
+
+    void releaseUnreachable() {
+      Reference<? extends FusionOp> op;
+      while ((op = RELEASED_OPS.poll()) != null) {
+        if (op instanceof OverlayPin pin) {
+          pin.set(null);
+          OVERLAY_PINS.remove(pin);
         }
-      };
+      }
+      Reference<? extends Volume<?, ?>> volume;
+      while ((volume = RELEASED_VOLUMES.poll()) != null) {
+        if (volume instanceof VolumeRef ref) {
+          VOLUME_REFS.remove(ref);
+          removeIf(key -> key.volumeId() == ref.id);
+        }
+      }
+    }
+  }
+
+  /** Weak reference to a volume carrying the id used in the keys of its overlays. */
+  private static final class VolumeRef extends WeakReference<Volume<?, ?>> {
+    private final long id;
+
+    VolumeRef(Volume<?, ?> volume, long id) {
+      super(volume, RELEASED_VOLUMES);
+      this.id = id;
+    }
+  }
+
+  /**
+   * The overlay displayed by an operation, pinned in {@link #VOLUME_OVERLAY_CACHE}. It only weakly
+   * references the operation, so the pin can be released once the operation is unreachable.
+   */
+  private static final class OverlayPin extends WeakReference<FusionOp> {
+    private OverlayKey key;
+
+    OverlayPin(FusionOp op) {
+      super(op, RELEASED_OPS);
+    }
+
+    synchronized void set(OverlayKey newKey) {
+      if (!Objects.equals(newKey, key)) {
+        VOLUME_OVERLAY_CACHE.pin(newKey);
+        VOLUME_OVERLAY_CACHE.unpin(key);
+        key = newKey;
+      }
+    }
+  }
+
+  private transient OverlayPin overlayPin;
 
   public FusionOp() {
     setName(OP_NAME);
@@ -236,27 +341,66 @@ private PlanarImage getVolumeOverlay(
     if (plane == null) {
       return null;
     }
-    PlanarImage cached = volumeOverlayCache.get(plane);
-    if (cached != null) {
-      return cached;
-    }
     DicomImageElement refOverlay = overlaySeries.getMedia(MEDIA_POSITION.MIDDLE, null, null);
     if (refOverlay == null) {
       return null;
     }
     double min = refOverlay.getMinValue(null);
     double max = refOverlay.getMaxValue(null);
-    PlanarImage overlayGray =
-        FusionVolumeResampler.resampleToGray(
-            volume, plane, baseSource.width(), baseSource.height(), min, max);
-    if (overlayGray == null) {
-      return null;
+    OverlayKey key =
+        new OverlayKey(
+            getVolumeId(volume),
+            plane,
+            baseSource.width(),
+            baseSource.height(),
+            min,
+            max,
+            getParam(P_FUSION_LUT, ByteLut.class));
+    VOLUME_OVERLAY_CACHE.releaseUnreachable();
+    PlanarImage overlay = VOLUME_OVERLAY_CACHE.get(key);
+    if (overlay == null) {
+      PlanarImage overlayGray =
+          FusionVolumeResampler.resampleToGray(
+              volume, plane, baseSource.width(), baseSource.height(), min, max);
+      if (overlayGray == null) {
+        return null;
+      }
+      overlay = applyAlphaLut(overlayGray);
+      overlayGray.release();
+      PlanarImage cached = VOLUME_OVERLAY_CACHE.putIfAbsent(key, overlay);
+      if (cached != null) {
+        // Another view has built the same overlay concurrently
+        overlay.release();
+        overlay = cached;
+      }
     }
-    PlanarImage overlay = applyAlphaLut(overlayGray);
-    volumeOverlayCache.put(plane, overlay);
+    pinOverlay(key);
     return overlay;
   }
 
+  private static long getVolumeId(Volume<?, ?> volume) {
+    synchronized (VOLUME_IDS) {
+      VolumeRef ref = VOLUME_IDS.get(volume);
+      if (ref == null) {
+        ref = new VolumeRef(volume, VOLUME_COUNTER.incrementAndGet());
+        VOLUME_IDS.put(volume, ref);
+        VOLUME_REFS.add(ref);
+      }
+      return ref.id;
+    }
+  }
+
+  private void pinOverlay(OverlayKey key) {
+    if (overlayPin == null) {
+      if (key == null) {
+        return;
+      }
+      overlayPin = new OverlayPin(this);
+      OVERLAY_PINS.add(overlayPin);
+    }
+    overlayPin.set(key);
+  }
+
   /** Fallback path: nearest native PET slice, colorised and 2D-affine aligned to the CT grid. */
   private PlanarImage getSliceOverlay(
       DicomImageElement baseImage,
@@ -531,6 +675,7 @@ private static Point2D overlayPixelOf(
   /** Clears the aligned overlay caches. Called when the LUT, series or volume changes. */
   public void clearCache() {
     sliceOverlayCache.clear();
-    volumeOverlayCache.clear();
+    // The shared volume overlays are keyed by all their inputs, only release the displayed one
+    pinOverlay(null);
   }
 }
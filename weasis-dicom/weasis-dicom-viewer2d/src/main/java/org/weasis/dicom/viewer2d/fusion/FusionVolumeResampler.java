@@ -9,6 +9,7 @@
  */
 package org.weasis.dicom.viewer2d.fusion;
 
+import java.util.Arrays;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveAction;
 import org.joml.Vector3d;
@@ -47,21 +48,27 @@ private FusionVolumeResampler() {}
    */
   public static PlanarImage resampleToValue(
       Volume<?, ?> volume, GeometryOfSlice plane, int width, int height) {
-    PlaneVectors p = PlaneVectors.of(volume, plane, width, height);
-    if (p == null) {
+    VoxelGrid grid = VoxelGrid.of(volume, plane, width, height);
+    if (grid == null) {
       return null;
     }
 
     float[] data = new float[width * height];
+    Arrays.fill(data, Float.NaN);
     // Nearest-neighbour keeps the original PET voxel values (faithful SUV min/max).
+    long sx = volume.voxelIndex(1, 0, 0) - volume.voxelIndex(0, 0, 0);
+    long sy = volume.voxelIndex(0, 1, 0) - volume.voxelIndex(0, 0, 0);
+    long sz = volume.voxelIndex(0, 0, 1) - volume.voxelIndex(0, 0, 0);
     resample(
-        volume,
-        p,
-        width,
-        height,
-        (i, vx, vy, vz) -> {
-          double v = volume.getNearestDouble(vx, vy, vz, 0);
-          data[i] = Double.isNaN(v) ? Float.NaN : (float) v;
+        grid,
+        NEAREST,
+        (offset, start, end, x, y, z, dx, dy, dz) -> {
+          for (int c = start; c < end; c++) {
+            long xi = Math.round(x + dx * c);
+            long yi = Math.round(y + dy * c);
+            long zi = Math.round(z + dz * c);
+            data[offset + c] = (float) volume.getDoubleAt(xi * sx + yi * sy + zi * sz);
+          }
         });
 
     ImageCV out = new ImageCV(height, width, CvType.CV_32FC1);
@@ -84,8 +91,20 @@ public static PlanarImage resampleToValue(
    */
   public static PlanarImage resampleToGray(
       Volume<?, ?> volume, GeometryOfSlice plane, int width, int height, double min, double max) {
-    PlaneVectors p = PlaneVectors.of(volume, plane, width, height);
-    if (p == null) {
+    byte[] data = resampleToGrayData(volume, plane, width, height, min, max);
+    if (data == null) {
+      return null;
+    }
+    ImageCV out = new ImageCV(height, width, CvType.CV_8UC1);
+    out.put(0, 0, data);
+    return out;
+  }
+
+  /** Pixels of {@link #resampleToGray} row by row, or {@code null} if it cannot be resliced. */
+  static byte[] resampleToGrayData(
+      Volume<?, ?> volume, GeometryOfSlice plane, int width, int height, double min, double max) {
+    VoxelGrid grid = VoxelGrid.of(volume, plane, width, height);
+    if (grid == null) {
       return null;
     }
 
@@ -93,32 +112,110 @@ public static PlanarImage resampleToGray(
     double scale = 255.0 / (range <= 0 ? 1.0 : range);
 
     byte[] data = new byte[width * height];
+    long s000 = volume.voxelIndex(0, 0, 0);
+    long sx = volume.voxelIndex(1, 0, 0) - s000;
+    long sy = volume.voxelIndex(0, 1, 0) - s000;
+    long sz = volume.voxelIndex(0, 0, 1) - s000;
     resample(
-        volume,
-        p,
-        width,
-        height,
-        (i, vx, vy, vz) -> {
-          double v = volume.getInterpolatedDouble(vx, vy, vz, 0);
-          if (!Double.isNaN(v)) {
+        grid,
+        TRILINEAR,
+        (offset, start, end, x, y, z, dx, dy, dz) -> {
+          for (int c = start; c < end; c++) {
+            double vx = x + dx * c;
+            double vy = y + dy * c;
+            double vz = z + dz * c;
+            // Inside the clipped range, the coordinates are non-negative: the cast is a floor
+            int x0 = (int) vx;
+            int y0 = (int) vy;
+            int z0 = (int) vz;
+            double fx = vx - x0;
+            double fy = vy - y0;
+            double fz = vz - z0;
+            long i000 = x0 * sx + y0 * sy + z0 * sz;
+            long i001 = i000 + sz;
+            double v00 = lerp(volume.getDoubleAt(i000), volume.getDoubleAt(i000 + sx), fx);
+            double v10 =
+                lerp(volume.getDoubleAt(i000 + sy), volume.getDoubleAt(i000 + sy + sx), fx);
+            double v01 = lerp(volume.getDoubleAt(i001), volume.getDoubleAt(i001 + sx), fx);
+            double v11 =
+                lerp(volume.getDoubleAt(i001 + sy), volume.getDoubleAt(i001 + sy + sx), fx);
+            double v = lerp(lerp(v00, v10, fy), lerp(v01, v11, fy), fz);
             int g = (int) Math.round((v - min) * scale);
-            data[i] = (byte) Math.clamp(g, 0, 255);
+            data[offset + c] = (byte) Math.clamp(g, 0, 255);
           }
         });
+    return data;
+  }
 
-    ImageCV out = new ImageCV(height, width, CvType.CV_8UC1);
-    out.put(0, 0, data);
-    return out;
+  private static double lerp(double v0, double v1, double factor) {
+    return v0 * (1 - factor) + v1 * factor;
+  }
+
+  private static void resample(VoxelGrid grid, Bounds bounds, RowSampler sampler) {
+    ForkJoinPool.commonPool().invoke(new ResampleTask(0, grid.height, grid, bounds, sampler));
+  }
+
+  /** Nearest-neighbour reads: the rounded coordinates must be inside the volume. */
+  private static final Bounds NEAREST =
+      (v, x, y, z) ->
+          isIndexInside(Math.round(x), v.getSizeX())
+              && isIndexInside(Math.round(y), v.getSizeY())
+              && isIndexInside(Math.round(z), v.getSizeZ());
+
+  /** Trilinear reads: the upper neighbour of each coordinate must be inside the volume. */
+  private static final Bounds TRILINEAR =
+      (v, x, y, z) ->
+          x >= 0
+              && x < v.getSizeX() - 1
+              && y >= 0
+              && y < v.getSizeY() - 1
+              && z >= 0
+              && z < v.getSizeZ() - 1;
+
+  private static boolean isIndexInside(long index, int size) {
+    return index >= 0 && index < size;
   }
 
-  private static void resample(
-      Volume<?, ?> volume, PlaneVectors p, int width, int height, VoxelSampler sampler) {
-    ForkJoinPool.commonPool().invoke(new ResampleTask(0, height, width, volume, p, sampler));
+  /** Tells whether the voxel coordinates can be read by a sampler. */
+  @FunctionalInterface
+  private interface Bounds {
+    boolean isInside(Volume<?, ?> volume, double x, double y, double z);
   }
 
-  /** Plane geometry as the four vectors driving the patient-space walk, all guaranteed non-null. */
-  private record PlaneVectors(Vector3d tlhc, Vector3d row, Vector3d column, Vector3d spacing) {
-    static PlaneVectors of(Volume<?, ?> volume, GeometryOfSlice plane, int width, int height) {
+  /**
+   * Writes the samples of the columns {@code [start, end)} of one output row, all inside the
+   * volume. The voxel coordinates of column {@code c} are {@code (x + dx * c, y + dy * c, z + dz *
+   * c)}.
+   */
+  @FunctionalInterface
+  private interface RowSampler {
+    void sampleRow(
+        int offset,
+        int start,
+        int end,
+        double x,
+        double y,
+        double z,
+        double dx,
+        double dy,
+        double dz);
+  }
+
+  /**
+   * Affine mapping from the output pixel grid to the volume voxel coordinates. {@link
+   * Volume#lpsToVoxel} is affine, so the voxel position of pixel {@code (c, r)} is {@code origin + c
+   * * colStep + r * rowStep}: the patient-space transform is evaluated three times per plane
+   * instead of once per pixel.
+   */
+  private record VoxelGrid(
+      Volume<?, ?> volume,
+      int width,
+      int height,
+      Vector3d origin,
+      Vector3d colStep,
+      Vector3d rowStep) {
+
+    static VoxelGrid of(Volume<?, ?> volume, GeometryOfSlice plane, int width, int height) {
       if (volume == null || plane == null || width <= 0 || height <= 0 || volume.isBasic()) {
         return null;
       }
@@ -129,19 +226,23 @@ static PlaneVectors of(Volume<?, ?> volume, GeometryOfSlice plane, int width, in
       if (tlhc == null || row == null || column == null || spacing == null) {
         return null;
       }
-      return new PlaneVectors(tlhc, row, column, spacing);
+      // Per-pixel displacement vectors in patient space (mm).
+      Vector3d origin = volume.lpsToVoxel(tlhc, new Vector3d());
+      Vector3d colStep =
+          volume
+              .lpsToVoxel(new Vector3d(row).mul(spacing.x).add(tlhc), new Vector3d())
+              .sub(origin);
+      Vector3d rowStep =
+          volume
+              .lpsToVoxel(new Vector3d(column).mul(spacing.y).add(tlhc), new Vector3d())
+              .sub(origin);
+      return new VoxelGrid(volume, width, height, origin, colStep, rowStep);
     }
   }
 
-  /** Writes the value sampled at output pixel {@code index} from volume voxel coordinates. */
-  @FunctionalInterface
-  private interface VoxelSampler {
-    void sample(int index, double vx, double vy, double vz);
-  }
-
   /**
-   * Fork/join task walking a contiguous band of output rows: for every pixel it maps the plane
-   * position into volume voxel coordinates and delegates the read/write to {@code sampler}. Split
+   * Fork/join task walking a contiguous band of output rows. Each row is clipped against the volume
+   * bounds, so the samplers only see readable voxels and skip whole rows outside the volume. Split
    * tasks write disjoint output indices, so a single shared sampler stays thread-safe.
    */
   private static final class ResampleTask extends RecursiveAction {
@@ -149,23 +250,16 @@ private static final class ResampleTask extends RecursiveAction {
 
     private final int startRow;
     private final int endRow;
-    private final int width;
-    private final Volume<?, ?> volume;
-    private final PlaneVectors p;
-    private final VoxelSampler sampler;
+    private final VoxelGrid grid;
+    private final Bounds bounds;
+    private final RowSampler sampler;
 
     private ResampleTask(
-        int startRow,
-        int endRow,
-        int width,
-        Volume<?, ?> volume,
-        PlaneVectors p,
-        VoxelSampler sampler) {
+        int startRow, int endRow, VoxelGrid grid, Bounds bounds, RowSampler sampler) {
       this.startRow = startRow;
       this.endRow = endRow;
-      this.width = width;
-      this.volume = volume;
-      this.p = p;
+      this.grid = grid;
+      this.bounds = bounds;
       this.sampler = sampler;
     }
 
@@ -177,32 +271,70 @@ protected void compute() {
       }
       int mid = (startRow + endRow) >>> 1;
       invokeAll(
-          new ResampleTask(startRow, mid, width, volume, p, sampler),
-          new ResampleTask(mid, endRow, width, volume, p, sampler));
+          new ResampleTask(startRow, mid, grid, bounds, sampler),
+          new ResampleTask(mid, endRow, grid, bounds, sampler));
     }
 
     private void resampleRows() {
-      Vector3d lps = new Vector3d();
-      Vector3d voxel = new Vector3d();
-      // Per-pixel displacement vectors in patient space (mm).
-      double rx = p.row.x * p.spacing.x;
-      double ry = p.row.y * p.spacing.x;
-      double rz = p.row.z * p.spacing.x;
-      double cx = p.column.x * p.spacing.y;
-      double cy = p.column.y * p.spacing.y;
-      double cz = p.column.z * p.spacing.y;
-
+      Vector3d o = grid.origin;
+      Vector3d d = grid.colStep;
+      Vector3d rs = grid.rowStep;
+      Volume<?, ?> volume = grid.volume;
       for (int r = startRow; r < endRow; r++) {
-        int rowOffset = r * width;
-        double baseX = p.tlhc.x + cx * r;
-        double baseY = p.tlhc.y + cy * r;
-        double baseZ = p.tlhc.z + cz * r;
-        for (int c = 0; c < width; c++) {
-          lps.set(baseX + rx * c, baseY + ry * c, baseZ + rz * c);
-          volume.lpsToVoxel(lps, voxel);
-          sampler.sample(rowOffset + c, voxel.x, voxel.y, voxel.z);
+        double x = o.x + rs.x * r;
+        double y = o.y + rs.y * r;
+        double z = o.z + rs.z * r;
+        // The voxel coordinates are linear along the row, so the readable columns form a single
+        // interval: estimate it analytically, then adjust its ends with the exact bounds test.
+        double lo = 0;
+        double hi = grid.width;
+        lo = Math.max(lo, lowerColumn(x, d.x, volume.getSizeX()));
+        hi = Math.min(hi, upperColumn(x, d.x, volume.getSizeX()));
+        lo = Math.max(lo, lowerColumn(y, d.y, volume.getSizeY()));
+        hi = Math.min(hi, upperColumn(y, d.y, volume.getSizeY()));
+        lo = Math.max(lo, lowerColumn(z, d.z, volume.getSizeZ()));
+        hi = Math.min(hi, upperColumn(z, d.z, volume.getSizeZ()));
+        if (lo >= hi) {
+          continue;
+        }
+        int start = (int) Math.ceil(lo);
+        int end = (int) Math.min(grid.width, Math.ceil(hi));
+        while (start > 0 && isInside(volume, x, y, z, d, start - 1)) {
+          start--;
+        }
+        while (start < end && !isInside(volume, x, y, z, d, start)) {
+          start++;
         }
+        while (end < grid.width && isInside(volume, x, y, z, d, end)) {
+          end++;
+        }
+        while (end > start && !isInside(volume, x, y, z, d, end - 1)) {
+          end--;
+        }
+        if (start < end) {
+          sampler.sampleRow(r * grid.width, start, end, x, y, z, d.x, d.y, d.z);
+        }
+      }
+    }
+
+    private boolean isInside(Volume<?, ?> volume, double x, double y, double z, Vector3d d, int c) {
+      return bounds.isInside(volume, x + d.x * c, y + d.y * c, z + d.z * c);
+    }
+
+    /** Lowest column where {@code a + b * c} may be in {@code [-1, size]} (a loose estimate). */
+    private static double lowerColumn(double a, double b, int size) {
+      if (Math.abs(b) < 1e-12) {
+        return a >= -1 && a <= size ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+      }
+      return b > 0 ? (-1 - a) / b : (size - a) / b;
+    }
+
+    /** Highest column where {@code a + b * c} may be in {@code [-1, size]} (a loose estimate). */
+    private static double upperColumn(double a, double b, int size) {
+      if (Math.abs(b) < 1e-12) {
+        return a >= -1 && a <= size ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
       }
+      return b > 0 ? (size - a) / b : (-1 - a) / b;
     }
   }
 }
@@ -26,6 +26,7 @@
 import org.opencv.core.Mat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.weasis.core.api.media.data.ImageElement;
 import org.weasis.dicom.codec.DicomImageElement;
 import org.weasis.dicom.codec.DicomSeries;
 import org.weasis.dicom.codec.seg.SegMaskOrientation;
@@ -152,6 +153,7 @@ public static SegmentationVolume build(
       if (canonical != null && !canonical.isEmpty()) {
         long stamped = canonical.resampleInto(segVolume, imageVolume::voxelToLps);
         if (stamped > 0) {
+          segVolume.compact();
           LOGGER.info(
               "Built image-aligned SegmentationVolume by resampling the canonical volume "
                   + "({} stamped voxels, storage: {})",
@@ -222,9 +224,17 @@ public static SegmentationVolume build(
 
       try (SplatContext sharedCtx = SplatContext.create(true, totalVoxels)) {
         boolean weighted = sharedCtx.isWeighted();
-        for (FrameRef ref : frames) {
+        for (int i = 0; i < frames.size(); i++) {
+          FrameRef ref = frames.get(i);
           DicomImageElement maskElement = segSeries.getMedia(ref.frameIndex, null, null);
           if (maskElement == null) continue;
+          // Decode the next frame while this one is stamped, getImage() joins the pending load
+          if (i + 1 < frames.size()) {
+            DicomImageElement next = segSeries.getMedia(frames.get(i + 1).frameIndex, null, null);
+            if (next != null) {
+              next.getImageAsync(null, ImageElement.Priority.NORMAL);
+            }
+          }
 
           PlanarImage rawMask = maskElement.getImage();
           if (rawMask == null || rawMask.width() <= 0 || rawMask.height() <= 0) {
@@ -281,6 +291,7 @@ public static SegmentationVolume build(
       return null;
     }
 
+    segVolume.compact();
     LOGGER.info(
         "Built SegmentationVolume with {} stamped frames out of {} total frames (storage: {})",
         stampedFrames,
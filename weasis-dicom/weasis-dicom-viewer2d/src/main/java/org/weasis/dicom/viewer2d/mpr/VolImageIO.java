@@ -122,63 +122,27 @@ public PlanarImage getImageFragment(MediaElement media) throws Exception {
     MprController controller = mprAxis.getMprView().mprController;
     Vector3d volumeCenter = controller.getCrossHairPosition();
     int extend = mprAxis.getThicknessExtension();
-    if (extend > 0 && !mprAxis.isAdjusting()) {
+    Type mipType = (Type) controller.getMipTypeOption().getSelectedItem();
+    PlanarImage image;
+    if (extend > 0 && mipType != null && mipType != Type.NONE) {
+      // Single pass over the slab, fast enough to be kept while adjusting the crosshair
       double position = controller.getCrossHairPosition(mprAxis).z;
-      List<PlanarImage> sources = new ArrayList<>();
+      List<Vector3d> sliceCenters = new ArrayList<>(extend * 2 + 1);
       for (int i = -extend; i <= extend; i++) {
-        PlanarImage slice;
-        if (i == 0) {
-          slice = getSlice(volumeCenter);
-        } else {
-          double positionIndex = position + i;
-          Vector3d centerIndex = new Vector3d(volumeCenter);
-          mprAxis.changePositionAlongAxis(centerIndex, positionIndex);
-          slice = volume.getVolumeSlice(mprAxis, centerIndex);
-        }
-        if (slice != null) {
-          sources.add(slice);
+        Vector3d centerIndex = new Vector3d(volumeCenter);
+        if (i != 0) {
+          mprAxis.changePositionAlongAxis(centerIndex, position + i);
         }
+        sliceCenters.add(centerIndex);
       }
-
-      PlanarImage image = mipStack(sources, volumeCenter);
-      image.setReleasedAfterProcessing(false);
-      return image;
+      image = getSlab(volumeCenter, sliceCenters, mipType);
+    } else {
+      image = getSlice(volumeCenter);
     }
-    PlanarImage image = getSlice(volumeCenter);
     image.setReleasedAfterProcessing(false);
     return image;
   }
 
-  private PlanarImage mipStack(List<PlanarImage> sources, Vector3d volumeCenter) {
-    if (sources.size() > 1) {
-      Type mipType = (Type) mprAxis.getMprView().mprController.getMipTypeOption().getSelectedItem();
-      if (mipType == Type.MEAN) {
-        return meanStack(sources);
-      } else {
-        return minMaxStack(sources, mipType);
-      }
-    }
-    return getSlice(volumeCenter);
-  }
-
-  private static PlanarImage minMaxStack(List<PlanarImage> sources, Type mipType) {
-    PlanarImage firstImg = sources.getFirst();
-    ImageCV dstImg = new ImageCV();
-    firstImg.toMat().copyTo(dstImg);
-
-    for (int i = 1; i < sources.size(); i++) {
-      PlanarImage image = sources.get(i);
-      if (image instanceof Mat mat && image.width() == dstImg.width()) {
-        if (mipType == Type.MIN) {
-          Core.min(dstImg, mat, dstImg);
-        } else if (mipType == Type.MAX) {
-          Core.max(dstImg, mat, dstImg);
-        }
-      }
-    }
-    return dstImg;
-  }
-
   public static ImageCV meanStack(List<PlanarImage> sources) {
     PlanarImage firstImg = sources.getFirst();
     int type = firstImg.type();
@@ -204,8 +168,18 @@ public PlanarImage getSlice(Vector3d volumeCenter) {
       return null;
     }
     HEADER_CACHE.remove(this);
+    return updateSliceTags(volume.getVolumeSlice(mprAxis, volumeCenter));
+  }
+
+  private PlanarImage getSlab(Vector3d volumeCenter, List<Vector3d> sliceCenters, Type mipType) {
+    if (volume.stack == null) {
+      return null;
+    }
+    HEADER_CACHE.remove(this);
+    return updateSliceTags(volume.getVolumeSlab(mprAxis, volumeCenter, sliceCenters, mipType));
+  }
 
-    PlanarImage curImage = volume.getVolumeSlice(mprAxis, volumeCenter);
+  private PlanarImage updateSliceTags(PlanarImage curImage) {
     if (curImage == null) {
       return null;
     }
@@ -217,8 +191,7 @@ public PlanarImage getSlice(Vector3d volumeCenter) {
     this.setTag(TagD.get(Tag.Columns), curImage.width());
     this.setTag(TagD.get(Tag.Rows), curImage.height());
     int extend = mprAxis.getThicknessExtension();
-    double thickness =
-        extend > 0 && !mprAxis.isAdjusting() ? (extend * 2 + 1) * minRatio : minRatio;
+    double thickness = extend > 0 ? (extend * 2 + 1) * minRatio : minRatio;
     this.setTag(TagD.get(Tag.SliceThickness), thickness);
     this.setTag(TagD.get(Tag.PixelSpacing), pixSpacing);
 
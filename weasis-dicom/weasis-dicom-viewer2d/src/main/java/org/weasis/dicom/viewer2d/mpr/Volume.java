@@ -51,6 +51,7 @@
 import org.weasis.core.util.MathUtil;
 import org.weasis.dicom.codec.DicomImageElement;
 import org.weasis.dicom.codec.geometry.GeometryOfSlice;
+import org.weasis.dicom.viewer2d.mip.MipView.Type;
 import org.weasis.opencv.data.ImageCV;
 import org.weasis.opencv.data.PlanarImage;
 
@@ -602,12 +603,19 @@ public PlanarImage getVolumeSlice(MprAxis mprAxis, Vector3d volumeCenter) {
     if (mprAxis == null) {
       return null;
     }
-    int sliceImageSize = getSliceSize();
-    Vector3d voxelRatio = getVoxelRatio();
     Quaterniond mprRotation = mprAxis.getMprView().mprController.getRotation(mprAxis.getPlane());
     Matrix4d combinedTransform = mprAxis.getRealVolumeTransformation(mprRotation, volumeCenter);
     mprAxis.getTransformation().set(combinedTransform);
+    return getVolumeSlice(combinedTransform);
+  }
 
+  /**
+   * @param combinedTransform the transformation of the pixels of the slice into the volume
+   * @return the image of the slice
+   */
+  PlanarImage getVolumeSlice(Matrix4d combinedTransform) {
+    int sliceImageSize = getSliceSize();
+    Vector3d voxelRatio = getVoxelRatio();
     int totalPixels = sliceImageSize * sliceImageSize;
     long totalElements = (long) totalPixels * channels;
     ChunkedArray<A> raster = createChunkedArray(totalElements);
@@ -624,6 +632,80 @@ public PlanarImage getVolumeSlice(MprAxis mprAxis, Vector3d volumeCenter) {
     return imageCV;
   }
 
+  /**
+   * Builds the image of a thick slab in a single pass. For each pixel, the slices of the slab are
+   * sampled one after the other along the plane normal and reduced on the fly, so no intermediate
+   * slice image is built.
+   *
+   * <p>The result is the same as reducing the images of {@link #getVolumeSlice(MprAxis, Vector3d)}
+   * built for each center: a sample outside the volume takes the fill value of a slice, the samples
+   * are rounded to the type of the volume and the mean is accumulated in float.
+   *
+   * @param mprAxis the axis of the plane
+   * @param volumeCenter the center of the middle slice, defining the geometry of the image
+   * @param sliceCenters the centers of the slices of the slab, along the plane normal
+   * @param mipType the reduction of the slices: MIN, MAX or MEAN
+   * @return the slab image, or null if the axis is null
+   */
+  public PlanarImage getVolumeSlab(
+      MprAxis mprAxis, Vector3d volumeCenter, List<Vector3d> sliceCenters, Type mipType) {
+    if (mprAxis == null) {
+      return null;
+    }
+    Quaterniond mprRotation = mprAxis.getMprView().mprController.getRotation(mprAxis.getPlane());
+    Matrix4d combinedTransform = mprAxis.getRealVolumeTransformation(mprRotation, volumeCenter);
+    mprAxis.getTransformation().set(combinedTransform);
+    List<Matrix4d> sliceTransforms =
+        sliceCenters.stream()
+            .map(center -> mprAxis.getRealVolumeTransformation(mprRotation, center))
+            .toList();
+    return getVolumeSlab(combinedTransform, sliceTransforms, mipType);
+  }
+
+  /**
+   * @param combinedTransform the transformation of the pixels of the middle slice into the volume
+   * @param sliceTransforms the transformations of the slices of the slab, which only differ from
+   *     {@code combinedTransform} by their translation along the plane normal
+   * @param mipType the reduction of the slices: MIN, MAX or MEAN
+   * @return the slab image
+   */
+  PlanarImage getVolumeSlab(
+      Matrix4d combinedTransform, List<Matrix4d> sliceTransforms, Type mipType) {
+    int sliceImageSize = getSliceSize();
+    Vector3d voxelRatio = getVoxelRatio();
+    Vector3d origin = combinedTransform.getTranslation(new Vector3d());
+    Vector3d offset = new Vector3d();
+    double[] sliceOffsets = new double[sliceTransforms.size() * 3];
+    for (int k = 0; k < sliceTransforms.size(); k++) {
+      sliceTransforms.get(k).getTranslation(offset).sub(origin).div(voxelRatio);
+      sliceOffsets[k * 3] = offset.x;
+      sliceOffsets[k * 3 + 1] = offset.y;
+      sliceOffsets[k * 3 + 2] = offset.z;
+    }
+
+    int totalPixels = sliceImageSize * sliceImageSize;
+    long totalElements = (long) totalPixels * channels;
+    ChunkedArray<A> raster = createChunkedArray(totalElements);
+    double fillValue = convertToUnsigned(getPhotometricMinValue());
+
+    try (ForkJoinPool pool = ForkJoinPool.commonPool()) {
+      pool.invoke(
+          new VolumeSlabTask(
+              totalPixels,
+              sliceImageSize,
+              combinedTransform,
+              voxelRatio,
+              sliceOffsets,
+              mipType,
+              fillValue,
+              raster));
+    }
+
+    ImageCV imageCV = new ImageCV(sliceImageSize, sliceImageSize, getCvType());
+    putRasterToImage(imageCV, raster);
+    return imageCV;
+  }
+
   public PlanarImage getAxialSlice(int z) {
     ImageCV imageCV = new ImageCV(size.y, size.x, cvType);
     int sliceElements = size.x * size.y * channels;
@@ -717,6 +799,12 @@ protected long linearIndex(int x, int y, int z) {
    */
   protected abstract T getElementFromData(long index);
 
+  /**
+   * Gets a single element from the chunked data array at the given linear index as a
+   * sign-corrected {@code double} (unsigned types are widened), without boxing.
+   */
+  protected abstract double getDoubleFromData(long index);
+
   /**
    * Allocates a primitive array of the correct type for the given pixel count. For multi-channel
    * types (byte, short), the size includes all channels.
@@ -1684,17 +1772,20 @@ public double getInterpolatedDouble(double x, double y, double z, int channel) {
     int x0 = (int) Math.floor(x);
     int y0 = (int) Math.floor(y);
     int z0 = (int) Math.floor(z);
-    int x1 = Math.min(x0 + 1, size.x - 1);
-    int y1 = Math.min(y0 + 1, size.y - 1);
-    int z1 = Math.min(z0 + 1, size.z - 1);
     double fx = x - x0;
     double fy = y - y0;
     double fz = z - z0;
 
-    double v00 = lerp(value(x0, y0, z0, channel), value(x1, y0, z0, channel), fx);
-    double v01 = lerp(value(x0, y0, z1, channel), value(x1, y0, z1, channel), fx);
-    double v10 = lerp(value(x0, y1, z0, channel), value(x1, y1, z0, channel), fx);
-    double v11 = lerp(value(x0, y1, z1, channel), value(x1, y1, z1, channel), fx);
+    // The bounds check keeps the upper neighbours inside: read them with the strides of the storage
+    long i000 = linearIndex(x0, y0, z0, channel);
+    long dx = channels;
+    long dy = (long) size.x * channels;
+    long dz = (long) size.x * size.y * channels;
+
+    double v00 = lerp(getDoubleAt(i000), getDoubleAt(i000 + dx), fx);
+    double v01 = lerp(getDoubleAt(i000 + dz), getDoubleAt(i000 + dz + dx), fx);
+    double v10 = lerp(getDoubleAt(i000 + dy), getDoubleAt(i000 + dy + dx), fx);
+    double v11 = lerp(getDoubleAt(i000 + dy + dz), getDoubleAt(i000 + dy + dz + dx), fx);
 
     double v0 = v00 * (1 - fy) + v10 * fy;
     double v1 = v01 * (1 - fy) + v11 * fy;
@@ -1716,6 +1807,29 @@ public double getNearestDouble(double x, double y, double z, int channel) {
     return value(xi, yi, zi, channel);
   }
 
+  /**
+   * Linear index of the voxel (x, y, z) for channel 0, to be used with {@link #getDoubleAt(long)}.
+   * The strides between neighbour voxels are constant, so callers walking the volume can compute
+   * the index of the first voxel and then add the strides.
+   */
+  public long voxelIndex(int x, int y, int z) {
+    return linearIndex(x, y, z);
+  }
+
+  /**
+   * Reads a voxel as a sign-corrected {@code double} without boxing nor bounds check.
+   *
+   * @param index the linear index given by {@link #voxelIndex(int, int, int)}, must be inside the
+   *     volume
+   * @return the voxel value (unsigned types are widened, not wrapped)
+   */
+  public double getDoubleAt(long index) {
+    if (data == null) {
+      return convertToUnsigned(getFromMappedBuffer(index * byteDepth));
+    }
+    return getDoubleFromData(index);
+  }
+
   private double value(int x, int y, int z, int channel) {
     return convertToUnsigned(getValue(x, y, z, channel));
   }
@@ -1841,4 +1955,127 @@ private void setRasterValue(int x, int y, Voxel<T> voxel) {
       }
     }
   }
+
+  /**
+   * Reduces the slices of a slab pixel by pixel: the samples of a pixel along the plane normal are
+   * combined in local variables and only the result is written in the raster.
+   */
+  private class VolumeSlabTask extends RecursiveAction {
+    // Each pixel reads one sample by slice, the tasks are smaller than for a single slice
+    private static final int THRESHOLD = 1024;
+
+    private final int start;
+    private final int end;
+    private final int width;
+    private final Matrix4d combinedTransform;
+    private final Vector3d voxelRatio;
+    private final double[] sliceOffsets;
+    private final Type mipType;
+    private final double fillValue;
+    private final ChunkedArray<A> raster;
+
+    VolumeSlabTask(
+        int totalPixels,
+        int width,
+        Matrix4d combinedTransform,
+        Vector3d voxelRatio,
+        double[] sliceOffsets,
+        Type mipType,
+        double fillValue,
+        ChunkedArray<A> raster) {
+      this.start = 0;
+      this.end = totalPixels;
+      this.width = width;
+      this.combinedTransform = combinedTransform;
+      this.voxelRatio = voxelRatio;
+      this.sliceOffsets = sliceOffsets;
+      this.mipType = mipType;
+      this.fillValue = fillValue;
+      this.raster = raster;
+    }
+
+    private VolumeSlabTask(VolumeSlabTask parent, int start, int end) {
+      this.start = start;
+      this.end = end;
+      this.width = parent.width;
+      this.combinedTransform = parent.combinedTransform;
+      this.voxelRatio = parent.voxelRatio;
+      this.sliceOffsets = parent.sliceOffsets;
+      this.mipType = parent.mipType;
+      this.fillValue = parent.fillValue;
+      this.raster = parent.raster;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - start > THRESHOLD) {
+        int mid = (start + end) / 2;
+        invokeAll(new VolumeSlabTask(this, start, mid), new VolumeSlabTask(this, mid, end));
+        return;
+      }
+      boolean singlePrecision = Volume.this instanceof VolumeFloat;
+      boolean integral = !singlePrecision && !(Volume.this instanceof VolumeDouble);
+      int slices = sliceOffsets.length / 3;
+      Vector3d sliceCoord = new Vector3d();
+      int x = start % width;
+      int y = start / width;
+
+      for (int i = start; i < end; i++) {
+        sliceCoord.set(x, y, 0);
+        combinedTransform.transformPosition(sliceCoord);
+        double px = sliceCoord.x / voxelRatio.x;
+        double py = sliceCoord.y / voxelRatio.y;
+        double pz = sliceCoord.z / voxelRatio.z;
+
+        for (int c = 0; c < channels; c++) {
+          double min = Double.POSITIVE_INFINITY;
+          double max = Double.NEGATIVE_INFINITY;
+          float sum = 0;
+          for (int k = 0; k < sliceOffsets.length; k += 3) {
+            double value =
+                getInterpolatedDouble(
+                    px + sliceOffsets[k], py + sliceOffsets[k + 1], pz + sliceOffsets[k + 2], c);
+            // Same value as in the image of the slice: fill value outside, narrowed to T inside
+            if (Double.isNaN(value)) {
+              value = fillValue;
+            } else if (integral) {
+              value = Math.round(value);
+            } else if (singlePrecision) {
+              value = (float) value;
+            }
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            sum += (float) value;
+          }
+          double result =
+              switch (mipType) {
+                case MIN -> min;
+                case MAX -> max;
+                // Float mean rounded half to even, as the conversion of OpenCV
+                default -> integral ? Math.rint(sum / slices) : sum / slices;
+              };
+          setRasterValue((long) i * channels + c, result);
+        }
+        if (++x >= width) {
+          x = 0;
+          y++;
+        }
+      }
+    }
+
+    private void setRasterValue(long index, double value) {
+      int ci = raster.chunkIndex(index);
+      int co = raster.chunkOffset(index);
+      A chunk = raster.getChunk(ci);
+      // Unsigned values are in range, the narrowing conversions keep their bits
+      switch (chunk) {
+        case byte[] arr -> arr[co] = (byte) value;
+        case short[] arr -> arr[co] = (short) value;
+        case int[] arr -> arr[co] = (int) value;
+        case float[] arr -> arr[co] = (float) value;
+        case double[] arr -> arr[co] = value;
+        default -> throw new IllegalStateException("Unsupported raster type");
+      }
+    }
+  }
 }
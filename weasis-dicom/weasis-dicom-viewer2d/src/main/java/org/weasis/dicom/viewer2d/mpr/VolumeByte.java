@@ -69,6 +69,12 @@ protected Byte getElementFromData(long index) {
     return data.getChunk(data.chunkIndex(index))[data.chunkOffset(index)];
   }
 
+  @Override
+  protected double getDoubleFromData(long index) {
+    byte v = data.getChunk(data.chunkIndex(index))[data.chunkOffset(index)];
+    return isSigned ? v : Byte.toUnsignedInt(v);
+  }
+
   @Override
   protected byte[] allocatePixelArray(int pixelCount) {
     return new byte[pixelCount * channels];
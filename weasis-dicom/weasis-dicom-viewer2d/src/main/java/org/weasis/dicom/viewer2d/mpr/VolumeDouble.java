@@ -65,6 +65,11 @@ protected Double getElementFromData(long index) {
     return data.getChunk(data.chunkIndex(index))[data.chunkOffset(index)];
   }
 
+  @Override
+  protected double getDoubleFromData(long index) {
+    return data.getChunk(data.chunkIndex(index))[data.chunkOffset(index)];
+  }
+
   @Override
   protected double[] allocatePixelArray(int pixelCount) {
     return new double[pixelCount * channels];
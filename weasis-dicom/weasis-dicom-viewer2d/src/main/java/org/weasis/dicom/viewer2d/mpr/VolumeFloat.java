@@ -65,6 +65,11 @@ protected Float getElementFromData(long index) {
     return data.getChunk(data.chunkIndex(index))[data.chunkOffset(index)];
   }
 
+  @Override
+  protected double getDoubleFromData(long index) {
+    return data.getChunk(data.chunkIndex(index))[data.chunkOffset(index)];
+  }
+
   @Override
   protected float[] allocatePixelArray(int pixelCount) {
     return new float[pixelCount * channels];
@@ -72,6 +72,11 @@ protected Integer getElementFromData(long index) {
     return data.getChunk(data.chunkIndex(index))[data.chunkOffset(index)];
   }
 
+  @Override
+  protected double getDoubleFromData(long index) {
+    return data.getChunk(data.chunkIndex(index))[data.chunkOffset(index)];
+  }
+
   @Override
   protected int[] allocatePixelArray(int pixelCount) {
     return new int[pixelCount * channels];
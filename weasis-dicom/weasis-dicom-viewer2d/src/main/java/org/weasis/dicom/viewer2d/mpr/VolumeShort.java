@@ -69,6 +69,12 @@ protected Short getElementFromData(long index) {
     return data.getChunk(data.chunkIndex(index))[data.chunkOffset(index)];
   }
 
+  @Override
+  protected double getDoubleFromData(long index) {
+    short v = data.getChunk(data.chunkIndex(index))[data.chunkOffset(index)];
+    return isSigned ? v : Short.toUnsignedInt(v);
+  }
+
   @Override
   protected short[] allocatePixelArray(int pixelCount) {
     return new short[pixelCount * channels];
@@ -18,6 +18,7 @@
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.stream.IntStream;
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.data.UID;
@@ -129,28 +130,27 @@ public PlanarImage getImageFragment(MediaElement media) {
   private PlanarImage generateSlice() {
     int widthPx = Math.max(1, (int) Math.round(widthMm / pixelMm));
     int heightPx = Math.max(1, (int) Math.round(heightMm / pixelMm));
-    int cvType = volume.getCvType();
-    ImageCV dst = new ImageCV(heightPx, widthPx, cvType);
-
     Vector3d voxelRatio = volume.getVoxelRatio();
-
-    for (int j = 0; j < heightPx; j++) {
-      // Y axis = plane normal (orthogonal to the drawing plane).
-      double vOffset = j - heightPx / 2.0;
-      for (int i = 0; i < widthPx; i++) {
-        // X axis = perp (in-plane, perpendicular to the curve tangent).
-        double hOffset = i - widthPx / 2.0;
-        double wx = center.x + perp.x * hOffset + normal.x * vOffset;
-        double wy = center.y + perp.y * hOffset + normal.y * vOffset;
-        double wz = center.z + perp.z * hOffset + normal.z * vOffset;
-        Number value =
-            volume.getInterpolatedValueFromSource(
-                wx / voxelRatio.x, wy / voxelRatio.y, wz / voxelRatio.z, 0);
-        if (value != null) {
-          CurvedMprImageIO.setPixelValue(dst, j, i, value, cvType);
-        }
-      }
-    }
+    VolumeSampler sampler = new VolumeSampler(volume);
+    VolumeSampler.PixelBuffer buffer = sampler.createBuffer(widthPx, heightPx);
+
+    IntStream.range(0, heightPx)
+        .parallel()
+        .forEach(
+            j -> {
+              // Y axis = plane normal (orthogonal to the drawing plane).
+              double vOffset = j - heightPx / 2.0;
+              for (int i = 0; i < widthPx; i++) {
+                // X axis = perp (in-plane, perpendicular to the curve tangent).
+                double hOffset = i - widthPx / 2.0;
+                double wx = center.x + perp.x * hOffset + normal.x * vOffset;
+                double wy = center.y + perp.y * hOffset + normal.y * vOffset;
+                double wz = center.z + perp.z * hOffset + normal.z * vOffset;
+                sampler.sample(
+                    wx / voxelRatio.x, wy / voxelRatio.y, wz / voxelRatio.z, buffer, i, j);
+              }
+            });
+    ImageCV dst = buffer.toImage();
 
     HEADER_CACHE.remove(this);
     tags.put(TagD.get(Tag.Columns), widthPx);
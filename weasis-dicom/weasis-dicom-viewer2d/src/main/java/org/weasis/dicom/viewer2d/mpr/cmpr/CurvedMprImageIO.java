@@ -18,6 +18,7 @@
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.stream.IntStream;
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.SpecificCharacterSet;
 import org.dcm4che3.data.Tag;
@@ -27,7 +28,6 @@
 import org.dcm4che3.util.UIDUtils;
 import org.joml.Vector3d;
 import org.opencv.core.Core.MinMaxLocResult;
-import org.opencv.core.CvType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.weasis.core.api.explorer.model.DataExplorerModel;
@@ -36,6 +36,7 @@
 import org.weasis.core.api.media.data.MediaElement;
 import org.weasis.core.api.media.data.MediaSeriesGroup;
 import org.weasis.core.api.media.data.TagW;
+import org.weasis.core.api.service.AuditLog;
 import org.weasis.core.util.SoftHashMap;
 import org.weasis.dicom.codec.DcmMediaReader;
 import org.weasis.dicom.codec.DicomImageElement;
@@ -154,8 +155,6 @@ private PlanarImage generatePanoramicImage() {
 
     LOGGER.info("Output: {}x{} px, height={}mm", widthPx, heightPx, sliceSizeMm);
 
-    int cvType = volume.getCvType();
-    ImageCV dst = new ImageCV(heightPx, widthPx, cvType);
     Vector3d normal = axis.getPlaneNormal();
 
     // Diagnostic logging
@@ -174,41 +173,43 @@ private PlanarImage generatePanoramicImage() {
         String.format("%.3f", midPerp.y),
         String.format("%.3f", midPerp.z));
 
-    // For each point along the curve (horizontal axis of panoramic)
-    for (int i = 0; i < widthPx; i++) {
-      Vector3d curvePoint = sampledPoints.get(i);
+    long startTime = System.currentTimeMillis();
+    VolumeSampler sampler = new VolumeSampler(volume);
+    VolumeSampler.PixelBuffer buffer = sampler.createBuffer(widthPx, heightPx);
+    // One step along the plane normal, in voxel coordinates
+    double stepX = normal.x / voxelRatio.x;
+    double stepY = normal.y / voxelRatio.y;
+    double stepZ = normal.z / voxelRatio.z;
+    double firstOffset = -heightPx / 2.0;
+    int height = heightPx;
+
+    // Each point along the curve (horizontal axis of panoramic) fills its own column
+    IntStream.range(0, widthPx)
+        .parallel()
+        .forEach(
+            i -> {
+              Vector3d curvePoint = sampledPoints.get(i);
+              double x0 = curvePoint.x / voxelRatio.x + stepX * firstOffset;
+              double y0 = curvePoint.y / voxelRatio.y + stepY * firstOffset;
+              double z0 = curvePoint.z / voxelRatio.z + stepZ * firstOffset;
+              // For each pixel in the vertical direction (along the plane normal)
+              for (int j = 0; j < height; j++) {
+                sampler.sample(x0 + stepX * j, y0 + stepY * j, z0 + stepZ * j, buffer, i, j);
+              }
+            });
+    ImageCV dst = buffer.toImage();
 
-      // For each pixel in the vertical direction (along the plane normal)
-      for (int j = 0; j < heightPx; j++) {
-        double offset = j - heightPx / 2.0;
-        double sampleX = (curvePoint.x + normal.x * offset) / voxelRatio.x;
-        double sampleY = (curvePoint.y + normal.y * offset) / voxelRatio.y;
-        double sampleZ = (curvePoint.z + normal.z * offset) / voxelRatio.z;
-
-        Number value = volume.getInterpolatedValueFromSource(sampleX, sampleY, sampleZ, 0);
-        if (value != null) {
-          setPixelValue(dst, j, i, value, cvType);
-        }
-      }
-    }
-
-    LOGGER.info("Generated CPR panoramic image");
+    LOGGER.info(
+        "{} Generate CPR panoramic image {}x{}, type:BUILD time:{}",
+        AuditLog.MARKER_PERF,
+        widthPx,
+        heightPx,
+        System.currentTimeMillis() - startTime);
 
     setDicomTags(widthPx, heightPx);
     return dst;
   }
 
-  static void setPixelValue(ImageCV dst, int row, int col, Number value, int cvType) {
-    int depth = CvType.depth(cvType);
-    switch (depth) {
-      case CvType.CV_8U, CvType.CV_8S -> dst.put(row, col, value.byteValue());
-      case CvType.CV_16U, CvType.CV_16S -> dst.put(row, col, value.shortValue());
-      case CvType.CV_32S -> dst.put(row, col, value.intValue());
-      case CvType.CV_32F -> dst.put(row, col, value.floatValue());
-      case CvType.CV_64F -> dst.put(row, col, value.doubleValue());
-    }
-  }
-
   /**
    * Refresh the per-image identity tags. PixelSpacing is intentionally <em>not</em> written: the X
    * axis of the panoramic represents arc-length along the curve (uniform in mm-along-arc, but
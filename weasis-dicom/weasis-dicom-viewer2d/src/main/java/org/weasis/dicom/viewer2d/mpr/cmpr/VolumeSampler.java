@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.viewer2d.mpr.cmpr;
+
+import org.opencv.core.CvType;
+import org.weasis.dicom.viewer2d.mpr.Volume;
+import org.weasis.opencv.data.ImageCV;
+
+/**
+ * Trilinear sampler of a {@link Volume} writing into a primitive pixel buffer of the volume type.
+ *
+ * <p>It gives the same values as {@link Volume#getInterpolatedValueFromSource} without boxing the
+ * voxels nor the result, and the buffer is copied into the image at once instead of one {@code
+ * put} per pixel. The pixels of the buffer can be written concurrently.
+ */
+final class VolumeSampler {
+
+  private final Volume<?, ?> volume;
+  private final int sizeX;
+  private final int sizeY;
+  private final int sizeZ;
+  private final int channels;
+  private final long strideX;
+  private final long strideY;
+  private final long strideZ;
+
+  VolumeSampler(Volume<?, ?> volume) {
+    this.volume = volume;
+    this.sizeX = volume.getSize().x;
+    this.sizeY = volume.getSize().y;
+    this.sizeZ = volume.getSize().z;
+    this.channels = CvType.channels(volume.getCvType());
+    long s000 = volume.voxelIndex(0, 0, 0);
+    this.strideX = volume.voxelIndex(1, 0, 0) - s000;
+    this.strideY = volume.voxelIndex(0, 1, 0) - s000;
+    this.strideZ = volume.voxelIndex(0, 0, 1) - s000;
+  }
+
+  /**
+   * @return a zero-filled buffer of {@code width x height} pixels of the volume type
+   */
+  PixelBuffer createBuffer(int width, int height) {
+    int cvType = volume.getCvType();
+    int length = Math.multiplyExact(Math.multiplyExact(width, height), channels);
+    return switch (CvType.depth(cvType)) {
+      case CvType.CV_8U, CvType.CV_8S -> new ByteBuffer(width, height, cvType, length);
+      case CvType.CV_16U, CvType.CV_16S -> new ShortBuffer(width, height, cvType, length);
+      case CvType.CV_32S -> new IntBuffer(width, height, cvType, length);
+      case CvType.CV_32F -> new FloatBuffer(width, height, cvType, length);
+      default -> new DoubleBuffer(width, height, cvType, length);
+    };
+  }
+
+  /**
+   * Samples all the channels at the given voxel coordinates into the pixel {@code (col, row)}. A
+   * pixel outside the volume is left untouched.
+   *
+   * @return {@code false} when the coordinates are outside the volume
+   */
+  boolean sample(double x, double y, double z, PixelBuffer dst, int col, int row) {
+    if (x < 0 || x >= sizeX - 1 || y < 0 || y >= sizeY - 1 || z < 0 || z >= sizeZ - 1) {
+      return false;
+    }
+    // Inside the volume, the coordinates are non-negative: the cast is a floor
+    int x0 = (int) x;
+    int y0 = (int) y;
+    int z0 = (int) z;
+    double fx = x - x0;
+    double fy = y - y0;
+    double fz = z - z0;
+    long i000 = x0 * strideX + y0 * strideY + z0 * strideZ;
+    long i001 = i000 + strideZ;
+    int index = (row * dst.width + col) * channels;
+    for (int c = 0; c < channels; c++) {
+      double v00 = lerp(volume.getDoubleAt(i000 + c), volume.getDoubleAt(i000 + strideX + c), fx);
+      double v10 =
+          lerp(
+              volume.getDoubleAt(i000 + strideY + c),
+              volume.getDoubleAt(i000 + strideY + strideX + c),
+              fx);
+      double v01 = lerp(volume.getDoubleAt(i001 + c), volume.getDoubleAt(i001 + strideX + c), fx);
+      double v11 =
+          lerp(
+              volume.getDoubleAt(i001 + strideY + c),
+              volume.getDoubleAt(i001 + strideY + strideX + c),
+              fx);
+      dst.set(index + c, lerp(lerp(v00, v10, fy), lerp(v01, v11, fy), fz));
+    }
+    return true;
+  }
+
+  private static double lerp(double v0, double v1, double factor) {
+    return v0 * (1 - factor) + v1 * factor;
+  }
+
+  /** Row-major pixel buffer, the values are narrowed like the volume values. */
+  abstract static sealed class PixelBuffer
+      permits ByteBuffer, ShortBuffer, IntBuffer, FloatBuffer, DoubleBuffer {
+    final int width;
+    final int height;
+    final int cvType;
+
+    PixelBuffer(int width, int height, int cvType) {
+      this.width = width;
+      this.height = height;
+      this.cvType = cvType;
+    }
+
+    abstract void set(int index, double value);
+
+    abstract void copyTo(ImageCV image);
+
+    /**
+     * @return a new image holding the pixels of the buffer
+     */
+    ImageCV toImage() {
+      ImageCV image = new ImageCV(height, width, cvType);
+      copyTo(image);
+      return image;
+    }
+  }
+
+  private static final class ByteBuffer extends PixelBuffer {
+    private final byte[] data;
+
+    ByteBuffer(int width, int height, int cvType, int length) {
+      super(width, height, cvType);
+      this.data = new byte[length];
+    }
+
+    @Override
+    void set(int index, double value) {
+      data[index] = (byte) Math.round(value);
+    }
+
+    @Override
+    void copyTo(ImageCV image) {
+      image.put(0, 0, data);
+    }
+  }
+
+  private static final class ShortBuffer extends PixelBuffer {
+    private final short[] data;
+
+    ShortBuffer(int width, int height, int cvType, int length) {
+      super(width, height, cvType);
+      this.data = new short[length];
+    }
+
+    @Override
+    void set(int index, double value) {
+      data[index] = (short) Math.round(value);
+    }
+
+    @Override
+    void copyTo(ImageCV image) {
+      image.put(0, 0, data);
+    }
+  }
+
+  private static final class IntBuffer extends PixelBuffer {
+    private final int[] data;
+
+    IntBuffer(int width, int height, int cvType, int length) {
+      super(width, height, cvType);
+      this.data = new int[length];
+    }
+
+    @Override
+    void set(int index, double value) {
+      data[index] = (int) Math.round(value);
+    }
+
+    @Override
+    void copyTo(ImageCV image) {
+      image.put(0, 0, data);
+    }
+  }
+
+  private static final class FloatBuffer extends PixelBuffer {
+    private final float[] data;
+
+    FloatBuffer(int width, int height, int cvType, int length) {
+      super(width, height, cvType);
+      this.data = new float[length];
+    }
+
+    @Override
+    void set(int index, double value) {
+      data[index] = (float) value;
+    }
+
+    @Override
+    void copyTo(ImageCV image) {
+      image.put(0, 0, data);
+    }
+  }
+
+  private static final class DoubleBuffer extends PixelBuffer {
+    private final double[] data;
+
+    DoubleBuffer(int width, int height, int cvType, int length) {
+      super(width, height, cvType);
+      this.data = new double[length];
+    }
+
+    @Override
+    void set(int index, double value) {
+      data[index] = value;
+    }
+
+    @Override
+    void copyTo(ImageCV image) {
+      image.put(0, 0, data);
+    }
+  }
+}
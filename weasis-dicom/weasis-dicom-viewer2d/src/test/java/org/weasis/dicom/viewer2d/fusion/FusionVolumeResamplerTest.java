@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.viewer2d.fusion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.joml.Vector3d;
+import org.junit.jupiter.api.Test;
+import org.opencv.core.CvType;
+import org.weasis.dicom.codec.geometry.GeometryOfSlice;
+import org.weasis.dicom.viewer2d.mpr.TestVolumes;
+import org.weasis.dicom.viewer2d.mpr.Volume;
+
+/**
+ * Compares the row-incremental resampling of the overlays cached by {@link FusionOp} with the
+ * former per-pixel resampling, which mapped every pixel through patient space.
+ */
+class FusionVolumeResamplerTest {
+
+  private static final int WIDTH = 70;
+  private static final int HEIGHT = 64;
+
+  private static Volume<?, ?> volume(int depth) {
+    return TestVolumes.random(
+        depth, 40, 36, 24, new Vector3d(0.8, 0.8, 2.5), new Vector3d(-16, -14, 30), 11);
+  }
+
+  private static GeometryOfSlice plane(Vector3d row, Vector3d column, Vector3d tlhc) {
+    return new GeometryOfSlice(
+        row.normalize(),
+        column.normalize(),
+        tlhc,
+        new Vector3d(0.63, 0.63, 1.0),
+        1.0,
+        new Vector3d(WIDTH, HEIGHT, 1));
+  }
+
+  /** The former resampling of each pixel, with the bounds checked by the volume. */
+  private static byte[] perPixelGray(
+      Volume<?, ?> volume, GeometryOfSlice plane, double min, double max) {
+    double scale = 255.0 / (max - min);
+    Vector3d tlhc = plane.getTLHC();
+    Vector3d row = plane.getRow();
+    Vector3d column = plane.getColumn();
+    Vector3d spacing = plane.getVoxelSpacing();
+    Vector3d lps = new Vector3d();
+    Vector3d voxel = new Vector3d();
+    byte[] data = new byte[WIDTH * HEIGHT];
+    for (int r = 0; r < HEIGHT; r++) {
+      for (int c = 0; c < WIDTH; c++) {
+        lps.set(
+            tlhc.x + column.x * spacing.y * r + row.x * spacing.x * c,
+            tlhc.y + column.y * spacing.y * r + row.y * spacing.x * c,
+            tlhc.z + column.z * spacing.y * r + row.z * spacing.x * c);
+        volume.lpsToVoxel(lps, voxel);
+        double v = volume.getInterpolatedDouble(voxel.x, voxel.y, voxel.z, 0);
+        if (!Double.isNaN(v)) {
+          int g = (int) Math.round((v - min) * scale);
+          data[r * WIDTH + c] = (byte) Math.clamp(g, 0, 255);
+        }
+      }
+    }
+    return data;
+  }
+
+  /** Same pixels, up to one gray level for the rounding of the accumulated coordinates. */
+  private static void assertSameOverlay(byte[] expected, byte[] actual) {
+    assertNotNull(actual);
+    assertEquals(expected.length, actual.length);
+    for (int i = 0; i < expected.length; i++) {
+      int diff = Math.abs(Byte.toUnsignedInt(expected[i]) - Byte.toUnsignedInt(actual[i]));
+      assertTrue(diff <= 1, "pixel " + i + " differs by " + diff);
+    }
+  }
+
+  private static void assertSameAsPerPixel(int depth, GeometryOfSlice plane) {
+    Volume<?, ?> volume = volume(depth);
+    // Window inside the range of the random values
+    double min;
+    double max;
+    switch (depth) {
+      case CvType.CV_8U -> {
+        min = 20;
+        max = 230;
+      }
+      case CvType.CV_16U -> {
+        min = 1000;
+        max = 60000;
+      }
+      case CvType.CV_16S -> {
+        min = -30000;
+        max = 30000;
+      }
+      default -> {
+        min = -1500;
+        max = 1500;
+      }
+    }
+    assertSameOverlay(
+        perPixelGray(volume, plane, min, max),
+        FusionVolumeResampler.resampleToGrayData(volume, plane, WIDTH, HEIGHT, min, max));
+  }
+
+  @Test
+  void axialPlaneMatchesPerPixelResampling() {
+    GeometryOfSlice plane =
+        plane(new Vector3d(1, 0, 0), new Vector3d(0, 1, 0), new Vector3d(-18.37, -15.21, 12.83));
+    for (int depth : new int[] {CvType.CV_8U, CvType.CV_16U, CvType.CV_16S, CvType.CV_32F}) {
+      assertSameAsPerPixel(depth, plane);
+    }
+  }
+
+  @Test
+  void obliquePlaneCrossingTheBoundsMatchesPerPixelResampling() {
+    GeometryOfSlice plane =
+        plane(
+            new Vector3d(0.93, 0.21, -0.3),
+            new Vector3d(-0.17, 0.88, 0.44),
+            new Vector3d(-20.11, -19.43, 25.07));
+    for (int depth : new int[] {CvType.CV_8U, CvType.CV_16U, CvType.CV_16S, CvType.CV_32F}) {
+      assertSameAsPerPixel(depth, plane);
+    }
+  }
+
+  @Test
+  void planeOutsideTheVolumeIsTransparent() {
+    GeometryOfSlice plane =
+        plane(new Vector3d(1, 0, 0), new Vector3d(0, 1, 0), new Vector3d(-16.5, -14.5, 80.3));
+    Volume<?, ?> volume = volume(CvType.CV_16U);
+    byte[] data = FusionVolumeResampler.resampleToGrayData(volume, plane, WIDTH, HEIGHT, 0, 4095);
+    assertSameOverlay(new byte[WIDTH * HEIGHT], data);
+  }
+}
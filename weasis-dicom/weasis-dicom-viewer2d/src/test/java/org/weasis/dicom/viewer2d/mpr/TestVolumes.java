@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.viewer2d.mpr;
+
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Random;
+import org.joml.Vector3d;
+import org.opencv.core.CvType;
+import org.weasis.dicom.viewer2d.mpr.MprView.Plane;
+
+/**
+ * Synthetic rectified volumes for the tests, filled with random values covering the whole range of
+ * their type. The source stack is a mock answering only the plane and the photometric
+ * interpretation (not inverted).
+ */
+public final class TestVolumes {
+
+  private TestVolumes() {}
+
+  /**
+   * Creates an axial volume of random values.
+   *
+   * @param depth the OpenCV depth: CV_8U, CV_16U, CV_16S or CV_32F
+   * @param pixelRatio the voxel spacing in mm
+   * @param origin the patient position of the voxel (0,0,0)
+   */
+  public static Volume<?, ?> random(
+      int depth, int sizeX, int sizeY, int sizeZ, Vector3d pixelRatio, Vector3d origin, long seed) {
+    Random random = new Random(seed);
+    Volume<?, ?> volume =
+        switch (depth) {
+          case CvType.CV_8U -> {
+            VolumeByte v = new VolumeByte(sizeX, sizeY, sizeZ, false, 1, null);
+            fill(v, sizeX, sizeY, sizeZ, (x, y, z) -> (byte) random.nextInt(256));
+            yield v;
+          }
+          case CvType.CV_16U, CvType.CV_16S -> {
+            VolumeShort v = new VolumeShort(sizeX, sizeY, sizeZ, depth == CvType.CV_16S, 1, null);
+            fill(v, sizeX, sizeY, sizeZ, (x, y, z) -> (short) random.nextInt(65536));
+            yield v;
+          }
+          case CvType.CV_32F -> {
+            VolumeFloat v = new VolumeFloat(sizeX, sizeY, sizeZ, 1, null);
+            fill(v, sizeX, sizeY, sizeZ, (x, y, z) -> random.nextFloat(-2000f, 2000f));
+            yield v;
+          }
+          default -> throw new IllegalArgumentException("Unsupported depth: " + depth);
+        };
+    OriginalStack stack = mock(OriginalStack.class, RETURNS_DEEP_STUBS);
+    when(stack.getPlane()).thenReturn(Plane.AXIAL);
+    volume.stack = stack;
+    volume.pixelRatio.set(pixelRatio);
+    volume.volumeOrigin = new Vector3d(origin);
+    return volume;
+  }
+
+  @FunctionalInterface
+  private interface VoxelValue<T> {
+    T get(int x, int y, int z);
+  }
+
+  private static <T extends Number> void fill(
+      Volume<T, ?> volume, int sizeX, int sizeY, int sizeZ, VoxelValue<T> value) {
+    for (int z = 0; z < sizeZ; z++) {
+      for (int y = 0; y < sizeY; y++) {
+        for (int x = 0; x < sizeX; x++) {
+          volume.setChannelValue(x, y, z, 0, value.get(x, y, z));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.viewer2d.mpr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.joml.Matrix4d;
+import org.joml.Quaterniond;
+import org.joml.Vector3d;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.weasis.dicom.viewer2d.mip.MipView.Type;
+import org.weasis.opencv.data.PlanarImage;
+
+/**
+ * Compares the single pass projection of {@link Volume#getVolumeSlab} with the reduction of the
+ * images of the slices built one by one, as before: {@link Core#min}, {@link Core#max} and {@link
+ * VolImageIO#meanStack}.
+ */
+class VolumeSlabTest {
+
+  private static final int[] DEPTHS = {CvType.CV_8U, CvType.CV_16U, CvType.CV_16S, CvType.CV_32F};
+  private static final Type[] TYPES = {Type.MIN, Type.MAX, Type.MEAN};
+
+  @BeforeAll
+  static void loadOpenCv() {
+    assumeTrue(isOpenCvAvailable(), "OpenCV native library not available");
+  }
+
+  private static boolean isOpenCvAvailable() {
+    try {
+      System.loadLibrary(Core.NATIVE_LIBRARY_NAME);
+      return true;
+    } catch (UnsatisfiedLinkError e) {
+      return false;
+    }
+  }
+
+  private static Volume<?, ?> volume(int depth) {
+    // Anisotropic voxels, so the offsets of the slices are scaled by the voxel ratio
+    return TestVolumes.random(
+        depth, 20, 18, 16, new Vector3d(0.8, 0.8, 1.5), new Vector3d(-10, 5, 30), depth * 7L + 1);
+  }
+
+  /** Transformation of the middle slice: rotation around the center of the volume. */
+  private static Matrix4d middleSlice(Volume<?, ?> volume, Quaterniond rotation) {
+    Vector3d center = new Vector3d(volume.getSize()).mul(volume.getVoxelRatio()).mul(0.5);
+    double half = volume.getSliceSize() / 2.0;
+    return new Matrix4d().translate(center).rotate(rotation).translate(-half, -half, 0);
+  }
+
+  /** The slices only differ from the middle one by a translation along its normal. */
+  private static List<Matrix4d> slices(Matrix4d middle, int extend, double step) {
+    List<Matrix4d> slices = new ArrayList<>();
+    for (int i = -extend; i <= extend; i++) {
+      slices.add(new Matrix4d(middle).translate(0, 0, i * step));
+    }
+    return slices;
+  }
+
+  /** The reduction of the images of each slice, as computed before the single pass projection. */
+  private static Mat reference(Volume<?, ?> volume, List<Matrix4d> slices, Type type) {
+    List<PlanarImage> images = new ArrayList<>();
+    for (Matrix4d slice : slices) {
+      images.add(volume.getVolumeSlice(slice));
+    }
+    if (type == Type.MEAN) {
+      return VolImageIO.meanStack(images);
+    }
+    Mat result = images.getFirst().toMat().clone();
+    for (int i = 1; i < images.size(); i++) {
+      if (type == Type.MIN) {
+        Core.min(result, images.get(i).toMat(), result);
+      } else {
+        Core.max(result, images.get(i).toMat(), result);
+      }
+    }
+    return result;
+  }
+
+  private static double[] values(Mat mat) {
+    Mat values = new Mat();
+    mat.convertTo(values, CvType.CV_64F);
+    double[] data = new double[(int) values.total() * values.channels()];
+    values.get(0, 0, data);
+    return data;
+  }
+
+  private static void assertSlab(
+      Volume<?, ?> volume, Quaterniond rotation, int extend, double step) {
+    Matrix4d middle = middleSlice(volume, rotation);
+    List<Matrix4d> slices = slices(middle, extend, step);
+    for (Type type : TYPES) {
+      Mat expected = reference(volume, slices, type);
+      PlanarImage slab = volume.getVolumeSlab(middle, slices, type);
+      assertEquals(expected.type(), slab.type());
+      assertEquals(expected.width(), slab.width());
+      assertEquals(expected.height(), slab.height());
+
+      double[] e = values(expected);
+      double[] a = values(slab.toMat());
+      boolean floating = CvType.depth(expected.type()) == CvType.CV_32F;
+      String name = CvType.typeToString(expected.type()) + " " + type;
+      for (int i = 0; i < e.length; i++) {
+        // Both means are accumulated in float, only a rounding difference is allowed
+        double tolerance = type != Type.MEAN ? 0 : floating ? 1.0e-3 * (1 + Math.abs(e[i])) : 1;
+        assertEquals(e[i], a[i], tolerance, name);
+      }
+    }
+  }
+
+  @Test
+  void axialSlabMatchesTheReductionOfTheSlices() {
+    for (int depth : DEPTHS) {
+      assertSlab(volume(depth), new Quaterniond(), 2, 1.0);
+    }
+  }
+
+  @Test
+  void obliqueSlabMatchesTheReductionOfTheSlices() {
+    // Thick slab with fractional offsets: the outer slices go out of the volume where the middle
+    // one is still inside
+    Quaterniond rotation = new Quaterniond().rotateXYZ(0.4, -0.3, 0.2);
+    for (int depth : DEPTHS) {
+      assertSlab(volume(depth), rotation, 3, 2.7);
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.viewer2d.mpr.cmpr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.joml.Vector3d;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.weasis.dicom.viewer2d.mpr.TestVolumes;
+import org.weasis.dicom.viewer2d.mpr.Volume;
+import org.weasis.dicom.viewer2d.mpr.cmpr.VolumeSampler.PixelBuffer;
+import org.weasis.opencv.data.ImageCV;
+
+/**
+ * Compares the pixels of {@link VolumeSampler} with the boxed interpolation of {@link
+ * Volume#getInterpolatedValueFromSource}, inside the volume and on its borders.
+ */
+class VolumeSamplerTest {
+
+  private static final int[] DEPTHS = {CvType.CV_8U, CvType.CV_16U, CvType.CV_16S, CvType.CV_32F};
+
+  @BeforeAll
+  static void loadOpenCv() {
+    assumeTrue(isOpenCvAvailable(), "OpenCV native library not available");
+  }
+
+  private static boolean isOpenCvAvailable() {
+    try {
+      System.loadLibrary(Core.NATIVE_LIBRARY_NAME);
+      return true;
+    } catch (UnsatisfiedLinkError e) {
+      return false;
+    }
+  }
+
+  private static Volume<?, ?> volume(int depth) {
+    return TestVolumes.random(
+        depth, 12, 10, 7, new Vector3d(0.8, 0.8, 1.5), new Vector3d(-10, 5, 30), depth * 13L + 5);
+  }
+
+  /** Random points around the volume, then the points on both sides of each border. */
+  private static List<Vector3d> points(Vector3i size, long seed) {
+    Random random = new Random(seed);
+    List<Vector3d> points = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      points.add(
+          new Vector3d(
+              random.nextDouble(-1, size.x),
+              random.nextDouble(-1, size.y),
+              random.nextDouble(-1, size.z)));
+    }
+    for (double x : borders(size.x)) {
+      for (double y : borders(size.y)) {
+        for (double z : borders(size.z)) {
+          points.add(new Vector3d(x, y, z));
+        }
+      }
+    }
+    return points;
+  }
+
+  /** The last voxel cannot be interpolated with its upper neighbour, so it is outside. */
+  private static double[] borders(int size) {
+    return new double[] {Math.nextDown(0.0), 0, 0.5, Math.nextDown(size - 1.0), size - 1.0};
+  }
+
+  /** The reference value as stored in the image, 0 when the pixel is left untouched. */
+  private static double expected(Volume<?, ?> volume, Vector3d p) {
+    Number value = volume.getInterpolatedValueFromSource(p.x, p.y, p.z, 0);
+    if (value == null) {
+      return 0;
+    }
+    return switch (CvType.depth(volume.getCvType())) {
+      case CvType.CV_8U -> Byte.toUnsignedInt(value.byteValue());
+      case CvType.CV_16U -> Short.toUnsignedInt(value.shortValue());
+      default -> value.doubleValue();
+    };
+  }
+
+  private static double[] values(ImageCV image) {
+    Mat values = new Mat();
+    image.convertTo(values, CvType.CV_64F);
+    double[] data = new double[(int) values.total() * values.channels()];
+    values.get(0, 0, data);
+    return data;
+  }
+
+  @Test
+  void samplesMatchTheInterpolationOfTheVolume() {
+    for (int depth : DEPTHS) {
+      Volume<?, ?> volume = volume(depth);
+      List<Vector3d> points = points(volume.getSize(), depth);
+      VolumeSampler sampler = new VolumeSampler(volume);
+      PixelBuffer buffer = sampler.createBuffer(points.size(), 1);
+      boolean[] inside = new boolean[points.size()];
+      // The pixels are written concurrently, as for the panoramas
+      IntStream.range(0, points.size())
+          .parallel()
+          .forEach(
+              i -> {
+                Vector3d p = points.get(i);
+                inside[i] = sampler.sample(p.x, p.y, p.z, buffer, i, 0);
+              });
+
+      ImageCV image = buffer.toImage();
+      assertEquals(volume.getCvType(), image.type());
+      double[] actual = values(image);
+      String name = CvType.typeToString(volume.getCvType());
+      for (int i = 0; i < points.size(); i++) {
+        Vector3d p = points.get(i);
+        String point = name + " " + p;
+        Number reference = volume.getInterpolatedValueFromSource(p.x, p.y, p.z, 0);
+        assertEquals(reference != null, inside[i], point);
+        assertEquals(expected(volume, p), actual[i], point);
+      }
+    }
+  }
+}
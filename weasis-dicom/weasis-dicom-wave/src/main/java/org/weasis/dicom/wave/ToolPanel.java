@@ -117,6 +117,21 @@ private void init() {
     if (view.getChannelNumber() >= 12) {
       addDisplayFormatComponent();
     }
+    if (view.getMultiplexGroups().size() > 1) {
+      addMultiplexGroupComponent();
+    }
+  }
+
+  private void addMultiplexGroupComponent() {
+    JLabel groupLabel = new JLabel(Messages.getString("ToolPanel.group") + StringUtil.COLON);
+    this.add(groupLabel);
+
+    JComboBox<String> groupCombo =
+        new JComboBox<>(view.getMultiplexGroups().toArray(String[]::new));
+    groupCombo.setFocusable(false);
+    groupCombo.setSelectedIndex(view.getMultiplexGroup());
+    groupCombo.addActionListener(e -> view.setMultiplexGroup(groupCombo.getSelectedIndex()));
+    this.add(groupCombo);
   }
 
   private void addDisplayFormatComponent() {
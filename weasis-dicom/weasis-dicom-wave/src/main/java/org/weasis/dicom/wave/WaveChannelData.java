@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.wave;
+
+import java.awt.image.DataBufferShort;
+import java.util.Objects;
+
+/**
+ * Waveform samples stored in one array per channel (demultiplexed), with the range of the raw
+ * values of each channel computed while decoding.
+ *
+ * <p>The data buffer has one bank per channel. The 16-bit unsigned samples are stored as short and
+ * converted back when read.
+ *
+ * @see WaveformDecoder
+ */
+public class WaveChannelData extends AbstractWaveData {
+
+  private final short[][] samples;
+  private final boolean unsigned;
+  private final int[] minRaw;
+  private final int[] maxRaw;
+
+  WaveChannelData(
+      short[][] samples, int nbSamplesPerChannel, boolean unsigned, int[] minRaw, int[] maxRaw) {
+    super(new DataBufferShort(samples, nbSamplesPerChannel), samples.length, nbSamplesPerChannel);
+    this.samples = samples;
+    this.unsigned = unsigned;
+    this.minRaw = Objects.requireNonNull(minRaw);
+    this.maxRaw = Objects.requireNonNull(maxRaw);
+  }
+
+  @Override
+  public double getSample(int index, ChannelDefinition channel) {
+    return getRawSample(index, channel) * channel.getAmplitudeUnitScalingFactor()
+        + channel.getBaseline();
+  }
+
+  @Override
+  public int getRawSample(int index, ChannelDefinition channel) {
+    short value = samples[channel.getPosition()][index];
+    return unsigned ? value & 0xFFFF : value;
+  }
+
+  /**
+   * @param channel the position of the channel in the multiplex group
+   * @return the minimum raw value of the channel
+   */
+  public int getMinRawValue(int channel) {
+    return minRaw[channel];
+  }
+
+  /**
+   * @param channel the position of the channel in the multiplex group
+   * @return the maximum raw value of the channel
+   */
+  public int getMaxRawValue(int channel) {
+    return maxRaw[channel];
+  }
+}
@@ -20,14 +20,8 @@
 import java.awt.event.ComponentEvent;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
-import java.awt.image.DataBufferByte;
-import java.awt.image.DataBufferShort;
 import java.awt.print.PageFormat;
-import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -36,11 +30,9 @@
 import javax.swing.JScrollPane;
 import javax.swing.ScrollPaneConstants;
 import org.dcm4che3.data.Attributes;
-import org.dcm4che3.data.BulkData;
 import org.dcm4che3.data.Sequence;
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.img.util.DicomUtils;
-import org.dcm4che3.util.StreamUtils;
 import org.osgi.service.prefs.Preferences;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,6 +50,7 @@
 import org.weasis.core.ui.editor.SeriesViewerListener;
 import org.weasis.core.ui.editor.image.ViewerPlugin;
 import org.weasis.core.ui.util.ImagePrint;
+import org.weasis.core.util.StringUtil;
 import org.weasis.dicom.codec.DicomMediaIO;
 import org.weasis.dicom.codec.DicomSpecialElement;
 import org.weasis.dicom.codec.TagD;
@@ -83,6 +76,8 @@ public class WaveView extends JPanel implements SeriesViewerListener {
   private int samplesPerSecond;
   private WaveDataReadable waveData;
   private final List<ChannelDefinition> channels;
+  private final List<String> multiplexGroups = new ArrayList<>();
+  private int multiplexGroup;
   private double zoomRatio = 1.0;
 
   private WaveLayoutManager waveLayoutManager;
@@ -108,6 +103,16 @@ public WaveView(Series<?> series) {
       formatName = p.get(P_LAST_FORMAT, null);
     }
     this.currentFormat = Format.getValue(formatName);
+    // Registered once, the panel of the channels is replaced when displaying another group
+    this.addComponentListener(
+        new ComponentAdapter() {
+          @Override
+          public void componentResized(ComponentEvent e) {
+            if (pane != null) {
+              pane.revalidate();
+            }
+          }
+        });
     setSeries(series);
   }
 
@@ -215,6 +220,7 @@ public synchronized void setSeries(Series newSeries) {
         series.setOpen(true);
         series.setFocused(true);
         series.setSelected(true, null);
+        multiplexGroup = 0;
         displayECG(s);
       } catch (Exception e) {
         LOGGER.error("Cannot display Waveform", e);
@@ -280,8 +286,19 @@ private void displayECG(DicomSpecialElement media) throws Exception {
     DicomMediaIO dicomImageLoader = media.getMediaReader();
     Attributes attributes = dicomImageLoader.getDicomObject();
     if (attributes != null) {
-      // TODO handle several Waveforms: display a combo
-      Attributes dcm = Optional.of(attributes.getNestedDataset(Tag.WaveformSequence)).get();
+      Sequence waveforms = attributes.getSequence(Tag.WaveformSequence);
+      if (waveforms == null || waveforms.isEmpty()) {
+        throw new IOException("No Waveform Sequence");
+      }
+      multiplexGroups.clear();
+      for (int i = 0; i < waveforms.size(); i++) {
+        String label = waveforms.get(i).getString(Tag.MultiplexGroupLabel);
+        String number = String.valueOf(i + 1);
+        multiplexGroups.add(
+            StringUtil.hasText(label) ? number + StringUtil.COLON_AND_SPACE + label : number);
+      }
+      multiplexGroup = Math.min(multiplexGroup, waveforms.size() - 1);
+      Attributes dcm = waveforms.get(multiplexGroup);
 
       this.channelNumber =
           DicomUtils.getIntegerFromDicomElement(dcm, Tag.NumberOfWaveformChannels, 0);
@@ -300,7 +317,7 @@ private void displayECG(DicomSpecialElement media) throws Exception {
       this.seconds = sampleNumber / frequency;
       this.samplesPerSecond = (int) (sampleNumber / seconds);
 
-      readWaveformData(dcm);
+      this.waveData = WaveformDecoder.decode(dcm);
       getMinMax(channels);
 
       JScrollPane scrollPane = new JScrollPane();
@@ -338,57 +355,11 @@ private void displayECG(DicomSpecialElement media) throws Exception {
 
       this.add(wrap, BorderLayout.NORTH);
       this.add(scrollPane, BorderLayout.CENTER);
-      this.addComponentListener(
-          new ComponentAdapter() {
-            @Override
-            public void componentResized(ComponentEvent e) {
-              pane.revalidate();
-            }
-          });
     }
     updateMarkersTable();
     annotationTool.readAnnotations(attributes);
   }
 
-  private void readWaveformData(Attributes dcm) throws IOException {
-    Object wdata = dcm.getValue(Tag.WaveformData);
-    ByteArrayOutputStream array;
-    if (wdata instanceof BulkData bulkData) {
-      try (BufferedInputStream input = new BufferedInputStream(bulkData.openStream())) {
-        array = new ByteArrayOutputStream(bulkData.length());
-        StreamUtils.copy(input, array);
-      } catch (Exception e) {
-        LOGGER.error("Reading Waveform data");
-        return;
-      }
-    } else {
-      throw new IOException("Cannot read Waveform data");
-    }
-
-    int bitsAllocated = DicomUtils.getIntegerFromDicomElement(dcm, Tag.WaveformBitsAllocated, 0);
-
-    ByteBuffer byteBuffer = ByteBuffer.wrap(array.toByteArray());
-    byteBuffer.order(dcm.bigEndian() ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
-
-    if (bitsAllocated == 16) {
-      short[] shortData;
-
-      shortData = new short[byteBuffer.limit() / 2];
-      for (int i = 0; i < shortData.length; i++) {
-        shortData[i] = byteBuffer.getShort();
-      }
-      DataBufferShort dataBuffer = new DataBufferShort(shortData, shortData.length, 0);
-      waveData = new WaveShortData(dataBuffer, channelNumber, sampleNumber);
-
-    } else if (bitsAllocated == 8) {
-      byte[] byteData = byteBuffer.array();
-      DataBufferByte dataBuffer = new DataBufferByte(byteData, byteData.length, 0);
-      waveData = new WaveByteData(dataBuffer, channelNumber, sampleNumber);
-    } else {
-      throw new IOException("Unexpected bitsAllocated value: " + bitsAllocated);
-    }
-  }
-
   private void addChannelPanels() {
     for (ChannelDefinition channel : channels) {
       LeadPanel panel = new LeadPanel(this, waveData, channel);
@@ -403,32 +374,25 @@ private void addChannelPanels() {
   }
 
   private void getMinMax(List<ChannelDefinition> channels) {
-    WaveDataReadable db = waveData;
-    if (db != null) {
-      double minAll = Double.MAX_VALUE;
-      double maxAll = Double.MIN_VALUE;
-
-      for (int i = 0; i < channelNumber; i++) {
-        double min = Double.MAX_VALUE;
-        double max = Double.MIN_VALUE;
-        ChannelDefinition c = channels.get(i);
-        for (int j = 0; j < sampleNumber; j++) {
-          double val = db.getSample(j, c);
-          if (val < min) {
-            min = val;
-          }
-          if (val > max) {
-            max = val;
-          }
+    if (waveData instanceof WaveChannelData db) {
+      double minAll = 0.0;
+      double maxAll = 0.0;
+
+      // The range of the raw values has been computed while decoding
+      for (ChannelDefinition c : channels) {
+        int position = c.getPosition();
+        if (position >= db.getNbOfChannels()) {
+          continue;
         }
+        double scale = c.getAmplitudeUnitScalingFactor();
+        double v1 = db.getMinRawValue(position) * scale + c.getBaseline();
+        double v2 = db.getMaxRawValue(position) * scale + c.getBaseline();
+        double min = Math.min(v1, v2);
+        double max = Math.max(v1, v2);
         c.setMinValue(min);
         c.setMaxValue(max);
-        if (min < minAll) {
-          minAll = min;
-        }
-        if (max > maxAll) {
-          maxAll = max;
-        }
+        minAll = Math.min(minAll, min);
+        maxAll = Math.max(maxAll, max);
       }
 
       double minmaxuV = Math.max(Math.abs(maxAll), Math.abs(minAll));
@@ -437,6 +401,37 @@ private void getMinMax(List<ChannelDefinition> channels) {
     }
   }
 
+  /**
+   * @return the labels of the multiplex groups (items of the Waveform Sequence)
+   */
+  public List<String> getMultiplexGroups() {
+    return multiplexGroups;
+  }
+
+  public int getMultiplexGroup() {
+    return multiplexGroup;
+  }
+
+  /**
+   * Displays another multiplex group of the waveform, e.g. the rhythm or the median beats of an
+   * ECG.
+   *
+   * @param index the index of the item in the Waveform Sequence
+   */
+  public void setMultiplexGroup(int index) {
+    if (index == multiplexGroup || index < 0 || index >= multiplexGroups.size()) {
+      return;
+    }
+    multiplexGroup = index;
+    try {
+      displayECG(DicomModel.getFirstSpecialElement(series, DicomSpecialElement.class));
+      revalidate();
+      repaint();
+    } catch (Exception e) {
+      LOGGER.error("Cannot display Waveform", e);
+    }
+  }
+
   public void setSpeed(double mmPerSecond) {
     this.waveLayoutManager.setSpeed(mmPerSecond);
     this.pane.revalidate();
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.wave;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.BulkData;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.img.util.DicomUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decodes the multiplexed samples of an item of the Waveform Sequence into one array per channel.
+ *
+ * <p>The Waveform Data is read by chunks of whole multiplexed frames (one sample of every channel)
+ * and the 16-bit samples are copied with a bulk {@link java.nio.ShortBuffer} view, so the bulk
+ * data is never copied entirely in memory. The range of every channel is computed in the same
+ * pass.
+ */
+public final class WaveformDecoder {
+  private static final Logger LOGGER = LoggerFactory.getLogger(WaveformDecoder.class);
+
+  private static final int CHUNK_BYTES = 64 * 1024;
+
+  private WaveformDecoder() {}
+
+  /**
+   * @param waveform an item of the Waveform Sequence (a multiplex group)
+   * @return the samples of every channel of the multiplex group
+   * @throws IOException if the Waveform Data cannot be read or is not supported
+   */
+  public static WaveChannelData decode(Attributes waveform) throws IOException {
+    int nbChannels =
+        DicomUtils.getIntegerFromDicomElement(waveform, Tag.NumberOfWaveformChannels, 0);
+    int nbSamples =
+        DicomUtils.getIntegerFromDicomElement(waveform, Tag.NumberOfWaveformSamples, 0);
+    int bitsAllocated =
+        DicomUtils.getIntegerFromDicomElement(waveform, Tag.WaveformBitsAllocated, 0);
+    if (nbChannels <= 0 || nbSamples <= 0) {
+      throw new IOException("No Waveform sample");
+    }
+    if (bitsAllocated != 8 && bitsAllocated != 16) {
+      throw new IOException("Unexpected bitsAllocated value: " + bitsAllocated);
+    }
+    // SS and SB are signed, US, UB and the companded 8-bit values (MB, AB) are read as unsigned
+    String interpretation = waveform.getString(Tag.WaveformSampleInterpretation);
+    boolean signed = "SS".equals(interpretation) || "SB".equals(interpretation); // NON-NLS
+
+    Object value = waveform.getValue(Tag.WaveformData);
+    InputStream input;
+    ByteOrder order;
+    if (value instanceof BulkData bulkData) {
+      input = bulkData.openStream();
+      order = bulkData.bigEndian() ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+    } else if (value instanceof byte[] bytes) {
+      input = new ByteArrayInputStream(bytes);
+      order = waveform.bigEndian() ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+    } else {
+      throw new IOException("Cannot read Waveform data");
+    }
+
+    Demultiplexer demux = new Demultiplexer(nbChannels, nbSamples);
+    try (input) {
+      if (bitsAllocated == 16) {
+        demux.readShorts(input, order, !signed);
+      } else {
+        demux.readBytes(input, signed);
+      }
+    }
+    if (demux.sample < nbSamples) {
+      LOGGER.warn("Waveform data truncated: {} samples of {}", demux.sample, nbSamples);
+    }
+    return demux.build(bitsAllocated == 16 && !signed);
+  }
+
+  private static final class Demultiplexer {
+    final short[][] samples;
+    final int[] minRaw;
+    final int[] maxRaw;
+    final int nbChannels;
+    final int nbSamples;
+    int sample;
+
+    Demultiplexer(int nbChannels, int nbSamples) {
+      this.nbChannels = nbChannels;
+      this.nbSamples = nbSamples;
+      this.samples = new short[nbChannels][nbSamples];
+      this.minRaw = new int[nbChannels];
+      this.maxRaw = new int[nbChannels];
+      Arrays.fill(minRaw, Integer.MAX_VALUE);
+      Arrays.fill(maxRaw, Integer.MIN_VALUE);
+    }
+
+    void readShorts(InputStream input, ByteOrder order, boolean unsigned) throws IOException {
+      int frameBytes = nbChannels * 2;
+      byte[] buffer = new byte[Math.max(1, CHUNK_BYTES / frameBytes) * frameBytes];
+      short[] values = new short[buffer.length / 2];
+      int length;
+      while (sample < nbSamples && (length = readFrames(input, buffer, frameBytes)) > 0) {
+        int frames = Math.min(length / frameBytes, nbSamples - sample);
+        ByteBuffer.wrap(buffer, 0, length).order(order).asShortBuffer().get(values, 0, length / 2);
+        for (int f = 0; f < frames; f++) {
+          int offset = f * nbChannels;
+          for (int c = 0; c < nbChannels; c++) {
+            short v = values[offset + c];
+            samples[c][sample] = v;
+            updateRange(c, unsigned ? v & 0xFFFF : v);
+          }
+          sample++;
+        }
+      }
+    }
+
+    void readBytes(InputStream input, boolean signed) throws IOException {
+      byte[] buffer = new byte[Math.max(1, CHUNK_BYTES / nbChannels) * nbChannels];
+      int length;
+      while (sample < nbSamples && (length = readFrames(input, buffer, nbChannels)) > 0) {
+        int frames = Math.min(length / nbChannels, nbSamples - sample);
+        for (int f = 0; f < frames; f++) {
+          int offset = f * nbChannels;
+          for (int c = 0; c < nbChannels; c++) {
+            byte b = buffer[offset + c];
+            int v = signed ? b : b & 0xFF;
+            samples[c][sample] = (short) v;
+            updateRange(c, v);
+          }
+          sample++;
+        }
+      }
+    }
+
+    private void updateRange(int channel, int value) {
+      if (value < minRaw[channel]) {
+        minRaw[channel] = value;
+      }
+      if (value > maxRaw[channel]) {
+        maxRaw[channel] = value;
+      }
+    }
+
+    WaveChannelData build(boolean unsigned) {
+      for (int c = 0; c < nbChannels; c++) {
+        if (minRaw[c] > maxRaw[c]) {
+          // No sample read
+          minRaw[c] = 0;
+          maxRaw[c] = 0;
+        }
+      }
+      return new WaveChannelData(samples, nbSamples, unsigned, minRaw, maxRaw);
+    }
+  }
+
+  /** Fills the buffer as much as possible and returns a length of whole frames. */
+  private static int readFrames(InputStream input, byte[] buffer, int frameBytes)
+      throws IOException {
+    int length = input.readNBytes(buffer, 0, buffer.length);
+    return length - length % frameBytes;
+  }
+}
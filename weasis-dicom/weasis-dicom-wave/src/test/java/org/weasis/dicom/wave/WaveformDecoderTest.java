@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.dicom.wave;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.VR;
+import org.junit.jupiter.api.Test;
+
+class WaveformDecoderTest {
+
+  /** Multiplex group of the given samples, indexed by channel then by sample. */
+  private static Attributes multiplexGroup(
+      int[][] channels, int bitsAllocated, String interpretation, boolean bigEndian) {
+    int nbSamples = channels[0].length;
+    byte[] data = multiplex(channels, bitsAllocated, bigEndian);
+    return multiplexGroup(
+        channels.length, nbSamples, bitsAllocated, interpretation, data, bigEndian);
+  }
+
+  private static Attributes multiplexGroup(
+      int nbChannels,
+      int nbSamples,
+      int bitsAllocated,
+      String interpretation,
+      byte[] data,
+      boolean bigEndian) {
+    Attributes dcm = new Attributes(bigEndian);
+    dcm.setInt(Tag.NumberOfWaveformChannels, VR.US, nbChannels);
+    dcm.setInt(Tag.NumberOfWaveformSamples, VR.UL, nbSamples);
+    dcm.setInt(Tag.WaveformBitsAllocated, VR.US, bitsAllocated);
+    dcm.setString(Tag.WaveformSampleInterpretation, VR.CS, interpretation);
+    dcm.setBytes(Tag.WaveformData, bitsAllocated == 8 ? VR.OB : VR.OW, data);
+    return dcm;
+  }
+
+  private static byte[] multiplex(int[][] channels, int bitsAllocated, boolean bigEndian) {
+    int nbSamples = channels[0].length;
+    ByteBuffer buffer =
+        ByteBuffer.allocate(channels.length * nbSamples * bitsAllocated / 8)
+            .order(bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+    for (int s = 0; s < nbSamples; s++) {
+      for (int[] channel : channels) {
+        if (bitsAllocated == 8) {
+          buffer.put((byte) channel[s]);
+        } else {
+          buffer.putShort((short) channel[s]);
+        }
+      }
+    }
+    return buffer.array();
+  }
+
+  private static int[][] randomChannels(int nbChannels, int nbSamples, int min, int max) {
+    Random random = new Random(nbChannels * 31L + nbSamples);
+    int[][] channels = new int[nbChannels][nbSamples];
+    for (int[] channel : channels) {
+      for (int s = 0; s < nbSamples; s++) {
+        channel[s] = min + random.nextInt(max - min + 1);
+      }
+    }
+    return channels;
+  }
+
+  private static int[] rawSamples(WaveChannelData data, int channel) {
+    ChannelDefinition definition = mock(ChannelDefinition.class);
+    when(definition.getPosition()).thenReturn(channel);
+    int[] values = new int[data.getNbSamplesPerChannel()];
+    for (int s = 0; s < values.length; s++) {
+      values[s] = data.getRawSample(s, definition);
+    }
+    return values;
+  }
+
+  private static void assertChannels(int[][] expected, WaveChannelData data) {
+    assertEquals(expected.length, data.getNbOfChannels());
+    for (int c = 0; c < expected.length; c++) {
+      assertEquals(Arrays.toString(expected[c]), Arrays.toString(rawSamples(data, c)));
+      assertEquals(Arrays.stream(expected[c]).min().orElseThrow(), data.getMinRawValue(c));
+      assertEquals(Arrays.stream(expected[c]).max().orElseThrow(), data.getMaxRawValue(c));
+    }
+  }
+
+  @Test
+  void demultiplexesTheChannels() throws IOException {
+    int[][] channels = {
+      {0, 1, 2, 3, 4},
+      {-10, -20, -30, -40, -50},
+      {100, -100, 200, -200, 300}
+    };
+    WaveChannelData data = WaveformDecoder.decode(multiplexGroup(channels, 16, "SS", false));
+    assertEquals(5, data.getNbSamplesPerChannel());
+    assertChannels(channels, data);
+  }
+
+  @Test
+  void demultiplexesAcrossTheReadChunks() throws IOException {
+    // More than one chunk of 64 KB, and a frame size which does not divide the chunk size
+    int[][] channels = randomChannels(12, 5000, -32768, 32767);
+    assertChannels(channels, WaveformDecoder.decode(multiplexGroup(channels, 16, "SS", false)));
+  }
+
+  @Test
+  void decodesLittleAndBigEndianSamples() throws IOException {
+    int[][] channels = randomChannels(3, 100, -32768, 32767);
+    WaveChannelData little = WaveformDecoder.decode(multiplexGroup(channels, 16, "SS", false));
+    WaveChannelData big = WaveformDecoder.decode(multiplexGroup(channels, 16, "SS", true));
+    assertChannels(channels, little);
+    assertChannels(channels, big);
+  }
+
+  @Test
+  void decodesUnsignedSamples() throws IOException {
+    int[][] channels = {
+      {0, 32767, 32768, 65535},
+      {40000, 1, 50000, 2}
+    };
+    WaveChannelData data = WaveformDecoder.decode(multiplexGroup(channels, 16, "US", true));
+    assertChannels(channels, data);
+
+    // The same bits read as signed values
+    int[][] signed = {
+      {0, 32767, -32768, -1},
+      {40000 - 65536, 1, 50000 - 65536, 2}
+    };
+    assertChannels(signed, WaveformDecoder.decode(multiplexGroup(channels, 16, "SS", true)));
+  }
+
+  @Test
+  void decodesEightBitSamples() throws IOException {
+    int[][] signed = randomChannels(4, 300, -128, 127);
+    assertChannels(signed, WaveformDecoder.decode(multiplexGroup(signed, 8, "SB", false)));
+
+    int[][] unsigned = randomChannels(4, 300, 0, 255);
+    assertChannels(unsigned, WaveformDecoder.decode(multiplexGroup(unsigned, 8, "UB", false)));
+    // Companded values are read as unsigned
+    assertChannels(unsigned, WaveformDecoder.decode(multiplexGroup(unsigned, 8, "MB", false)));
+  }
+
+  @Test
+  void truncatedDataKeepsTheWholeFrames() throws IOException {
+    int[][] channels = {
+      {1, 2, 3, 4},
+      {-5, -6, -7, -8}
+    };
+    byte[] full = multiplex(channels, 16, false);
+    // Two whole frames and half of the third one
+    byte[] truncated = Arrays.copyOf(full, 2 * 4 + 2);
+    WaveChannelData data = WaveformDecoder.decode(multiplexGroup(2, 4, 16, "SS", truncated, false));
+
+    assertEquals(4, data.getNbSamplesPerChannel());
+    assertEquals("[1, 2, 0, 0]", Arrays.toString(rawSamples(data, 0)));
+    assertEquals("[-5, -6, 0, 0]", Arrays.toString(rawSamples(data, 1)));
+    // The range only includes the decoded samples
+    assertEquals(1, data.getMinRawValue(0));
+    assertEquals(2, data.getMaxRawValue(0));
+    assertEquals(-6, data.getMinRawValue(1));
+    assertEquals(-5, data.getMaxRawValue(1));
+
+    WaveChannelData empty =
+        WaveformDecoder.decode(multiplexGroup(2, 4, 16, "SS", new byte[3], false));
+    assertEquals(0, empty.getMinRawValue(0));
+    assertEquals(0, empty.getMaxRawValue(1));
+  }
+
+  @Test
+  void unsupportedMultiplexGroupIsRejected() {
+    assertThrows(
+        IOException.class,
+        () -> WaveformDecoder.decode(multiplexGroup(1, 2, 12, "SS", new byte[4], false)));
+    assertThrows(
+        IOException.class,
+        () -> WaveformDecoder.decode(multiplexGroup(1, 0, 16, "SS", new byte[0], false)));
+  }
+}
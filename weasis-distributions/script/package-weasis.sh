@@ -247,7 +247,7 @@ fi
 
 if [ "$machine" = "macosx" ] ; then
   DICOMIZER_CONFIG="Dicomizer=$RES/dicomizer-launcher.properties"
-  declare -a customOptions=("--java-options" "-splash:\$APPDIR/resources/images/about-round.png" "--java-options" "-Dapple.laf.useScreenMenuBar=true" "--java-options" "-Dapple.awt.application.appearance=NSAppearanceNameDarkAqua")
+  declare -a customOptions=("--java-options" "-splash:\$APPDIR/resources/images/about-round.png" "--java-options" "-Dapple.laf.useScreenMenuBar=true" "--java-options" "-Dapple.awt.application.appearance=NSAppearanceNameDarkAqua" "--java-options" "-XX:+AutoCreateSharedArchive" "--java-options" "-XX:SharedArchiveFile=\$HOME/.weasis/cds/weasis.jsa")
   if [[ -n "$CERTIFICATE" ]] ; then
     declare -a signArgs=("--mac-package-identifier" "$IDENTIFIER" "--mac-signing-key-user-name" "$CERTIFICATE"  "--mac-sign")
   else
@@ -255,14 +255,14 @@ if [ "$machine" = "macosx" ] ; then
   fi
 elif [ "$machine" = "windows" ] ; then
   DICOMIZER_CONFIG="Dicomizer=$RES\dicomizer-launcher.properties"
-  declare -a customOptions=("--java-options" "-splash:\$APPDIR\resources\images\about-round.png" )
+  declare -a customOptions=("--java-options" "-splash:\$APPDIR\resources\images\about-round.png" "--java-options" "-XX:+AutoCreateSharedArchive" "--java-options" "-XX:SharedArchiveFile=\$USERPROFILE\.weasis\cds\weasis.jsa" )
   declare -a signArgs=()
 else
   DICOMIZER_CONFIG="Dicomizer=$RES/dicomizer-launcher.properties"
   # sun.awt.disablegrab works around unreliable X11 pointer grabs on XWayland (GNOME/mutter),
   # which can leave Swing popup menus invisible until the window regains focus (see issue #819).
   declare -a customOptions=("--java-options" "-splash:\$APPDIR/resources/images/about-round.png" \
-  "--java-options" "-Dsun.awt.disablegrab=true" )
+  "--java-options" "-Dsun.awt.disablegrab=true" "--java-options" "-XX:+AutoCreateSharedArchive" "--java-options" "-XX:SharedArchiveFile=\$HOME/.weasis/cds/weasis.jsa" )
   declare -a signArgs=()
 fi
 declare -a commonOptions=("--java-options" "-Dgosh.port=17179" \
@@ -9,14 +9,30 @@
  */
 package org.weasis.launcher;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
@@ -41,6 +57,10 @@ public class AutoProcessor {
 
   public static final String XZ_COMPRESSION = ".xz";
 
+  private static final int FETCH_THREADS = 6;
+  private static final int INSTALL_THREADS =
+      Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
   private AutoProcessor() {}
 
   /**
@@ -117,7 +137,7 @@ private static void processAutoProperties(
     }
     weasisLoader.setMax(bundleList.size());
 
-    final Map<String, Bundle> installedBundleMap = new HashMap<>();
+    final Map<String, Bundle> installedBundleMap = new ConcurrentHashMap<>();
     Bundle[] bundles = context.getBundles();
     for (Bundle value : bundles) {
       String bundleName = getBundleNameFromLocation(value.getLocation());
@@ -152,46 +172,59 @@ private static void processAutoProperties(
         Boolean.TRUE
             .toString()
             .equals(System.getProperty("http.bundle.cache", Boolean.TRUE.toString()));
-    int bundleIter = 0;
-
-    // Parse and install the bundles associated with the key.
+    StartupTimeline timeline = weasisLoader.getMainFrame().getTimeline();
+
+    // Download and verify in parallel the remote bundles which are not in the OSGI cache
+    long phaseStart = StartupTimeline.now();
+    weasisLoader.writeLabel(WeasisLoader.LBL_DOWNLOADING);
+    Map<String, Path> fetchedBundles =
+        fetchBundles(bundleList, installedBundleMap, cache, timeline);
+    timeline.record(StartupTimeline.PHASE_FETCH, null, phaseStart);
+
+    // Install the bundles concurrently, one start level after the other
+    phaseStart = StartupTimeline.now();
+    Map<Integer, List<String>> levels = new TreeMap<>();
     for (Entry<String, BundleElement> element : bundleList.entrySet()) {
-      String bundleName = element.getKey();
       BundleElement bundle = element.getValue();
-      if (bundle == null) {
-        // Should never happen
-        continue;
-      }
-      try {
-        weasisLoader.writeLabel(WeasisLoader.LBL_DOWNLOADING + " " + bundleName);
-        // Do not download again the same bundle version but with different location or already in
-        // installed
-        // in cache from a previous version of Weasis
-        Bundle b = installedBundleMap.get(bundleName);
-        if (b == null) {
-          b = installBundle(context, bundle.getLocation(), cache);
-          installedBundleMap.put(bundleName, b);
-        }
-        sl.setBundleStartLevel(b, bundle.getStartLevel());
-        loadTranslationBundle(context, b, installedBundleMap, modulesi18n, cache);
-      } catch (Exception ex) {
-        if (bundleName.contains(System.getProperty("native.library.spec"))) {
-          LOGGER.error("Cannot install a native bundle {}}", bundleName, ex);
-        } else {
-          LOGGER.error("Cannot install bundle {}}", bundleName, ex);
-          if (!Constants.FRAMEWORK_STORAGE_CLEAN_ONFIRSTINIT.equals(
-              configMap.get(Constants.FRAMEWORK_STORAGE_CLEAN))) {
-            // Reset all the old cache
-            throw new IllegalStateException("A bundle cannot be started");
-          }
+      int level = bundle == null ? 0 : bundle.getStartLevel();
+      levels.computeIfAbsent(level, _ -> new ArrayList<>()).add(element.getKey());
+    }
+    AtomicInteger bundleIter = new AtomicInteger();
+    try (ExecutorService executor = Executors.newFixedThreadPool(INSTALL_THREADS)) {
+      for (List<String> names : levels.values()) {
+        List<Future<?>> futures = new ArrayList<>(names.size());
+        for (String bundleName : names) {
+          futures.add(
+              executor.submit(
+                  () -> {
+                    long start = StartupTimeline.now();
+                    try {
+                      installBundleElement(
+                          bundleName,
+                          bundleList.get(bundleName),
+                          fetchedBundles.get(bundleName),
+                          installedBundleMap,
+                          context,
+                          sl,
+                          configMap,
+                          modulesi18n,
+                          cache,
+                          weasisLoader);
+                    } finally {
+                      timeline.record(StartupTimeline.PHASE_INSTALL, bundleName, start);
+                      weasisLoader.setValue(bundleIter.incrementAndGet());
+                    }
+                  }));
         }
-      } finally {
-        bundleIter++;
-        weasisLoader.setValue(bundleIter);
+        waitForInstallation(futures);
       }
+    } finally {
+      fetchedBundles.values().forEach(FileUtil::delete);
     }
+    timeline.record(StartupTimeline.PHASE_INSTALL, null, phaseStart);
 
     weasisLoader.writeLabel(Messages.getString("AutoProcessor.start"));
+    phaseStart = StartupTimeline.now();
     // Now loop through the auto-start bundles and start them.
     for (Entry<String, BundleElement> element : bundleList.entrySet()) {
       String bundleName = element.getKey();
@@ -201,6 +234,7 @@ private static void processAutoProperties(
         continue;
       }
       if (bundle.isCanBeStarted()) {
+        long start = StartupTimeline.now();
         try {
           Bundle b = installedBundleMap.get(bundleName);
           if (b == null) {
@@ -212,11 +246,165 @@ private static void processAutoProperties(
           }
         } catch (Exception ex) {
           LOGGER.error("Cannot start bundle {}", bundleName, ex);
+        } finally {
+          timeline.record(StartupTimeline.PHASE_START, bundleName, start);
+        }
+      }
+    }
+    timeline.record(StartupTimeline.PHASE_START, null, phaseStart);
+  }
+
+  private static void installBundleElement(
+      String bundleName,
+      BundleElement bundle,
+      Path fetchedFile,
+      Map<String, Bundle> installedBundleMap,
+      BundleContext context,
+      StartLevel sl,
+      Map<String, String> configMap,
+      Properties modulesi18n,
+      boolean cache,
+      WeasisLoader weasisLoader) {
+    if (bundle == null) {
+      // Should never happen
+      return;
+    }
+    try {
+      weasisLoader.writeLabel(WeasisLoader.LBL_DOWNLOADING + " " + bundleName);
+      // Do not download again the same bundle version but with different location or already in
+      // installed
+      // in cache from a previous version of Weasis
+      Bundle b = installedBundleMap.get(bundleName);
+      if (b == null) {
+        b =
+            fetchedFile == null
+                ? installBundle(context, bundle.getLocation(), cache)
+                : installFetchedBundle(context, bundle.getLocation(), fetchedFile);
+        installedBundleMap.put(bundleName, b);
+      }
+      sl.setBundleStartLevel(b, bundle.getStartLevel());
+      loadTranslationBundle(context, b, installedBundleMap, modulesi18n, cache);
+    } catch (Exception ex) {
+      if (bundleName.contains(System.getProperty("native.library.spec"))) {
+        LOGGER.error("Cannot install a native bundle {}}", bundleName, ex);
+      } else {
+        LOGGER.error("Cannot install bundle {}}", bundleName, ex);
+        if (!Constants.FRAMEWORK_STORAGE_CLEAN_ONFIRSTINIT.equals(
+            configMap.get(Constants.FRAMEWORK_STORAGE_CLEAN))) {
+          // Reset all the old cache
+          throw new IllegalStateException("A bundle cannot be started");
         }
       }
     }
   }
 
+  private static void waitForInstallation(List<Future<?>> futures) {
+    IllegalStateException failure = null;
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Bundle installation interrupted", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof IllegalStateException ex) {
+          failure = ex;
+        } else {
+          LOGGER.error("Bundle installation", e.getCause());
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Downloads in parallel the remote bundles which are not installed yet and verifies that each
+   * file is a valid OSGI bundle. The bundles that cannot be fetched are not in the returned map
+   * and will be installed directly from their location.
+   *
+   * @return the temporary files of the fetched bundles by bundle name
+   */
+  private static Map<String, Path> fetchBundles(
+      Map<String, BundleElement> bundleList,
+      Map<String, Bundle> installedBundleMap,
+      boolean cache,
+      StartupTimeline timeline) {
+    Map<String, Path> fetched = new ConcurrentHashMap<>();
+    List<Entry<String, BundleElement>> toFetch =
+        bundleList.entrySet().stream()
+            .filter(e -> !installedBundleMap.containsKey(e.getKey()))
+            .filter(e -> isRemote(e.getValue().getLocation()))
+            .toList();
+    if (toFetch.isEmpty()) {
+      return fetched;
+    }
+
+    try (ExecutorService executor =
+        Executors.newFixedThreadPool(Math.min(FETCH_THREADS, toFetch.size()))) {
+      for (Entry<String, BundleElement> element : toFetch) {
+        executor.execute(
+            () -> {
+              long start = StartupTimeline.now();
+              String bundleName = element.getKey();
+              Path file = fetchBundle(element.getValue().getLocation(), cache);
+              if (file != null) {
+                fetched.put(bundleName, file);
+              }
+              timeline.record(StartupTimeline.PHASE_FETCH, bundleName, start);
+            });
+      }
+    }
+    return fetched;
+  }
+
+  private static boolean isRemote(String location) {
+    return location != null
+        && (location.startsWith("http://") || location.startsWith("https://")); // NON-NLS
+  }
+
+  private static Path fetchBundle(String location, boolean httpCache) {
+    Path file = null;
+    try {
+      file = Files.createTempFile("weasis-bundle-", ".jar"); // NON-NLS
+      URL url = new URI(location).toURL();
+      try (InputStream in = FileUtil.getAdaptedConnection(url, httpCache).getInputStream();
+          InputStream stream = location.endsWith(XZ_COMPRESSION) ? new XZInputStream(in) : in) {
+        Files.copy(stream, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+      if (isValidBundle(file)) {
+        return file;
+      }
+      LOGGER.warn("The downloaded file is not a valid bundle: {}", location);
+    } catch (Exception e) {
+      LOGGER.warn("Cannot download the bundle {}", location, e);
+    }
+    FileUtil.delete(file);
+    return null;
+  }
+
+  private static boolean isValidBundle(Path file) {
+    try (JarFile jar = new JarFile(file.toFile())) {
+      Manifest manifest = jar.getManifest();
+      return manifest != null
+          && manifest.getMainAttributes().getValue(Constants.BUNDLE_SYMBOLICNAME) != null;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private static Bundle installFetchedBundle(BundleContext context, String location, Path file)
+      throws Exception {
+    if (location.endsWith(XZ_COMPRESSION)) {
+      // Remove the pack classifier from the location path
+      location = location.substring(0, location.length() - XZ_COMPRESSION.length());
+    }
+    try (InputStream in = Files.newInputStream(file)) {
+      return context.installBundle(location, in);
+    }
+  }
+
   static String getBundleNameFromLocation(String location) {
     if (location != null) {
       int index = location.lastIndexOf('/');
@@ -245,11 +433,10 @@ private static void loadTranslationBundle(
             String uri = baseURL + (baseURL.endsWith("/") ? filename : "/" + filename);
             String bundleName = getBundleNameFromLocation(filename);
             try {
-              Bundle b2 = installedBundleMap.get(bundleName);
-              if (b2 == null) {
-                b2 = installBundle(context, uri, cache);
-                installedBundleMap.put(bundleName, b);
-              }
+              // Bundles sharing the same translations are installed concurrently
+              Bundle b2 =
+                  installedBundleMap.computeIfAbsent(
+                      bundleName, _ -> installTranslationBundle(context, uri, cache));
               if (b2 != null && !value.equals(b2.getVersion().getQualifier())) {
                 if (b2.getLocation().startsWith(baseURL)) {
                   b2.update();
@@ -257,11 +444,12 @@ private static void loadTranslationBundle(
                   // Handle same bundle version with different location
                   try {
                     b2.uninstall();
-                    context.installBundle(
-                        uri,
-                        FileUtil.getAdaptedConnection(new URI(uri).toURL(), false)
-                            .getInputStream());
-                    installedBundleMap.put(bundleName, b);
+                    b2 =
+                        context.installBundle(
+                            uri,
+                            FileUtil.getAdaptedConnection(new URI(uri).toURL(), false)
+                                .getInputStream());
+                    installedBundleMap.put(bundleName, b2);
                   } catch (Exception exc) {
                     LOGGER.error("Cannot install a translation bundle {}", uri, exc);
                   }
@@ -276,6 +464,16 @@ private static void loadTranslationBundle(
     }
   }
 
+  private static Bundle installTranslationBundle(
+      BundleContext context, String uri, boolean cache) {
+    try {
+      return installBundle(context, uri, cache);
+    } catch (Exception e) {
+      LOGGER.error("Cannot install a translation bundle {}", uri, e);
+      return null;
+    }
+  }
+
   private static String nextLocation(StringTokenizer st) {
     String retVal = null;
 
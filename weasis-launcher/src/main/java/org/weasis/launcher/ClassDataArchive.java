@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.launcher;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import org.osgi.framework.Bundle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Manages the dynamic class data sharing archive (AppCDS) of the application.
+ *
+ * <p>The JVM must be started with {@code -XX:+AutoCreateSharedArchive
+ * -XX:SharedArchiveFile=<file>}: the first run records the loaded classes into the archive when
+ * the JVM exits and the next runs map them instead of loading and verifying them again. The JVM
+ * already discards an archive created by another Java version. This class discards it as well when
+ * the installed bundle set changes. The JVM has then already mapped the archive, which cannot be
+ * deleted on Windows, and does not record a new one when it exits. The archive is therefore only
+ * marked as stale, and deleted at the next startup before the bundles are loaded. A new archive is
+ * recorded by the following run.
+ *
+ * <p>A properties file next to the archive stores the fingerprint of the run which recorded it and
+ * its time to first image, to report the startup time with and without the archive. When the JVM
+ * does not support these options, this class does nothing.
+ */
+public final class ClassDataArchive {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ClassDataArchive.class);
+
+  static final String P_FINGERPRINT = "fingerprint"; // NON-NLS
+  static final String P_FIRST_IMAGE = "first.image.ms"; // NON-NLS
+  static final String P_STALE = "stale"; // NON-NLS
+
+  public enum State {
+    /** The JVM does not support a dynamic archive or is not configured for it */
+    DISABLED,
+    /** The archive is recorded when the JVM exits */
+    RECORDING,
+    /** The classes are loaded from the archive */
+    IN_USE,
+    /** The archive does not match the bundles and is deleted, nothing is recorded by this run */
+    INVALIDATED
+  }
+
+  private final Path archive;
+  private final Path descriptor;
+  private final long jvmStartTime;
+  private volatile State state;
+
+  ClassDataArchive(Path archive, long jvmStartTime) {
+    this.archive = archive;
+    this.descriptor =
+        archive == null ? null : archive.resolveSibling(archive.getFileName() + ".properties");
+    this.jvmStartTime = jvmStartTime;
+    this.state = archive == null ? State.DISABLED : State.RECORDING;
+  }
+
+  /**
+   * @return the archive configured by the options of the current JVM
+   */
+  public static ClassDataArchive fromRuntime() {
+    return new ClassDataArchive(
+        getConfiguredArchive(), ManagementFactory.getRuntimeMXBean().getStartTime());
+  }
+
+  private static Path getConfiguredArchive() {
+    try {
+      HotSpotDiagnosticMXBean hotspot =
+          ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+      if (hotspot == null
+          || !Boolean.parseBoolean(hotspot.getVMOption("AutoCreateSharedArchive").getValue())) {
+        return null;
+      }
+      String file = hotspot.getVMOption("SharedArchiveFile").getValue();
+      // Ignore a path with an environment variable not expanded by the native launcher
+      if (!Utils.hasText(file) || file.contains("$")) {
+        return null;
+      }
+      Path path = Path.of(file);
+      return path.isAbsolute() ? path : null;
+    } catch (RuntimeException e) {
+      // Not a HotSpot JVM or option not available in this version
+      LOGGER.debug("Class data sharing archive not supported", e);
+      return null;
+    }
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  public Path getArchive() {
+    return archive;
+  }
+
+  /**
+   * Creates the folder of the archive, the JVM does not create it when recording the archive. An
+   * archive marked as stale by the previous run is deleted.
+   */
+  public void prepare() {
+    if (archive != null) {
+      try {
+        Files.createDirectories(archive.getParent());
+      } catch (IOException e) {
+        LOGGER.warn("Cannot create the folder of the class data archive", e);
+        state = State.DISABLED;
+        return;
+      }
+      deleteStaleArchive();
+    }
+  }
+
+  private void deleteStaleArchive() {
+    Properties props = readDescriptor();
+    if (!Boolean.parseBoolean(props.getProperty(P_STALE))) {
+      return;
+    }
+    // The JVM may have mapped the archive at startup, it does not record a new one when it exits
+    state = State.INVALIDATED;
+    try {
+      Files.deleteIfExists(archive);
+      LOGGER.info("Stale class data archive deleted, a new one is recorded by the next run");
+    } catch (IOException e) {
+      LOGGER.warn("Cannot delete the stale class data archive, retry at the next startup", e);
+    }
+  }
+
+  /**
+   * Checks that the archive has been recorded with the same bundles and Java version. Otherwise,
+   * the archive is marked as stale, to be deleted at the next startup.
+   *
+   * @param bundles the installed bundles
+   */
+  public void validate(Bundle[] bundles) {
+    if (state == State.DISABLED) {
+      return;
+    }
+    String fingerprint = getFingerprint(bundles);
+    Properties props = readDescriptor();
+    if (state == State.INVALIDATED) {
+      if (Files.notExists(archive)) {
+        // In case the JVM did not map the deleted archive and records a new one when it exits
+        props.clear();
+        props.setProperty(P_FINGERPRINT, fingerprint);
+        writeDescriptor(props);
+      }
+      return;
+    }
+    boolean recorded = isRecordedBeforeStart();
+    if (recorded && fingerprint.equals(props.getProperty(P_FINGERPRINT))) {
+      state = State.IN_USE;
+      LOGGER.info("Classes loaded from the archive {}", archive);
+      return;
+    }
+
+    if (recorded) {
+      LOGGER.info("The bundles or the Java version have changed, reset the class data archive");
+      state = State.INVALIDATED;
+      props.setProperty(P_STALE, Boolean.TRUE.toString());
+      writeDescriptor(props);
+      return;
+    }
+    // The archive written when the JVM exits will match the current bundles
+    state = State.RECORDING;
+    props.clear();
+    props.setProperty(P_FINGERPRINT, fingerprint);
+    writeDescriptor(props);
+  }
+
+  /**
+   * Reports the time to first image and compares it with the run which recorded the archive.
+   *
+   * @param timeMs the elapsed time in milliseconds from the JVM start
+   */
+  public void reportFirstImage(long timeMs) {
+    if (state == State.DISABLED) {
+      LOGGER.info("*PERF* First image, type:INIT time:{}", timeMs);
+      return;
+    }
+    Properties props = readDescriptor();
+    if (state == State.RECORDING) {
+      props.setProperty(P_FIRST_IMAGE, Long.toString(timeMs));
+      writeDescriptor(props);
+      LOGGER.info("*PERF* First image without class data archive, type:INIT time:{}", timeMs);
+    } else if (state == State.INVALIDATED) {
+      LOGGER.info("*PERF* First image with a stale class data archive, type:INIT time:{}", timeMs);
+    } else {
+      LOGGER.info(
+          "*PERF* First image with class data archive, type:INIT time:{} (without archive: {})",
+          timeMs,
+          props.getProperty(P_FIRST_IMAGE, "unknown")); // NON-NLS
+    }
+  }
+
+  private boolean isRecordedBeforeStart() {
+    try {
+      return Files.isReadable(archive)
+          && Files.getLastModifiedTime(archive).toMillis() < jvmStartTime;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  static String getFingerprint(Bundle[] bundles) {
+    List<String> names =
+        Arrays.stream(bundles)
+            .map(b -> b.getSymbolicName() + ":" + b.getVersion())
+            .sorted(Comparator.naturalOrder())
+            .toList();
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256"); // NON-NLS
+      digest.update(Runtime.version().toString().getBytes(StandardCharsets.UTF_8));
+      digest.update(System.getProperty("java.vm.name", "").getBytes(StandardCharsets.UTF_8));
+      for (String name : names) {
+        digest.update(name.getBytes(StandardCharsets.UTF_8));
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      return Integer.toHexString((Runtime.version() + names.toString()).hashCode());
+    }
+  }
+
+  private Properties readDescriptor() {
+    return FileUtil.loadProperties(descriptor, null);
+  }
+
+  private void writeDescriptor(Properties props) {
+    FileUtil.storeProperties(descriptor, props, null);
+  }
+}
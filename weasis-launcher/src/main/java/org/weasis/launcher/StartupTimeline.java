@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.launcher;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records where the time goes during the launch of the application. Each entry is a phase (e.g.
+ * bundle download, installation or start), an optional bundle name, its start offset and its
+ * duration. The entries can be recorded from any thread.
+ *
+ * <p>The offsets are relative to the start of the JVM, so the first entry covers the JVM and
+ * launcher initialization before this object is created.
+ */
+public class StartupTimeline {
+
+  public static final String PHASE_JVM = "jvm"; // NON-NLS
+  public static final String PHASE_CONFIG = "config"; // NON-NLS
+  public static final String PHASE_FRAMEWORK_INIT = "framework-init"; // NON-NLS
+  public static final String PHASE_FETCH = "fetch"; // NON-NLS
+  public static final String PHASE_INSTALL = "install"; // NON-NLS
+  public static final String PHASE_START = "start"; // NON-NLS
+  public static final String PHASE_FRAMEWORK_START = "framework-start"; // NON-NLS
+  public static final String PHASE_COMMANDS = "commands"; // NON-NLS
+  public static final String PHASE_FIRST_IMAGE = "first-image"; // NON-NLS
+
+  /**
+   * @param phase the name of the phase
+   * @param bundle the bundle name or null when the entry covers the whole phase
+   * @param startMs the start offset in milliseconds from the JVM start
+   * @param durationMs the duration in milliseconds
+   */
+  public record Entry(String phase, String bundle, long startMs, long durationMs) {
+
+    @Override
+    public String toString() {
+      String name = bundle == null ? phase : phase + " " + bundle;
+      return String.format("%8d ms %8d ms  %s", startMs, durationMs, name); // NON-NLS
+    }
+  }
+
+  private final long originNanos;
+  private final List<Entry> entries = new ArrayList<>();
+
+  public StartupTimeline() {
+    long uptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+    this.originNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(uptimeMs);
+    entries.add(new Entry(PHASE_JVM, null, 0, uptimeMs));
+  }
+
+  /**
+   * @return the current time to pass to {@link #record(String, String, long)}
+   */
+  public static long now() {
+    return System.nanoTime();
+  }
+
+  /**
+   * Records an entry from the given start time to now.
+   *
+   * @param phase the name of the phase
+   * @param bundle the bundle name or null when the entry covers the whole phase
+   * @param startNanos the start time given by {@link #now()}
+   */
+  public void record(String phase, String bundle, long startNanos) {
+    long end = System.nanoTime();
+    Entry entry =
+        new Entry(
+            phase,
+            bundle,
+            TimeUnit.NANOSECONDS.toMillis(startNanos - originNanos),
+            TimeUnit.NANOSECONDS.toMillis(end - startNanos));
+    synchronized (entries) {
+      entries.add(entry);
+    }
+  }
+
+  /**
+   * Records an entry from the JVM start to now.
+   *
+   * @param phase the name of the phase
+   * @return the elapsed time in milliseconds from the JVM start
+   */
+  public long mark(String phase) {
+    record(phase, null, originNanos);
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - originNanos);
+  }
+
+  /**
+   * @return the entries sorted by start offset
+   */
+  public List<Entry> getEntries() {
+    List<Entry> list;
+    synchronized (entries) {
+      list = new ArrayList<>(entries);
+    }
+    list.sort(Comparator.comparingLong(Entry::startMs));
+    return list;
+  }
+
+  /**
+   * @return the elapsed time in milliseconds from the JVM start to the end of the last entry
+   */
+  public long getTotalDuration() {
+    long total = 0;
+    for (Entry entry : getEntries()) {
+      total = Math.max(total, entry.startMs() + entry.durationMs());
+    }
+    return total;
+  }
+
+  /**
+   * @param maxBundles the maximum number of bundle entries to include, the slowest first
+   * @return the phases in chronological order followed by the slowest bundle entries
+   */
+  public String toSummary(int maxBundles) {
+    List<Entry> list = getEntries();
+    StringBuilder buf = new StringBuilder("Startup timeline (offset, duration, phase):"); // NON-NLS
+    for (Entry entry : list) {
+      if (entry.bundle() == null) {
+        buf.append(System.lineSeparator()).append(entry);
+      }
+    }
+    list.stream()
+        .filter(e -> e.bundle() != null)
+        .sorted(Comparator.comparingLong(Entry::durationMs).reversed())
+        .limit(maxBundles)
+        .forEach(e -> buf.append(System.lineSeparator()).append(e));
+    buf.append(System.lineSeparator())
+        .append(String.format("Total: %d ms", getTotalDuration())); // NON-NLS
+    return buf.toString();
+  }
+}
@@ -146,8 +146,14 @@ public final void launch(Type type) throws Exception {
     serverProp.put(Constants.FRAMEWORK_STORAGE, cacheDir);
 
     // Load local properties and clean if necessary the previous version
+    long phaseStart = StartupTimeline.now();
     WeasisLoader loader = loadProperties(serverProp, configData.getConfigOutput());
     WeasisMainFrame mainFrame = loader.getMainFrame();
+    StartupTimeline timeline = mainFrame.getTimeline();
+    timeline.record(StartupTimeline.PHASE_CONFIG, null, phaseStart);
+    ClassDataArchive classDataArchive = ClassDataArchive.fromRuntime();
+    classDataArchive.prepare();
+    mainFrame.setClassDataArchive(classDataArchive);
 
     String minVersion = System.getProperty(ConfigData.P_WEASIS_MIN_NATIVE_VERSION);
     if (Utils.hasText(minVersion)) {
@@ -190,11 +196,14 @@ public final void launch(Type type) throws Exception {
       // Now create an instance of the framework with our configuration properties.
       mFelix = new Felix(serverProp);
       // Initialize the framework but don't start it yet.
+      phaseStart = StartupTimeline.now();
       mFelix.init();
+      timeline.record(StartupTimeline.PHASE_FRAMEWORK_INIT, null, phaseStart);
 
       // Use the system bundle context to process the auto-deploy
       // and auto-install/auto-start properties.
       loader.setFelix(serverProp, mFelix.getBundleContext(), modulesi18n);
+      classDataArchive.validate(mFelix.getBundleContext().getBundles());
       loader.writeLabel(
           String.format(
               Messages.getString("WeasisLauncher.starting"),
@@ -207,7 +216,9 @@ public final void launch(Type type) throws Exception {
         return;
       }
       // Start the framework.
+      phaseStart = StartupTimeline.now();
       mFelix.start();
+      timeline.record(StartupTimeline.PHASE_FRAMEWORK_START, null, phaseStart);
 
       // End of splash screen
       loader.close();
@@ -218,7 +229,10 @@ public final void launch(Type type) throws Exception {
         LOGGER.info(
             "Logs has been delegated to the OSGI service and can be read in {}", logActivation);
       }
+      phaseStart = StartupTimeline.now();
       executeCommands(configData.getArguments(), goshArgs);
+      timeline.record(StartupTimeline.PHASE_COMMANDS, null, phaseStart);
+      LOGGER.info(timeline.toSummary(10));
 
       checkBundleUI(serverProp);
 
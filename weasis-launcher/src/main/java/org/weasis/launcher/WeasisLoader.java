@@ -53,8 +53,17 @@ public WeasisLoader(Path resPath, WeasisMainFrame mainFrame) {
     this.mainFrame = mainFrame;
   }
 
+  /** Sets the label of the progress, from any thread. */
   public void writeLabel(String text) {
-    loadingLabel.setText(text);
+    if (isClosed()) {
+      return;
+    }
+    EventQueue.invokeLater(
+        () -> {
+          if (loadingLabel != null) {
+            loadingLabel.setText(text);
+          }
+        });
   }
 
   /*
@@ -10,6 +10,7 @@
 package org.weasis.launcher;
 
 import java.awt.Window;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.swing.RootPaneContainer;
 import javax.swing.SwingUtilities;
 import org.weasis.pref.ConfigData;
@@ -18,6 +19,9 @@ public class WeasisMainFrame implements WeasisMainFrameMBean {
 
   private RootPaneContainer rootPaneContainer;
   private ConfigData configData;
+  private final StartupTimeline startupTimeline = new StartupTimeline();
+  private final AtomicBoolean firstImage = new AtomicBoolean();
+  private volatile ClassDataArchive classDataArchive;
 
   public void setRootPaneContainer(RootPaneContainer rootPaneContainer) {
     this.rootPaneContainer = rootPaneContainer;
@@ -37,6 +41,37 @@ public void setConfigData(ConfigData configData) {
     this.configData = configData;
   }
 
+  public StartupTimeline getTimeline() {
+    return startupTimeline;
+  }
+
+  @Override
+  public String[] getStartupTimeline() {
+    return startupTimeline.getEntries().stream()
+        .map(StartupTimeline.Entry::toString)
+        .toArray(String[]::new);
+  }
+
+  @Override
+  public long getStartupDuration() {
+    return startupTimeline.getTotalDuration();
+  }
+
+  public void setClassDataArchive(ClassDataArchive classDataArchive) {
+    this.classDataArchive = classDataArchive;
+  }
+
+  @Override
+  public void firstImageDisplayed() {
+    if (firstImage.compareAndSet(false, true)) {
+      long time = startupTimeline.mark(StartupTimeline.PHASE_FIRST_IMAGE);
+      ClassDataArchive archive = classDataArchive;
+      if (archive != null) {
+        archive.reportFirstImage(time);
+      }
+    }
+  }
+
   public Window getWindow() {
     if (rootPaneContainer == null) {
       return null;
@@ -17,4 +17,19 @@ public interface WeasisMainFrameMBean {
   RootPaneContainer getRootPaneContainer();
 
   ConfigData getConfigData();
+
+  /**
+   * @return the startup timeline entries (offset from the JVM start, duration, phase and bundle)
+   */
+  String[] getStartupTimeline();
+
+  /**
+   * @return the elapsed time in milliseconds from the JVM start to the end of the launch
+   */
+  long getStartupDuration();
+
+  /**
+   * Notifies that the first image has been displayed. Only the first call is taken into account.
+   */
+  void firstImageDisplayed();
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.launcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.Attributes;
+import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.ServiceReference;
+import org.osgi.framework.Version;
+import org.osgi.service.startlevel.StartLevel;
+import org.tukaani.xz.LZMA2Options;
+import org.tukaani.xz.XZOutputStream;
+import org.weasis.pref.ConfigData;
+
+class AutoProcessorTest {
+
+  private static final String I18N_QUALIFIER = "q1"; // NON-NLS
+
+  private HttpServer server;
+  private String baseUrl;
+  private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+
+  @BeforeEach
+  void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(
+        "/",
+        exchange -> {
+          String path = exchange.getRequestURI().getPath();
+          requests.computeIfAbsent(path, _ -> new AtomicInteger()).incrementAndGet();
+          byte[] data = content(path);
+          exchange.sendResponseHeaders(data == null ? 404 : 200, data == null ? -1 : data.length);
+          if (data != null) {
+            try (OutputStream out = exchange.getResponseBody()) {
+              out.write(data);
+            }
+          }
+          exchange.close();
+        });
+    server.start();
+    baseUrl = "http://localhost:" + server.getAddress().getPort(); // NON-NLS
+    System.setProperty(ConfigData.P_WEASIS_I18N, baseUrl + "/i18n");
+  }
+
+  @AfterEach
+  void stopServer() {
+    server.stop(0);
+    System.clearProperty(ConfigData.P_WEASIS_I18N);
+  }
+
+  /** The bundle files are named {@code <symbolic name>-<variant>.jar}, i18n ones are xz packed. */
+  private static byte[] content(String path) throws IOException {
+    String name = path.substring(path.lastIndexOf('/') + 1);
+    if (path.startsWith("/bundles/") && name.endsWith(".jar")) {
+      return jar(name.substring(0, name.indexOf('-')));
+    }
+    if (path.startsWith("/i18n/") && name.endsWith("-i18n.jar.xz")) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (XZOutputStream xz = new XZOutputStream(out, new LZMA2Options())) {
+        xz.write(jar(name.substring(0, name.length() - ".jar.xz".length())));
+      }
+      return out.toByteArray();
+    }
+    return null;
+  }
+
+  private static byte[] jar(String symbolicName) throws IOException {
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    manifest.getMainAttributes().putValue(Constants.BUNDLE_SYMBOLICNAME, symbolicName);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new JarOutputStream(out, manifest).close();
+    return out.toByteArray();
+  }
+
+  private static Bundle bundle(String location, String symbolicName) {
+    Bundle bundle = mock(Bundle.class);
+    when(bundle.getLocation()).thenReturn(location);
+    when(bundle.getSymbolicName()).thenReturn(symbolicName);
+    String qualifier = symbolicName.endsWith("-i18n") ? I18N_QUALIFIER : ""; // NON-NLS
+    when(bundle.getVersion()).thenReturn(new Version(1, 0, 0, qualifier));
+    return bundle;
+  }
+
+  private static String readSymbolicName(InputStream in) throws IOException {
+    try (JarInputStream jar = new JarInputStream(in)) {
+      return jar.getManifest().getMainAttributes().getValue(Constants.BUNDLE_SYMBOLICNAME);
+    }
+  }
+
+  private String locations(String... names) {
+    List<String> list = new ArrayList<>();
+    for (String name : names) {
+      list.add(baseUrl + "/bundles/" + name + ".jar");
+    }
+    return String.join(" ", list);
+  }
+
+  @Test
+  void bundlesAreFetchedAndInstalledInParallelByStartLevel() throws Exception {
+    // "b-core" and "b-native" share the translations of the symbolic name "b"
+    Map<String, String> config = new HashMap<>();
+    config.put(AutoProcessor.AUTO_START_PROP + ".1", locations("a-core", "b-core", "b-native"));
+    config.put(AutoProcessor.AUTO_INSTALL_PROP + ".2", locations("c-core", "d-core"));
+    Properties i18n = new Properties();
+    i18n.setProperty("b-i18n.jar.xz", I18N_QUALIFIER);
+
+    List<String> installOrder = new CopyOnWriteArrayList<>();
+    Map<String, Bundle> installed = new ConcurrentHashMap<>();
+    Map<String, AtomicInteger> installCount = new ConcurrentHashMap<>();
+    // Two bundles of the first level must be installed at the same time
+    CyclicBarrier firstLevel = new CyclicBarrier(2);
+    BundleContext context = mock(BundleContext.class);
+    StartLevel startLevel = mock(StartLevel.class);
+    ServiceReference<?> reference = mock(ServiceReference.class);
+    when(startLevel.getInitialBundleStartLevel()).thenReturn(1);
+    doAnswer(_ -> reference).when(context).getServiceReference(anyString());
+    doAnswer(_ -> startLevel).when(context).getService(reference);
+    when(context.getBundles()).thenReturn(new Bundle[0]);
+    when(context.installBundle(anyString(), any(InputStream.class)))
+        .thenAnswer(
+            invocation -> {
+              String location = invocation.getArgument(0);
+              String symbolicName = readSymbolicName(invocation.getArgument(1));
+              installCount.computeIfAbsent(location, _ -> new AtomicInteger()).incrementAndGet();
+              if (location.endsWith("a-core.jar") || location.endsWith("b-core.jar")) {
+                firstLevel.await(10, TimeUnit.SECONDS);
+              }
+              installOrder.add(symbolicName);
+              return installed.computeIfAbsent(location, l -> bundle(l, symbolicName));
+            });
+
+    WeasisLoader loader = new WeasisLoader(null, new WeasisMainFrame());
+    AutoProcessor.process(config, i18n, context, loader);
+
+    // Each bundle is downloaded and installed once from the fetched file
+    for (String name : List.of("a-core", "b-core", "b-native", "c-core", "d-core")) {
+      String location = baseUrl + "/bundles/" + name + ".jar";
+      assertEquals(1, requests.get("/bundles/" + name + ".jar").get(), name);
+      assertEquals(1, installCount.get(location).get(), name);
+      int level = name.startsWith("c") || name.startsWith("d") ? 2 : 1;
+      verify(startLevel).setBundleStartLevel(installed.get(location), level);
+    }
+    // The shared translation bundle is installed once and never replaces a bundle
+    String i18nLocation = baseUrl + "/i18n/b-i18n.jar";
+    assertEquals(1, installCount.get(i18nLocation).get());
+    for (Bundle bundle : installed.values()) {
+      verify(bundle, never()).uninstall();
+      verify(bundle, never()).update();
+    }
+
+    // The second level is installed after the first one
+    List<String> order = installOrder.stream().filter(n -> !n.endsWith("-i18n")).toList();
+    assertEquals(5, order.size());
+    assertTrue(order.subList(0, 3).stream().allMatch(n -> n.matches("[ab]")), order::toString);
+    assertTrue(order.subList(3, 5).stream().allMatch(n -> n.matches("[cd]")), order::toString);
+
+    // Only the auto-start bundles are started
+    verify(installed.get(baseUrl + "/bundles/a-core.jar")).start();
+    verify(installed.get(baseUrl + "/bundles/b-native.jar")).start();
+    verify(installed.get(baseUrl + "/bundles/c-core.jar"), never()).start();
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.launcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.Version;
+import org.weasis.launcher.ClassDataArchive.State;
+
+class ClassDataArchiveTest {
+
+  @TempDir Path tempDir;
+
+  private static Bundle bundle(String name, String version) {
+    Bundle bundle = mock(Bundle.class);
+    when(bundle.getSymbolicName()).thenReturn(name);
+    when(bundle.getVersion()).thenReturn(Version.parseVersion(version));
+    return bundle;
+  }
+
+  private Path recordedArchive(long startTime, Bundle[] bundles) throws IOException {
+    Path archive = tempDir.resolve("cds").resolve("weasis.jsa");
+    Files.createDirectories(archive.getParent());
+    Files.writeString(archive, "archive");
+    Files.setLastModifiedTime(archive, FileTime.fromMillis(startTime - 10_000));
+    Properties props = new Properties();
+    props.setProperty(ClassDataArchive.P_FINGERPRINT, ClassDataArchive.getFingerprint(bundles));
+    FileUtil.storeProperties(archive.resolveSibling("weasis.jsa.properties"), props, null);
+    return archive;
+  }
+
+  @Test
+  void disabledWithoutArchiveOption() {
+    ClassDataArchive cds = new ClassDataArchive(null, 0);
+    cds.prepare();
+    cds.validate(new Bundle[] {bundle("a", "1.0.0")});
+    cds.reportFirstImage(100);
+    assertEquals(State.DISABLED, cds.getState());
+  }
+
+  @Test
+  void fingerprintIgnoresBundleOrder() {
+    Bundle a = bundle("a", "1.0.0");
+    Bundle b = bundle("b", "2.0.0");
+    assertEquals(
+        ClassDataArchive.getFingerprint(new Bundle[] {a, b}),
+        ClassDataArchive.getFingerprint(new Bundle[] {b, a}));
+    assertNotEquals(
+        ClassDataArchive.getFingerprint(new Bundle[] {a, b}),
+        ClassDataArchive.getFingerprint(new Bundle[] {a, bundle("b", "2.0.1")}));
+  }
+
+  @Test
+  void firstRunRecordsTheArchive() {
+    Path archive = tempDir.resolve("cds").resolve("weasis.jsa");
+    ClassDataArchive cds = new ClassDataArchive(archive, System.currentTimeMillis());
+    cds.prepare();
+    assertTrue(Files.isDirectory(archive.getParent()));
+
+    cds.validate(new Bundle[] {bundle("a", "1.0.0")});
+    assertEquals(State.RECORDING, cds.getState());
+
+    cds.reportFirstImage(1500);
+    Properties props =
+        FileUtil.loadProperties(archive.resolveSibling("weasis.jsa.properties"), null);
+    assertEquals("1500", props.getProperty(ClassDataArchive.P_FIRST_IMAGE));
+  }
+
+  @Test
+  void archiveInUseWithTheSameBundles() throws IOException {
+    long start = System.currentTimeMillis();
+    Bundle[] bundles = {bundle("a", "1.0.0")};
+    Path archive = recordedArchive(start, bundles);
+
+    ClassDataArchive cds = new ClassDataArchive(archive, start);
+    cds.validate(bundles);
+    assertEquals(State.IN_USE, cds.getState());
+    assertTrue(Files.exists(archive));
+  }
+
+  @Test
+  void staleArchiveDeletedAtTheNextStartup() throws IOException {
+    long start = System.currentTimeMillis();
+    Path archive = recordedArchive(start, new Bundle[] {bundle("a", "1.0.0")});
+    Path descriptor = archive.resolveSibling("weasis.jsa.properties");
+    Bundle[] bundles = {bundle("a", "1.1.0")};
+
+    // The archive mapped by the JVM is kept and nothing is recorded
+    ClassDataArchive cds = new ClassDataArchive(archive, start);
+    cds.prepare();
+    cds.validate(bundles);
+    assertEquals(State.INVALIDATED, cds.getState());
+    assertTrue(Files.exists(archive));
+    cds.reportFirstImage(1500);
+    Properties props = FileUtil.loadProperties(descriptor, null);
+    assertEquals("true", props.getProperty(ClassDataArchive.P_STALE));
+    assertNull(props.getProperty(ClassDataArchive.P_FIRST_IMAGE));
+
+    // Deleted before loading the bundles of the next run
+    ClassDataArchive next = new ClassDataArchive(archive, start + 60_000);
+    next.prepare();
+    assertEquals(State.INVALIDATED, next.getState());
+    assertFalse(Files.exists(archive));
+    next.validate(bundles);
+    assertEquals(State.INVALIDATED, next.getState());
+    props = FileUtil.loadProperties(descriptor, null);
+    assertNull(props.getProperty(ClassDataArchive.P_STALE));
+    assertEquals(
+        ClassDataArchive.getFingerprint(bundles),
+        props.getProperty(ClassDataArchive.P_FINGERPRINT));
+
+    // The following run records a new archive
+    ClassDataArchive following = new ClassDataArchive(archive, start + 120_000);
+    following.prepare();
+    following.validate(bundles);
+    assertEquals(State.RECORDING, following.getState());
+  }
+}
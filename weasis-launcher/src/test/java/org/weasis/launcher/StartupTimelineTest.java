@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 Weasis Team and other contributors.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at https://www.eclipse.org/legal/epl-2.0, or the Apache
+ * License, Version 2.0 which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package org.weasis.launcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class StartupTimelineTest {
+
+  @Test
+  void firstEntryCoversTheJvmStart() {
+    StartupTimeline timeline = new StartupTimeline();
+    List<StartupTimeline.Entry> entries = timeline.getEntries();
+
+    assertEquals(1, entries.size());
+    StartupTimeline.Entry jvm = entries.getFirst();
+    assertEquals(StartupTimeline.PHASE_JVM, jvm.phase());
+    assertNull(jvm.bundle());
+    assertEquals(0, jvm.startMs());
+  }
+
+  @Test
+  void recordsEntriesFromSeveralThreads() throws InterruptedException {
+    StartupTimeline timeline = new StartupTimeline();
+    long start = StartupTimeline.now();
+    try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+      for (int i = 0; i < 100; i++) {
+        String name = "bundle" + i;
+        executor.execute(() -> timeline.record(StartupTimeline.PHASE_INSTALL, name, start));
+      }
+    }
+    timeline.record(StartupTimeline.PHASE_INSTALL, null, start);
+
+    List<StartupTimeline.Entry> entries = timeline.getEntries();
+    assertEquals(102, entries.size());
+    for (int i = 1; i < entries.size(); i++) {
+      assertTrue(entries.get(i - 1).startMs() <= entries.get(i).startMs());
+    }
+    assertTrue(timeline.getTotalDuration() >= entries.getLast().startMs());
+  }
+
+  @Test
+  void summaryListsPhasesAndSlowestBundles() {
+    StartupTimeline timeline = new StartupTimeline();
+    long now = StartupTimeline.now();
+    timeline.record(StartupTimeline.PHASE_FETCH, "fast", now);
+    timeline.record(StartupTimeline.PHASE_FETCH, "slow", now - TimeUnit.SECONDS.toNanos(2));
+    timeline.record(StartupTimeline.PHASE_FETCH, null, now - TimeUnit.SECONDS.toNanos(2));
+
+    String summary = timeline.toSummary(1);
+    assertTrue(summary.contains(StartupTimeline.PHASE_JVM));
+    assertTrue(summary.contains("fetch slow"));
+    assertFalse(summary.contains("fetch fast"));
+    assertTrue(summary.contains("Total:"));
+  }
+}